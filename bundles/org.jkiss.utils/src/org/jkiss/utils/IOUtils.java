@@ -24,6 +24,9 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Some IO helper functions
@@ -187,6 +190,25 @@ public final class IOUtils {
         }
     }
 
+    /**
+     * Writes buffer in temporary file and then renames it to the target file.
+     * Readers never see partially written file.
+     */
+    public static void writeFileAtomically(File file, byte[] buffer) throws IOException {
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        writeFileFromBuffer(tempFile, buffer);
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            if (!tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+            throw e;
+        }
+    }
+
     public static void writeFileFromString(File file, String str) throws IOException {
         try (Writer os = new FileWriter(file)) {
             os.write(str);
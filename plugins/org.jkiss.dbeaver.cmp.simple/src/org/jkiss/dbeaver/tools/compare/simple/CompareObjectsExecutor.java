@@ -17,16 +17,18 @@
 package org.jkiss.dbeaver.tools.compare.simple;
 
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseFolder;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
-import org.jkiss.dbeaver.model.navigator.meta.DBXTreeNode;
 import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressListener;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.SubTaskProgressMonitor;
@@ -40,19 +42,21 @@ public class CompareObjectsExecutor {
 
     private static final Log log = Log.getLog(CompareObjectsExecutor.class);
 
-    private final Object PROPS_LOCK = new Object();
-
     private CompareObjectsSettings settings;
 
     private final List<DBNDatabaseNode> rootNodes;
     private final Map<DBPDataSource, DataSourcePropertyFilter> dataSourceFilters = new IdentityHashMap<>();
+    // Extracted property descriptors by property filter and object class
+    private final Map<DataSourcePropertyFilter, Map<Class<?>, List<ObjectPropertyDescriptor>>> propertyDescriptors = new HashMap<>();
 
     private final DBRProgressListener initializeFinisher;
     private final ILazyPropertyLoadListener lazyPropertyLoadListener;
 
     private volatile int initializedCount = 0;
     private volatile IStatus initializeError;
+    // Loaded (or prefetched) property values and hashes of their tuples. Guarded by propertyValues.
     private final Map<Object, Map<DBPPropertyDescriptor, Object>> propertyValues = new IdentityHashMap<>();
+    private final Map<Object, Integer> propertyHashes = new IdentityHashMap<>();
 
     private final List<CompareReportLine> reportLines = new ArrayList<>();
     private int reportDepth = 0;
@@ -91,10 +95,7 @@ public class CompareObjectsExecutor {
             if (node == null) {
                 continue;
             }
-            Map<DBPPropertyDescriptor, Object> valueMap = propertyValues.get(node.getObject());
-            if (valueMap != null) {
-                reportProperty.values[i] = valueMap.get(property);
-            }
+            reportProperty.values[i] = getPropertyValue(node, property);
         }
         if (lastLine.properties == null) {
             lastLine.properties = new ArrayList<>();
@@ -139,6 +140,7 @@ public class CompareObjectsExecutor {
                     Map<DBPPropertyDescriptor, Object> objectProps = propertyValues.get(object);
                     if (objectProps != null) {
                         objectProps.put(property, propertyValue);
+                        propertyHashes.remove(object);
                     }
                 }
             }
@@ -166,23 +168,36 @@ public class CompareObjectsExecutor {
         return new CompareReport(rootNodes, reportLines);
     }
 
-    private void compareNodes(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
+    /**
+     * @return true if nodes or their children differ
+     */
+    private boolean compareNodes(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
         throws DBException, InterruptedException
     {
+        int firstLineIndex = reportLines.size();
         reportObjectsCompareBegin(nodes);
+        CompareReportLine nodesLine = lastLine;
+        boolean hasDifference;
 
         try {
+            boolean childrenDiffer = false;
             if (nodes.size() > 1) {
                 // Go deeper only if we have more than one node
                 if (!(nodes.get(0) instanceof DBNDatabaseFolder)) {
                     compareProperties(monitor, nodes);
                 }
 
-                compareChildren(monitor, nodes);
+                childrenDiffer = compareChildren(monitor, nodes);
             }
+            hasDifference = nodesLine.hasDifference || childrenDiffer;
         } finally {
             reportObjectsCompareEnd();
         }
+        if (!hasDifference && settings.isShowOnlyDifferences() && reportDepth > 0) {
+            // Identical subtree won't be rendered. Do not keep it in memory.
+            reportLines.subList(firstLineIndex, reportLines.size()).clear();
+        }
+        return hasDifference;
     }
 
     private void compareProperties(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
@@ -192,7 +207,6 @@ public class CompareObjectsExecutor {
         // Clear compare singletons
         this.initializedCount = 0;
         this.initializeError = null;
-        this.propertyValues.clear();
 
         StringBuilder title = new StringBuilder();
         // Initialize nodes
@@ -216,13 +230,10 @@ public class CompareObjectsExecutor {
         }
 
         monitor.subTask("Compare " + title.toString());
-        boolean compareLazyProperties = false;
 
         DBNDatabaseNode firstNode = nodes.get(0);
-        List<ObjectPropertyDescriptor> properties = ObjectPropertyDescriptor.extractAnnotations(
-            null,
-            firstNode.getObject().getClass(),
-            getDataSourceFilter(firstNode), null);
+        List<ObjectPropertyDescriptor> properties = getObjectProperties(firstNode);
+        boolean compareLazyProperties = false;
         for (ObjectPropertyDescriptor prop : properties) {
             if (prop.isLazy()) {
                 compareLazyProperties = true;
@@ -231,91 +242,247 @@ public class CompareObjectsExecutor {
         }
 
         boolean compareScripts = compareLazyProperties && settings.isCompareScripts();
-        compareLazyProperties = compareLazyProperties && settings.isCompareLazyProperties();
 
-        if (onlyStruct && !compareScripts) {
-            return;
-        }
+        try {
+            if (onlyStruct && !compareScripts) {
+                return;
+            }
 
-        // Load all properties
-        for (DBNDatabaseNode node : nodes) {
-            if (monitor.isCanceled()) {
-                throw new InterruptedException();
+            // Load all properties (most of them are prefetched by compareChildren)
+            for (DBNDatabaseNode node : nodes) {
+                if (monitor.isCanceled()) {
+                    throw new InterruptedException();
+                }
+                loadProperties(monitor, node, properties);
+                monitor.worked(1);
             }
-            DBSObject databaseObject = node.getObject();
-            Map<DBPPropertyDescriptor, Object> nodeProperties = propertyValues.get(databaseObject);
-            if (nodeProperties == null) {
-                nodeProperties = new IdentityHashMap<>();
-                propertyValues.put(databaseObject, nodeProperties);
+
+            if (settings.isShowOnlyDifferences() && isSamePropertyValues(nodes, properties)) {
+                // Equal objects are not rendered - no need to collect their properties in report
+                return;
             }
-            PropertyCollector propertySource = new PropertyCollector(databaseObject, compareLazyProperties || compareScripts);
+
+            // Compare properties
             for (ObjectPropertyDescriptor prop : properties) {
-                boolean isScriptProperty = prop.getId().equals(DBConstants.PARAM_OBJECT_DEFINITION_TEXT) || prop.getId().equals(DBConstants.PARAM_EXTENDED_DEFINITION_TEXT);
-                if (prop.isLazy()) {
-                    if (!compareLazyProperties) {
-                        if (compareScripts) {
-                            // Only DBPScriptObject methods
-                            if (!isScriptProperty) {
-                                continue;
-                            }
-                        } else {
+                reportPropertyCompare(prop);
+            }
+        } finally {
+            synchronized (propertyValues) {
+                for (DBNDatabaseNode node : nodes) {
+                    propertyValues.remove(node.getObject());
+                    propertyHashes.remove(node.getObject());
+                }
+            }
+        }
+    }
+
+    private List<ObjectPropertyDescriptor> getObjectProperties(DBNDatabaseNode node)
+    {
+        DataSourcePropertyFilter filter = getDataSourceFilter(node);
+        Class<?> objectClass = node.getObject().getClass();
+        synchronized (propertyDescriptors) {
+            return propertyDescriptors
+                .computeIfAbsent(filter, f -> new IdentityHashMap<>())
+                .computeIfAbsent(objectClass, c -> ObjectPropertyDescriptor.extractAnnotations(null, c, filter, null));
+        }
+    }
+
+    /**
+     * Reads values of compared properties which were not loaded yet
+     */
+    private void loadProperties(DBRProgressMonitor monitor, DBNDatabaseNode node, List<ObjectPropertyDescriptor> properties)
+    {
+        boolean onlyStruct = settings.isCompareOnlyStructure();
+        boolean hasLazyProperties = false;
+        for (ObjectPropertyDescriptor prop : properties) {
+            if (prop.isLazy()) {
+                hasLazyProperties = true;
+                break;
+            }
+        }
+        boolean compareScripts = hasLazyProperties && settings.isCompareScripts();
+        boolean compareLazyProperties = hasLazyProperties && settings.isCompareLazyProperties();
+
+        DBSObject databaseObject = node.getObject();
+        Map<DBPPropertyDescriptor, Object> nodeProperties;
+        synchronized (propertyValues) {
+            nodeProperties = propertyValues.computeIfAbsent(databaseObject, o -> new IdentityHashMap<>());
+        }
+        PropertyCollector propertySource = null;
+        for (ObjectPropertyDescriptor prop : properties) {
+            boolean isScriptProperty = prop.getId().equals(DBConstants.PARAM_OBJECT_DEFINITION_TEXT) || prop.getId().equals(DBConstants.PARAM_EXTENDED_DEFINITION_TEXT);
+            if (prop.isLazy()) {
+                if (!compareLazyProperties) {
+                    if (compareScripts) {
+                        // Only DBPScriptObject methods
+                        if (!isScriptProperty) {
                             continue;
                         }
-                    }
-                } else {
-                    if (prop.isHidden()) {
+                    } else {
                         continue;
                     }
                 }
-                if (onlyStruct && !isScriptProperty) {
+            } else {
+                if (prop.isHidden()) {
                     continue;
                 }
-                Object propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop, true);
-                synchronized (PROPS_LOCK) {
-                    if (propertyValue instanceof DBPNamedObject) {
-                        // Compare just object names
-                        propertyValue = ((DBPNamedObject) propertyValue).getName();
-                    }
-                    nodeProperties.put(prop, propertyValue);
+            }
+            if (onlyStruct && !isScriptProperty) {
+                continue;
+            }
+            synchronized (propertyValues) {
+                if (nodeProperties.containsKey(prop)) {
+                    continue;
                 }
             }
-            monitor.worked(1);
+            if (propertySource == null) {
+                propertySource = new PropertyCollector(databaseObject, compareLazyProperties || compareScripts);
+            }
+            Object propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop, true);
+            if (propertyValue instanceof DBPNamedObject) {
+                // Compare just object names
+                propertyValue = ((DBPNamedObject) propertyValue).getName();
+            }
+            synchronized (propertyValues) {
+                nodeProperties.put(prop, propertyValue);
+                propertyHashes.remove(databaseObject);
+            }
         }
+    }
 
-        // Compare properties
+    private Object getPropertyValue(DBNDatabaseNode node, DBPPropertyDescriptor property)
+    {
+        synchronized (propertyValues) {
+            Map<DBPPropertyDescriptor, Object> valueMap = propertyValues.get(node.getObject());
+            return valueMap == null ? null : valueMap.get(property);
+        }
+    }
+
+    /**
+     * Compares hashes of property tuples first. Values are compared one by one only if all hashes are equal.
+     * Objects with different hashes are reported property by property anyway.
+     */
+    private boolean isSamePropertyValues(List<DBNDatabaseNode> nodes, List<ObjectPropertyDescriptor> properties)
+    {
+        if (nodes.size() != rootNodes.size()) {
+            // Object is missing in some source
+            return false;
+        }
+        int firstHash = getPropertiesHash(nodes.get(0), properties);
+        for (int i = 1; i < nodes.size(); i++) {
+            if (getPropertiesHash(nodes.get(i), properties) != firstHash) {
+                return false;
+            }
+        }
         for (ObjectPropertyDescriptor prop : properties) {
-            reportPropertyCompare(prop);
+            Object firstValue = getPropertyValue(nodes.get(0), prop);
+            for (int i = 1; i < nodes.size(); i++) {
+                if (!CompareUtils.equalPropertyValues(getPropertyValue(nodes.get(i), prop), firstValue)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private int getPropertiesHash(DBNDatabaseNode node, List<ObjectPropertyDescriptor> properties)
+    {
+        synchronized (propertyValues) {
+            Object object = node.getObject();
+            Integer hash = propertyHashes.get(object);
+            if (hash == null) {
+                Map<DBPPropertyDescriptor, Object> valueMap = propertyValues.get(object);
+                int result = 1;
+                for (ObjectPropertyDescriptor prop : properties) {
+                    result = 31 * result + CompareUtils.propertyValueHash(valueMap == null ? null : valueMap.get(prop));
+                }
+                hash = result;
+                propertyHashes.put(object, hash);
+            }
+            return hash;
         }
     }
 
-    private void compareChildren(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
+    /**
+     * @return true if some children differ
+     */
+    private boolean compareChildren(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
     {
         // Compare children
         int nodeCount = nodes.size();
-        List<DBNDatabaseNode[]> allChildren = new ArrayList<>(nodeCount);
-        // Use submonitor to avoid huge number of tasks
-        DBRProgressMonitor subMonitor = new SubTaskProgressMonitor(monitor);
+        DBNDatabaseNode[][] allChildren = new DBNDatabaseNode[nodeCount][];
+        // Read children of all sources in parallel (sequentially within one data source)
+        Map<DBPDataSourceContainer, List<CompareTask>> readTasks = new LinkedHashMap<>();
         for (int i = 0; i < nodeCount; i++) {
             DBNDatabaseNode node = nodes.get(i);
-            // Cache structure if possible
-            if (node.getObject() instanceof DBSObjectContainer) {
-                ((DBSObjectContainer) node.getObject()).cacheStructure(subMonitor, DBSObjectContainer.STRUCT_ALL);
+            int nodeIndex = i;
+            readTasks.computeIfAbsent(node.getDataSourceContainer(), ds -> new ArrayList<>()).add(taskMonitor -> {
+                // Use submonitor to avoid huge number of tasks
+                DBRProgressMonitor subMonitor = new SubTaskProgressMonitor(taskMonitor);
+                try {
+                    // Cache structure if possible
+                    if (node.getObject() instanceof DBSObjectContainer) {
+                        ((DBSObjectContainer) node.getObject()).cacheStructure(subMonitor, DBSObjectContainer.STRUCT_ALL);
+                    }
+                    allChildren[nodeIndex] = node.getChildren(subMonitor);
+                } catch (Exception e) {
+                    log.warn("Error reading child nodes for compare", e);
+                }
+            });
+        }
+        runPerDataSource(monitor, readTasks);
+
+        // Match children by name
+        List<Map<String, DBNDatabaseNode>> childIndexes = indexChildren(allChildren, false);
+        if (childIndexes == null) {
+            // Some objects have names which differ only in case
+            childIndexes = indexChildren(allChildren, true);
+        }
+        Set<String> allChildNames = new LinkedHashSet<>();
+        for (Map<String, DBNDatabaseNode> childIndex : childIndexes) {
+            allChildNames.addAll(childIndex.keySet());
+        }
+        List<List<DBNDatabaseNode>> matchedChildren = new ArrayList<>(allChildNames.size());
+        for (String childName : allChildNames) {
+            List<DBNDatabaseNode> nodesToCompare = new ArrayList<>(nodeCount);
+            for (Map<String, DBNDatabaseNode> childIndex : childIndexes) {
+                DBNDatabaseNode child = childIndex.get(childName);
+                if (child != null) {
+                    nodesToCompare.add(child);
+                }
+            }
+            matchedChildren.add(nodesToCompare);
+        }
+
+        prefetchProperties(monitor, matchedChildren);
+
+        boolean hasDifference = false;
+        for (List<DBNDatabaseNode> nodesToCompare : matchedChildren) {
+            if (monitor.isCanceled()) {
+                throw new InterruptedException();
             }
-            try {
-                DBNDatabaseNode[] children = node.getChildren(subMonitor);
-                allChildren.add(children);
-            } catch (Exception e) {
-                log.warn("Error reading child nodes for compare", e);
-                allChildren.add(null);
+            // Compare children recursively
+            if (compareNodes(monitor, nodesToCompare)) {
+                hasDifference = true;
             }
         }
+        return hasDifference;
+    }
 
-        Set<String> allChildNames = new LinkedHashSet<>();
+    /**
+     * Indexes children of each source by name. Names are case-insensitive unless some source
+     * has objects with names which differ only in case.
+     * @return children indexes or null if case-insensitive index is not possible
+     */
+    private List<Map<String, DBNDatabaseNode>> indexChildren(DBNDatabaseNode[][] allChildren, boolean caseSensitive)
+    {
+        List<Map<String, DBNDatabaseNode>> result = new ArrayList<>(allChildren.length);
         for (DBNDatabaseNode[] childList : allChildren) {
+            Map<String, DBNDatabaseNode> childIndex = new LinkedHashMap<>();
+            result.add(childIndex);
             if (childList == null) continue;
             for (DBNDatabaseNode child : childList) {
-                DBXTreeNode meta = child.getMeta();
-                if (meta.isVirtual()) {
+                if (child.getMeta().isVirtual()) {
                     // Skip virtual nodes
                     continue;
                 }
@@ -323,60 +490,121 @@ public class CompareObjectsExecutor {
                     // Skip system objects
                     continue;
                 }
-                allChildNames.add(child.getNodeName());
+                String childName = child.getNodeName();
+                String key = caseSensitive ? childName : childName.toLowerCase(Locale.ENGLISH);
+                DBNDatabaseNode prevChild = childIndex.putIfAbsent(key, child);
+                if (prevChild != null && !caseSensitive && !prevChild.getNodeName().equals(childName)) {
+                    return null;
+                }
             }
         }
+        return result;
+    }
 
-        for (String childName : allChildNames) {
-            int[] childIndexes = new int[nodeCount];
-            for (int i = 0; i < nodeCount; i++) {
-                childIndexes[i] = -1;
-                DBNDatabaseNode[] childList = allChildren.get(i);
-                if (childList == null) continue;
-                for (int k = 0; k < childList.length; k++) {
-                    DBNDatabaseNode child = childList[k];
-                    if (child.getNodeName().equals(childName)) {
-                        childIndexes[i] = k;
+    /**
+     * Reads properties of all matched child objects before compare.
+     * Each data source reads properties of its objects in a separate job.
+     */
+    private void prefetchProperties(DBRProgressMonitor monitor, List<List<DBNDatabaseNode>> matchedChildren) throws InterruptedException
+    {
+        if (settings.isCompareOnlyStructure() && !settings.isCompareScripts()) {
+            return;
+        }
+        Map<DBPDataSourceContainer, List<DBNDatabaseNode>> dataSourceObjects = new LinkedHashMap<>();
+        for (List<DBNDatabaseNode> nodesToCompare : matchedChildren) {
+            if (nodesToCompare.size() < 2 || nodesToCompare.get(0) instanceof DBNDatabaseFolder) {
+                // Properties are compared only for objects present in several sources
+                continue;
+            }
+            for (DBNDatabaseNode node : nodesToCompare) {
+                dataSourceObjects.computeIfAbsent(node.getDataSourceContainer(), ds -> new ArrayList<>()).add(node);
+            }
+        }
+        if (dataSourceObjects.isEmpty()) {
+            return;
+        }
+        Map<DBPDataSourceContainer, List<CompareTask>> prefetchTasks = new LinkedHashMap<>();
+        for (Map.Entry<DBPDataSourceContainer, List<DBNDatabaseNode>> entry : dataSourceObjects.entrySet()) {
+            List<DBNDatabaseNode> objects = entry.getValue();
+            prefetchTasks.put(entry.getKey(), Collections.singletonList(taskMonitor -> {
+                for (DBNDatabaseNode node : objects) {
+                    if (taskMonitor.isCanceled()) {
                         break;
                     }
+                    loadProperties(taskMonitor, node, getObjectProperties(node));
                 }
-            }
+            }));
+        }
+        monitor.subTask("Read objects properties");
+        runPerDataSource(monitor, prefetchTasks);
+    }
 
-            List<DBNDatabaseNode> nodesToCompare = new ArrayList<>(nodeCount);
-            for (int i = 0; i < nodeCount; i++) {
-                if (childIndexes[i] == -1) {
-                    // Missing
-                } else {
-                    for (int k = 0; k < nodeCount; k++) {
-                        if (k != i && childIndexes[k] != childIndexes[i]) {
-                            // Wrong index - add to report
-                            break;
+    /**
+     * Runs tasks of different data sources in parallel. Tasks of one data source are executed sequentially.
+     */
+    private void runPerDataSource(DBRProgressMonitor monitor, Map<DBPDataSourceContainer, List<CompareTask>> tasks)
+        throws InterruptedException
+    {
+        if (tasks.size() == 1) {
+            for (CompareTask task : tasks.values().iterator().next()) {
+                if (monitor.isCanceled()) {
+                    throw new InterruptedException();
+                }
+                task.run(monitor);
+            }
+            return;
+        }
+        List<AbstractJob> jobs = new ArrayList<>(tasks.size());
+        for (Map.Entry<DBPDataSourceContainer, List<CompareTask>> entry : tasks.entrySet()) {
+            AbstractJob job = new AbstractJob("Compare '" + entry.getKey().getName() + "' objects") {
+                @Override
+                protected IStatus run(DBRProgressMonitor jobMonitor) {
+                    for (CompareTask task : entry.getValue()) {
+                        if (jobMonitor.isCanceled()) {
+                            return Status.CANCEL_STATUS;
                         }
+                        task.run(jobMonitor);
                     }
-                    final DBNDatabaseNode[] childList = allChildren.get(i);
-                    if (childList != null) {
-                        nodesToCompare.add(childList[childIndexes[i]]);
+                    return Status.OK_STATUS;
+                }
+            };
+            job.setSystem(true);
+            job.schedule();
+            jobs.add(job);
+        }
+        try {
+            for (AbstractJob job : jobs) {
+                while (!job.join(100, null)) {
+                    if (monitor.isCanceled()) {
+                        throw new InterruptedException();
                     }
                 }
             }
-            // Compare children recursively
-            compareNodes(monitor, nodesToCompare);
+        } finally {
+            if (monitor.isCanceled()) {
+                for (AbstractJob job : jobs) {
+                    job.cancel();
+                }
+            }
         }
     }
 
-
     private DataSourcePropertyFilter getDataSourceFilter(DBNDatabaseNode node)
     {
         DBPDataSource dataSource = node.getDataSourceContainer().getDataSource();
         if (dataSource == null) {
             return null;
         }
-        DataSourcePropertyFilter filter = dataSourceFilters.get(dataSource);
-        if (filter == null) {
-            filter = new DataSourcePropertyFilter(dataSource);
-            dataSourceFilters.put(dataSource, filter);
+        synchronized (dataSourceFilters) {
+            return dataSourceFilters.computeIfAbsent(dataSource, DataSourcePropertyFilter::new);
         }
-        return filter;
     }
 
-}
\ No newline at end of file
+    /**
+     * Part of compare which reads objects of one data source. Reports errors to log.
+     */
+    private interface CompareTask {
+        void run(DBRProgressMonitor monitor);
+    }
+
+}
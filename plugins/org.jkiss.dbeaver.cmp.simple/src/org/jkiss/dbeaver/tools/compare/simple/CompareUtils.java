@@ -20,6 +20,8 @@ import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.utils.CommonUtils;
 
+import java.util.Objects;
+
 /**
  * Compare utils
  */
@@ -48,4 +50,25 @@ public class CompareUtils {
         }
     }
 
+    /**
+     * Property value hash for quick pre-check. Objects are hashed by names of their parents (same as in
+     * {@link #equalPropertyValues(Object, Object)}). Values with equal hashes still must be compared.
+     */
+    public static int propertyValueHash(Object value)
+    {
+        if (value instanceof DBSObject) {
+            int hash = 1;
+            for (DBSObject curValue = (DBSObject) value; curValue != null; curValue = curValue.getParentObject()) {
+                hash = 31 * hash + curValue.getClass().hashCode();
+                if (curValue instanceof DBPDataSourceContainer) {
+                    break;
+                }
+                hash = 31 * hash + Objects.hashCode(curValue.getName());
+            }
+            return hash;
+        } else {
+            return Objects.hashCode(value);
+        }
+    }
+
 }
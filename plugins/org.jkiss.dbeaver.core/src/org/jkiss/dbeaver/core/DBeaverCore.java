@@ -18,7 +18,9 @@
 package org.jkiss.dbeaver.core;
 
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.PlatformUI;
 import org.jkiss.code.NotNull;
@@ -31,12 +33,15 @@ import org.jkiss.dbeaver.model.impl.app.DefaultCertificateStorage;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.qm.QMController;
 import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.registry.BaseApplicationImpl;
 import org.jkiss.dbeaver.registry.BasePlatformImpl;
 import org.jkiss.dbeaver.registry.DataSourceProviderRegistry;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.SecurityProviderUtils;
+import org.jkiss.dbeaver.runtime.StartupTimeline;
 import org.jkiss.dbeaver.runtime.qm.QMControllerImpl;
 import org.jkiss.dbeaver.runtime.qm.QMLogFileWriter;
 import org.jkiss.dbeaver.ui.resources.DefaultResourceHandlerImpl;
@@ -144,27 +149,38 @@ public class DBeaverCore extends BasePlatformImpl {
     protected void initialize() {
         long startTime = System.currentTimeMillis();
         log.debug("Initialize Core...");
+        StartupTimeline timeline = StartupTimeline.getInstance();
 
-        if (getPreferenceStore().getBoolean(DBeaverPreferences.SECURITY_USE_BOUNCY_CASTLE)) {
-            // Register BC security provider
-            SecurityProviderUtils.registerSecurityProvider();
-        }
+        try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Initialize security")) {
+            if (getPreferenceStore().getBoolean(DBeaverPreferences.SECURITY_USE_BOUNCY_CASTLE)) {
+                // Register BC security provider
+                SecurityProviderUtils.registerSecurityProvider();
+            }
 
-        this.certificateStorage = new DefaultCertificateStorage(
-            new File(DBeaverActivator.getInstance().getStateLocation().toFile(), "security"));
+            this.certificateStorage = new DefaultCertificateStorage(
+                new File(DBeaverActivator.getInstance().getStateLocation().toFile(), "security"));
+        }
 
         // Register properties adapter
-        this.workspace = new DBeaverWorkspace(this, ResourcesPlugin.getWorkspace());
-        this.workspace.initializeProjects();
+        try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Initialize workspace")) {
+            this.workspace = new DBeaverWorkspace(this, ResourcesPlugin.getWorkspace());
+            this.workspace.initializeProjects();
+        }
 
-        QMUtils.initApplication(this);
-        this.queryManager = new QMControllerImpl();
+        try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Initialize query manager")) {
+            QMUtils.initApplication(this);
+            this.queryManager = new QMControllerImpl();
 
-        this.qmLogWriter = new QMLogFileWriter();
-        this.queryManager.registerMetaListener(qmLogWriter);
+            this.qmLogWriter = new QMLogFileWriter();
+            this.queryManager.registerMetaListener(qmLogWriter);
+        }
 
         super.initialize();
 
+        // Project data sources are parsed on the first access.
+        // Load drivers and active project configuration in background while UI starts.
+        new ConfigurationPreloadJob(workspace).schedule();
+
         log.debug("Core initialized (" + (System.currentTimeMillis() - startTime) + "ms)");
     }
 
@@ -323,4 +339,42 @@ public class DBeaverCore extends BasePlatformImpl {
         return isClosing();
     }
 
+    private static class ConfigurationPreloadJob extends AbstractJob {
+
+        private final DBPWorkspace workspace;
+
+        ConfigurationPreloadJob(DBPWorkspace workspace) {
+            super("Load configuration");
+            this.workspace = workspace;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            // Wait for the end of platform initialization. Registries use platform and must not be
+            // loaded while the platform initializer holds locks.
+            DBWorkbench.getPlatform();
+
+            StartupTimeline timeline = StartupTimeline.getInstance();
+            try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Load data source providers")) {
+                DataSourceProviderRegistry.getInstance();
+            } catch (Throwable e) {
+                log.error("Error loading data source providers", e);
+                return Status.OK_STATUS;
+            }
+            DBPProject project = workspace.getActiveProject();
+            if (project != null && project.isOpen() && project.isModernProject() &&
+                !CommonUtils.toBoolean(project.getProjectProperty(DBPProject.PROP_SECURE_PROJECT)))
+            {
+                // Secured projects may ask for password so they are loaded on demand only
+                try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Load project '" + project.getName() + "' data sources")) {
+                    project.getDataSourceRegistry();
+                } catch (Throwable e) {
+                    log.debug("Error loading project '" + project.getName() + "' data sources", e);
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
 }
@@ -23,6 +23,7 @@ import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.action.ToolBarManager;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.browser.Browser;
+import org.eclipse.swt.browser.BrowserFunction;
 import org.eclipse.swt.dnd.Clipboard;
 import org.eclipse.swt.dnd.ImageTransfer;
 import org.eclipse.swt.dnd.Transfer;
@@ -32,6 +33,7 @@ import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.*;
+import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
@@ -65,13 +67,17 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 
 import java.io.*;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GISLeafletViewer implements IGeometryValueEditor {
 
@@ -84,6 +90,8 @@ public class GISLeafletViewer implements IGeometryValueEditor {
     private static final String PROP_FLIP_COORDINATES = "gis.flipCoords";
     private static final String PROP_SRID = "gis.srid";
 
+    private static final String QUERY_FUNCTION_NAME = "dbeaverQueryGeometries";
+
     private static final Gson gson = new GsonBuilder()
             .registerTypeHierarchyAdapter(DBDContent.class, new DBDContentAdapter()).create();
 
@@ -100,6 +108,11 @@ public class GISLeafletViewer implements IGeometryValueEditor {
     private boolean flipCoordinates = false;
     private final Composite composite;
 
+    // Used when there are too many geometries to render them all at once
+    private GisGeometryIndex geometryIndex;
+    private boolean geometryIndexShowMap;
+    private GeometryQueryFunction queryFunction;
+
     public GISLeafletViewer(Composite parent, IValueController valueController, SpatialDataProvider spatialDataProvider) {
         this.valueController = valueController;
 
@@ -110,6 +123,7 @@ public class GISLeafletViewer implements IGeometryValueEditor {
 
         browser = new Browser(composite, SWT.NONE);
         browser.addDisposeListener(e -> {
+            disposeGeometryIndex();
             cleanupFiles();
         });
         browser.setLayoutData(new GridData(GridData.FILL_BOTH));
@@ -215,7 +229,12 @@ public class GISLeafletViewer implements IGeometryValueEditor {
         if (maxObjects <= 0) {
             maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
         }
-        if (values != null && values.length > maxObjects) {
+        disposeGeometryIndex();
+        if (values != null && values.length > maxObjects && browser != null) {
+            // Render only geometries visible in the current viewport
+            geometryIndex = buildGeometryIndex(values);
+        }
+        if (values != null && values.length > maxObjects && geometryIndex == null) {
             // Truncate value list
             DBGeometry[] truncValues = new DBGeometry[maxObjects];
             System.arraycopy(values, 0, truncValues, 0, maxObjects);
@@ -226,6 +245,9 @@ public class GISLeafletViewer implements IGeometryValueEditor {
                 if (ArrayUtils.isEmpty(values)) {
                     browser.setUrl("about:blank");
                 } else {
+                    if (geometryIndex != null) {
+                        queryFunction = new GeometryQueryFunction(browser, geometryIndex, values, maxObjects);
+                    }
                     File file = generateViewScript(values);
                     browser.setUrl(file.toURI().toURL().toString());
                 }
@@ -245,20 +267,12 @@ public class GISLeafletViewer implements IGeometryValueEditor {
             scriptFile = File.createTempFile("view", "gis.html", tempDir);
         }
 
-        int attributeSrid = GisConstants.SRID_SIMPLE;
-        if (valueController != null && valueController.getValueType() instanceof GisAttribute) {
-            try {
-                attributeSrid = ((GisAttribute) valueController.getValueType())
-                        .getAttributeGeometrySRID(new VoidProgressMonitor());
-            } catch (DBCException e) {
-                log.error(e);
-            }
-        }
+        int attributeSrid = getAttributeSRID();
 
         List<String> geomValues = new ArrayList<>();
         List<String> geomTipValues = new ArrayList<>();
-        boolean showMap = false;
-        for (int i = 0; i < values.length; i++) {
+        boolean showMap = geometryIndexShowMap;
+        for (int i = 0; geometryIndex == null && i < values.length; i++) {
             DBGeometry value = values[i];
             if (DBUtils.isNullValue(value)) {
                 continue;
@@ -306,23 +320,7 @@ public class GISLeafletViewer implements IGeometryValueEditor {
             }
             geomValues.add("'" + targetValue + "'");
             try {
-                if (CommonUtils.isEmpty(value.getProperties())) {
-                    geomTipValues.add("null");
-                } else {
-                    Map<String, Object> simplifiedProperties = new LinkedHashMap<>();
-                    for (Map.Entry<String, Object> pe : value.getProperties().entrySet()) {
-                        Object pv = pe.getValue();
-                        if (pv instanceof String || pv instanceof Number || pv instanceof Boolean || pv == null) {
-                            // No changes
-                        } else if (pv instanceof Map) {
-                            simplifiedProperties.putAll((Map<? extends String, ?>) pv);
-                        } else {
-                            pv = CommonUtils.toString(pv);
-                        }
-                        simplifiedProperties.put(pe.getKey(), pv);
-                    }
-                    geomTipValues.add(gson.toJson(simplifiedProperties));
-                }
+                geomTipValues.add(gson.toJson(getSimplifiedProperties(value)));
             } catch (Exception e) {
                 log.debug(e);
             }
@@ -332,6 +330,12 @@ public class GISLeafletViewer implements IGeometryValueEditor {
         String geomTipValuesString = String.join(",", geomTipValues);
         String geomCRS = actualSourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
         boolean isShowMap = showMap;
+        String geomBounds = "null";
+        if (geometryIndex != null && !geometryIndex.getBounds().isNull()) {
+            Envelope bounds = geometryIndex.getBounds();
+            geomBounds = "[[" + bounds.getMinY() + "," + bounds.getMinX() + "],[" + bounds.getMaxY() + "," + bounds.getMaxX() + "]]";
+        }
+        String geomBoundsString = geomBounds;
 
         InputStream fis = GISViewerActivator.getDefault().getResourceStream(GISBrowserViewerConstants.VIEW_TEMPLATE_PATH);
         if (fis == null) {
@@ -353,6 +357,10 @@ public class GISLeafletViewer implements IGeometryValueEditor {
                         return String.valueOf(toolsVisible);
                     case "geomCRS":
                         return geomCRS;
+                    case "lodMode":
+                        return String.valueOf(geometryIndex != null);
+                    case "geomBounds":
+                        return geomBoundsString;
                     case "defaultTiles":
                         return GeometryViewerRegistry.getInstance().getDefaultLeafletTiles().getLayersDefinition();
                 }
@@ -368,6 +376,95 @@ public class GISLeafletViewer implements IGeometryValueEditor {
         return scriptFile;
     }
 
+    private int getAttributeSRID() {
+        int attributeSrid = GisConstants.SRID_SIMPLE;
+        if (valueController != null && valueController.getValueType() instanceof GisAttribute) {
+            try {
+                attributeSrid = ((GisAttribute) valueController.getValueType())
+                        .getAttributeGeometrySRID(new VoidProgressMonitor());
+            } catch (DBCException e) {
+                log.error(e);
+            }
+        }
+        return attributeSrid;
+    }
+
+    @Nullable
+    private static Map<String, Object> getSimplifiedProperties(@NotNull DBGeometry value) {
+        if (CommonUtils.isEmpty(value.getProperties())) {
+            return null;
+        }
+        Map<String, Object> simplifiedProperties = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> pe : value.getProperties().entrySet()) {
+            Object pv = pe.getValue();
+            if (pv instanceof String || pv instanceof Number || pv instanceof Boolean || pv == null) {
+                // No changes
+            } else if (pv instanceof Map) {
+                simplifiedProperties.putAll((Map<? extends String, ?>) pv);
+            } else {
+                pv = CommonUtils.toString(pv);
+            }
+            simplifiedProperties.put(pe.getKey(), pv);
+        }
+        return simplifiedProperties;
+    }
+
+    /**
+     * Decodes and indexes all geometries. Coordinates are flipped and transformed to the map CRS in the same pass.
+     */
+    @Nullable
+    private GisGeometryIndex buildGeometryIndex(@NotNull DBGeometry[] values) {
+        int attributeSrid = getAttributeSRID();
+        AtomicInteger indexSourceSRID = new AtomicInteger(GisConstants.SRID_SIMPLE);
+        AtomicBoolean indexShowMap = new AtomicBoolean(false);
+        GisGeometryIndex[] result = new GisGeometryIndex[1];
+        try {
+            UIUtils.runInProgressDialog(monitor -> {
+                result[0] = GisGeometryIndex.build(monitor, values, (value, geometry) -> {
+                    if (flipCoordinates) {
+                        geometry = new DBGeometry(geometry, value.getSRID()).flipCoordinates().getGeometry();
+                    }
+                    int srid = sourceSRID == 0 ? value.getSRID() : sourceSRID;
+                    if (srid == GisConstants.SRID_SIMPLE) {
+                        srid = attributeSrid;
+                    }
+                    if (srid == GisConstants.SRID_SIMPLE || srid == GisConstants.SRID_4326 || geometry == null) {
+                        indexSourceSRID.set(srid);
+                        indexShowMap.set(srid == GisConstants.SRID_4326);
+                        return geometry;
+                    }
+                    GisTransformRequest request = new GisTransformRequest(geometry, srid, GisConstants.SRID_4326);
+                    GisTransformUtils.transformGisData(request);
+                    indexSourceSRID.set(request.getSourceSRID());
+                    indexShowMap.set(request.isShowOnMap());
+                    return request.getTargetValue();
+                });
+                if (monitor.isCanceled() || result[0].size() == 0) {
+                    // Fall back to truncated value list
+                    result[0] = null;
+                }
+            });
+        } catch (InvocationTargetException e) {
+            log.error("Error indexing geometries", e.getTargetException());
+        }
+        if (result[0] != null) {
+            actualSourceSRID = indexSourceSRID.get();
+            geometryIndexShowMap = indexShowMap.get();
+        }
+        return result[0];
+    }
+
+    private void disposeGeometryIndex() {
+        if (queryFunction != null) {
+            if (!queryFunction.isDisposed()) {
+                queryFunction.dispose();
+            }
+            queryFunction = null;
+        }
+        geometryIndex = null;
+        geometryIndexShowMap = false;
+    }
+
     private void checkIncludesExistence(File scriptDir) throws IOException {
         File incFolder = new File(scriptDir, "inc");
         if (!incFolder.exists()) {
@@ -572,4 +669,48 @@ public class GISLeafletViewer implements IGeometryValueEditor {
         }
     }
 
+    /**
+     * Returns geometries which intersect with the map viewport, simplified for the current zoom.
+     * Arguments: west, south, east, north, units per pixel.
+     */
+    private static class GeometryQueryFunction extends BrowserFunction {
+
+        private final GisGeometryIndex index;
+        private final DBGeometry[] values;
+        private final int maxObjects;
+
+        GeometryQueryFunction(Browser browser, GisGeometryIndex index, DBGeometry[] values, int maxObjects) {
+            super(browser, QUERY_FUNCTION_NAME);
+            this.index = index;
+            this.values = values;
+            this.maxObjects = maxObjects;
+        }
+
+        @Override
+        public Object function(Object[] arguments) {
+            if (arguments.length < 5) {
+                return null;
+            }
+            Envelope viewport = new Envelope(
+                CommonUtils.toDouble(arguments[0]), CommonUtils.toDouble(arguments[2]),
+                CommonUtils.toDouble(arguments[1]), CommonUtils.toDouble(arguments[3]));
+            double unitsPerPixel = CommonUtils.toDouble(arguments[4]);
+
+            List<String> geomValues = new ArrayList<>();
+            List<Map<String, Object>> geomTips = new ArrayList<>();
+            for (int i : index.query(viewport, maxObjects)) {
+                Geometry geometry = index.getGeometry(i, unitsPerPixel);
+                if (geometry == null) {
+                    continue;
+                }
+                geomValues.add(geometry.toText());
+                geomTips.add(getSimplifiedProperties(values[i]));
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("values", geomValues);
+            result.put("tips", geomTips);
+            return gson.toJson(result);
+        }
+    }
+
 }
\ No newline at end of file
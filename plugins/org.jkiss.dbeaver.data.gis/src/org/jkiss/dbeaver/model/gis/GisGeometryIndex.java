@@ -0,0 +1,259 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Spatial index of geometry values with level-of-detail support.
+ *
+ * Values are decoded in parallel and put in STR tree. Viewport queries return only intersecting geometries
+ * simplified for the requested resolution. Simplified geometries are cached for a few recently used
+ * resolution levels (current zoom and its neighbours), only geometries which were actually requested are cached.
+ */
+public class GisGeometryIndex {
+
+    private static final Log log = Log.getLog(GisGeometryIndex.class);
+
+    private static final int TREE_NODE_CAPACITY = 10;
+    // Resolution levels are powers of two of units per pixel
+    private static final int MIN_LEVEL = -32;
+    private static final int MAX_LEVEL = 32;
+    private static final int MAX_CACHED_LEVELS = 3;
+
+    private static final ThreadLocal<WKTReader> wktReader = ThreadLocal.withInitial(WKTReader::new);
+    private static final ThreadLocal<WKBReader> wkbReader = ThreadLocal.withInitial(WKBReader::new);
+
+    /**
+     * Converts decoded geometry (e.g. to a different CRS). Called from multiple threads.
+     */
+    public interface GeometryTransformer {
+        @Nullable
+        Geometry transformGeometry(@NotNull DBGeometry value, @NotNull Geometry geometry) throws DBException;
+    }
+
+    private final Geometry[] geometries;
+    private final STRtree tree;
+    private final Envelope bounds;
+    // Resolution level -> simplified geometries by index. Least recently used levels are evicted
+    private final Map<Integer, Map<Integer, Geometry>> levelCache = new LinkedHashMap<Integer, Map<Integer, Geometry>>(MAX_CACHED_LEVELS + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Map<Integer, Geometry>> eldest) {
+            return size() > MAX_CACHED_LEVELS;
+        }
+    };
+
+    private GisGeometryIndex(Geometry[] geometries) {
+        this.geometries = geometries;
+        this.tree = new STRtree(TREE_NODE_CAPACITY);
+        this.bounds = new Envelope();
+        for (int i = 0; i < geometries.length; i++) {
+            Geometry geometry = geometries[i];
+            if (geometry != null && !geometry.isEmpty()) {
+                Envelope envelope = geometry.getEnvelopeInternal();
+                tree.insert(envelope, i);
+                bounds.expandToInclude(envelope);
+            }
+        }
+        tree.build();
+    }
+
+    /**
+     * Decodes all values in parallel and builds index.
+     * Values which can't be decoded are skipped.
+     */
+    @NotNull
+    public static GisGeometryIndex build(@NotNull DBRProgressMonitor monitor, @NotNull DBGeometry[] values, @Nullable GeometryTransformer transformer) {
+        monitor.subTask("Decode " + values.length + " geometries");
+        Geometry[] geometries = new Geometry[values.length];
+        IntStream.range(0, values.length).parallel().forEach(i -> {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            DBGeometry value = values[i];
+            if (DBUtils.isNullValue(value)) {
+                return;
+            }
+            try {
+                Geometry geometry = decodeGeometry(value.getRawValue());
+                if (geometry != null && transformer != null) {
+                    geometry = transformer.transformGeometry(value, geometry);
+                }
+                geometries[i] = geometry;
+            } catch (Exception e) {
+                log.debug("Error decoding geometry #" + i + ": " + e.getMessage());
+            }
+        });
+        monitor.subTask("Build spatial index");
+        return new GisGeometryIndex(geometries);
+    }
+
+    /**
+     * Decodes JTS geometry from WKT, EWKT, WKB or hex-encoded WKB
+     */
+    @Nullable
+    public static Geometry decodeGeometry(@Nullable Object rawValue) throws DBException {
+        if (rawValue == null) {
+            return null;
+        }
+        if (rawValue instanceof Geometry) {
+            return (Geometry) rawValue;
+        }
+        try {
+            if (rawValue instanceof byte[]) {
+                return wkbReader.get().read((byte[]) rawValue);
+            }
+            String text = CommonUtils.toString(rawValue).trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            int srid = 0;
+            if (text.regionMatches(true, 0, "SRID=", 0, 5)) {
+                // EWKT
+                int divPos = text.indexOf(';');
+                if (divPos != -1) {
+                    srid = CommonUtils.toInt(text.substring(5, divPos));
+                    text = text.substring(divPos + 1);
+                }
+            }
+            Geometry geometry;
+            if (isHexString(text)) {
+                geometry = wkbReader.get().read(WKBReader.hexToBytes(text));
+            } else {
+                geometry = wktReader.get().read(text);
+            }
+            if (srid != 0) {
+                geometry.setSRID(srid);
+            }
+            return geometry;
+        } catch (Exception e) {
+            throw new DBException("Error decoding geometry", e);
+        }
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * Bounds of all indexed geometries
+     */
+    @NotNull
+    public Envelope getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Returns indexes of geometries which intersect with viewport, in the source order.
+     * If there are more than maxObjects geometries then the biggest of them are returned.
+     */
+    @NotNull
+    public int[] query(@NotNull Envelope viewport, int maxObjects) {
+        List<?> items = tree.query(viewport);
+        List<Integer> found = new ArrayList<>(items.size());
+        for (Object item : items) {
+            int index = (Integer) item;
+            // STR tree checks node envelopes only
+            if (geometries[index].getEnvelopeInternal().intersects(viewport)) {
+                found.add(index);
+            }
+        }
+        if (maxObjects > 0 && found.size() > maxObjects) {
+            found.sort((i1, i2) -> Double.compare(getExtent(i2), getExtent(i1)));
+            found = found.subList(0, maxObjects);
+        }
+        int[] result = new int[found.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = found.get(i);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns geometry simplified for the specified resolution.
+     * Geometries smaller than a pixel are replaced with their center point.
+     */
+    @Nullable
+    public Geometry getGeometry(int index, double unitsPerPixel) {
+        Geometry geometry = geometries[index];
+        if (geometry == null || !(unitsPerPixel > 0) || geometry.getNumPoints() <= 1) {
+            return geometry;
+        }
+        int level = getResolutionLevel(unitsPerPixel);
+        Map<Integer, Geometry> levelGeometries;
+        synchronized (levelCache) {
+            levelGeometries = levelCache.computeIfAbsent(level, k -> new ConcurrentHashMap<>());
+        }
+        Geometry simplified = levelGeometries.get(index);
+        if (simplified == null) {
+            double tolerance = Math.scalb(1.0, level);
+            Envelope envelope = geometry.getEnvelopeInternal();
+            if (envelope.getWidth() < tolerance && envelope.getHeight() < tolerance) {
+                simplified = geometry.getFactory().createPoint(envelope.centre());
+            } else {
+                simplified = TopologyPreservingSimplifier.simplify(geometry, tolerance);
+            }
+            simplified.setSRID(geometry.getSRID());
+            // Races are harmless: the same value may be computed twice
+            levelGeometries.put(index, simplified);
+        }
+        return simplified;
+    }
+
+    /**
+     * Resolution level is the nearest power of two which isn't bigger than units per pixel
+     */
+    static int getResolutionLevel(double unitsPerPixel) {
+        int level = Math.getExponent(unitsPerPixel);
+        return Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
+    private double getExtent(int index) {
+        Envelope envelope = geometries[index].getEnvelopeInternal();
+        return Math.max(envelope.getWidth(), envelope.getHeight());
+    }
+
+    private static boolean isHexString(String text) {
+        if (text.length() < 2 || text.length() % 2 != 0) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.digit(text.charAt(i), 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -22,8 +22,10 @@ import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.ui.dialogs.PreferencesUtil;
 import org.jkiss.dbeaver.model.app.DBPDataFormatterRegistry;
@@ -54,6 +56,9 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
     private Combo lobExtractType;
     private Label lobEncodingLabel;
     private Combo lobEncodingCombo;
+    private Composite binariesPanel;
+    private Button lobParallelWriteCheck;
+    private Button lobDeduplicateCheck;
     private Combo formatProfilesCombo;
     private PropertySourceCustom propertySource;
 
@@ -117,7 +122,7 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
                 reloadFormatProfiles();
 
                 UIUtils.createControlLabel(generalSettings, DTMessages.data_transfer_wizard_settings_label_binaries);
-                Composite binariesPanel = UIUtils.createComposite(generalSettings, 4);
+                binariesPanel = UIUtils.createComposite(generalSettings, 5);
                 gd = new GridData(GridData.FILL_HORIZONTAL);
                 gd.horizontalSpan = 4;
                 binariesPanel.setLayoutData(gd);
@@ -156,6 +161,31 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
                         }
                     }
                 });
+
+                lobParallelWriteCheck = UIUtils.createCheckbox(
+                    binariesPanel,
+                    DTMessages.data_transfer_wizard_settings_checkbox_lob_parallel_write,
+                    DTMessages.data_transfer_wizard_settings_checkbox_lob_parallel_write_tip,
+                    false,
+                    1);
+                lobParallelWriteCheck.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        settings.setLobParallelWrite(lobParallelWriteCheck.getSelection());
+                    }
+                });
+                lobDeduplicateCheck = UIUtils.createCheckbox(
+                    binariesPanel,
+                    DTMessages.data_transfer_wizard_settings_checkbox_lob_deduplicate,
+                    DTMessages.data_transfer_wizard_settings_checkbox_lob_deduplicate_tip,
+                    false,
+                    1);
+                lobDeduplicateCheck.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        settings.setLobDeduplicate(lobDeduplicateCheck.getSelection());
+                    }
+                });
             }
         }
 
@@ -221,6 +251,8 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
             case BINARY: lobEncodingCombo.select(LOB_ENCODING_BINARY); break;
             case NATIVE: lobEncodingCombo.select(LOB_ENCODING_NATIVE); break;
         }
+        lobParallelWriteCheck.setSelection(settings.isLobParallelWrite());
+        lobDeduplicateCheck.setSelection(settings.isLobDeduplicate());
 
         updatePageCompletion();
     }
@@ -237,15 +269,23 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
     protected boolean determinePageCompletion()
     {
         int selectionIndex = lobExtractType.getSelectionIndex();
-        if (selectionIndex == EXTRACT_LOB_INLINE) {
-            lobEncodingLabel.setVisible(true);
-            lobEncodingCombo.setVisible(true);
-        } else {
-            lobEncodingLabel.setVisible(false);
-            lobEncodingCombo.setVisible(false);
-        }
+        showBinariesControl(lobEncodingLabel, selectionIndex == EXTRACT_LOB_INLINE);
+        showBinariesControl(lobEncodingCombo, selectionIndex == EXTRACT_LOB_INLINE);
+        showBinariesControl(lobParallelWriteCheck, selectionIndex == EXTRACT_LOB_FILES);
+        showBinariesControl(lobDeduplicateCheck, selectionIndex == EXTRACT_LOB_FILES);
+        binariesPanel.layout(true);
 
         return true;
     }
 
+    private static void showBinariesControl(Control control, boolean show) {
+        control.setVisible(show);
+        Object layoutData = control.getLayoutData();
+        if (!(layoutData instanceof GridData)) {
+            layoutData = new GridData();
+            control.setLayoutData(layoutData);
+        }
+        ((GridData) layoutData).exclude = !show;
+    }
+
 }
\ No newline at end of file
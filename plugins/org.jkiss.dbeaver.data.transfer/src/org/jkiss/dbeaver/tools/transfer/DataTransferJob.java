@@ -22,6 +22,8 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableWithProgress;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
+import org.jkiss.dbeaver.runtime.metrics.MetricHistogram;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
 import org.jkiss.utils.CommonUtils;
 
@@ -101,6 +103,10 @@ public class DataTransferJob implements DBRRunnableWithProgress {
                 CommonUtils.truncateString(consumer.getObjectName(), 200)), 1);
 
         IDataTransferSettings nodeSettings = settings.getNodeSettings(settings.getProducer());
+        long startTime = System.nanoTime();
+        IDataTransferStatistics statistics = consumer instanceof IDataTransferStatistics ? (IDataTransferStatistics) consumer : null;
+        long startRows = statistics == null ? 0 : statistics.getTransferredRows();
+        long startBytes = statistics == null ? 0 : statistics.getTransferredBytes();
         try {
             //consumer.initTransfer(producer.getDatabaseObject(), consumerSettings, );
 
@@ -115,6 +121,9 @@ public class DataTransferJob implements DBRRunnableWithProgress {
             } finally {
                 consumer.finishTransfer(monitor, false);
             }
+            if (statistics != null) {
+                updateMetrics(startTime, statistics.getTransferredRows() - startRows, statistics.getTransferredBytes() - startBytes);
+            }
             return true;
         } catch (Exception e) {
             log.error("Error transfering data from " + producer.getObjectName() + " to " + consumer.getObjectName(), e);
@@ -125,4 +134,18 @@ public class DataTransferJob implements DBRRunnableWithProgress {
 
     }
 
+    private static void updateMetrics(long startTime, long rows, long bytes) {
+        MetricRegistry registry = MetricRegistry.getInstance();
+        long elapsedMs = (System.nanoTime() - startTime) / 1000000;
+        registry.getHistogram(MetricRegistry.TRANSFER_TIME, MetricHistogram.UNIT_MILLIS).update(elapsedMs);
+        // Avoid division by zero for instant transfers
+        double seconds = Math.max(elapsedMs, 1) / 1000.0;
+        registry.getCounter(MetricRegistry.TRANSFER_ROWS).add(rows);
+        registry.getHistogram(MetricRegistry.TRANSFER_ROWS_PER_SECOND, MetricHistogram.UNIT_ROWS_PER_SECOND).update((long) (rows / seconds));
+        if (bytes >= 0) {
+            registry.getCounter(MetricRegistry.TRANSFER_BYTES).add(bytes);
+            registry.getHistogram(MetricRegistry.TRANSFER_BYTES_PER_SECOND, MetricHistogram.UNIT_BYTES_PER_SECOND).update((long) (bytes / seconds));
+        }
+    }
+
 }
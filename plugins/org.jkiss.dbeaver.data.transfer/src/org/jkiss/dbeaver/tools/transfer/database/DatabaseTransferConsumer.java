@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPool;
 import org.jkiss.dbeaver.model.impl.struct.AbstractAttribute;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -42,6 +43,7 @@ import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferNodePrimary;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferStatistics;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
 import org.jkiss.utils.CommonUtils;
 
@@ -51,7 +53,7 @@ import java.util.*;
  * Stream transfer consumer
  */
 @DBSerializable("databaseTransferConsumer")
-public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseConsumerSettings, IDataTransferProcessor>, IDataTransferNodePrimary {
+public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseConsumerSettings, IDataTransferProcessor>, IDataTransferNodePrimary, IDataTransferStatistics {
 
     private static final Log log = Log.getLog(DatabaseTransferConsumer.class);
 
@@ -60,6 +62,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private ColumnMapping[] columnMappings;
     private DBDAttributeBinding[] sourceBindings;
     private DBCExecutionContext targetContext;
+    private ExecutionContextPool.PooledContext pooledContext;
     private DBCSession targetSession;
     private DBSDataManipulator.ExecuteBatch executeBatch;
     private long rowsExported = 0;
@@ -122,6 +125,16 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         return containerMapping == null ? localTargetObject : containerMapping.getTarget();
     }
 
+    @Override
+    public long getTransferredRows() {
+        return rowsExported;
+    }
+
+    @Override
+    public long getTransferredBytes() {
+        return -1;
+    }
+
     protected boolean isPreview() {
         return isPreview;
     }
@@ -401,8 +414,12 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
 
         try {
             useIsolatedConnection = !isPreview && settings.isOpenNewConnections() && !dataSourceContainer.getDriver().isEmbedded();
-            targetContext = useIsolatedConnection ?
-                DBUtils.getObjectOwnerInstance(targetDB).openIsolatedContext(monitor, "Data transfer consumer", null) : DBUtils.getDefaultContext(targetDB, false);
+            if (useIsolatedConnection) {
+                pooledContext = ExecutionContextPool.borrowContext(monitor, DBUtils.getObjectOwnerInstance(targetDB), "Data transfer consumer");
+                targetContext = pooledContext.getContext();
+            } else {
+                targetContext = DBUtils.getDefaultContext(targetDB, false);
+            }
         } catch (DBException e) {
             throw new DBCException("Error opening new connection", e);
         }
@@ -461,8 +478,9 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         } catch (Throwable e) {
             log.debug(e);
         }
-        if (targetContext != null && useIsolatedConnection) {
-            targetContext.close();
+        if (pooledContext != null) {
+            pooledContext.close();
+            pooledContext = null;
             targetContext = null;
         }
     }
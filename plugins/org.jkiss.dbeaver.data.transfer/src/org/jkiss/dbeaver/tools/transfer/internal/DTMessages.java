@@ -64,6 +64,10 @@ public class DTMessages extends NLS {
 	public static String data_transfer_wizard_settings_binaries_item_inline;
 	public static String data_transfer_wizard_settings_binaries_item_save_to_file;
 	public static String data_transfer_wizard_settings_binaries_item_set_to_null;
+	public static String data_transfer_wizard_settings_checkbox_lob_parallel_write;
+	public static String data_transfer_wizard_settings_checkbox_lob_parallel_write_tip;
+	public static String data_transfer_wizard_settings_checkbox_lob_deduplicate;
+	public static String data_transfer_wizard_settings_checkbox_lob_deduplicate_tip;
 	public static String data_transfer_wizard_settings_button_edit;
 	public static String data_transfer_wizard_settings_description;
 	public static String data_transfer_wizard_settings_group_exporter;
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.tools.transfer.stream;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
@@ -44,6 +45,12 @@ public interface IStreamDataExporterSite {
 
     PrintWriter getWriter();
 
+    /**
+     * Encoding writer behind {@link #getWriter()}. Null if output goes to clipboard or binary stream.
+     */
+    @Nullable
+    StreamTransferWriter getTextWriter();
+
     void flush() throws IOException;
 
     void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException;
@@ -53,6 +53,8 @@ public class StreamConsumerSettings implements IDataTransferSettings {
 
     private LobExtractType lobExtractType = LobExtractType.SKIP;
     private LobEncoding lobEncoding = LobEncoding.HEX;
+    private boolean lobParallelWrite = false;
+    private boolean lobDeduplicate = false;
 
     private String outputFolder = System.getProperty(StandardConstants.ENV_USER_HOME);
     private String outputFilePattern = GeneralUtils.variablePattern(StreamTransferConsumer.VARIABLE_TABLE) + "_" + GeneralUtils.variablePattern(StreamTransferConsumer.VARIABLE_TIMESTAMP);
@@ -79,6 +81,22 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         this.lobExtractType = lobExtractType;
     }
 
+    public boolean isLobParallelWrite() {
+        return lobParallelWrite;
+    }
+
+    public void setLobParallelWrite(boolean lobParallelWrite) {
+        this.lobParallelWrite = lobParallelWrite;
+    }
+
+    public boolean isLobDeduplicate() {
+        return lobDeduplicate;
+    }
+
+    public void setLobDeduplicate(boolean lobDeduplicate) {
+        this.lobDeduplicate = lobDeduplicate;
+    }
+
     public LobEncoding getLobEncoding() {
         return lobEncoding;
     }
@@ -203,6 +221,8 @@ public class StreamConsumerSettings implements IDataTransferSettings {
     public void loadSettings(DBRRunnableContext runnableContext, DataTransferSettings dataTransferSettings, Map<String, Object> settings) {
         lobExtractType = CommonUtils.valueOf(LobExtractType.class, (String) settings.get("lobExtractType"), LobExtractType.SKIP);
         lobEncoding = CommonUtils.valueOf(LobEncoding.class, (String) settings.get("lobEncoding"), LobEncoding.HEX);
+        lobParallelWrite = CommonUtils.getBoolean(settings.get("lobParallelWrite"), lobParallelWrite);
+        lobDeduplicate = CommonUtils.getBoolean(settings.get("lobDeduplicate"), lobDeduplicate);
 
         outputFolder = CommonUtils.toString(settings.get("outputFolder"), outputFolder);
         outputFilePattern = CommonUtils.toString(settings.get("outputFilePattern"), outputFilePattern);
@@ -233,6 +253,8 @@ public class StreamConsumerSettings implements IDataTransferSettings {
     public void saveSettings(Map<String, Object> settings) {
         settings.put("lobExtractType", lobExtractType.name());
         settings.put("lobEncoding", lobEncoding.name());
+        settings.put("lobParallelWrite", lobParallelWrite);
+        settings.put("lobDeduplicate", lobDeduplicate);
 
         settings.put("outputFolder", outputFolder);
         settings.put("outputFilePattern", outputFilePattern);
@@ -278,6 +300,10 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_binaries, lobExtractType);
+        if (lobExtractType == LobExtractType.FILES) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_checkbox_lob_parallel_write, lobParallelWrite);
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_checkbox_lob_deduplicate, lobDeduplicate);
+        }
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_encoding, lobEncoding);
         if (formatterProfile != null) {
             DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_formatting, formatterProfile.getProfileName());
@@ -0,0 +1,450 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves LOB contents into separate files.
+ * Each content is read from the source stream once and written directly to its target file.
+ * In parallel mode files are written by a background writer job while the fetch thread reads the next contents.
+ * There is one writer job per LOB writer, it writes files one by one in the order they were read.
+ * Source streams are always read by the caller thread, so database connection is never used concurrently.
+ * Identical contents may be deduplicated by content hash - duplicate refers to the first saved file.
+ */
+public class StreamLobWriter {
+
+    private static final Log log = Log.getLog(StreamLobWriter.class);
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    // Max memory used for chunks queued for write (8Mb)
+    private static final int MAX_CHUNKS = 128;
+    private static final long CHUNK_WAIT_TIMEOUT = 500;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final boolean parallel;
+    private final boolean deduplicate;
+
+    private final Map<String, File> savedContents = new HashMap<>();
+    private final BlockingQueue<ByteBuffer> freeChunks = new ArrayBlockingQueue<>(MAX_CHUNKS);
+    private int allocatedChunks;
+    // Buffer for content read in direct mode (when content digest is calculated)
+    private ByteBuffer readBuffer;
+
+    private final BlockingQueue<WriteCommand> writeQueue = new LinkedBlockingQueue<>();
+    private LobWriteJob writeJob;
+    private int pendingWrites;
+    private volatile IOException writeError;
+    private volatile boolean aborted;
+    private long savedCount;
+    private long duplicateCount;
+    private long duplicateBytes;
+
+    public StreamLobWriter(boolean parallel, boolean deduplicate) {
+        this.parallel = parallel;
+        this.deduplicate = deduplicate;
+    }
+
+    public long getSavedCount() {
+        return savedCount;
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public long getDuplicateBytes() {
+        return duplicateBytes;
+    }
+
+    /**
+     * Saves content into target file.
+     * Returns target file or previously saved file with the same content (in deduplicate mode).
+     * Stream is closed after read. Partially saved file is deleted if read fails or monitor is canceled.
+     */
+    @NotNull
+    public File saveContent(@NotNull DBRProgressMonitor monitor, @NotNull InputStream contentStream, @NotNull File targetFile) throws IOException {
+        checkWriteError();
+        if (aborted) {
+            throw new IOException("LOB writer is closed");
+        }
+        MessageDigest digest = deduplicate ? createDigest() : null;
+        long contentLength;
+        try (ReadableByteChannel source = Channels.newChannel(contentStream)) {
+            if (parallel) {
+                contentLength = writeParallel(monitor, source, targetFile, digest);
+            } else {
+                contentLength = writeDirect(monitor, source, targetFile, digest);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (parallel) {
+                finishFile(targetFile, true);
+            } else {
+                ContentUtils.deleteTempFile(targetFile);
+            }
+            throw e;
+        }
+
+        File resultFile = targetFile;
+        if (digest != null) {
+            String hash = toHex(digest.digest());
+            File savedFile = savedContents.get(hash);
+            if (savedFile != null) {
+                resultFile = savedFile;
+                duplicateCount++;
+                duplicateBytes += contentLength;
+            } else {
+                savedContents.put(hash, targetFile);
+            }
+        }
+        if (parallel) {
+            finishFile(targetFile, resultFile != targetFile);
+        } else if (resultFile != targetFile) {
+            ContentUtils.deleteTempFile(targetFile);
+        }
+        if (resultFile == targetFile) {
+            savedCount++;
+        }
+        return resultFile;
+    }
+
+    /**
+     * Waits for all pending writes. Throws first write error (if any).
+     */
+    public void flush() throws IOException {
+        synchronized (this) {
+            while (pendingWrites > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("LOB write interrupted");
+                }
+            }
+        }
+        checkWriteError();
+    }
+
+    /**
+     * Waits for pending writes and stops writer job. Throws first write error (if any).
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            dispose();
+        }
+    }
+
+    /**
+     * Discards pending writes (on cancel or failure). Queued chunks are released without write,
+     * files which are not completely written yet are deleted.
+     */
+    public void abort() {
+        aborted = true;
+        try {
+            flush();
+        } catch (IOException e) {
+            log.debug("LOB write aborted: " + e.getMessage());
+        } finally {
+            dispose();
+        }
+    }
+
+    private void dispose() {
+        synchronized (this) {
+            if (writeJob != null) {
+                writeQueue.add(WriteCommand.STOP);
+                writeJob = null;
+            }
+        }
+        savedContents.clear();
+        freeChunks.clear();
+        readBuffer = null;
+    }
+
+    private long writeDirect(DBRProgressMonitor monitor, ReadableByteChannel source, File targetFile, MessageDigest digest) throws IOException {
+        long position = 0;
+        try (FileChannel target = openTargetFile(targetFile)) {
+            if (digest == null) {
+                for (;;) {
+                    long count = target.transferFrom(source, position, CHUNK_SIZE);
+                    if (count <= 0) {
+                        break;
+                    }
+                    checkCanceled(monitor);
+                    position += count;
+                }
+            } else {
+                if (readBuffer == null) {
+                    readBuffer = ByteBuffer.allocate(CHUNK_SIZE);
+                }
+                ByteBuffer buffer = readBuffer;
+                for (;;) {
+                    buffer.clear();
+                    if (source.read(buffer) < 0) {
+                        break;
+                    }
+                    checkCanceled(monitor);
+                    buffer.flip();
+                    digest.update(buffer.array(), buffer.arrayOffset(), buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        position += target.write(buffer);
+                    }
+                }
+            }
+        }
+        return position;
+    }
+
+    private long writeParallel(DBRProgressMonitor monitor, ReadableByteChannel source, File targetFile, MessageDigest digest) throws IOException {
+        long contentLength = 0;
+        synchronized (this) {
+            pendingWrites++;
+            if (writeJob == null) {
+                writeJob = new LobWriteJob();
+                writeJob.schedule();
+            }
+        }
+        for (;;) {
+            ByteBuffer chunk = acquireChunk(monitor);
+            int count;
+            try {
+                while (chunk.hasRemaining() && (count = source.read(chunk)) >= 0) {
+                    if (count == 0) {
+                        break;
+                    }
+                }
+                checkCanceled(monitor);
+            } catch (IOException e) {
+                releaseChunk(chunk);
+                throw e;
+            }
+            chunk.flip();
+            if (!chunk.hasRemaining()) {
+                releaseChunk(chunk);
+                break;
+            }
+            if (digest != null) {
+                digest.update(chunk.array(), chunk.arrayOffset(), chunk.limit());
+            }
+            contentLength += chunk.limit();
+            writeQueue.add(new WriteCommand(targetFile, chunk, false));
+        }
+        return contentLength;
+    }
+
+    private void finishFile(File targetFile, boolean discard) {
+        writeQueue.add(new WriteCommand(targetFile, null, discard));
+    }
+
+    private ByteBuffer acquireChunk(DBRProgressMonitor monitor) throws IOException {
+        ByteBuffer chunk = freeChunks.poll();
+        if (chunk == null) {
+            synchronized (this) {
+                if (allocatedChunks < MAX_CHUNKS) {
+                    allocatedChunks++;
+                    chunk = ByteBuffer.allocate(CHUNK_SIZE);
+                }
+            }
+        }
+        try {
+            while (chunk == null) {
+                // All chunks are queued - wait for writer
+                checkWriteError();
+                checkCanceled(monitor);
+                chunk = freeChunks.poll(CHUNK_WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("LOB write interrupted");
+        }
+        chunk.clear();
+        return chunk;
+    }
+
+    private void releaseChunk(ByteBuffer chunk) {
+        freeChunks.offer(chunk);
+    }
+
+    private static void checkCanceled(DBRProgressMonitor monitor) throws IOException {
+        if (monitor.isCanceled()) {
+            throw new InterruptedIOException("LOB write canceled");
+        }
+    }
+
+    private void checkWriteError() throws IOException {
+        IOException error = writeError;
+        if (error != null) {
+            throw new IOException("Error writing LOB file", error);
+        }
+    }
+
+    private synchronized void writeFinished(IOException error) {
+        if (error != null && writeError == null) {
+            writeError = error;
+        }
+        pendingWrites--;
+        notifyAll();
+    }
+
+    private static FileChannel openTargetFile(File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private static MessageDigest createDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Content digest is not supported", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Content chunk, end of content (null chunk) or writer stop (null file)
+     */
+    private static class WriteCommand {
+        static final WriteCommand STOP = new WriteCommand(null, null, false);
+
+        final File file;
+        final ByteBuffer chunk;
+        final boolean discard;
+
+        WriteCommand(File file, ByteBuffer chunk, boolean discard) {
+            this.file = file;
+            this.chunk = chunk;
+            this.discard = discard;
+        }
+    }
+
+    private class LobWriteJob extends AbstractJob {
+        private FileChannel target;
+        private IOException fileError;
+
+        LobWriteJob() {
+            super("Write LOB files");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                for (;;) {
+                    WriteCommand command = writeQueue.take();
+                    if (command == WriteCommand.STOP) {
+                        break;
+                    }
+                    if (command.chunk != null) {
+                        writeChunk(command);
+                    } else {
+                        finishTarget(command);
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.debug("LOB writer interrupted");
+            } finally {
+                closeTarget();
+            }
+            return Status.OK_STATUS;
+        }
+
+        private void writeChunk(WriteCommand command) {
+            try {
+                if (!aborted && writeError == null && fileError == null) {
+                    if (target == null) {
+                        target = openTargetFile(command.file);
+                    }
+                    ByteBuffer chunk = command.chunk;
+                    while (chunk.hasRemaining()) {
+                        target.write(chunk);
+                    }
+                }
+            } catch (IOException e) {
+                fileError = e;
+            } finally {
+                releaseChunk(command.chunk);
+            }
+        }
+
+        private void finishTarget(WriteCommand command) {
+            boolean discard = command.discard || aborted || writeError != null;
+            if (target == null && !discard && fileError == null) {
+                // Empty content
+                try {
+                    target = openTargetFile(command.file);
+                } catch (IOException e) {
+                    fileError = e;
+                }
+            }
+            closeTarget();
+            IOException error = fileError;
+            fileError = null;
+            if (discard || error != null) {
+                ContentUtils.deleteTempFile(command.file);
+            }
+            if (error != null) {
+                log.debug("Error writing LOB file " + command.file.getAbsolutePath(), error);
+            }
+            writeFinished(error);
+        }
+
+        private void closeTarget() {
+            if (target != null) {
+                try {
+                    target.close();
+                } catch (IOException e) {
+                    if (fileError == null) {
+                        fileError = e;
+                    }
+                }
+                target = null;
+            }
+        }
+    }
+
+}
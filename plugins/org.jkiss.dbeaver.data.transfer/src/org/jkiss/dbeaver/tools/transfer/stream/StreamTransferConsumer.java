@@ -42,6 +42,7 @@ import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.serialize.DBPObjectSerializer;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferStatistics;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
@@ -50,6 +51,7 @@ import org.jkiss.utils.Base64;
 import org.jkiss.utils.IOUtils;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -62,7 +64,7 @@ import java.util.zip.ZipOutputStream;
  * Stream transfer consumer
  */
 @DBSerializable("streamTransferConsumer")
-public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter> {
+public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter>, IDataTransferStatistics {
 
     private static final Log log = Log.getLog(StreamTransferConsumer.class);
 
@@ -88,13 +90,17 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private OutputStream outputStream;
     private ZipOutputStream zipStream;
     private PrintWriter writer;
+    private StreamTransferWriter textWriter;
     private int multiFileNumber;
     private long bytesWritten = 0;
+    private long totalBytesWritten = 0;
+    private long rowsExported = 0;
 
     private DBDAttributeBinding[] columnMetas;
     private DBDAttributeBinding[] columnBindings;
     private File lobDirectory;
     private long lobCount;
+    private StreamLobWriter lobWriter;
     private File outputFile;
     private StreamExportSite exportSite;
     private Map<String, Object> processorProperties;
@@ -172,24 +178,36 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
             // Export row
             processor.exportRow(session, resultSet, targetRow);
+            rowsExported++;
 
-            // Check for file split
-            if (settings.isSplitOutFiles() && !parameters.isBinary) {
-                writer.flush();
-                if (bytesWritten >= settings.getMaxOutFileSize()) {
+            // Check for file split. There is no text writer for clipboard output.
+            if (settings.isSplitOutFiles() && !parameters.isBinary && textWriter != null) {
+                // Count bytes kept in text writer buffer too, so we don't need to flush after each row
+                if (bytesWritten + textWriter.getPendingBytes() >= settings.getMaxOutFileSize()) {
                     // Make new file
                     createNewOutFile();
                 }
             }
         } catch (IOException e) {
+            abortLobWriter();
             throw new DBCException("IO error", e);
         } catch (Throwable e) {
+            abortLobWriter();
             throw new DBCException("Error while exporting table row", e);
         }
     }
 
     @Override
     public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
+        if (lobWriter != null) {
+            // Export succeeds only if all LOB files were written
+            try {
+                lobWriter.flush();
+            } catch (IOException e) {
+                abortLobWriter();
+                throw new DBCException("Error saving LOB files", e);
+            }
+        }
     }
 
     @Override
@@ -199,8 +217,15 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private File saveContentToFile(DBRProgressMonitor monitor, DBDContent content)
         throws IOException, DBCException {
-        DBDContentStorage contents = content.getContents(monitor);
-        if (contents == null) {
+        InputStream contentStream;
+        if (content instanceof DBDContentStreamed) {
+            // Read content directly from the source, without temporary storage
+            contentStream = ((DBDContentStreamed) content).openContentStream(monitor);
+        } else {
+            DBDContentStorage contents = content.getContents(monitor);
+            contentStream = contents == null ? null : contents.getContentStream();
+        }
+        if (contentStream == null) {
             log.warn("Null value content");
             return null;
         }
@@ -216,10 +241,18 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         Boolean extractImages = (Boolean) processorProperties.get(StreamConsumerSettings.PROP_EXTRACT_IMAGES);
         String fileExt = (extractImages != null && extractImages) ? ".jpg" : ".data";
         File lobFile = new File(lobDirectory, outputFile.getName() + "-" + lobCount + fileExt); //$NON-NLS-1$ //$NON-NLS-2$
-        try (InputStream cs = contents.getContentStream()) {
-            ContentUtils.saveContentToFile(cs, lobFile, monitor);
+        if (lobWriter == null) {
+            lobWriter = new StreamLobWriter(settings.isLobParallelWrite(), settings.isLobDeduplicate());
+        }
+        return lobWriter.saveContent(monitor, contentStream, lobFile);
+    }
+
+    // Transfer failed. Discard queued LOB contents.
+    private void abortLobWriter() {
+        if (lobWriter != null) {
+            lobWriter.abort();
+            lobWriter = null;
         }
-        return lobFile;
     }
 
     private void initExporter(DBCSession session) throws DBCException {
@@ -240,7 +273,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 openOutputStreams();
             }
         } catch (IOException e) {
-            closeExporter();
+            closeExporter(true);
             throw new DBCException("Data transfer IO error", e);
         }
 
@@ -252,7 +285,24 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
-    private void closeExporter() {
+    private void closeExporter(boolean abort) {
+        if (lobWriter != null) {
+            if (abort) {
+                lobWriter.abort();
+            } else {
+                try {
+                    lobWriter.close();
+                    if (lobWriter.getDuplicateCount() > 0) {
+                        log.debug("LOB files saved: " + lobWriter.getSavedCount() + ", duplicates skipped: " + lobWriter.getDuplicateCount() +
+                            " (" + lobWriter.getDuplicateBytes() + " bytes)");
+                    }
+                } catch (IOException e) {
+                    // Write errors are normally reported by fetchEnd
+                    log.error("Error saving LOB files", e);
+                }
+            }
+            lobWriter = null;
+        }
         if (exportSite != null) {
             try {
                 exportSite.flush();
@@ -283,10 +333,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             this.outputStream = zipStream;
         }
 
-        // If we need to split files - use stream wrapper to calculate fiel size
-        if (settings.isSplitOutFiles()) {
-            this.outputStream = new OutputStreamStatProxy(this.outputStream);
-        }
+        // Use stream wrapper to calculate file size (for split and transfer statistics)
+        this.outputStream = new OutputStreamStatProxy(this.outputStream);
 
         // Check for BOM and write it to the stream
         if (!parameters.isBinary && settings.isOutputEncodingBOM()) {
@@ -298,7 +346,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         if (!parameters.isBinary) {
-            this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, settings.getOutputEncoding()), true);
+            Charset charset;
+            try {
+                charset = Charset.forName(settings.getOutputEncoding());
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedEncodingException(settings.getOutputEncoding());
+            }
+            this.textWriter = new StreamTransferWriter(this.outputStream, charset);
+            this.writer = new PrintWriter(this.textWriter);
         }
     }
 
@@ -307,6 +362,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             this.writer.flush();
             ContentUtils.close(this.writer);
             this.writer = null;
+            this.textWriter = null;
         }
 
         // Finish zip stream
@@ -338,6 +394,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private void createNewOutFile() throws IOException {
         closeOutputStreams();
 
+        totalBytesWritten += bytesWritten;
         bytesWritten = 0;
         multiFileNumber++;
         outputFile = makeOutputFile();
@@ -370,7 +427,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 }
             }
 
-            closeExporter();
+            closeExporter(monitor.isCanceled());
 
             if (!settings.isOutputClipboard() && settings.isExecuteProcessOnFinish()) {
                 executeFinishCommand();
@@ -570,6 +627,25 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         return null;
     }
 
+    @Override
+    public long getTransferredRows() {
+        return rowsExported;
+    }
+
+    @Override
+    public long getTransferredBytes() {
+        long pendingBytes = 0;
+        if (textWriter != null) {
+            // Count chars kept in writer buffer (single output file is not closed between transfers)
+            try {
+                pendingBytes = textWriter.getPendingBytes();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+        }
+        return totalBytesWritten + bytesWritten + pendingBytes;
+    }
+
     public static Object[] fetchRow(DBCSession session, DBCResultSet resultSet, DBDAttributeBinding[] attributes) throws DBCException {
         int columnCount = resultSet.getMeta().getAttributes().size(); // Column count without virtual columns
 
@@ -625,6 +701,12 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             return writer;
         }
 
+        @Nullable
+        @Override
+        public StreamTransferWriter getTextWriter() {
+            return textWriter;
+        }
+
         @Override
         public void flush() throws IOException {
             if (writer != null) {
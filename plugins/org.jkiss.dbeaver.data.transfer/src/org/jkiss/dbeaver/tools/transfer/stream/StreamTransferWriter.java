@@ -0,0 +1,211 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Text writer for stream exporters.
+ * Encodes characters into a reusable byte buffer and keeps track of encoded bytes
+ * so output size may be checked without flushing the underlying stream.
+ */
+public class StreamTransferWriter extends Writer {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // Enough for Long.MIN_VALUE
+    private static final int MAX_LONG_CHARS = 20;
+
+    private final OutputStream out;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    private final char[] digits = new char[MAX_LONG_CHARS];
+    private long bytesWritten;
+    private boolean closed;
+
+    public StreamTransferWriter(@NotNull OutputStream out, @NotNull Charset charset) {
+        this(out, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public StreamTransferWriter(@NotNull OutputStream out, @NotNull Charset charset, int bufferSize) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = CharBuffer.allocate(Math.max(bufferSize, MAX_LONG_CHARS));
+        this.bytes = ByteBuffer.allocate((int) Math.ceil(chars.capacity() * encoder.maxBytesPerChar()));
+    }
+
+    /**
+     * Total number of bytes passed to the underlying stream.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Number of encoded bytes which are still kept in this writer.
+     * Pending characters are encoded but nothing is written to the underlying stream
+     * unless the internal byte buffer is full.
+     */
+    public int getPendingBytes() throws IOException {
+        encodeChars();
+        return bytes.position();
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (!chars.hasRemaining()) {
+            encodeChars();
+        }
+        chars.put((char) c);
+    }
+
+    @Override
+    public void write(@NotNull char[] cbuf, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encodeChars();
+            }
+            int count = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void write(@NotNull String str, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encodeChars();
+            }
+            int count = Math.min(len, chars.remaining());
+            int position = chars.position();
+            str.getChars(off, off + count, chars.array(), chars.arrayOffset() + position);
+            chars.position(position + count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        if (csq instanceof String) {
+            write((String) csq, 0, csq.length());
+        } else if (csq == null) {
+            write("null");
+        } else {
+            for (int i = 0; i < csq.length(); i++) {
+                write(csq.charAt(i));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes decimal representation of the value. Same as write(Long.toString(value)) but without intermediate string.
+     */
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(Long.toString(value));
+            return;
+        }
+        boolean negative = value < 0;
+        if (negative) {
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            digits[--pos] = '-';
+        }
+        write(digits, pos, digits.length - pos);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encodeChars();
+        writeBytes();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            chars.flip();
+            while (encoder.encode(chars, bytes, true).isOverflow()) {
+                writeBytes();
+            }
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes();
+            }
+            chars.clear();
+            writeBytes();
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void encodeChars() throws IOException {
+        if (chars.position() == 0) {
+            return;
+        }
+        chars.flip();
+        for (;;) {
+            CoderResult result = encoder.encode(chars, bytes, false);
+            if (result.isOverflow()) {
+                writeBytes();
+            } else {
+                if (result.isError()) {
+                    result.throwException();
+                }
+                break;
+            }
+        }
+        // Unpaired high surrogate (if any) stays in buffer until the next write
+        chars.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        if (bytes.position() > 0) {
+            out.write(bytes.array(), bytes.arrayOffset(), bytes.position());
+            bytesWritten += bytes.position();
+            bytes.clear();
+        }
+    }
+
+}
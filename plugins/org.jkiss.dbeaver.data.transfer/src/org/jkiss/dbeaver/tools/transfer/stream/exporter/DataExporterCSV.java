@@ -27,9 +27,12 @@ import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCNumberValueHandler;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferUtils;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferWriter;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
@@ -74,8 +77,10 @@ public class DataExporterCSV extends StreamExporterAbstract {
     private String nullString;
     private HeaderPosition headerPosition;
     private DBDAttributeBinding[] columns;
-
-    private final StringBuilder buffer = new StringBuilder();
+    // Columns whose integer values may be written directly, bypassing value handler
+    private boolean[] plainNumberColumns;
+    // Integer values are written directly into output buffer (if they never need quotes)
+    private StreamTransferWriter numberWriter;
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -103,6 +108,9 @@ public class DataExporterCSV extends StreamExporterAbstract {
 
         headerPosition = CommonUtils.valueOf(HeaderPosition.class, String.valueOf(properties.get(PROP_HEADER)), HeaderPosition.top);
         formatNumbers = CommonUtils.toBoolean(getSite().getProperties().get(PROP_FORMAT_NUMBERS));
+        if (!formatNumbers && quoteStrategy != QuoteStrategy.ALL && !hasNumberChars(delimiter) && !hasNumberChars(rowDelimiter) && !hasNumberChars(String.valueOf(quoteChar))) {
+            numberWriter = site.getTextWriter();
+        }
     }
 
     @Override
@@ -123,6 +131,10 @@ public class DataExporterCSV extends StreamExporterAbstract {
     public void exportHeader(DBCSession session) throws DBException, IOException
     {
         columns = getSite().getAttributes();
+        plainNumberColumns = new boolean[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            plainNumberColumns[i] = isPlainNumberColumn(columns[i]);
+        }
         if (headerPosition == HeaderPosition.top || headerPosition == HeaderPosition.both) {
             printHeader();
         }
@@ -176,6 +188,8 @@ public class DataExporterCSV extends StreamExporterAbstract {
                 finally {
                     content.release();
                 }
+            } else if (numberWriter != null && plainNumberColumns[i] && isIntegerValue(row[i])) {
+                numberWriter.writeLong(((Number) row[i]).longValue());
             } else {
                 String stringValue = super.getValueDisplayString(column, row[i]);
                 boolean quote = false;
@@ -231,21 +245,20 @@ public class DataExporterCSV extends StreamExporterAbstract {
             }
         }
 
+        PrintWriter out = getWriter();
+        if (quote && useQuotes) out.write(quoteChar);
         if (quote && hasQuotes) {
             // escape quotes with double quotes
-            buffer.setLength(0);
-            for (int i = 0; i < value.length(); i++) {
-                char c = value.charAt(i);
-                if (c == quoteChar) {
-                    buffer.append(quoteChar);
-                }
-                buffer.append(c);
+            int start = 0;
+            for (int pos = value.indexOf(quoteChar); pos != -1; pos = value.indexOf(quoteChar, start)) {
+                out.write(value, start, pos - start + 1);
+                out.write(quoteChar);
+                start = pos + 1;
             }
-            value = buffer.toString();
+            out.write(value, start, value.length() - start);
+        } else {
+            out.write(value);
         }
-        PrintWriter out = getWriter();
-        if (quote && useQuotes) out.write(quoteChar);
-        out.write(value);
         if (quote && useQuotes) out.write(quoteChar);
     }
 
@@ -274,6 +287,32 @@ public class DataExporterCSV extends StreamExporterAbstract {
         }
     }
 
+    /**
+     * Transformed columns (epoch time, radix, etc) and columns with driver-specific number handlers
+     * must be rendered by their value handler.
+     */
+    private static boolean isPlainNumberColumn(DBDAttributeBinding column) {
+        if (column.getDataKind() != DBPDataKind.NUMERIC || column.isTransformed()) {
+            return false;
+        }
+        Class<?> handlerClass = column.getValueHandler().getClass();
+        return handlerClass == JDBCNumberValueHandler.class || handlerClass == DefaultValueHandler.class;
+    }
+
+    private static boolean isIntegerValue(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean hasNumberChars(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (Character.isDigit(c) || c == '-') {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void writeDelimiter()
     {
         getWriter().write(delimiter);
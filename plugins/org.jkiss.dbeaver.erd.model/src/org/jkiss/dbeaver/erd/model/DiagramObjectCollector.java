@@ -139,6 +139,8 @@ public class DiagramObjectCollector {
         throws DBException
     {
         Collection<DBSEntity> tables = collectTables(monitor, roots, settings, showViews);
+        // Read foreign keys of whole schemas at once instead of table by table
+        ERDUtils.cacheEntitiesStructure(monitor, tables);
         for (DBSEntity table : tables) {
             if (DBUtils.isHiddenObject(table)) {
                 // Skip hidden tables
@@ -165,15 +167,6 @@ public class DiagramObjectCollector {
         }
     }
 
-    private boolean aliasExist(String alias) {
-        for (ERDEntity entity : erdEntities) {
-            if (CommonUtils.equalObjects(entity.getAlias(), alias)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     public List<ERDEntity> getDiagramEntities()
     {
         return erdEntities;
@@ -139,6 +139,10 @@ public class ERDAssociation extends ERDObject<DBSEntityAssociation>
 	public void setTargetEntity(ERDElement targetPrimaryKey)
 	{
 		this.targetEntity = targetPrimaryKey;
+		if (sourceEntity != null) {
+			// Source element indexes its associations by target
+			sourceEntity.resetAssociationIndex();
+		}
 	}
 
 	/**
@@ -147,6 +151,10 @@ public class ERDAssociation extends ERDObject<DBSEntityAssociation>
 	public void setSourceEntity(ERDElement sourceForeignKey)
 	{
 		this.sourceEntity = sourceForeignKey;
+		if (targetEntity != null) {
+			// Target element indexes its references by source
+			targetEntity.resetAssociationIndex();
+		}
 	}
 
 	@NotNull
@@ -61,6 +61,8 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
     private boolean needsAutoLayout;
 
     private final Map<DBSEntity, ERDEntity> entityMap = new IdentityHashMap<>();
+    // Entities with unresolved associations, by referenced entity
+    private final Map<DBSEntity, Set<ERDEntity>> unresolvedReferrers = new IdentityHashMap<>();
 
     private final List<ERDNote> notes = new ArrayList<>();
     private List<String> errorMessages = new ArrayList<>();
@@ -132,7 +134,7 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
 */
         }
 
-        resolveRelations(reflect);
+        resolveRelations(object, reflect);
 
         if (reflect) {
             for (ERDAssociation rel : entity.getReferences()) {
@@ -145,10 +147,28 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
     }
 
 
-    private void resolveRelations(boolean reflect) {
-        // Resolve incomplete relations
-        for (ERDEntity erdEntity : getEntities()) {
-            erdEntity.resolveRelations(this, reflect);
+    /**
+     * Resolves incomplete relations of entities which reference the specified object
+     */
+    private void resolveRelations(DBSEntity object, boolean reflect) {
+        Set<ERDEntity> referrers;
+        synchronized (unresolvedReferrers) {
+            referrers = unresolvedReferrers.remove(object);
+        }
+        if (referrers != null) {
+            for (ERDEntity erdEntity : referrers) {
+                erdEntity.resolveRelations(this, reflect);
+            }
+        }
+    }
+
+    /**
+     * Registers entity association with the entity which is not present in diagram yet.
+     * Association will be resolved when referenced entity is added.
+     */
+    void addUnresolvedReferrer(@NotNull DBSEntity refEntity, @NotNull ERDEntity referrer) {
+        synchronized (unresolvedReferrers) {
+            unresolvedReferrers.computeIfAbsent(refEntity, e -> Collections.newSetFromMap(new IdentityHashMap<>())).add(referrer);
         }
     }
 
@@ -165,6 +185,14 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
             }
 
         }
+        synchronized (unresolvedReferrers) {
+            for (Iterator<Set<ERDEntity>> iter = unresolvedReferrers.values().iterator(); iter.hasNext(); ) {
+                Set<ERDEntity> referrers = iter.next();
+                if (referrers.remove(entity) && referrers.isEmpty()) {
+                    iter.remove();
+                }
+            }
+        }
         if (reflect) {
             firePropertyChange(CHILD, entity, null);
         }
@@ -251,12 +279,22 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
         ERDDiagram copy = new ERDDiagram(object, name, contentProvider);
         copy.entities.addAll(this.entities);
         copy.entityMap.putAll(this.entityMap);
+        synchronized (unresolvedReferrers) {
+            for (Map.Entry<DBSEntity, Set<ERDEntity>> entry : unresolvedReferrers.entrySet()) {
+                for (ERDEntity referrer : entry.getValue()) {
+                    copy.addUnresolvedReferrer(entry.getKey(), referrer);
+                }
+            }
+        }
         copy.layoutManualDesired = this.layoutManualDesired;
         copy.layoutManualAllowed = this.layoutManualAllowed;
         return copy;
     }
 
     public void fillEntities(DBRProgressMonitor monitor, Collection<DBSEntity> entities, DBSObject dbObject) throws DBException {
+        // Read attributes and foreign keys of whole schemas at once instead of table by table
+        ERDUtils.cacheEntitiesStructure(monitor, entities);
+
         // Load entities
         monitor.beginTask("Load entities metadata", entities.size());
         List<ERDEntity> entityCache = new ArrayList<>();
@@ -299,12 +337,9 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
     }
 
     public boolean containsTable(DBSEntity table) {
-        for (ERDEntity erdEntity : entities) {
-            if (erdEntity.getObject() == table) {
-                return true;
-            }
+        synchronized (entities) {
+            return entityMap.containsKey(table);
         }
-        return false;
     }
 
     public Map<DBSEntity, ERDEntity> getEntityMap() {
@@ -352,6 +387,9 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
     public void clear() {
         this.entities.clear();
         this.entityMap.clear();
+        synchronized (unresolvedReferrers) {
+            this.unresolvedReferrers.clear();
+        }
     }
 
     public boolean isNeedsAutoLayout() {
@@ -363,8 +401,8 @@ public class ERDDiagram extends ERDObject<DBSObject> implements ERDContainer {
     }
 
     public void addInitRelationBends(ERDElement<?> sourceEntity, ERDElement<?> targetEntity, String relName, List<int[]> bends) {
-        for (ERDAssociation rel : sourceEntity.getReferences()) {
-            if (rel.getSourceEntity() == targetEntity && relName.equals(rel.getObject().getName())) {
+        for (ERDAssociation rel : sourceEntity.getReferencesFrom(targetEntity)) {
+            if (relName.equals(rel.getObject().getName())) {
                 rel.setInitBends(bends);
             }
         }
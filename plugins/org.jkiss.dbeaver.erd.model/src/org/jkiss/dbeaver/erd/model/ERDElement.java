@@ -23,8 +23,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Model object representing a relational entity
@@ -39,6 +38,11 @@ public abstract class ERDElement<OBJECT> extends ERDObject<OBJECT> {
     private List<ERDAssociation> references;
     private List<ERDAssociation> associations;
 
+    // Lazily built lookup indexes: associations by target element and references by source element.
+    // Dropped on every change, so bulk loading does not pay for them.
+    private Map<ERDElement<?>, List<ERDAssociation>> associationIndex;
+    private Map<ERDElement<?>, List<ERDAssociation>> referenceIndex;
+
     /**
      * Special constructore for creating lazy entities.
      * This entity will be initialized at the moment of creation within diagram.
@@ -61,6 +65,7 @@ public abstract class ERDElement<OBJECT> extends ERDObject<OBJECT> {
             associations = new ArrayList<>();
         }
         associations.add(rel);
+        associationIndex = null;
         if (reflect) {
             firePropertyChange(OUTPUT, null, rel);
         }
@@ -76,6 +81,7 @@ public abstract class ERDElement<OBJECT> extends ERDObject<OBJECT> {
             references = new ArrayList<>();
         }
         references.add(table);
+        referenceIndex = null;
         if (reflect) {
             firePropertyChange(INPUT, null, table);
         }
@@ -88,6 +94,7 @@ public abstract class ERDElement<OBJECT> extends ERDObject<OBJECT> {
      */
     public void removeAssociation(ERDAssociation table, boolean reflect) {
         associations.remove(table);
+        associationIndex = null;
         if (reflect) {
             firePropertyChange(OUTPUT, table, null);
         }
@@ -100,6 +107,7 @@ public abstract class ERDElement<OBJECT> extends ERDObject<OBJECT> {
      */
     public void removeReferenceAssociation(ERDAssociation table, boolean reflect) {
         references.remove(table);
+        referenceIndex = null;
         if (reflect) {
             firePropertyChange(INPUT, table, null);
         }
@@ -121,26 +129,57 @@ public abstract class ERDElement<OBJECT> extends ERDObject<OBJECT> {
         return CommonUtils.safeList(references);
     }
 
-    public boolean hasSelfLinks() {
-        if (associations != null) {
-            for (ERDAssociation association : associations) {
-                if (association.getTargetEntity() == this) {
-                    return true;
-                }
-            }
+    /**
+     * @return associations where the current object is the foreign key table and the specified element is the primary key table
+     */
+    @NotNull
+    public List<ERDAssociation> getAssociationsWith(ERDElement<?> target) {
+        if (associations == null) {
+            return Collections.emptyList();
+        }
+        if (associationIndex == null) {
+            associationIndex = buildIndex(associations, true);
+        }
+        return CommonUtils.safeList(associationIndex.get(target));
+    }
+
+    /**
+     * @return references where the current object is the primary key table and the specified element is the foreign key table
+     */
+    @NotNull
+    public List<ERDAssociation> getReferencesFrom(ERDElement<?> source) {
+        if (references == null) {
+            return Collections.emptyList();
+        }
+        if (referenceIndex == null) {
+            referenceIndex = buildIndex(references, false);
         }
-        return false;
+        return CommonUtils.safeList(referenceIndex.get(source));
+    }
+
+    public boolean hasSelfLinks() {
+        return !getAssociationsWith(this).isEmpty();
     }
 
     public boolean hasAssociationsWith(ERDElement entity) {
-        if (associations != null) {
-            for (ERDAssociation assoc : associations) {
-                if (assoc.getTargetEntity() == entity) {
-                    return true;
-                }
-            }
+        return !getAssociationsWith(entity).isEmpty();
+    }
+
+    /**
+     * Association ends were changed directly (reconnect/delete commands). Indexes must be rebuilt.
+     */
+    void resetAssociationIndex() {
+        associationIndex = null;
+        referenceIndex = null;
+    }
+
+    private static Map<ERDElement<?>, List<ERDAssociation>> buildIndex(List<ERDAssociation> list, boolean byTarget) {
+        Map<ERDElement<?>, List<ERDAssociation>> index = new IdentityHashMap<>();
+        for (ERDAssociation association : list) {
+            ERDElement<?> key = byTarget ? association.getTargetEntity() : association.getSourceEntity();
+            index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(association);
         }
-        return false;
+        return index;
     }
 
 }
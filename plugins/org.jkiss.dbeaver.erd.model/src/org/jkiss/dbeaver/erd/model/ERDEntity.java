@@ -164,14 +164,17 @@ public class ERDEntity extends ERDElement<DBSEntity> {
                     if (fk instanceof DBSEntityReferrer) {
                         fkAttrs.addAll(DBUtils.getEntityAttributes(monitor, (DBSEntityReferrer) fk));
                     }
-                    ERDEntity entity2 = diagram.getEntityMap().get(
-                        DBVUtils.getRealEntity(monitor, fk.getAssociatedEntity()));
+                    DBSEntity refEntity = DBVUtils.getRealEntity(monitor, fk.getAssociatedEntity());
+                    ERDEntity entity2 = diagram.getEntityMap().get(refEntity);
                     if (entity2 == null) {
                         //log.debug("Table '" + fk.getReferencedKey().getTable().getFullyQualifiedName() + "' not found in ERD");
                         if (unresolvedKeys == null) {
                             unresolvedKeys = new ArrayList<>();
                         }
                         unresolvedKeys.add(fk);
+                        if (refEntity != null && diagram instanceof ERDDiagram) {
+                            ((ERDDiagram) diagram).addUnresolvedReferrer(refEntity, this);
+                        }
                     } else {
                         if (create) {
                             if (DBUtils.isInheritedObject(fk)) {
@@ -38,6 +38,13 @@ public class ERDUtils
 {
     private static final Log log = Log.getLog(ERDUtils.class);
 
+    // Minimal number of container entities in diagram which makes reading of the whole container structure cheaper
+    // than reading attributes and foreign keys of each entity separately
+    private static final int BULK_STRUCTURE_MIN_ENTITIES = 10;
+    // Whole container structure is read only if diagram contains at least 1/5 of container entities.
+    // Otherwise small diagram of a huge schema would read columns and keys of all schema tables.
+    private static final int BULK_STRUCTURE_MAX_RATIO = 5;
+
     @NotNull
     public static Collection<? extends DBSEntityAttribute> getBestTableIdentifier(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity)
         throws DBException {
@@ -121,6 +128,52 @@ public class ERDUtils
         return erdEntity;
     }
 
+    /**
+     * Reads attributes and associations of all entities' containers with a few queries.
+     * Containers with only a few diagram entities (by count or by share of all container children)
+     * are skipped - their entities are read one by one later.
+     */
+    public static void cacheEntitiesStructure(@NotNull DBRProgressMonitor monitor, @NotNull Collection<? extends DBSEntity> entities) {
+        Map<DBSObjectContainer, Integer> containers = new LinkedHashMap<>();
+        for (DBSEntity entity : entities) {
+            DBSObjectContainer container = DBUtils.getParentOfType(DBSObjectContainer.class, DBVUtils.tryGetRealEntity(entity));
+            if (container != null) {
+                containers.merge(container, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containers.entrySet()) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            DBSObjectContainer container = entry.getKey();
+            if (!isBulkStructureReadEffective(monitor, container, entry.getValue())) {
+                continue;
+            }
+            monitor.subTask("Read '" + container.getName() + "' structure");
+            try {
+                container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ATTRIBUTES | DBSObjectContainer.STRUCT_ASSOCIATIONS);
+            } catch (DBException e) {
+                // Not fatal. Structure will be read for each entity separately
+                log.debug("Error reading '" + container.getName() + "' structure", e);
+            }
+        }
+    }
+
+    private static boolean isBulkStructureReadEffective(@NotNull DBRProgressMonitor monitor, @NotNull DBSObjectContainer container, int diagramEntities) {
+        if (diagramEntities < BULK_STRUCTURE_MIN_ENTITIES) {
+            return false;
+        }
+        // Diagram entities were read through the container, so its children are already cached
+        Collection<? extends DBSObject> children;
+        try {
+            children = container.getChildren(monitor);
+        } catch (DBException e) {
+            log.debug("Error reading '" + container.getName() + "' children", e);
+            return false;
+        }
+        return children != null && (long) diagramEntities * BULK_STRUCTURE_MAX_RATIO >= children.size();
+    }
+
     public static Collection<DBSEntity> collectDatabaseTables(
         DBRProgressMonitor monitor,
         DBSObject root,
@@ -56,10 +56,19 @@ public class DelegatingLayoutManager implements LayoutManager {
 
     public void rearrange(IFigure container)
     {
+        graphLayoutManager.resetLayout();
         graphLayoutManager.layout(container);
         xyLayoutManager.cleanupConstraints();
     }
 
+    /**
+     * Stops background layout (if any)
+     */
+    public void cancelLayout()
+    {
+        graphLayoutManager.cancelLayout();
+    }
+
     @Override
     public void layout(IFigure container)
     {
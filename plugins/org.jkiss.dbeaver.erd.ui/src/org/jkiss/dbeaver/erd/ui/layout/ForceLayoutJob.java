@@ -0,0 +1,154 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.ConnectionEditPart;
+import org.jkiss.dbeaver.erd.ui.layout.algorithm.force.ForceDirectedLayout;
+import org.jkiss.dbeaver.erd.ui.part.DiagramPart;
+import org.jkiss.dbeaver.erd.ui.part.NodePart;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.UIUtils;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lays out big diagrams with force-directed layout in background.
+ * Intermediate node positions are published to the diagram periodically, so user sees the layout progress.
+ * Must be created in UI thread.
+ */
+public class ForceLayoutJob extends AbstractJob {
+
+    private static final int MAX_ITERATIONS = 2000;
+    private static final long PUBLISH_INTERVAL = 300;
+    private static final int DIAGRAM_MARGIN = 20;
+
+    private final DiagramPart diagram;
+    private final NodePart[] nodes;
+    private final Dimension[] sizes;
+    private final ForceDirectedLayout layout;
+    // Only one publish request may wait in UI queue
+    private final AtomicBoolean publishPending = new AtomicBoolean();
+
+    /**
+     * @param keepPositions start from current node positions. Otherwise all nodes are placed from scratch.
+     */
+    public ForceLayoutJob(DiagramPart diagram, boolean keepPositions) {
+        super("Layout diagram '" + diagram.getDiagram().getName() + "'");
+        setUser(false);
+        this.diagram = diagram;
+
+        List<NodePart> nodeList = new ArrayList<>();
+        for (Object child : diagram.getChildren()) {
+            if (child instanceof NodePart) {
+                nodeList.add((NodePart) child);
+            }
+        }
+        this.nodes = nodeList.toArray(new NodePart[0]);
+        this.sizes = new Dimension[nodes.length];
+
+        Insets insets = diagram.getDiagram().getDecorator().getDefaultEntityInsets();
+        this.layout = new ForceDirectedLayout(nodes.length, insets.getWidth() + insets.getHeight());
+        Map<NodePart, Integer> nodeIndexes = new IdentityHashMap<>();
+        for (int i = 0; i < nodes.length; i++) {
+            NodePart node = nodes[i];
+            nodeIndexes.put(node, i);
+            sizes[i] = node.getFigure().getPreferredSize();
+            Rectangle bounds = node.getBounds();
+            if (keepPositions && bounds != null) {
+                layout.setNode(i, bounds.x, bounds.y, sizes[i].width, sizes[i].height, true);
+            } else {
+                layout.setNode(i, 0, 0, sizes[i].width, sizes[i].height, false);
+            }
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            for (Object connection : nodes[i].getSourceConnections()) {
+                Integer target = nodeIndexes.get(((ConnectionEditPart) connection).getTarget());
+                if (target != null) {
+                    layout.addEdge(i, target);
+                }
+            }
+        }
+        layout.initialize();
+    }
+
+    /**
+     * Applies initial positions. New nodes are placed in grid, so diagram is readable before layout ends.
+     */
+    public void applyInitialPositions() {
+        applyPositions(layout.getLeftPositions(DIAGRAM_MARGIN), layout.getTopPositions(DIAGRAM_MARGIN));
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor) {
+        monitor.beginTask(getName(), MAX_ITERATIONS);
+        try {
+            long lastPublishTime = System.currentTimeMillis();
+            for (int i = 0; i < MAX_ITERATIONS && layout.step(); i++) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                monitor.worked(1);
+                if (System.currentTimeMillis() - lastPublishTime >= PUBLISH_INTERVAL) {
+                    publishPositions(false);
+                    lastPublishTime = System.currentTimeMillis();
+                }
+            }
+            publishPositions(true);
+        } finally {
+            monitor.done();
+        }
+        return Status.OK_STATUS;
+    }
+
+    private void publishPositions(boolean force) {
+        if (!publishPending.compareAndSet(false, true) && !force) {
+            // UI didn't apply previous positions yet
+            return;
+        }
+        int[] left = layout.getLeftPositions(DIAGRAM_MARGIN);
+        int[] top = layout.getTopPositions(DIAGRAM_MARGIN);
+        UIUtils.asyncExec(() -> {
+            publishPending.set(false);
+            if (!isCanceled() && diagram.isActive()) {
+                applyPositions(left, top);
+            }
+        });
+    }
+
+    private void applyPositions(int[] left, int[] top) {
+        for (int i = 0; i < nodes.length; i++) {
+            IFigure figure = nodes[i].getFigure();
+            if (figure != null) {
+                figure.setBounds(new Rectangle(left[i], top[i], sizes[i].width, sizes[i].height));
+            }
+        }
+        // Save bounds in model and in XY layout constraints
+        diagram.setTableModelBounds();
+    }
+
+}
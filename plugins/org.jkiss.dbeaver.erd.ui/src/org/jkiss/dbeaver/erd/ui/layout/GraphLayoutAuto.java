@@ -26,18 +26,25 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.jkiss.dbeaver.erd.ui.layout.algorithm.direct.DirectedGraphLayoutVisitor;
 import org.jkiss.dbeaver.erd.ui.part.DiagramPart;
+import org.jkiss.dbeaver.erd.ui.part.NodePart;
 
 import java.util.List;
 
 
 /**
- * Uses the DirectedGraphLayoutVisitor to automatically lay out figures on diagram
+ * Uses the DirectedGraphLayoutVisitor to automatically lay out figures on diagram.
+ * Big diagrams are laid out by ForceLayoutJob in background.
  * @author Serge Rider
  */
 public class GraphLayoutAuto extends AbstractLayout
 {
+	// Directed graph layout is too slow for bigger diagrams and blocks UI thread
+	private static final int FORCE_LAYOUT_MIN_NODES = 150;
 
 	private DiagramPart diagram;
+	private ForceLayoutJob layoutJob;
+	private int layoutNodeCount;
+	private boolean resetPositions;
 
 	public GraphLayoutAuto(DiagramPart diagram)
 	{
@@ -61,6 +68,11 @@ public class GraphLayoutAuto extends AbstractLayout
 	@Override
     public void layout(IFigure container)
 	{
+		int nodeCount = getNodeCount();
+		if (nodeCount >= FORCE_LAYOUT_MIN_NODES) {
+			layoutInBackground(nodeCount);
+			return;
+		}
         Animation.markBegin();
 /*
 		GraphAnimation.recordInitialState(container);
@@ -75,5 +87,46 @@ public class GraphLayoutAuto extends AbstractLayout
 
         Animation.run(400);
 	}
-	
+
+	/**
+	 * Next layout will place all nodes from scratch
+	 */
+	public void resetLayout()
+	{
+		cancelLayout();
+		layoutJob = null;
+		resetPositions = true;
+	}
+
+	public void cancelLayout()
+	{
+		if (layoutJob != null) {
+			layoutJob.cancel();
+		}
+	}
+
+	private void layoutInBackground(int nodeCount)
+	{
+		if (layoutJob != null && (!layoutJob.isFinished() || nodeCount == layoutNodeCount)) {
+			// Layout is still in progress or diagram content wasn't changed since the last layout
+			return;
+		}
+		layoutJob = new ForceLayoutJob(diagram, !resetPositions);
+		layoutNodeCount = nodeCount;
+		resetPositions = false;
+		layoutJob.applyInitialPositions();
+		layoutJob.schedule();
+	}
+
+	private int getNodeCount()
+	{
+		int count = 0;
+		for (Object child : diagram.getChildren()) {
+			if (child instanceof NodePart) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,472 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout.algorithm.force;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Force-directed (Fruchterman-Reingold) layout of rectangular nodes.
+ * Repulsion is calculated only between nodes from neighbour cells of a uniform spatial grid,
+ * so each iteration takes near-linear time even for thousands of nodes.
+ * Layout is incremental: each {@link #step()} performs one iteration and current
+ * node positions may be read between iterations.
+ * When forces are balanced the layout removes remaining node overlaps.
+ */
+public class ForceDirectedLayout {
+
+    private static final double COOLING_FACTOR = 0.95;
+    private static final double MIN_TEMPERATURE = 0.5;
+    private static final double MIN_MOVEMENT = 0.5;
+    private static final double GRAVITY = 0.01;
+    // Nodes with bigger gap between borders do not repulse each other
+    private static final double REPULSION_RANGE = 3.0;
+    // Golden angle, used to separate nodes with coincident centers
+    private static final double SEPARATION_ANGLE = 2.399963;
+    private static final int MAX_OVERLAP_ITERATIONS = 1000;
+
+    private final int nodeCount;
+    private final double spacing;
+    // Node centers and half sizes
+    private final double[] x;
+    private final double[] y;
+    private final double[] halfWidth;
+    private final double[] halfHeight;
+    private final boolean[] positioned;
+    private final double[] dispX;
+    private final double[] dispY;
+
+    private int[] edgeSource = new int[16];
+    private int[] edgeTarget = new int[16];
+    private int edgeCount;
+
+    private double maxHalfDiagonal;
+    private double temperature;
+    private int overlapIterations;
+
+    // Spatial grid: linked lists of nodes in cells
+    private int[] cellHead = new int[0];
+    private final int[] cellNext;
+    private double gridLeft;
+    private double gridTop;
+    private double cellSize;
+    private int gridColumns;
+    private int gridRows;
+
+    /**
+     * @param nodeCount number of nodes
+     * @param spacing   preferred gap between borders of connected nodes
+     */
+    public ForceDirectedLayout(int nodeCount, double spacing) {
+        this.nodeCount = nodeCount;
+        this.spacing = spacing;
+        this.x = new double[nodeCount];
+        this.y = new double[nodeCount];
+        this.halfWidth = new double[nodeCount];
+        this.halfHeight = new double[nodeCount];
+        this.positioned = new boolean[nodeCount];
+        this.dispX = new double[nodeCount];
+        this.dispY = new double[nodeCount];
+        this.cellNext = new int[nodeCount];
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Sets node size and initial location
+     * @param positioned false if node has no location yet. Such nodes are placed in grid by {@link #initialize()}
+     */
+    public void setNode(int index, int left, int top, int width, int height, boolean positioned) {
+        this.halfWidth[index] = Math.max(width, 1) / 2.0;
+        this.halfHeight[index] = Math.max(height, 1) / 2.0;
+        this.x[index] = left + halfWidth[index];
+        this.y[index] = top + halfHeight[index];
+        this.positioned[index] = positioned;
+    }
+
+    public void addEdge(int source, int target) {
+        if (source == target) {
+            return;
+        }
+        if (edgeCount == edgeSource.length) {
+            edgeSource = Arrays.copyOf(edgeSource, edgeCount * 2);
+            edgeTarget = Arrays.copyOf(edgeTarget, edgeCount * 2);
+        }
+        edgeSource[edgeCount] = source;
+        edgeTarget[edgeCount] = target;
+        edgeCount++;
+    }
+
+    /**
+     * Places nodes without location and prepares iterations.
+     * If all nodes already have locations then layout just refines them.
+     */
+    public void initialize() {
+        int unpositioned = 0;
+        maxHalfDiagonal = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (!positioned[i]) {
+                unpositioned++;
+            }
+            maxHalfDiagonal = Math.max(maxHalfDiagonal, Math.hypot(halfWidth[i], halfHeight[i]));
+        }
+        if (unpositioned > 0) {
+            placeInGrid();
+        }
+        // Fresh layout needs big moves, refinement of existing one - small
+        temperature = unpositioned > nodeCount / 2 ? spacing * 4 : spacing;
+    }
+
+    public boolean isConverged() {
+        return temperature < MIN_TEMPERATURE && overlapIterations >= MAX_OVERLAP_ITERATIONS;
+    }
+
+    /**
+     * Performs one layout iteration.
+     * @return true if layout is not converged yet and more iterations are needed
+     */
+    public boolean step() {
+        if (nodeCount < 2 || isConverged()) {
+            return false;
+        }
+        if (temperature < MIN_TEMPERATURE) {
+            if (!removeOverlaps()) {
+                overlapIterations = MAX_OVERLAP_ITERATIONS;
+            } else {
+                overlapIterations++;
+            }
+            return !isConverged();
+        }
+        Arrays.fill(dispX, 0);
+        Arrays.fill(dispY, 0);
+
+        applyRepulsion();
+        applyAttraction();
+        applyGravity();
+
+        double maxMove = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            double length = Math.hypot(dispX[i], dispY[i]);
+            if (length < 1e-9) {
+                continue;
+            }
+            double move = Math.min(length, temperature);
+            x[i] += dispX[i] / length * move;
+            y[i] += dispY[i] / length * move;
+            maxMove = Math.max(maxMove, move);
+        }
+        temperature *= COOLING_FACTOR;
+        if (maxMove < MIN_MOVEMENT) {
+            temperature = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Left coordinate of node. Layout is shifted so the leftmost node starts at the specified margin.
+     */
+    public int[] getLeftPositions(int margin) {
+        int[] result = new int[nodeCount];
+        double minX = Double.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            minX = Math.min(minX, x[i] - halfWidth[i]);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            result[i] = (int) Math.round(x[i] - halfWidth[i] - minX) + margin;
+        }
+        return result;
+    }
+
+    /**
+     * Top coordinate of node. Layout is shifted so the topmost node starts at the specified margin.
+     */
+    public int[] getTopPositions(int margin) {
+        int[] result = new int[nodeCount];
+        double minY = Double.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            minY = Math.min(minY, y[i] - halfHeight[i]);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            result[i] = (int) Math.round(y[i] - halfHeight[i] - minY) + margin;
+        }
+        return result;
+    }
+
+    /**
+     * Fills spatial grid. Any pair of nodes with gap less than repulsion range lies in the same or in adjacent cells.
+     */
+    private void buildGrid() {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        gridLeft = minX;
+        gridTop = minY;
+        cellSize = spacing * REPULSION_RANGE + maxHalfDiagonal * 2;
+        for (;;) {
+            gridColumns = (int) ((maxX - minX) / cellSize) + 1;
+            gridRows = (int) ((maxY - minY) / cellSize) + 1;
+            if ((long) gridColumns * gridRows <= Math.max(1024, nodeCount * 4L)) {
+                break;
+            }
+            // Nodes are too sparse. Bigger cells make grid smaller without breaking correctness.
+            cellSize *= 2;
+        }
+        int cellCount = gridColumns * gridRows;
+        if (cellHead.length < cellCount) {
+            cellHead = new int[cellCount];
+        }
+        Arrays.fill(cellHead, 0, cellCount, -1);
+        for (int i = 0; i < nodeCount; i++) {
+            int cell = getRow(i) * gridColumns + getColumn(i);
+            cellNext[i] = cellHead[cell];
+            cellHead[cell] = i;
+        }
+    }
+
+    private int getColumn(int index) {
+        return (int) ((x[index] - gridLeft) / cellSize);
+    }
+
+    private int getRow(int index) {
+        return (int) ((y[index] - gridTop) / cellSize);
+    }
+
+    private void applyRepulsion() {
+        buildGrid();
+        double range = spacing * REPULSION_RANGE;
+        double k2 = spacing * spacing;
+        for (int i = 0; i < nodeCount; i++) {
+            int column = getColumn(i);
+            int row = getRow(i);
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, gridRows - 1); r++) {
+                for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, gridColumns - 1); c++) {
+                    for (int j = cellHead[r * gridColumns + c]; j >= 0; j = cellNext[j]) {
+                        if (j <= i) {
+                            continue;
+                        }
+                        double deltaX = x[i] - x[j];
+                        double deltaY = y[i] - y[j];
+                        double distance = Math.hypot(deltaX, deltaY);
+                        if (distance < 1e-6) {
+                            double angle = (i + j) * SEPARATION_ANGLE;
+                            deltaX = Math.cos(angle);
+                            deltaY = Math.sin(angle);
+                            distance = 1;
+                        }
+                        double ux = deltaX / distance, uy = deltaY / distance;
+                        double gap = distance - getExtent(i, ux, uy) - getExtent(j, ux, uy);
+                        if (gap > range) {
+                            continue;
+                        }
+                        double force = k2 / Math.max(gap, spacing * 0.1);
+                        if (gap < 0) {
+                            // Overlapped nodes get additional push proportional to overlap depth
+                            force -= gap * spacing;
+                        }
+                        dispX[i] += ux * force;
+                        dispY[i] += uy * force;
+                        dispX[j] -= ux * force;
+                        dispY[j] -= uy * force;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves apart overlapping nodes along the axis of smaller penetration.
+     * Nodes keep at least half of spacing between each other.
+     * Positions are updated immediately (not after the whole pass) - it converges much faster.
+     * @return true if some nodes still overlap
+     */
+    private boolean removeOverlaps() {
+        buildGrid();
+        double margin = spacing / 2;
+        boolean overlapped = false;
+        for (int i = 0; i < nodeCount; i++) {
+            int column = getColumn(i);
+            int row = getRow(i);
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, gridRows - 1); r++) {
+                for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, gridColumns - 1); c++) {
+                    for (int j = cellHead[r * gridColumns + c]; j >= 0; j = cellNext[j]) {
+                        if (j <= i) {
+                            continue;
+                        }
+                        double deltaX = x[i] - x[j];
+                        double deltaY = y[i] - y[j];
+                        double overlapX = halfWidth[i] + halfWidth[j] + margin - Math.abs(deltaX);
+                        double overlapY = halfHeight[i] + halfHeight[j] + margin - Math.abs(deltaY);
+                        if (overlapX <= 0 || overlapY <= 0) {
+                            continue;
+                        }
+                        if (overlapX > margin && overlapY > margin) {
+                            overlapped = true;
+                        }
+                        if (overlapX < overlapY) {
+                            double shift = (deltaX < 0 || (deltaX == 0 && i % 2 == 0) ? -overlapX : overlapX) / 2;
+                            x[i] += shift;
+                            x[j] -= shift;
+                        } else {
+                            double shift = (deltaY < 0 || (deltaY == 0 && i % 2 == 0) ? -overlapY : overlapY) / 2;
+                            y[i] += shift;
+                            y[j] -= shift;
+                        }
+                    }
+                }
+            }
+        }
+        return overlapped;
+    }
+
+    private void applyAttraction() {
+        for (int e = 0; e < edgeCount; e++) {
+            int i = edgeSource[e], j = edgeTarget[e];
+            double deltaX = x[j] - x[i];
+            double deltaY = y[j] - y[i];
+            double distance = Math.hypot(deltaX, deltaY);
+            if (distance < 1e-6) {
+                continue;
+            }
+            double ux = deltaX / distance, uy = deltaY / distance;
+            double gap = distance - getExtent(i, ux, uy) - getExtent(j, ux, uy);
+            if (gap <= 0) {
+                continue;
+            }
+            // Linear spring instead of classic quadratic attraction: hubs with many references
+            // do not crush their neighbours together
+            double force = gap;
+            dispX[i] += ux * force;
+            dispY[i] += uy * force;
+            dispX[j] -= ux * force;
+            dispY[j] -= uy * force;
+        }
+    }
+
+    /**
+     * Weak pull to the center of mass keeps disconnected parts of diagram together
+     */
+    private void applyGravity() {
+        double centerX = 0, centerY = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            centerX += x[i];
+            centerY += y[i];
+        }
+        centerX /= nodeCount;
+        centerY /= nodeCount;
+        for (int i = 0; i < nodeCount; i++) {
+            dispX[i] += (centerX - x[i]) * GRAVITY;
+            dispY[i] += (centerY - y[i]) * GRAVITY;
+        }
+    }
+
+    /**
+     * Distance from node center to its border in the specified direction
+     */
+    private double getExtent(int index, double ux, double uy) {
+        double ax = Math.abs(ux), ay = Math.abs(uy);
+        double extentX = ax < 1e-9 ? Double.MAX_VALUE : halfWidth[index] / ax;
+        double extentY = ay < 1e-9 ? Double.MAX_VALUE : halfHeight[index] / ay;
+        return Math.min(extentX, extentY);
+    }
+
+    /**
+     * Places nodes without location in grid to the right of positioned nodes.
+     * Nodes are ordered by connected components, so related nodes start close to each other.
+     */
+    private void placeInGrid() {
+        int[] adjacencyStart = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            adjacencyStart[edgeSource[e] + 1]++;
+            adjacencyStart[edgeTarget[e] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            adjacencyStart[i + 1] += adjacencyStart[i];
+        }
+        int[] adjacency = new int[edgeCount * 2];
+        int[] fill = Arrays.copyOf(adjacencyStart, nodeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            adjacency[fill[edgeSource[e]]++] = edgeTarget[e];
+            adjacency[fill[edgeTarget[e]]++] = edgeSource[e];
+        }
+
+        int[] order = new int[nodeCount];
+        int orderSize = 0;
+        boolean[] visited = new boolean[nodeCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int start = 0; start < nodeCount; start++) {
+            if (visited[start] || positioned[start]) {
+                continue;
+            }
+            visited[start] = true;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                order[orderSize++] = node;
+                for (int a = adjacencyStart[node]; a < adjacencyStart[node + 1]; a++) {
+                    int next = adjacency[a];
+                    if (!visited[next] && !positioned[next]) {
+                        visited[next] = true;
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+
+        double originX = 0, originY = Double.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            if (positioned[i]) {
+                originX = Math.max(originX, x[i] + halfWidth[i] + spacing);
+                originY = Math.min(originY, y[i] - halfHeight[i]);
+            }
+        }
+        if (originY == Double.MAX_VALUE) {
+            originY = 0;
+        }
+
+        int columns = (int) Math.ceil(Math.sqrt(orderSize));
+        int rows = (orderSize + columns - 1) / columns;
+        double[] columnWidth = new double[columns];
+        double[] rowHeight = new double[rows];
+        for (int n = 0; n < orderSize; n++) {
+            int node = order[n];
+            columnWidth[n % columns] = Math.max(columnWidth[n % columns], halfWidth[node] * 2);
+            rowHeight[n / columns] = Math.max(rowHeight[n / columns], halfHeight[node] * 2);
+        }
+        double[] columnLeft = new double[columns];
+        for (int c = 1; c < columns; c++) {
+            columnLeft[c] = columnLeft[c - 1] + columnWidth[c - 1] + spacing;
+        }
+        double rowTop = 0;
+        for (int n = 0; n < orderSize; n++) {
+            int node = order[n];
+            if (n > 0 && n % columns == 0) {
+                rowTop += rowHeight[n / columns - 1] + spacing;
+            }
+            x[node] = originX + columnLeft[n % columns] + halfWidth[node];
+            y[node] = originY + rowTop + halfHeight[node];
+            positioned[node] = true;
+        }
+    }
+
+}
@@ -175,8 +175,8 @@ public class EntityDiagram extends ERDDiagram implements ERDContainerDecorated {
     }
 
     public void addInitRelationBends(ERDElement<?> sourceEntity, ERDElement<?> targetEntity, String relName, List<int[]> bends) {
-        for (ERDAssociation rel : sourceEntity.getReferences()) {
-            if (rel.getSourceEntity() == targetEntity && relName.equals(rel.getObject().getName())) {
+        for (ERDAssociation rel : sourceEntity.getReferencesFrom(targetEntity)) {
+            if (relName.equals(rel.getObject().getName())) {
                 rel.setInitBends(bends);
             }
         }
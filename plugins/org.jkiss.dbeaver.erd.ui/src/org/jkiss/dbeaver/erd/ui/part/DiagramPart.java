@@ -98,6 +98,9 @@ public class DiagramPart extends PropertyAwarePart {
     @Override
     public void deactivate()
     {
+        if (delegatingLayoutManager != null) {
+            delegatingLayoutManager.cancelLayout();
+        }
         resetFonts();
         getViewer().getEditDomain().getCommandStack().removeCommandStackEventListener(stackListener);
         super.deactivate();
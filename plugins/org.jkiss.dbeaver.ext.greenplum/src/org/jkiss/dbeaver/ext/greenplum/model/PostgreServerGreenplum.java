@@ -110,6 +110,11 @@ public class PostgreServerGreenplum extends PostgreServerExtensionBase {
         return GreenplumWithClauseBuilder.generateWithClause(table, tableBase);
     }
 
+    @Override
+    public boolean isServerSideTableDDL() {
+        return true;
+    }
+
     @Override
     public String readTableDDL(DBRProgressMonitor monitor, PostgreTableBase table) throws DBException {
         if (table instanceof GreenplumExternalTable) {
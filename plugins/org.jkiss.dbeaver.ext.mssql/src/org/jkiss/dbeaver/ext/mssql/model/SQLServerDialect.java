@@ -17,25 +17,36 @@
 package org.jkiss.dbeaver.ext.mssql.model;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.ext.mssql.SQLServerConstants;
 import org.jkiss.dbeaver.ext.mssql.SQLServerUtils;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
+import org.jkiss.dbeaver.model.impl.sql.FullTextSQLDialect;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.dbeaver.model.struct.rdb.DBSProcedure;
 import org.jkiss.dbeaver.model.struct.rdb.DBSProcedureParameter;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
-public class SQLServerDialect extends JDBCSQLDialect {
+public class SQLServerDialect extends JDBCSQLDialect implements FullTextSQLDialect {
 
     private static final String[][] TSQL_BEGIN_END_BLOCK = new String[][]{
         /*{
@@ -236,4 +247,42 @@ public class SQLServerDialect extends JDBCSQLDialect {
         sql.append("\nSELECT\t'Return Value' = @return_value\n\n");
         sql.append("GO\n\n");
     }
+
+    @NotNull
+    @Override
+    public Map<DBSEntityAttribute, String> getFullTextConditions(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity)
+        throws DBException
+    {
+        if (!(entity instanceof SQLServerTableBase)) {
+            return Collections.emptyMap();
+        }
+        SQLServerTableBase table = (SQLServerTableBase) entity;
+        Map<DBSEntityAttribute, String> conditions = new LinkedHashMap<>();
+        // Full-text indexes are not listed in table indexes
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, table, "Read table full-text index")) {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT column_id FROM " + SQLServerUtils.getSystemTableName(table.getDatabase(), "fulltext_index_columns") +
+                    " WHERE object_id=?")) {
+                dbStat.setLong(1, table.getObjectId());
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        SQLServerTableColumn column = table.getAttribute(monitor, dbResult.getLong(1));
+                        if (column != null) {
+                            conditions.put(column, "CONTAINS(" + DBUtils.getQuotedIdentifier(column) + ", ?)");
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DBCException(e, session.getExecutionContext());
+            }
+        }
+        return conditions;
+    }
+
+    @NotNull
+    @Override
+    public String getFullTextSearchValue(@NotNull String searchString) {
+        // Phrase search
+        return "\"" + searchString.replace("\"", "") + "\"";
+    }
 }
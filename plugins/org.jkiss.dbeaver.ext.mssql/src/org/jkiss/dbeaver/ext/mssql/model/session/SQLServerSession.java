@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.ext.mssql.model.session;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.utils.CommonUtils;
 
 import java.sql.ResultSet;
 import java.util.Date;
@@ -217,6 +218,16 @@ public class SQLServerSession extends AbstractServerSession {
         return sqlText;
     }
 
+    @Override
+    public Object getSessionId() {
+        return id;
+    }
+
+    @Override
+    public boolean isActiveSession() {
+        return status != null && !"sleeping".equalsIgnoreCase(status) && !CommonUtils.isEmpty(sqlText);
+    }
+
     @Override
     public String toString()
     {
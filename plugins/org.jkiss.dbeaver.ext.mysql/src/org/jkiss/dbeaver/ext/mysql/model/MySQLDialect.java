@@ -18,20 +18,27 @@ package org.jkiss.dbeaver.ext.mysql.model;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ext.mysql.MySQLConstants;
+import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
 import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.impl.sql.FullTextSQLDialect;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.*;
 
 /**
 * MySQL dialect
 */
-class MySQLDialect extends JDBCSQLDialect {
+class MySQLDialect extends JDBCSQLDialect implements FullTextSQLDialect {
 
     public static final String[] MYSQL_NON_TRANSACTIONAL_KEYWORDS = ArrayUtils.concatArrays(
         BasicSQLDialect.NON_TRANSACTIONAL_KEYWORDS,
@@ -226,4 +233,34 @@ class MySQLDialect extends JDBCSQLDialect {
         return true;
     }
 
+    @NotNull
+    @Override
+    public Map<DBSEntityAttribute, String> getFullTextConditions(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity)
+        throws DBException
+    {
+        if (!(entity instanceof MySQLTable)) {
+            return Collections.emptyMap();
+        }
+        Map<DBSEntityAttribute, String> conditions = new LinkedHashMap<>();
+        // MATCH column list must be exactly the same as in FULLTEXT index
+        for (MySQLTableIndex index : CommonUtils.safeCollection(((MySQLTable) entity).getIndexes(monitor))) {
+            if (index.getIndexType() != MySQLConstants.INDEX_TYPE_FULLTEXT) {
+                continue;
+            }
+            List<MySQLTableIndexColumn> columns = index.getAttributeReferences(monitor);
+            if (columns != null && columns.size() == 1) {
+                MySQLTableColumn column = columns.get(0).getTableColumn();
+                conditions.put(column, "MATCH(" + DBUtils.getQuotedIdentifier(column) + ") AGAINST (? IN BOOLEAN MODE)");
+            }
+        }
+        return conditions;
+    }
+
+    @NotNull
+    @Override
+    public String getFullTextSearchValue(@NotNull String searchString) {
+        // Phrase search
+        return "\"" + searchString.replace("\"", "") + "\"";
+    }
+
 }
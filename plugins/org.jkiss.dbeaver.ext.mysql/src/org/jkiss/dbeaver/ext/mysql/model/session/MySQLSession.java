@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.ext.mysql.model.session;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.utils.CommonUtils;
 
 import java.sql.ResultSet;
 
@@ -95,6 +96,16 @@ public class MySQLSession extends AbstractServerSession {
         return info;
     }
 
+    @Override
+    public Object getSessionId() {
+        return pid;
+    }
+
+    @Override
+    public boolean isActiveSession() {
+        return !"Sleep".equals(command) && !CommonUtils.isEmpty(info);
+    }
+
     @Override
     public String toString()
     {
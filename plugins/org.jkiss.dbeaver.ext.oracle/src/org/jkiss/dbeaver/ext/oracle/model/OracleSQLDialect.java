@@ -18,29 +18,42 @@ package org.jkiss.dbeaver.ext.oracle.model;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.ext.oracle.data.OracleBinaryFormatter;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPKeywordType;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDBinaryFormatter;
+import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
 import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.impl.sql.FullTextSQLDialect;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLConstants;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.dbeaver.model.struct.rdb.DBSProcedure;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Oracle SQL dialect
  */
-public class OracleSQLDialect extends JDBCSQLDialect {
+public class OracleSQLDialect extends JDBCSQLDialect implements FullTextSQLDialect {
 
     public static final String[] EXEC_KEYWORDS = new String[]{ "call" };
 
@@ -459,4 +472,48 @@ public class OracleSQLDialect extends JDBCSQLDialect {
         }
         return super.getColumnTypeModifiers(dataSource, column, typeName, dataKind);
     }
+
+    @NotNull
+    @Override
+    public Map<DBSEntityAttribute, String> getFullTextConditions(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity)
+        throws DBException
+    {
+        if (!(entity instanceof OracleTableBase)) {
+            return Collections.emptyMap();
+        }
+        OracleTableBase table = (OracleTableBase) entity;
+        OracleDataSource dataSource = table.getDataSource();
+        Map<DBSEntityAttribute, String> conditions = new LinkedHashMap<>();
+        // CONTAINS works only with Oracle Text CONTEXT indexes
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, table, "Read table text indexes")) {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT ic.COLUMN_NAME FROM " + OracleUtils.getAdminAllViewPrefix(monitor, dataSource, "INDEXES") + " i, " +
+                    OracleUtils.getAdminAllViewPrefix(monitor, dataSource, "IND_COLUMNS") + " ic\n" +
+                    "WHERE ic.INDEX_OWNER=i.OWNER AND ic.INDEX_NAME=i.INDEX_NAME AND i.ITYP_OWNER='CTXSYS' AND i.ITYP_NAME='CONTEXT'\n" +
+                    "AND ic.TABLE_OWNER=? AND ic.TABLE_NAME=?")) {
+                dbStat.setString(1, table.getSchema().getName());
+                dbStat.setString(2, table.getName());
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        OracleTableColumn column = table.getAttribute(monitor, dbResult.getString(1));
+                        if (column != null &&
+                            (column.getDataKind() == DBPDataKind.STRING || column.getDataKind() == DBPDataKind.CONTENT))
+                        {
+                            conditions.put(column, "CONTAINS(" + DBUtils.getQuotedIdentifier(column) + ", ?) > 0");
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DBCException(e, session.getExecutionContext());
+            }
+        }
+        return conditions;
+    }
+
+    @NotNull
+    @Override
+    public String getFullTextSearchValue(@NotNull String searchString) {
+        // Braces escape all Oracle Text operators
+        return "{" + searchString.replace("}", "}}") + "}";
+    }
 }
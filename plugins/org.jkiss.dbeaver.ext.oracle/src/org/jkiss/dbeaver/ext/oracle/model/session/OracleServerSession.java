@@ -268,6 +268,17 @@ public class OracleServerSession extends AbstractServerSession {
         return sqlId;
     }
 
+    @Override
+    public Object getSessionId() {
+        // SID is reused by server, serial# makes it unique
+        return instId + ":" + sid + "," + serial;
+    }
+
+    @Override
+    public boolean isActiveSession() {
+        return "ACTIVE".equals(status) && !"BACKGROUND".equals(type);
+    }
+
     @Override
     public String toString() {
         return sid + " - " + event;
@@ -0,0 +1,86 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.tools;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreSchema;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreSchemaDDLGenerator;
+import org.jkiss.dbeaver.model.DBPScriptObject;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.ui.dialogs.DialogUtils;
+import org.jkiss.dbeaver.ui.tools.IUserInterfaceTool;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Saves full schema DDL into a file.
+ * Script is streamed to the file as it is generated, so large schemas are not kept in memory.
+ */
+public class PostgreToolExportSchemaDDL implements IUserInterfaceTool
+{
+    @Override
+    public void execute(IWorkbenchWindow window, IWorkbenchPart activePart, Collection<DBSObject> objects) throws DBException
+    {
+        for (DBSObject object : objects) {
+            if (object instanceof PostgreSchema) {
+                PostgreSchema schema = (PostgreSchema) object;
+                File outputFile = DialogUtils.selectFileForSave(
+                    window.getShell(),
+                    "Save DDL of schema '" + schema.getName() + "'",
+                    new String[] { "*.sql", "*" }, //$NON-NLS-1$ //$NON-NLS-2$
+                    schema.getName() + ".sql"); //$NON-NLS-1$
+                if (outputFile != null) {
+                    exportSchema(schema, outputFile);
+                }
+            }
+        }
+    }
+
+    private static void exportSchema(PostgreSchema schema, File outputFile) {
+        Map<String, Object> options = new HashMap<>();
+        options.put(DBPScriptObject.OPTION_DDL_SOURCE, true);
+        options.put(DBPScriptObject.OPTION_INCLUDE_COMMENTS, true);
+        options.put(DBPScriptObject.OPTION_INCLUDE_PERMISSIONS, true);
+        options.put(DBPScriptObject.OPTION_INCLUDE_NESTED_OBJECTS, true);
+
+        new AbstractJob("Export DDL of schema '" + schema.getName() + "'") {
+            {
+                setUser(true);
+            }
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                try {
+                    new PostgreSchemaDDLGenerator(schema, options).generateScript(monitor, outputFile);
+                } catch (Exception e) {
+                    DBWorkbench.getPlatformUI().showError("Schema DDL export", "Can't export DDL of schema '" + schema.getName() + "'", e);
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+}
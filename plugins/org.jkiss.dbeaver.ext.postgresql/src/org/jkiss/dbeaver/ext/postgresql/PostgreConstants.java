@@ -89,6 +89,7 @@ public class PostgreConstants {
     public static final String TYPE_HSTORE = "hstore";
     public static final String TYPE_JSON = "json";
     public static final String TYPE_JSONB = "jsonb";
+    public static final String TYPE_TSVECTOR = "tsvector";
     public static final String TYPE_BIT = "bit";
     public static final String TYPE_REFCURSOR = "refcursor";
     public static final String TYPE_MONEY = "money";
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.ext.postgresql.model;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
 import org.jkiss.dbeaver.ext.postgresql.edit.PostgreTableColumnManager;
 import org.jkiss.dbeaver.ext.postgresql.model.data.PostgreBinaryFormatter;
@@ -26,27 +27,32 @@ import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPKeywordType;
+import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDBinaryFormatter;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
 import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.impl.sql.FullTextSQLDialect;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.dbeaver.model.text.parser.TPRule;
 import org.jkiss.dbeaver.model.text.parser.TPRuleProvider;
 import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
 
 import java.sql.Types;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * PostgreSQL dialect
  */
-public class PostgreDialect extends JDBCSQLDialect implements TPRuleProvider {
+public class PostgreDialect extends JDBCSQLDialect implements TPRuleProvider, FullTextSQLDialect {
 
     public static final String[] POSTGRE_NON_TRANSACTIONAL_KEYWORDS = ArrayUtils.concatArrays(
         BasicSQLDialect.NON_TRANSACTIONAL_KEYWORDS,
@@ -874,4 +880,25 @@ public class PostgreDialect extends JDBCSQLDialect implements TPRuleProvider {
             rules.add(new PostgreDollarQuoteRule(dataSource, position == RulePosition.PARTITION));
         }
     }
+
+    @NotNull
+    @Override
+    public Map<DBSEntityAttribute, String> getFullTextConditions(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity)
+        throws DBException
+    {
+        Map<DBSEntityAttribute, String> conditions = new LinkedHashMap<>();
+        // Text columns are searched with LIKE which can use trigram indexes. Only tsvector columns need special predicate.
+        for (DBSEntityAttribute attribute : CommonUtils.safeCollection(entity.getAttributes(monitor))) {
+            if (PostgreConstants.TYPE_TSVECTOR.equals(attribute.getTypeName())) {
+                conditions.put(attribute, DBUtils.getQuotedIdentifier(attribute) + " @@ plainto_tsquery(?)");
+            }
+        }
+        return conditions;
+    }
+
+    @NotNull
+    @Override
+    public String getFullTextSearchValue(@NotNull String searchString) {
+        return searchString;
+    }
 }
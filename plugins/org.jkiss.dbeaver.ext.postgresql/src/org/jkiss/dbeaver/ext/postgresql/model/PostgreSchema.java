@@ -45,13 +45,12 @@ import org.jkiss.dbeaver.model.struct.rdb.DBSProcedureContainer;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -384,6 +383,141 @@ public class PostgreSchema implements
         }
     }
 
+    /**
+     * Reads triggers and rules of all schema tables with a single query per object type.
+     * Otherwise each table reads them lazily on DDL generation.
+     */
+    public void cacheTableTriggersAndRules(DBRProgressMonitor monitor) throws DBException {
+        Map<Long, PostgreTableReal> tableMap = new HashMap<>();
+        for (PostgreTableBase table : getTableCache().getAllObjects(monitor, this)) {
+            if (table instanceof PostgreTableReal && table.isPersisted()) {
+                tableMap.put(table.getObjectId(), (PostgreTableReal) table);
+            }
+        }
+        if (tableMap.isEmpty()) {
+            return;
+        }
+        PostgreServerExtension serverType = getDataSource().getServerType();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, this, "Load schema triggers and rules")) {
+            if (serverType.supportsTriggers()) {
+                monitor.subTask("Cache triggers");
+                Map<PostgreTableReal, List<PostgreTrigger>> triggers = new HashMap<>();
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                    "SELECT x.oid,x.*,p.pronamespace as func_schema_id,d.description" +
+                        "\nFROM pg_catalog.pg_trigger x" +
+                        "\nJOIN pg_catalog.pg_class c ON c.oid=x.tgrelid" +
+                        "\nLEFT OUTER JOIN pg_catalog.pg_proc p ON p.oid=x.tgfoid " +
+                        "\nLEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=x.oid AND d.objsubid=0 " +
+                        "\nWHERE c.relnamespace=?" +
+                        (getDataSource().isServerVersionAtLeast(9, 0) ? " AND NOT x.tgisinternal" : ""))) {
+                    dbStat.setLong(1, getObjectId());
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            PostgreTableReal table = tableMap.get(JDBCUtils.safeGetLong(dbResult, "tgrelid"));
+                            if (table != null) {
+                                triggers.computeIfAbsent(table, t -> new ArrayList<>()).add(new PostgreTrigger(monitor, table, dbResult));
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBCException(e, session.getExecutionContext());
+                }
+                for (PostgreTableReal table : tableMap.values()) {
+                    List<PostgreTrigger> tableTriggers = triggers.get(table);
+                    table.getTriggerCache().setCache(tableTriggers == null ? new ArrayList<>() : tableTriggers);
+                }
+            }
+            if (serverType.supportsRules()) {
+                monitor.subTask("Cache rules");
+                Map<PostgreTableReal, List<PostgreRule>> rules = new HashMap<>();
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                    "SELECT r.oid,r.*, pg_get_ruledef(r.oid) AS definition\n" +
+                        "FROM pg_rewrite r, pg_catalog.pg_class c\n" +
+                        "WHERE c.oid=r.ev_class AND c.relnamespace=? AND r.rulename <> '_RETURN'::name")) {
+                    dbStat.setLong(1, getObjectId());
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            PostgreTableReal table = tableMap.get(JDBCUtils.safeGetLong(dbResult, "ev_class"));
+                            if (table != null) {
+                                rules.computeIfAbsent(table, t -> new ArrayList<>()).add(new PostgreRule(monitor, table, dbResult));
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBCException(e, session.getExecutionContext());
+                }
+                for (PostgreTableReal table : tableMap.values()) {
+                    List<PostgreRule> tableRules = rules.get(table);
+                    table.getRuleCache().setCache(tableRules == null ? new ArrayList<>() : tableRules);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads partition bounds of all schema partitions and definitions of all schema views with a single query per object type.
+     * Otherwise each partition and view reads them lazily on DDL generation.
+     */
+    public void cachePartitionRangesAndViewDefinitions(DBRProgressMonitor monitor, Map<String, Object> options) throws DBException {
+        Map<Long, PostgreTable> partitionMap = new HashMap<>();
+        Map<Long, PostgreViewBase> viewMap = new HashMap<>();
+        for (PostgreTableBase table : getTableCache().getAllObjects(monitor, this)) {
+            if (!table.isPersisted()) {
+                continue;
+            }
+            if (table instanceof PostgreTable && table.isPartition()) {
+                partitionMap.put(table.getObjectId(), (PostgreTable) table);
+            } else if (table instanceof PostgreViewBase) {
+                viewMap.put(table.getObjectId(), (PostgreViewBase) table);
+            }
+        }
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, this, "Load schema partitions and views")) {
+            if (!partitionMap.isEmpty() && getDataSource().getServerType().supportsInheritance()) {
+                monitor.subTask("Cache partition ranges");
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                    "SELECT c.oid, pg_get_expr(c.relpartbound, c.oid, true) AS partition_range\n" +
+                        "FROM pg_catalog.pg_class c\n" +
+                        "WHERE c.relnamespace=? AND c.relispartition")) {
+                    dbStat.setLong(1, getObjectId());
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            PostgreTable table = partitionMap.get(JDBCUtils.safeGetLong(dbResult, "oid"));
+                            if (table != null) {
+                                table.setPartitionRange(JDBCUtils.safeGetString(dbResult, "partition_range"));
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBCException(e, session.getExecutionContext());
+                }
+            }
+            if (!viewMap.isEmpty()) {
+                monitor.subTask("Cache view definitions");
+                Map<PostgreViewBase, String> definitions = new LinkedHashMap<>();
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                    "SELECT c.oid, pg_get_viewdef(c.oid, true) AS definition\n" +
+                        "FROM pg_catalog.pg_class c\n" +
+                        "WHERE c.relnamespace=? AND c.relkind IN ('v','m')")) {
+                    dbStat.setLong(1, getObjectId());
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            PostgreViewBase view = viewMap.get(JDBCUtils.safeGetLong(dbResult, "oid"));
+                            String definition = JDBCUtils.safeGetString(dbResult, "definition");
+                            if (view != null && definition != null) {
+                                definitions.put(view, definition);
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBCException(e, session.getExecutionContext());
+                }
+                for (Map.Entry<PostgreViewBase, String> definition : definitions.entrySet()) {
+                    definition.getKey().setViewDefinition(session, definition.getValue(), options);
+                }
+            }
+        }
+    }
+
     private void cacheTableInheritance(DBRProgressMonitor monitor) throws DBException {
         try (JDBCSession session = DBUtils.openMetaSession(monitor, this, "Load table inheritance info")) {
             try (JDBCPreparedStatement dbStat = session.prepareStatement(
@@ -481,6 +615,25 @@ public class PostgreSchema implements
     @Override
     public String getObjectDefinitionText(DBRProgressMonitor monitor, Map<String, Object> options) throws DBException {
         StringBuilder sql = new StringBuilder();
+        appendSchemaDefinition(monitor, sql, options);
+
+        if (CommonUtils.getOption(options, DBPScriptObject.OPTION_INCLUDE_NESTED_OBJECTS)) {
+            // Show DDL for all schema objects (do not include CREATE EXTENSION)
+            StringWriter nestedDDL = new StringWriter();
+            try {
+                new PostgreSchemaDDLGenerator(this, options).generateNestedObjects(monitor, nestedDDL);
+            } catch (IOException e) {
+                throw new DBException("Error generating schema objects DDL", e);
+            }
+            sql.append(nestedDDL.toString());
+        }
+
+        appendSchemaPermissions(monitor, sql, options);
+
+        return sql.toString();
+    }
+
+    void appendSchemaDefinition(DBRProgressMonitor monitor, StringBuilder sql, Map<String, Object> options) throws DBException {
         sql.append("-- DROP SCHEMA ").append(DBUtils.getQuotedIdentifier(this)).append(";\n\n");
         sql.append("CREATE SCHEMA ").append(DBUtils.getQuotedIdentifier(this));
         PostgreRole owner = getOwner(monitor);
@@ -493,74 +646,15 @@ public class PostgreSchema implements
                 .append(" IS ").append(SQLUtils.quoteString(this, getDescription()));
             sql.append(";\n");
         }
+    }
 
-        if (CommonUtils.getOption(options, DBPScriptObject.OPTION_INCLUDE_NESTED_OBJECTS)) {
-            // Show DDL for all schema objects (do not include CREATE EXTENSION)
-            monitor.beginTask("Cache schema", 1);
-            cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
-            monitor.done();
-/*
-            Collection<PostgreExtension> extensions = getExtensions(monitor);
-            for (PostgreExtension ext : extensions) {
-                addDDLLine(sql, ext.getObjectDefinitionText(monitor, options));
-            }
-*/
-            Collection<PostgreDataType> dataTypes = getDataTypes(monitor);
-            monitor.beginTask("Load data types", dataTypes.size());
-            for (PostgreDataType dataType : dataTypes) {
-                addDDLLine(sql, dataType.getObjectDefinitionText(monitor, options));
-                if (monitor.isCanceled()) {
-                    break;
-                }
-                monitor.worked(1);
-            }
-            monitor.done();
-
-            if (!monitor.isCanceled()) {
-                Collection<PostgreTableBase> tablesOrViews = getTableCache().getAllObjects(monitor, this);
-
-                List<PostgreTableBase> allTables = new ArrayList<>();
-                for (PostgreTableBase tableOrView : tablesOrViews) {
-                    monitor.subTask(tableOrView.getName());
-                    if (tableOrView instanceof PostgreSequence) {
-                        addDDLLine(sql, tableOrView.getObjectDefinitionText(monitor, options));
-                    } else {
-                        allTables.add(tableOrView);
-                    }
-                }
-                DBStructUtils.generateTableListDDL(monitor, sql, allTables, options, false);
-                monitor.done();
-            }
-            if (!monitor.isCanceled()) {
-                Collection<PostgreProcedure> procedures = getProcedures(monitor);
-                monitor.beginTask("Load procedures", procedures.size());
-                for (PostgreProcedure procedure : procedures) {
-                    monitor.subTask(procedure.getName());
-                    addDDLLine(sql, procedure.getObjectDefinitionText(monitor, options));
-                    monitor.worked(1);
-                    if (monitor.isCanceled()) {
-                        break;
-                    }
-                }
-                monitor.done();
-            }
-        }
-
+    void appendSchemaPermissions(DBRProgressMonitor monitor, StringBuilder sql, Map<String, Object> options) throws DBException {
         List<DBEPersistAction> actions = new ArrayList<>();
         PostgreUtils.getObjectGrantPermissionActions(monitor, this, actions, options);
         if (!actions.isEmpty()) {
             sql.append("\n\n");
             sql.append(SQLUtils.generateScript(getDataSource(), actions.toArray(new DBEPersistAction[0]), false));
         }
-
-
-        return sql.toString();
-    }
-
-    private void addDDLLine(StringBuilder sql, String ddl) {
-        if (!CommonUtils.isEmpty(ddl)) {
-            sql.append("\n").append(ddl);
-        }
     }
 
     @Override
@@ -639,7 +733,7 @@ public class PostgreSchema implements
         @Override
         protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull PostgreSchema owner)
             throws SQLException {
-            final JDBCPreparedStatement dbStat = session.prepareStatement(
+            final JDBCPreparedStatement dbStat = session.prepareCachedStatement(
                     "SELECT \n" + 
                     " e.oid,\n" + 
                     " cfg.tbls,\n" +
@@ -681,7 +775,7 @@ public class PostgreSchema implements
         @Override
         protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull PostgreSchema owner)
             throws SQLException {
-            final JDBCPreparedStatement dbStat = session.prepareStatement(
+            final JDBCPreparedStatement dbStat = session.prepareCachedStatement(
                 "SELECT p.oid AS proc_oid,p.proname AS proc_name,a.*\n" +
                     "FROM pg_catalog.pg_aggregate a,pg_catalog.pg_proc p\n" +
                     "WHERE p.oid=a.aggfnoid AND p.pronamespace=?\n" +
@@ -718,7 +812,7 @@ public class PostgreSchema implements
                 .append("LEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=c.oid AND d.objsubid=0 AND d.classoid='pg_class'::regclass\n")
                 .append("WHERE c.relnamespace=? AND c.relkind not in ('i','I','c')")
                 .append(object == null && objectName == null ? "" : " AND relname=?");
-            final JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
+            final JDBCPreparedStatement dbStat = session.prepareCachedStatement(sql.toString());
             dbStat.setLong(1, getObjectId());
             if (object != null || objectName != null)
                 dbStat.setString(2, object != null ? object.getName() : objectName);
@@ -748,7 +842,7 @@ public class PostgreSchema implements
                 "\nLEFT OUTER JOIN pg_catalog.pg_description dsc ON (c.oid=dsc.objoid AND a.attnum = dsc.objsubid)" +
                 "\nWHERE NOT a.attisdropped AND c.relnamespace=? AND c.relkind not in ('i','I','c')  ORDER BY a.attnum";
 
-            JDBCPreparedStatement dbStat = session.prepareStatement(sql);
+            JDBCPreparedStatement dbStat = session.prepareCachedStatement(sql);
             dbStat.setLong(1, PostgreSchema.this.getObjectId());
             return dbStat;
         }
@@ -760,7 +854,7 @@ public class PostgreSchema implements
                 return prepareChildrenStatement(session, container);
             }
 
-            JDBCPreparedStatement dbStat = session.prepareStatement(
+            JDBCPreparedStatement dbStat = session.prepareCachedStatement(
                 "SELECT c.relname,a.*,pg_catalog.pg_get_expr(ad.adbin, ad.adrelid, true) as def_value,dsc.description" +
                     getTableColumnsQueryExtraParameters(container.getSchema(), forTable) +
                     "\nFROM pg_catalog.pg_attribute a" +
@@ -814,7 +908,7 @@ public class PostgreSchema implements
                 sql.append("c.conrelid=?");
             }
             sql.append("\nORDER BY c.oid");
-            JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
+            JDBCPreparedStatement dbStat = session.prepareCachedStatement(sql.toString());
             if (forParent == null) {
                 dbStat.setLong(1, container.getSchema().getObjectId());
             } else {
@@ -981,7 +1075,7 @@ public class PostgreSchema implements
             //sql.append(" AND NOT i.indisprimary");
             sql.append(" ORDER BY c.relname");
 
-            JDBCPreparedStatement dbStat = session.prepareStatement(sql.toString());
+            JDBCPreparedStatement dbStat = session.prepareCachedStatement(sql.toString());
             if (forTable != null) {
                 dbStat.setLong(1, forTable.getObjectId());
             } else {
@@ -1071,7 +1165,7 @@ public class PostgreSchema implements
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull PostgreSchema owner, @Nullable PostgreProcedure object, @Nullable String objectName) throws SQLException {
             PostgreServerExtension serverType = owner.getDataSource().getServerType();
             String oidColumn = serverType.getProceduresOidColumn(); // Hack for Redshift SP support
-            JDBCPreparedStatement dbStat = session.prepareStatement(
+            JDBCPreparedStatement dbStat = session.prepareCachedStatement(
                 "SELECT p." + oidColumn + ",p.*," +
                     (session.getDataSource().isServerVersionAtLeast(8, 4) ? "pg_catalog.pg_get_expr(p.proargdefaults, 0)" : "NULL") + " as arg_defaults,d.description\n" +
                     "FROM pg_catalog." + serverType.getProceduresSystemTable() + " p\n" +
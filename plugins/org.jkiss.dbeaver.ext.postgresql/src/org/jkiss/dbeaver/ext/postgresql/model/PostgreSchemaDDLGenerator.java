@@ -0,0 +1,324 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.SystemJob;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.dbeaver.model.struct.DBStructUtils;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema DDL generator.
+ * Pre-loads schema metadata with bulk catalog queries, renders table DDL in parallel
+ * and streams the result script to the writer in the original order.
+ *
+ * Lazy metadata caches are not thread-safe, so everything table DDL rendering reads is loaded
+ * sequentially before workers start. Workers then only read cached metadata.
+ */
+public class PostgreSchemaDDLGenerator {
+
+    private static final Log log = Log.getLog(PostgreSchemaDDLGenerator.class);
+
+    public static final int DEFAULT_THREAD_COUNT = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+
+    // Max number of rendered but not yet written table definitions
+    private static final int MAX_PENDING_PARTS = 1000;
+
+    private final PostgreSchema schema;
+    private final Map<String, Object> options;
+    private int threadCount = DEFAULT_THREAD_COUNT;
+
+    public PostgreSchemaDDLGenerator(@NotNull PostgreSchema schema, @NotNull Map<String, Object> options) {
+        this.schema = schema;
+        this.options = options;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    /**
+     * Writes full schema script (schema definition, nested objects and permissions) into the file.
+     */
+    public void generateScript(@NotNull DBRProgressMonitor monitor, @NotNull File outputFile) throws DBException, IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFile), GeneralUtils.UTF8_CHARSET))) {
+            generateScript(monitor, out);
+        }
+    }
+
+    public void generateScript(@NotNull DBRProgressMonitor monitor, @NotNull Writer out) throws DBException, IOException {
+        StringBuilder sql = new StringBuilder();
+        schema.appendSchemaDefinition(monitor, sql, options);
+        out.write(sql.toString());
+
+        generateNestedObjects(monitor, out);
+
+        sql.setLength(0);
+        schema.appendSchemaPermissions(monitor, sql, options);
+        out.write(sql.toString());
+    }
+
+    /**
+     * Writes DDL of data types, sequences, tables, views and procedures of the schema.
+     */
+    public void generateNestedObjects(@NotNull DBRProgressMonitor monitor, @NotNull Writer out) throws DBException, IOException {
+        monitor.beginTask("Cache schema", 2);
+        schema.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        monitor.worked(1);
+        schema.cacheTableTriggersAndRules(monitor);
+        monitor.done();
+
+        Collection<PostgreDataType> dataTypes = schema.getDataTypes(monitor);
+        monitor.beginTask("Load data types", dataTypes.size());
+        for (PostgreDataType dataType : dataTypes) {
+            writeDDLLine(out, dataType.getObjectDefinitionText(monitor, options));
+            if (monitor.isCanceled()) {
+                break;
+            }
+            monitor.worked(1);
+        }
+        monitor.done();
+
+        if (!monitor.isCanceled()) {
+            Collection<PostgreTableBase> tablesOrViews = schema.getTableCache().getAllObjects(monitor, schema);
+
+            List<PostgreTableBase> allTables = new ArrayList<>();
+            for (PostgreTableBase tableOrView : tablesOrViews) {
+                if (tableOrView instanceof PostgreSequence) {
+                    monitor.subTask(tableOrView.getName());
+                    writeDDLLine(out, tableOrView.getObjectDefinitionText(monitor, options));
+                } else {
+                    allTables.add(tableOrView);
+                }
+            }
+            preloadTables(monitor, allTables);
+            if (!monitor.isCanceled()) {
+                List<DBStructUtils.TableDDLPart<PostgreTableBase>> parts = DBStructUtils.getTableListDDLParts(monitor, allTables, options);
+                new TablePartsRenderer(parts).render(monitor, out);
+            }
+        }
+        if (!monitor.isCanceled()) {
+            Collection<PostgreProcedure> procedures = schema.getProcedures(monitor);
+            monitor.beginTask("Load procedures", procedures.size());
+            for (PostgreProcedure procedure : procedures) {
+                monitor.subTask(procedure.getName());
+                writeDDLLine(out, procedure.getObjectDefinitionText(monitor, options));
+                monitor.worked(1);
+                if (monitor.isCanceled()) {
+                    break;
+                }
+            }
+            monitor.done();
+        }
+    }
+
+    /**
+     * Reads table metadata which is not covered by schema bulk loads and is loaded lazily on first access
+     * (inheritance, partition bounds, tablespaces, roles, collations, view definitions, etc).
+     */
+    private void preloadTables(@NotNull DBRProgressMonitor monitor, @NotNull List<PostgreTableBase> tables) throws DBException {
+        if (getWorkerCount() <= 1) {
+            // Everything will be read by the renderer
+            return;
+        }
+        PostgreServerExtension serverType = schema.getDataSource().getServerType();
+        // Inheritance is read by the schema structure cache, partition bounds and view definitions are read here.
+        // The rest are read per table, mostly from caches filled by the schema and database bulk loads.
+        monitor.beginTask("Cache partitions and views", 1);
+        schema.cachePartitionRangesAndViewDefinitions(monitor, options);
+        monitor.done();
+
+        monitor.beginTask("Read tables metadata", tables.size());
+        try {
+            for (PostgreTableBase table : tables) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                monitor.subTask(table.getName());
+                table.getOwner(monitor);
+                table.getPrivileges(monitor, true);
+                for (PostgreTableColumn column : CommonUtils.safeCollection(table.getAttributes(monitor))) {
+                    column.getCollation(monitor);
+                    if (PostgreUtils.isGISDataType(column.getTypeName())) {
+                        column.getAttributeGeometryType(monitor);
+                    }
+                }
+                table.getConstraints(monitor);
+                table.getAssociations(monitor);
+                if (table instanceof PostgreTableReal) {
+                    ((PostgreTableReal) table).getTriggers(monitor);
+                    ((PostgreTableReal) table).getRules(monitor);
+                }
+                if (table instanceof PostgreTable) {
+                    PostgreTable postgreTable = (PostgreTable) table;
+                    postgreTable.getIndexes(monitor);
+                    postgreTable.getSuperInheritance(monitor);
+                    if (table.isPartition()) {
+                        postgreTable.getPartitionRange(monitor);
+                    }
+                    if (serverType.supportsTablespaces()) {
+                        postgreTable.getTablespace(monitor);
+                    }
+                }
+                if (table instanceof PostgreTableForeign) {
+                    ((PostgreTableForeign) table).getForeignServer(monitor);
+                }
+                if (table instanceof PostgreViewBase) {
+                    // View definition is read with the first DDL request
+                    table.getObjectDefinitionText(monitor, options);
+                }
+                monitor.worked(1);
+            }
+        } finally {
+            monitor.done();
+        }
+    }
+
+    /**
+     * Servers which read table DDL with a query per table use the shared metadata context, so DDL is rendered by one worker
+     */
+    private int getWorkerCount() {
+        return schema.getDataSource().getServerType().isServerSideTableDDL() ? 1 : threadCount;
+    }
+
+    private static void writeDDLLine(Writer out, String ddl) throws IOException {
+        if (!CommonUtils.isEmpty(ddl)) {
+            out.write("\n");
+            out.write(ddl);
+        }
+    }
+
+    /**
+     * Renders table parts with several worker jobs.
+     * Parts are written in the original order as soon as all preceding parts are written.
+     */
+    private class TablePartsRenderer {
+        private final List<DBStructUtils.TableDDLPart<PostgreTableBase>> parts;
+        private final String[] results;
+        private int nextPart;
+        private int writtenParts;
+        private volatile boolean finished;
+        private Throwable error;
+
+        TablePartsRenderer(List<DBStructUtils.TableDDLPart<PostgreTableBase>> parts) {
+            this.parts = parts;
+            this.results = new String[parts.size()];
+        }
+
+        void render(DBRProgressMonitor monitor, Writer out) throws DBException, IOException {
+            if (parts.isEmpty()) {
+                return;
+            }
+            int workerCount = Math.min(getWorkerCount(), parts.size());
+            for (int i = 0; i < workerCount; i++) {
+                new SystemJob("Generate DDL of " + schema.getName() + " (" + (i + 1) + ")", this::renderParts).schedule();
+            }
+            monitor.beginTask("Generate tables DDL", parts.size());
+            try {
+                for (int i = 0; i < parts.size(); i++) {
+                    String ddl;
+                    synchronized (this) {
+                        while (results[i] == null && error == null && !monitor.isCanceled()) {
+                            try {
+                                wait(100);
+                            } catch (InterruptedException e) {
+                                break;
+                            }
+                        }
+                        if (error != null) {
+                            throw new DBException("Error generating DDL", error);
+                        }
+                        if (results[i] == null) {
+                            // Canceled
+                            break;
+                        }
+                        ddl = results[i];
+                        results[i] = null;
+                        writtenParts = i + 1;
+                        notifyAll();
+                    }
+                    DBStructUtils.TableDDLPart<PostgreTableBase> part = parts.get(i);
+                    StringBuilder sql = new StringBuilder(ddl.length() + 100);
+                    DBStructUtils.appendTableDDLPart(sql, part, ddl);
+                    out.write(sql.toString());
+                    monitor.subTask(part.getTable().getName());
+                    monitor.worked(1);
+                }
+            } finally {
+                synchronized (this) {
+                    finished = true;
+                    notifyAll();
+                }
+                monitor.done();
+            }
+        }
+
+        private void renderParts(DBRProgressMonitor monitor) {
+            for (;;) {
+                int partIndex;
+                synchronized (this) {
+                    while (!finished && nextPart - writtenParts >= MAX_PENDING_PARTS) {
+                        try {
+                            wait(100);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                    if (finished || error != null || nextPart >= parts.size()) {
+                        return;
+                    }
+                    partIndex = nextPart++;
+                }
+                DBStructUtils.TableDDLPart<PostgreTableBase> part = parts.get(partIndex);
+                String ddl;
+                try {
+                    ddl = DBStructUtils.getTableDDL(monitor, part.getTable(), part.getOptions(), false);
+                } catch (Throwable e) {
+                    log.debug("Error generating DDL of '" + part.getTable().getName() + "'", e);
+                    synchronized (this) {
+                        if (error == null) {
+                            error = e;
+                        }
+                        notifyAll();
+                    }
+                    return;
+                }
+                synchronized (this) {
+                    results[partIndex] = CommonUtils.notEmpty(ddl);
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+}
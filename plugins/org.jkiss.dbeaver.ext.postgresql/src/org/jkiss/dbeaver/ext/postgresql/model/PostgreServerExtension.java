@@ -100,6 +100,9 @@ public interface PostgreServerExtension
     // Table DDL extraction
     String readTableDDL(DBRProgressMonitor monitor, PostgreTableBase table) throws DBException;
 
+    // True if table DDL (or its parts) is read from server with a query per table
+    boolean isServerSideTableDDL();
+
     // Custom schema cache.
     JDBCObjectLookupCache<PostgreDatabase, PostgreSchema> createSchemaCache(PostgreDatabase database);
 
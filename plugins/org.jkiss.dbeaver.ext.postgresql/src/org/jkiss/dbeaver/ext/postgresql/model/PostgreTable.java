@@ -368,6 +368,10 @@ public abstract class PostgreTable extends PostgreTableReal implements PostgreTa
         return partitionRange;
     }
 
+    void setPartitionRange(String partitionRange) {
+        this.partitionRange = partitionRange;
+    }
+
     public boolean hasSubClasses() {
         return hasSubClasses;
     }
@@ -86,6 +86,10 @@ public abstract class PostgreTableReal extends PostgreTableBase implements DBPOb
         return triggerCache;
     }
 
+    RuleCache getRuleCache() {
+        return ruleCache;
+    }
+
     @Property(category = CAT_STATISTICS, viewable = true, order = 22)
     public long getRowCountEstimate() {
         return rowCountEstimate;
@@ -250,13 +254,15 @@ public abstract class PostgreTableReal extends PostgreTableBase implements DBPOb
         protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull PostgreTableReal owner)
             throws SQLException
         {
-            return session.prepareStatement(
+            JDBCPreparedStatement dbStat = session.prepareCachedStatement(
                 "SELECT x.oid,x.*,p.pronamespace as func_schema_id,d.description" +
                 "\nFROM pg_catalog.pg_trigger x" +
                 "\nLEFT OUTER JOIN pg_catalog.pg_proc p ON p.oid=x.tgfoid " +
                 "\nLEFT OUTER JOIN pg_catalog.pg_description d ON d.objoid=x.oid AND d.objsubid=0 " +
-                "\nWHERE x.tgrelid=" + owner.getObjectId() +
+                "\nWHERE x.tgrelid=?" +
                 (getDataSource().isServerVersionAtLeast(9, 0) ? " AND NOT x.tgisinternal" : ""));
+            dbStat.setLong(1, owner.getObjectId());
+            return dbStat;
         }
 
         @Override
@@ -274,10 +280,12 @@ public abstract class PostgreTableReal extends PostgreTableBase implements DBPOb
         protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull PostgreTableReal owner)
             throws SQLException
         {
-            return session.prepareStatement(
+            JDBCPreparedStatement dbStat = session.prepareCachedStatement(
                 "SELECT r.oid,r.*, pg_get_ruledef(r.oid) AS definition\n" +
                     "FROM pg_rewrite r\n" +
-                    "WHERE r.ev_class=" + owner.getObjectId() + " AND r.rulename <> '_RETURN'::name");
+                    "WHERE r.ev_class=? AND r.rulename <> '_RETURN'::name");
+            dbStat.setLong(1, owner.getObjectId());
+            return dbStat;
         }
 
         @Override
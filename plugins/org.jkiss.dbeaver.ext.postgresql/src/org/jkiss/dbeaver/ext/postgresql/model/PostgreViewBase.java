@@ -99,11 +99,7 @@ public abstract class PostgreViewBase extends PostgreTableReal implements DBSVie
                     if (definition == null) {
                         throw new DBException ("View '"  + getName() + "' doesn't exist");
                     }
-                    this.source = PostgreUtils.getViewDDL(monitor, this, definition);
-                    String extDefinition = readExtraDefinition(session, options);
-                    if (extDefinition != null) {
-                        this.source += "\n" + extDefinition;
-                    }
+                    setViewDefinition(session, definition, options);
                 } catch (SQLException e) {
                     throw new DBException("Error reading view definition: " + e.getMessage(), e);
                 }
@@ -140,6 +136,15 @@ public abstract class PostgreViewBase extends PostgreTableReal implements DBSVie
         return ddl.toString();
     }
 
+    void setViewDefinition(JDBCSession session, String definition, Map<String, Object> options) throws DBException {
+        String viewSource = PostgreUtils.getViewDDL(session.getProgressMonitor(), this, definition);
+        String extDefinition = readExtraDefinition(session, options);
+        if (extDefinition != null) {
+            viewSource += "\n" + extDefinition;
+        }
+        this.source = viewSource;
+    }
+
     protected String readExtraDefinition(JDBCSession session, Map<String, Object> options) throws DBException {
         return null;
     }
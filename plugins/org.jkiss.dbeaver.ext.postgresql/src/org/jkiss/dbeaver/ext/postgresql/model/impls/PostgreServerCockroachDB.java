@@ -208,6 +208,11 @@ public class PostgreServerCockroachDB extends PostgreServerExtensionBase {
         return false;
     }
 
+    @Override
+    public boolean isServerSideTableDDL() {
+        return true;
+    }
+
     @Override
     public String readTableDDL(DBRProgressMonitor monitor, PostgreTableBase table) throws DBException {
         try (JDBCSession session = DBUtils.openMetaSession(monitor, table, "Load CockroachDB table DDL")) {
@@ -157,6 +157,11 @@ public abstract class PostgreServerExtensionBase implements PostgreServerExtensi
         return null;
     }
 
+    @Override
+    public boolean isServerSideTableDDL() {
+        return false;
+    }
+
     @Override
     public boolean supportsTemplates() {
         return true;
@@ -174,6 +174,11 @@ public class PostgreServerRedshift extends PostgreServerExtensionBase {
         return false;
     }
 
+    @Override
+    public boolean isServerSideTableDDL() {
+        return true;
+    }
+
     @Override
     public String readTableDDL(DBRProgressMonitor monitor, PostgreTableBase table) throws DBException {
         try (JDBCSession session = DBUtils.openMetaSession(monitor, table, "Load Redshift table DDL")) {
@@ -42,6 +42,11 @@ public class PostgreServerYellowBrick extends PostgreServerExtensionBase {
         return "YellowBrick";
     }
 
+    @Override
+    public boolean isServerSideTableDDL() {
+        return true;
+    }
+
     @Override
     public String readTableDDL(DBRProgressMonitor monitor, PostgreTableBase table) throws DBException {
         // Extract main portion from server
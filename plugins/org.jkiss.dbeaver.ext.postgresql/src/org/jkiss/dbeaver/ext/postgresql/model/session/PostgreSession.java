@@ -139,6 +139,16 @@ public class PostgreSession extends AbstractServerSession {
         return query;
     }
 
+    @Override
+    public Object getSessionId() {
+        return pid;
+    }
+
+    @Override
+    public boolean isActiveSession() {
+        return "active".equals(state);
+    }
+
     @Override
     public String toString()
     {
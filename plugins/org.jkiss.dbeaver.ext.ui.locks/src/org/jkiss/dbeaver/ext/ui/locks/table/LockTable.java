@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.model.admin.locks.DBAServerLockManager;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPool;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.ui.LoadingJob;
@@ -121,7 +122,8 @@ public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
             throws InvocationTargetException, InterruptedException
         {
             try {
-                try (DBCExecutionContext isolatedContext = lockManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View Locks", null)) {
+                try (ExecutionContextPool.PooledContext pooledContext = ExecutionContextPool.borrowMonitorContext(monitor, lockManager.getDataSource().getDefaultInstance(), "View Locks")) {
+                    DBCExecutionContext isolatedContext = pooledContext.getContext();
                     try (DBCSession session = isolatedContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server locks")) {
                         return lockManager.getLocks(session, null).values();
                     }
@@ -149,7 +151,8 @@ public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
             throws InvocationTargetException, InterruptedException
         {
             try {
-                try (DBCExecutionContext isolatedContext = lockManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View locks", null)) {
+                try (ExecutionContextPool.PooledContext pooledContext = ExecutionContextPool.borrowMonitorContext(monitor, lockManager.getDataSource().getDefaultInstance(), "View locks")) {
+                    DBCExecutionContext isolatedContext = pooledContext.getContext();
                     try (DBCSession session = isolatedContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Kill server session by lock")) {
                     		lockManager.alterSession(session, this.lock, options);	                       
                         return null;
@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.admin.locks.DBAServerLockManager;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPool;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.ui.LoadingJob;
@@ -115,7 +116,8 @@ public class LockTableDetail extends DatabaseObjectListControl<DBAServerLockItem
             throws InvocationTargetException, InterruptedException
         {
             try {
-                try (DBCExecutionContext isolatedContext = lockManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View Lock item", null)) {
+                try (ExecutionContextPool.PooledContext pooledContext = ExecutionContextPool.borrowMonitorContext(monitor, lockManager.getDataSource().getDefaultInstance(), "View Lock item")) {
+                    DBCExecutionContext isolatedContext = pooledContext.getContext();
                     try (DBCSession session = isolatedContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server lock detail")) {
                         return lockManager.getLockItems(session, options);
                     }
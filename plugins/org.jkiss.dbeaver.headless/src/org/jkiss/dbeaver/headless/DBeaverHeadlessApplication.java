@@ -21,6 +21,8 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.app.DBPApplication;
 import org.jkiss.dbeaver.registry.BaseApplicationImpl;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.StartupTimeline;
+import org.jkiss.utils.ArrayUtils;
 
 /**
  * Headless application
@@ -29,11 +31,18 @@ public class DBeaverHeadlessApplication extends BaseApplicationImpl {
 
     private static final Log log = Log.getLog(DBeaverHeadlessApplication.class);
 
+    private static final String ARG_STARTUP_TIMELINE = "-startupTimeline";
+
     @Override
     public Object start(IApplicationContext context) {
         System.out.println("Starting headless test application");
         DBPApplication application = DBWorkbench.getPlatform().getApplication();
 
+        Object args = context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+        if (args instanceof String[] && ArrayUtils.contains((String[]) args, ARG_STARTUP_TIMELINE)) {
+            System.out.println(StartupTimeline.getInstance().dump());
+        }
+
         return EXIT_OK;
     }
 
@@ -22,6 +22,8 @@ import org.eclipse.core.runtime.Plugin;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.impl.preferences.BundlePreferenceStore;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
+import org.jkiss.utils.CommonUtils;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 
@@ -38,6 +40,8 @@ public class DBeaverTestActivator extends Plugin {
     private static File configDir;
     private PrintStream debugWriter;
     private DBPPreferenceStore preferences;
+    private MetricsMBean metricsMBean;
+    private MetricsDumpJob metricsDumpJob;
 
     public DBeaverTestActivator() {
     }
@@ -56,12 +60,15 @@ public class DBeaverTestActivator extends Plugin {
         Bundle bundle = getBundle();
         ModelPreferences.setMainBundle(bundle);
         preferences = new BundlePreferenceStore(bundle);
+
+        startMetrics();
     }
 
     @Override
     public void stop(BundleContext context)
         throws Exception {
 
+        this.stopMetrics();
         this.shutdownCore();
 
         if (debugWriter != null) {
@@ -95,6 +102,36 @@ public class DBeaverTestActivator extends Plugin {
         return ResourcesPlugin.getWorkspace();
     }
 
+    /**
+     * Publishes runtime metrics if requested by system properties:
+     * dbeaver.metrics.jmx=true registers JMX bean, dbeaver.metrics.dump=file enables periodic JSON-lines dump
+     * (dbeaver.metrics.dumpInterval sets interval in seconds).
+     */
+    private void startMetrics() {
+        MetricRegistry registry = MetricRegistry.getInstance();
+        if (CommonUtils.toBoolean(System.getProperty("dbeaver.metrics.jmx"))) {
+            metricsMBean = new MetricsMBean(registry);
+            metricsMBean.register();
+        }
+        String dumpFile = System.getProperty("dbeaver.metrics.dump");
+        if (!CommonUtils.isEmpty(dumpFile)) {
+            long interval = CommonUtils.toLong(System.getProperty("dbeaver.metrics.dumpInterval"), 60);
+            metricsDumpJob = new MetricsDumpJob(registry, new File(dumpFile), Math.max(interval, 1) * 1000);
+            metricsDumpJob.start();
+        }
+    }
+
+    private void stopMetrics() {
+        if (metricsDumpJob != null) {
+            metricsDumpJob.stop();
+            metricsDumpJob = null;
+        }
+        if (metricsMBean != null) {
+            metricsMBean.unregister();
+            metricsMBean = null;
+        }
+    }
+
     private void shutdownCore() {
         try {
             // Dispose core
@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.registry.BaseApplicationImpl;
 import org.jkiss.dbeaver.registry.BasePlatformImpl;
 import org.jkiss.dbeaver.registry.DataSourceProviderRegistry;
+import org.jkiss.dbeaver.runtime.StartupTimeline;
 import org.jkiss.dbeaver.runtime.qm.QMControllerImpl;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
@@ -122,15 +123,22 @@ public class DBeaverTestPlatform extends BasePlatformImpl {
     protected void initialize() {
         long startTime = System.currentTimeMillis();
         log.debug("Initialize Test Platform...");
+        StartupTimeline timeline = StartupTimeline.getInstance();
 
-        this.defaultCertificateStorage = new DefaultCertificateStorage(
-            DBeaverTestActivator.getConfigurationFile("cert-storage"));
+        try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Initialize security")) {
+            this.defaultCertificateStorage = new DefaultCertificateStorage(
+                DBeaverTestActivator.getConfigurationFile("cert-storage"));
+        }
 
         // Register properties adapter
-        this.workspace = new DBeaverTestWorkspace(this, ResourcesPlugin.getWorkspace());
-        this.workspace.initializeProjects();
+        try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Initialize workspace")) {
+            this.workspace = new DBeaverTestWorkspace(this, ResourcesPlugin.getWorkspace());
+            this.workspace.initializeProjects();
+        }
 
-        this.qmController = new QMControllerImpl();
+        try (StartupTimeline.Phase ignored = timeline.startPhase(PLUGIN_ID, "Initialize query manager")) {
+            this.qmController = new QMControllerImpl();
+        }
 
         super.initialize();
 
@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.headless;
+
+import com.google.gson.stream.JsonWriter;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.metrics.Metric;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Periodically appends metrics snapshot to a JSON-lines file.
+ * Each line is a JSON object with timestamp and all metric values. Counters also have
+ * a 'rate' value (per second since the previous dump).
+ */
+public class MetricsDumpJob extends AbstractJob {
+
+    private static final Log log = Log.getLog(MetricsDumpJob.class);
+
+    private final MetricRegistry registry;
+    private final File outputFile;
+    private final long interval;
+    private final Map<String, Long> prevCounts = new HashMap<>();
+    private long prevDumpTime;
+    private volatile boolean stopped;
+
+    public MetricsDumpJob(@NotNull MetricRegistry registry, @NotNull File outputFile, long interval) {
+        super("Metrics dump");
+        setUser(false);
+        setSystem(true);
+        this.registry = registry;
+        this.outputFile = outputFile;
+        this.interval = interval;
+    }
+
+    public void start() {
+        prevDumpTime = System.currentTimeMillis();
+        schedule(interval);
+    }
+
+    /**
+     * Stops periodic dumps and writes final snapshot
+     */
+    public void stop() {
+        stopped = true;
+        cancel();
+        dumpMetrics();
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor) {
+        if (stopped) {
+            return Status.OK_STATUS;
+        }
+        dumpMetrics();
+        if (!stopped) {
+            schedule(interval);
+        }
+        return Status.OK_STATUS;
+    }
+
+    private synchronized void dumpMetrics() {
+        long now = System.currentTimeMillis();
+        double seconds = Math.max(now - prevDumpTime, 1) / 1000.0;
+        prevDumpTime = now;
+
+        Map<String, Map<String, Object>> snapshot = registry.getSnapshot();
+        for (Map.Entry<String, Map<String, Object>> metric : snapshot.entrySet()) {
+            Map<String, Object> values = metric.getValue();
+            if (Metric.TYPE_COUNTER.equals(values.get("type"))) {
+                long count = (Long) values.get("count");
+                Long prevCount = prevCounts.put(metric.getKey(), count);
+                values.put("rate", (count - (prevCount == null ? 0 : prevCount)) / seconds);
+            }
+        }
+
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(outputFile, true), StandardCharsets.UTF_8)) {
+            StringWriter line = new StringWriter();
+            try (JsonWriter json = new JsonWriter(line)) {
+                json.beginObject();
+                JSONUtils.field(json, "timestamp", JSONUtils.formatISODate(new Date(now)));
+                json.name("metrics");
+                JSONUtils.serializeMap(json, snapshot);
+                json.endObject();
+            }
+            out.write(line.toString());
+            out.write('\n');
+        } catch (IOException e) {
+            log.error("Error writing metrics to '" + outputFile.getAbsolutePath() + "'", e);
+        }
+    }
+
+}
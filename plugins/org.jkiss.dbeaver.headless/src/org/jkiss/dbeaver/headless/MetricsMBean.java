@@ -0,0 +1,132 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.headless;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes runtime metrics over JMX.
+ * Each metric value is exposed as read-only attribute named "metric.value" (e.g. "statement.execute.p99").
+ */
+public class MetricsMBean implements DynamicMBean {
+
+    private static final Log log = Log.getLog(MetricsMBean.class);
+
+    public static final String OBJECT_NAME = "org.jkiss.dbeaver:type=Metrics";
+
+    private final MetricRegistry registry;
+    private ObjectName objectName;
+
+    public MetricsMBean(@NotNull MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (Exception e) {
+            log.error("Error registering metrics MBean", e);
+        }
+    }
+
+    public void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.debug("Error unregistering metrics MBean", e);
+        }
+        objectName = null;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        int divPos = attribute.lastIndexOf('.');
+        if (divPos != -1) {
+            Map<String, Object> values = registry.getSnapshot().get(attribute.substring(0, divPos));
+            if (values != null && values.containsKey(attribute.substring(divPos + 1))) {
+                return values.get(attribute.substring(divPos + 1));
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList result = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                result.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException e) {
+                // Skip unknown attributes as required by DynamicMBean contract
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metric attributes are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+        throw new MBeanException(new UnsupportedOperationException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> metric : registry.getSnapshot().entrySet()) {
+            for (Map.Entry<String, Object> value : metric.getValue().entrySet()) {
+                Object attrValue = value.getValue();
+                attributes.add(new MBeanAttributeInfo(
+                    metric.getKey() + "." + value.getKey(),
+                    attrValue == null ? Number.class.getName() : attrValue.getClass().getName(),
+                    metric.getKey() + " " + value.getKey(),
+                    true, false, false));
+            }
+        }
+        return new MBeanInfo(
+            getClass().getName(),
+            "DBeaver runtime metrics",
+            attributes.toArray(new MBeanAttributeInfo[0]),
+            null, null, null);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Token list optimized for insertions and removals near the recently modified position (gap buffer).
+ * Formatter passes walk through the list and modify it around the current token,
+ * so each modification costs O(1) amortized instead of O(n) in ArrayList.
+ */
+class FormatterTokenList extends AbstractList<FormatterToken> implements RandomAccess {
+
+    private FormatterToken[] buffer;
+    // Elements [0, gapStart) and [gapEnd, buffer.length) are list items
+    private int gapStart;
+    private int gapEnd;
+
+    FormatterTokenList(Collection<FormatterToken> tokens) {
+        int size = tokens.size();
+        buffer = new FormatterToken[Math.max(16, size + size / 4)];
+        int index = 0;
+        for (FormatterToken token : tokens) {
+            buffer[index++] = token;
+        }
+        gapStart = size;
+        gapEnd = buffer.length;
+    }
+
+    @Override
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public FormatterToken get(int index) {
+        return buffer[physicalIndex(index)];
+    }
+
+    @Override
+    public FormatterToken set(int index, FormatterToken token) {
+        int pos = physicalIndex(index);
+        FormatterToken prev = buffer[pos];
+        buffer[pos] = token;
+        return prev;
+    }
+
+    @Override
+    public void add(int index, FormatterToken token) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        buffer[gapStart++] = token;
+        modCount++;
+    }
+
+    @Override
+    public FormatterToken remove(int index) {
+        checkIndex(index);
+        moveGap(index);
+        FormatterToken token = buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        modCount++;
+        return token;
+    }
+
+    @Override
+    public void clear() {
+        buffer = new FormatterToken[16];
+        gapStart = 0;
+        gapEnd = buffer.length;
+        modCount++;
+    }
+
+    private int physicalIndex(int index) {
+        checkIndex(index);
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+    }
+
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+            Arrays.fill(buffer, gapStart, Math.min(gapEnd, gapStart + count), null);
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            Arrays.fill(buffer, Math.max(gapEnd, gapStart + count), gapEnd + count, null);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    private void grow() {
+        int size = size();
+        FormatterToken[] newBuffer = new FormatterToken[Math.max(16, size * 2)];
+        int tailLength = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newBuffer.length - tailLength, tailLength);
+        gapEnd = newBuffer.length - tailLength;
+        buffer = newBuffer;
+    }
+
+}
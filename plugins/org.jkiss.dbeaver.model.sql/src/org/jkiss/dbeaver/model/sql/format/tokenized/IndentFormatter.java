@@ -27,6 +27,8 @@ class IndentFormatter {
     private int bracketsDepth = 0;
     private boolean encounterBetween = false;
     private List<Boolean> functionBracket = new ArrayList<>();
+    // Number of TRUE elements in functionBracket
+    private int functionBracketCount = 0;
     private final String[] blockHeaderStrings;
 
     private static final String[] JOIN_BEGIN = {"LEFT", "RIGHT", "INNER", "OUTER", "FULL", "CROSS", "JOIN"};
@@ -51,7 +53,11 @@ class IndentFormatter {
 
         switch (tokenString) {
             case "(":
-                functionBracket.add(formatterCfg.isFunction(prev.getString()) ? Boolean.TRUE : Boolean.FALSE);
+                boolean isFunction = formatterCfg.isFunction(prev.getString());
+                functionBracket.add(isFunction ? Boolean.TRUE : Boolean.FALSE);
+                if (isFunction) {
+                    functionBracketCount++;
+                }
                 bracketIndent.add(indent);
                 bracketsDepth++;
                 // Adding indent after ( makes result too verbose and too multiline
@@ -66,7 +72,9 @@ class IndentFormatter {
                     if (!isCompact && formatterCfg.getPreferenceStore().getBoolean(ModelPreferences.SQL_FORMAT_BREAK_BEFORE_CLOSE_BRACKET)) {
                         result += insertReturnAndIndent(argList, index, indent);
                     }
-                    functionBracket.remove(functionBracket.size() - 1);
+                    if (functionBracket.remove(functionBracket.size() - 1)) {
+                        functionBracketCount--;
+                    }
                     bracketsDepth--;
                 }
                 break;
@@ -329,7 +337,7 @@ class IndentFormatter {
         if (argIndex >= argList.size()) {
             return 0;
         }
-        if (functionBracket.contains(Boolean.TRUE))
+        if (functionBracketCount > 0)
             return 0;
         try {
             String s = GeneralUtils.getDefaultLineSeparator();
@@ -29,7 +29,9 @@ import java.util.List;
 import java.util.Locale;
 
 /**
- * SQL formatter
+ * SQL formatter.
+ * All passes modify tokens list only near the current position (see {@link FormatterTokenList})
+ * and spaces between tokens are written directly to the output, so formatting time is linear.
  */
 public class SQLFormatterTokenized implements SQLFormatter {
 
@@ -37,6 +39,13 @@ public class SQLFormatterTokenized implements SQLFormatter {
 
     private static final String[] DML_KEYWORD = { "SELECT", "UPDATE", "INSERT", "DELETE" };
 
+    private enum Spacing {
+        NONE,
+        SPACE,
+        // No space and the next pair of tokens must not be separated either
+        NONE_KEEP_NEXT
+    }
+
 
     private SQLFormatterConfiguration formatterCfg;
 
@@ -49,6 +58,7 @@ public class SQLFormatterTokenized implements SQLFormatter {
     public String format(final String argSql, SQLFormatterConfiguration configuration) {
         formatterCfg = configuration;
 
+        statementDelimiters.clear();
         for (String delim : formatterCfg.getSyntaxManager().getStatementDelimiters()) {
             statementDelimiters.add(delim.toUpperCase(Locale.ENGLISH));
         }
@@ -60,13 +70,11 @@ public class SQLFormatterTokenized implements SQLFormatter {
             isSqlEndsWithNewLine = true;
         }
 
-        List<FormatterToken> list = fParser.parse(argSql);
+        List<FormatterToken> list = new FormatterTokenList(fParser.parse(argSql));
         list = format(list);
 
-        StringBuilder after = new StringBuilder(argSql.length() + 20);
-        for (FormatterToken token : list) {
-            after.append(token.getString());
-        }
+        StringBuilder after = new StringBuilder(argSql.length() + argSql.length() / 4 + 20);
+        writeTokens(list, after);
 
         if (isSqlEndsWithNewLine) {
             after.append(GeneralUtils.getDefaultLineSeparator());
@@ -107,55 +115,73 @@ public class SQLFormatterTokenized implements SQLFormatter {
 
         trimSpacesBetweenBraces(argList);
 
-        insertSpaces(argList);
-
         return argList;
     }
 
-    private void insertSpaces(List<FormatterToken> argList) {
-        FormatterToken token;
-        for (int index = 1; index < argList.size(); index++) {
-            FormatterToken prev = argList.get(index - 1);
-            token = argList.get(index);
-
-            String prevString = prev.getString();
-            String curString = token.getString();
-            if (prev.getType() != TokenType.SPACE &&
-                    token.getType() != TokenType.SPACE &&
-                    !prevString.equals("(") &&
-                    !curString.startsWith("(") &&
-                    !prevString.equals(")") &&
-                    !curString.equals(")")) {
-                if (curString.equals(",") || statementDelimiters.contains(curString)) { //$NON-NLS-1$
-                    continue;
-                }
-                if (formatterCfg.isFunction(prevString) && curString.equals("(")) { //$NON-NLS-1$
-                    continue;
-                }
-                if (token.getType() == TokenType.VALUE && prev.getType() == TokenType.NAME) {
-                    // Do not add space between name and value [JDBC:MSSQL]
-                    continue;
-                }
-                if (token.getType() == TokenType.SYMBOL && isEmbeddedToken(token) ||
-                        prev.getType() == TokenType.SYMBOL && isEmbeddedToken(prev)) {
-                    // Do not insert spaces around colons
-                    continue;
-                }
-                if (token.getType() == TokenType.SYMBOL && prev.getType() == TokenType.SYMBOL) {
-                    // Do not add space between symbols
-                    continue;
-                }
-                if ("+".equals(curString) &&
-                    prevString.length() > 1 && Character.isDigit(prevString.charAt(0)) &&
-                    (prevString.charAt(prevString.length() - 1) == 'E' || prevString.charAt(prevString.length() - 1) == 'e'))
-                {
-                    // Possible exponential numbers notation (5E+6)
-                    index++;
-                    continue;
+    /**
+     * Writes tokens and inserts spaces between them where needed
+     */
+    private void writeTokens(List<FormatterToken> argList, StringBuilder output) {
+        FormatterToken prev = null;
+        boolean keepNext = false;
+        for (FormatterToken token : argList) {
+            if (prev != null) {
+                if (keepNext) {
+                    keepNext = false;
+                } else {
+                    switch (getSpacing(prev, token)) {
+                        case SPACE:
+                            output.append(' ');
+                            break;
+                        case NONE_KEEP_NEXT:
+                            keepNext = true;
+                            break;
+                    }
                 }
-                argList.add(index, new FormatterToken(TokenType.SPACE, " ")); //$NON-NLS-1$
             }
+            output.append(token.getString());
+            prev = token;
+        }
+    }
+
+    private Spacing getSpacing(FormatterToken prev, FormatterToken token) {
+        String prevString = prev.getString();
+        String curString = token.getString();
+        if (prev.getType() != TokenType.SPACE &&
+                token.getType() != TokenType.SPACE &&
+                !prevString.equals("(") &&
+                !curString.startsWith("(") &&
+                !prevString.equals(")") &&
+                !curString.equals(")")) {
+            if (curString.equals(",") || statementDelimiters.contains(curString)) { //$NON-NLS-1$
+                return Spacing.NONE;
+            }
+            if (formatterCfg.isFunction(prevString) && curString.equals("(")) { //$NON-NLS-1$
+                return Spacing.NONE;
+            }
+            if (token.getType() == TokenType.VALUE && prev.getType() == TokenType.NAME) {
+                // Do not add space between name and value [JDBC:MSSQL]
+                return Spacing.NONE;
+            }
+            if (token.getType() == TokenType.SYMBOL && isEmbeddedToken(token) ||
+                    prev.getType() == TokenType.SYMBOL && isEmbeddedToken(prev)) {
+                // Do not insert spaces around colons
+                return Spacing.NONE;
+            }
+            if (token.getType() == TokenType.SYMBOL && prev.getType() == TokenType.SYMBOL) {
+                // Do not add space between symbols
+                return Spacing.NONE;
+            }
+            if ("+".equals(curString) &&
+                prevString.length() > 1 && Character.isDigit(prevString.charAt(0)) &&
+                (prevString.charAt(prevString.length() - 1) == 'E' || prevString.charAt(prevString.length() - 1) == 'e'))
+            {
+                // Possible exponential numbers notation (5E+6)
+                return Spacing.NONE_KEEP_NEXT;
+            }
+            return Spacing.SPACE;
         }
+        return Spacing.NONE;
     }
 
     private void trimSpacesBetweenBraces(List<FormatterToken> argList) {
@@ -262,10 +288,10 @@ public class SQLFormatterTokenized implements SQLFormatter {
             FormatterToken t1 = argList.get(index + 1);
             FormatterToken t2 = argList.get(index + 2);
 
-            String tokenString = t0.getString().toUpperCase(Locale.ENGLISH);
-            String token2String = t2.getString().toUpperCase(Locale.ENGLISH);
             // Concatenate tokens
             if (t0.getType() == TokenType.KEYWORD && t1.getType() == TokenType.SPACE && t2.getType() == TokenType.KEYWORD) {
+                String tokenString = t0.getString().toUpperCase(Locale.ENGLISH);
+                String token2String = t2.getString().toUpperCase(Locale.ENGLISH);
                 if (((tokenString.equals("ORDER") || tokenString.equals("GROUP") || tokenString.equals("CONNECT")) && token2String.equals("BY")) ||
                         ((tokenString.equals("START")) && token2String.equals("WITH")))
                 {
@@ -276,7 +302,7 @@ public class SQLFormatterTokenized implements SQLFormatter {
             }
 
             // Oracle style joins
-            if (tokenString.equals("(") && t1.getString().equals("+") && token2String.equals(")")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            if (t0.getString().equals("(") && t1.getString().equals("+") && t2.getString().equals(")")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
                 t0.setString("(+)"); //$NON-NLS-1$
                 argList.remove(index + 1);
                 argList.remove(index + 1);
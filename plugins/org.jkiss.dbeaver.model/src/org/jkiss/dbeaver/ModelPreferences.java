@@ -66,6 +66,7 @@ public final class ModelPreferences
     public static final String META_SEPARATE_CONNECTION = "database.meta.separate.connection"; //$NON-NLS-1$
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
     public static final String META_USE_SERVER_SIDE_FILTERS = "database.meta.server.side.filters"; //$NON-NLS-1$
+    public static final String META_STATEMENT_CACHE_SIZE = "database.meta.statement.cache.size"; //$NON-NLS-1$
 
     public static final String META_CLIENT_NAME_DISABLE = "database.meta.client.name.disable"; //$NON-NLS-1$
     public static final String META_CLIENT_NAME_OVERRIDE = "database.meta.client.name.override"; //$NON-NLS-1$
@@ -73,6 +74,16 @@ public final class ModelPreferences
 
     public static final String CONNECT_USE_ENV_VARS = "database.connect.processEnvVars"; //$NON-NLS-1$
 
+    public static final String CONTEXT_POOL_MIN_SIZE = "database.context.pool.min"; //$NON-NLS-1$
+    public static final String CONTEXT_POOL_MAX_SIZE = "database.context.pool.max"; //$NON-NLS-1$
+    public static final String CONTEXT_POOL_IDLE_TIMEOUT = "database.context.pool.idle.timeout"; //$NON-NLS-1$
+    public static final String CONTEXT_POOL_MONITOR_RESERVED = "database.context.pool.monitor.reserved"; //$NON-NLS-1$
+
+    public static final String SESSION_HISTORY_SAMPLE_INTERVAL = "database.session.history.interval"; //$NON-NLS-1$
+
+    public static final String TASK_MAX_CONCURRENT_RUNS = "task.run.max.concurrent"; //$NON-NLS-1$
+    public static final String TASK_MAX_DATASOURCE_RUNS = "task.run.max.datasource"; //$NON-NLS-1$
+
     public static final String RESULT_NATIVE_DATETIME_FORMAT = "resultset.format.datetime.native"; //$NON-NLS-1$
     public static final String RESULT_NATIVE_NUMERIC_FORMAT = "resultset.format.numeric.native"; //$NON-NLS-1$
     public static final String RESULT_SCIENTIFIC_NUMERIC_FORMAT = "resultset.format.numeric.scientific"; //$NON-NLS-1$
@@ -183,6 +194,7 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, META_SEPARATE_CONNECTION, true);
         PrefUtils.setDefaultPreferenceValue(store, META_CASE_SENSITIVE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_USE_SERVER_SIDE_FILTERS, true);
+        PrefUtils.setDefaultPreferenceValue(store, META_STATEMENT_CACHE_SIZE, 50);
 
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_DISABLE, false);
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_OVERRIDE, false);
@@ -190,6 +202,17 @@ public final class ModelPreferences
 
         PrefUtils.setDefaultPreferenceValue(store, CONNECT_USE_ENV_VARS, true);
 
+        PrefUtils.setDefaultPreferenceValue(store, CONTEXT_POOL_MIN_SIZE, 0);
+        PrefUtils.setDefaultPreferenceValue(store, CONTEXT_POOL_MAX_SIZE, 4);
+        PrefUtils.setDefaultPreferenceValue(store, CONTEXT_POOL_IDLE_TIMEOUT, 300);
+        PrefUtils.setDefaultPreferenceValue(store, CONTEXT_POOL_MONITOR_RESERVED, 1);
+
+        // Seconds between background session samples. 0 disables background sampling
+        PrefUtils.setDefaultPreferenceValue(store, SESSION_HISTORY_SAMPLE_INTERVAL, 60);
+
+        PrefUtils.setDefaultPreferenceValue(store, TASK_MAX_CONCURRENT_RUNS, 8);
+        PrefUtils.setDefaultPreferenceValue(store, TASK_MAX_DATASOURCE_RUNS, 2);
+
         PrefUtils.setDefaultPreferenceValue(store, RESULT_NATIVE_DATETIME_FORMAT, false);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_NATIVE_NUMERIC_FORMAT, false);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SCIENTIFIC_NUMERIC_FORMAT, false);
@@ -17,6 +17,8 @@
 
 package org.jkiss.dbeaver.model.admin.sessions;
 
+import org.jkiss.utils.CommonUtils;
+
 /**
  * Abstract implementation of server session
  */
@@ -26,4 +28,14 @@ public abstract class AbstractServerSession implements DBAServerSession {
     public Object getActiveQueryId() {
         return null;
     }
+
+    @Override
+    public Object getSessionId() {
+        return null;
+    }
+
+    @Override
+    public boolean isActiveSession() {
+        return !CommonUtils.isEmptyTrimmed(getActiveQuery());
+    }
 }
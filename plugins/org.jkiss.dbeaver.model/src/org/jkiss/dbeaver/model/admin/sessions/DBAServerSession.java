@@ -28,4 +28,15 @@ public interface DBAServerSession extends DBPObject {
 
     Object getActiveQueryId();
 
+    /**
+     * Unique session identifier (e.g. process id). Used to match sessions between refreshes.
+     * @return null if session can't be identified
+     */
+    Object getSessionId();
+
+    /**
+     * Session executes some query right now
+     */
+    boolean isActiveSession();
+
 }
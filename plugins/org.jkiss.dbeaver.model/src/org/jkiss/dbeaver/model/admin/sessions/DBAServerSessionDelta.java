@@ -0,0 +1,85 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+
+import java.util.*;
+
+/**
+ * Difference between two consecutive session list snapshots.
+ * Sessions are matched by {@link DBAServerSession#getSessionId()}.
+ */
+public class DBAServerSessionDelta<SESSION_TYPE extends DBAServerSession> {
+
+    private final Collection<SESSION_TYPE> sessions;
+    private final boolean fullReload;
+    private final List<SESSION_TYPE> addedSessions = new ArrayList<>();
+    private final List<SESSION_TYPE> removedSessions = new ArrayList<>();
+    private final Map<SESSION_TYPE, SESSION_TYPE> changedSessions = new LinkedHashMap<>();
+
+    DBAServerSessionDelta(@NotNull Collection<SESSION_TYPE> sessions, boolean fullReload) {
+        this.sessions = sessions;
+        this.fullReload = fullReload;
+    }
+
+    /**
+     * All sessions of the new snapshot
+     */
+    @NotNull
+    public Collection<SESSION_TYPE> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Sessions can't be matched with the previous snapshot (first load or sessions without id).
+     * Whole list must be reloaded.
+     */
+    public boolean isFullReload() {
+        return fullReload;
+    }
+
+    @NotNull
+    public List<SESSION_TYPE> getAddedSessions() {
+        return addedSessions;
+    }
+
+    @NotNull
+    public List<SESSION_TYPE> getRemovedSessions() {
+        return removedSessions;
+    }
+
+    /**
+     * Old session -> new session
+     */
+    @NotNull
+    public Map<SESSION_TYPE, SESSION_TYPE> getChangedSessions() {
+        return changedSessions;
+    }
+
+    public boolean isEmpty() {
+        return !fullReload && addedSessions.isEmpty() && removedSessions.isEmpty() && changedSessions.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        if (fullReload) {
+            return "Reload " + sessions.size() + " sessions";
+        }
+        return "Added " + addedSessions.size() + ", removed " + removedSessions.size() + ", changed " + changedSessions.size() + " sessions";
+    }
+}
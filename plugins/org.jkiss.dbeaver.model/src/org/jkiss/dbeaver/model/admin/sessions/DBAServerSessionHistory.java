@@ -0,0 +1,331 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * History of active server sessions.
+ * Samples are stored on disk in time buckets (one file per bucket). Only the last buckets are kept,
+ * so the history works as a ring buffer of fixed duration.
+ *
+ * Bucket file format (one record per line, tab separated):
+ * <ul>
+ *     <li>T timestamp - sample start</li>
+ *     <li>Q queryNumber queryText - query text (written once per bucket)</li>
+ *     <li>S sessionId queryNumber - active session of the last sample</li>
+ * </ul>
+ */
+public class DBAServerSessionHistory {
+
+    private static final Log log = Log.getLog(DBAServerSessionHistory.class);
+
+    public static final long DEFAULT_BUCKET_DURATION = 60 * 60 * 1000; // One hour
+    public static final int DEFAULT_MAX_BUCKETS = 72; // Three days
+    public static final long DEFAULT_MAX_SAMPLE_AGE = 5 * 60 * 1000; // Five minutes
+
+    private static final String HISTORY_FOLDER = "session-history";
+    private static final String BUCKET_FILE_EXT = ".log";
+
+    private static final Map<String, DBAServerSessionHistory> histories = new HashMap<>();
+
+    /**
+     * Active session in history
+     */
+    public static class Sample {
+        private final long timestamp;
+        private final String sessionId;
+        private final String query;
+
+        Sample(long timestamp, String sessionId, String query) {
+            this.timestamp = timestamp;
+            this.sessionId = sessionId;
+            this.query = query;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        @Override
+        public String toString() {
+            return sessionId + ": " + query;
+        }
+    }
+
+    private final File folder;
+    private final long bucketDuration;
+    private final int maxBuckets;
+    private final long maxSampleAge;
+
+    // Current bucket state
+    private long currentBucket = -1;
+    private final Map<String, Integer> currentQueries = new HashMap<>();
+    private long lastSampleTime = -1;
+
+    public DBAServerSessionHistory(@NotNull File folder, long bucketDuration, int maxBuckets) {
+        this(folder, bucketDuration, maxBuckets, DEFAULT_MAX_SAMPLE_AGE);
+    }
+
+    /**
+     * @param maxSampleAge samples older than this are not used to answer which sessions were active at some time
+     */
+    public DBAServerSessionHistory(@NotNull File folder, long bucketDuration, int maxBuckets, long maxSampleAge) {
+        this.folder = folder;
+        this.bucketDuration = bucketDuration;
+        this.maxBuckets = maxBuckets;
+        this.maxSampleAge = maxSampleAge;
+    }
+
+    /**
+     * Session history of the data source. Stored in project metadata folder.
+     */
+    @NotNull
+    public static DBAServerSessionHistory getHistory(@NotNull DBPDataSourceContainer container) {
+        synchronized (histories) {
+            return histories.computeIfAbsent(container.getId(), id -> new DBAServerSessionHistory(
+                new File(new File(container.getProject().getMetadataFolder(false), HISTORY_FOLDER), CommonUtils.escapeFileName(id)),
+                DEFAULT_BUCKET_DURATION,
+                DEFAULT_MAX_BUCKETS));
+        }
+    }
+
+    @NotNull
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * Time of the last sample written in this session, or -1 if nothing was sampled yet
+     */
+    public synchronized long getLastSampleTime() {
+        return lastSampleTime;
+    }
+
+    /**
+     * Writes active sessions into history
+     */
+    public synchronized void addSample(long timestamp, @NotNull Collection<? extends DBAServerSession> sessions) {
+        lastSampleTime = Math.max(lastSampleTime, timestamp);
+        long bucket = timestamp / bucketDuration;
+        try {
+            if (bucket != currentBucket) {
+                openBucket(bucket);
+            }
+            StringBuilder buffer = new StringBuilder();
+            buffer.append("T\t").append(timestamp).append("\n");
+            for (DBAServerSession session : sessions) {
+                if (!session.isActiveSession()) {
+                    continue;
+                }
+                String query = CommonUtils.notEmpty(session.getActiveQuery());
+                Integer queryNumber = currentQueries.get(query);
+                if (queryNumber == null) {
+                    queryNumber = currentQueries.size();
+                    currentQueries.put(query, queryNumber);
+                    buffer.append("Q\t").append(queryNumber).append("\t").append(escape(query)).append("\n");
+                }
+                buffer.append("S\t").append(escape(String.valueOf(session.getSessionId()))).append("\t").append(queryNumber).append("\n");
+            }
+            try (Writer out = new OutputStreamWriter(new FileOutputStream(getBucketFile(bucket), true), StandardCharsets.UTF_8)) {
+                out.write(buffer.toString());
+            }
+        } catch (IOException e) {
+            log.debug("Error writing session history: " + e.getMessage());
+            // Re-read bucket on the next sample
+            currentBucket = -1;
+        }
+    }
+
+    /**
+     * Returns sessions which were active at the specified time (the latest sample before the time).
+     * Returns empty list if there is no sample in max sample age before the specified time
+     * (e.g. sessions weren't sampled at that time).
+     */
+    @NotNull
+    public synchronized List<Sample> getActiveSessions(long timestamp) throws IOException {
+        long minTime = Math.max(0, timestamp - maxSampleAge);
+        for (long b = timestamp / bucketDuration; b >= minTime / bucketDuration; b--) {
+            List<Sample> result = null;
+            long resultTime = -1;
+            for (Sample sample : readBucket(b)) {
+                if (sample.timestamp > timestamp) {
+                    break;
+                }
+                if (sample.timestamp != resultTime) {
+                    result = new ArrayList<>();
+                    resultTime = sample.timestamp;
+                }
+                if (sample.sessionId != null) {
+                    result.add(sample);
+                }
+            }
+            if (result != null) {
+                return resultTime >= minTime ? result : Collections.emptyList();
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns all active session samples in the specified time range
+     */
+    @NotNull
+    public synchronized List<Sample> getSamples(long fromTime, long toTime) throws IOException {
+        List<Sample> result = new ArrayList<>();
+        for (long b = fromTime / bucketDuration; b <= toTime / bucketDuration; b++) {
+            for (Sample sample : readBucket(b)) {
+                if (sample.sessionId != null && sample.timestamp >= fromTime && sample.timestamp <= toTime) {
+                    result.add(sample);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void openBucket(long bucket) throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Can't create session history folder '" + folder.getAbsolutePath() + "'");
+        }
+        currentQueries.clear();
+        // Bucket may exist if application was restarted - restore its queries
+        File bucketFile = getBucketFile(bucket);
+        if (bucketFile.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(bucketFile), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.startsWith("Q\t")) {
+                        String[] parts = line.split("\t", 3);
+                        if (parts.length == 3) {
+                            currentQueries.put(unescape(parts[2]), CommonUtils.toInt(parts[1]));
+                        }
+                    }
+                }
+            }
+        }
+        currentBucket = bucket;
+        removeOldBuckets(bucket);
+    }
+
+    private List<Sample> readBucket(long bucket) throws IOException {
+        File bucketFile = getBucketFile(bucket);
+        if (!bucketFile.exists()) {
+            return Collections.emptyList();
+        }
+        List<Sample> samples = new ArrayList<>();
+        Map<Integer, String> queries = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(bucketFile), StandardCharsets.UTF_8))) {
+            long timestamp = -1;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] parts = line.split("\t", 3);
+                switch (parts[0]) {
+                    case "T":
+                        timestamp = CommonUtils.toLong(parts[1]);
+                        // Empty sample is a marker of sampling time
+                        samples.add(new Sample(timestamp, null, null));
+                        break;
+                    case "Q":
+                        if (parts.length == 3) {
+                            queries.put(CommonUtils.toInt(parts[1]), unescape(parts[2]));
+                        }
+                        break;
+                    case "S":
+                        if (parts.length == 3 && timestamp > 0) {
+                            samples.add(new Sample(timestamp, unescape(parts[1]), queries.get(CommonUtils.toInt(parts[2]))));
+                        }
+                        break;
+                }
+            }
+        }
+        return samples;
+    }
+
+    private void removeOldBuckets(long currentBucket) {
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(BUCKET_FILE_EXT));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            long bucket = CommonUtils.toLong(name.substring(0, name.length() - BUCKET_FILE_EXT.length()), -1);
+            if (bucket >= 0 && bucket <= currentBucket - maxBuckets) {
+                if (!file.delete()) {
+                    log.debug("Can't delete old session history file '" + file.getAbsolutePath() + "'");
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private File getBucketFile(long bucket) {
+        return new File(folder, bucket + BUCKET_FILE_EXT);
+    }
+
+    private static String escape(@Nullable String str) {
+        if (str == null) {
+            return "";
+        }
+        StringBuilder buf = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '\\': buf.append("\\\\"); break;
+                case '\t': buf.append("\\t"); break;
+                case '\n': buf.append("\\n"); break;
+                case '\r': buf.append("\\r"); break;
+                default: buf.append(c);
+            }
+        }
+        return buf.toString();
+    }
+
+    private static String unescape(String str) {
+        if (str.indexOf('\\') == -1) {
+            return str;
+        }
+        StringBuilder buf = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '\\' && i < str.length() - 1) {
+                c = str.charAt(++i);
+                switch (c) {
+                    case 't': c = '\t'; break;
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                }
+            }
+            buf.append(c);
+        }
+        return buf.toString();
+    }
+
+}
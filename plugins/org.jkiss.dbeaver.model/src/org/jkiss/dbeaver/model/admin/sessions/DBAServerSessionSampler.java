@@ -0,0 +1,168 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPool;
+import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server sessions sampler.
+ * Reads sessions with session manager, compares new snapshot with the previous one
+ * and records active sessions in the session history.
+ */
+public class DBAServerSessionSampler<SESSION_TYPE extends DBAServerSession> {
+
+    private static final Log log = Log.getLog(DBAServerSessionSampler.class);
+
+    // Session property getters (per session class). Used to detect changed sessions.
+    private static final Map<Class<?>, List<Method>> propertyGetters = new ConcurrentHashMap<>();
+
+    private final DBAServerSessionManager<SESSION_TYPE> sessionManager;
+    private final DBAServerSessionHistory history;
+    private Map<Object, SESSION_TYPE> lastSnapshot;
+
+    public DBAServerSessionSampler(@NotNull DBAServerSessionManager<SESSION_TYPE> sessionManager, @Nullable DBAServerSessionHistory history) {
+        this.sessionManager = sessionManager;
+        this.history = history;
+    }
+
+    @NotNull
+    public DBAServerSessionManager<SESSION_TYPE> getSessionManager() {
+        return sessionManager;
+    }
+
+    @Nullable
+    public DBAServerSessionHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Reads sessions and returns changes since the previous call
+     */
+    @NotNull
+    public DBAServerSessionDelta<SESSION_TYPE> collectSessions(@NotNull DBRProgressMonitor monitor, @Nullable Map<String, Object> options) throws DBException {
+        return makeDelta(readSessions(monitor, options));
+    }
+
+    /**
+     * Reads sessions and records them in the history. Doesn't affect the snapshot used for deltas.
+     */
+    @NotNull
+    public Collection<SESSION_TYPE> readSessions(@NotNull DBRProgressMonitor monitor, @Nullable Map<String, Object> options) throws DBException {
+        Collection<SESSION_TYPE> sessions;
+        try (ExecutionContextPool.PooledContext pooledContext = ExecutionContextPool.borrowMonitorContext(monitor, sessionManager.getDataSource().getDefaultInstance(), "View sessions")) {
+            try (DBCSession session = pooledContext.getContext().openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server sessions")) {
+                sessions = sessionManager.getSessions(session, options);
+            }
+        }
+        if (sessions == null) {
+            sessions = Collections.emptyList();
+        }
+        if (history != null) {
+            history.addSample(System.currentTimeMillis(), sessions);
+        }
+        return sessions;
+    }
+
+    /**
+     * Forgets previous snapshot. Next delta will be a full reload.
+     */
+    public synchronized void reset() {
+        lastSnapshot = null;
+    }
+
+    private synchronized DBAServerSessionDelta<SESSION_TYPE> makeDelta(Collection<SESSION_TYPE> sessions) {
+        Map<Object, SESSION_TYPE> snapshot = new LinkedHashMap<>();
+        for (SESSION_TYPE session : sessions) {
+            Object sessionId = session.getSessionId();
+            if (sessionId == null || snapshot.put(sessionId, session) != null) {
+                // Sessions can't be identified
+                snapshot = null;
+                break;
+            }
+        }
+        final Map<Object, SESSION_TYPE> prevSnapshot = this.lastSnapshot;
+        this.lastSnapshot = snapshot;
+        if (snapshot == null || prevSnapshot == null) {
+            return new DBAServerSessionDelta<>(sessions, true);
+        }
+
+        DBAServerSessionDelta<SESSION_TYPE> delta = new DBAServerSessionDelta<>(sessions, false);
+        for (Map.Entry<Object, SESSION_TYPE> entry : snapshot.entrySet()) {
+            SESSION_TYPE oldSession = prevSnapshot.get(entry.getKey());
+            if (oldSession == null) {
+                delta.getAddedSessions().add(entry.getValue());
+            } else if (isSessionChanged(oldSession, entry.getValue())) {
+                delta.getChangedSessions().put(oldSession, entry.getValue());
+            }
+        }
+        for (Map.Entry<Object, SESSION_TYPE> entry : prevSnapshot.entrySet()) {
+            if (!snapshot.containsKey(entry.getKey())) {
+                delta.getRemovedSessions().add(entry.getValue());
+            }
+        }
+        return delta;
+    }
+
+    private static boolean isSessionChanged(DBAServerSession oldSession, DBAServerSession newSession) {
+        if (oldSession.getClass() != newSession.getClass() ||
+            !CommonUtils.equalObjects(oldSession.getActiveQuery(), newSession.getActiveQuery()))
+        {
+            return true;
+        }
+        for (Method getter : getPropertyGetters(newSession.getClass())) {
+            try {
+                if (!CommonUtils.equalObjects(getter.invoke(oldSession), getter.invoke(newSession))) {
+                    return true;
+                }
+            } catch (Exception e) {
+                log.debug("Error reading session property " + getter.getName() + ": " + e.getMessage());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Method> getPropertyGetters(Class<?> sessionClass) {
+        return propertyGetters.computeIfAbsent(sessionClass, theClass -> {
+            List<Method> getters = new ArrayList<>();
+            for (Method method : theClass.getMethods()) {
+                if (method.getParameterTypes().length == 0 &&
+                    !Modifier.isStatic(method.getModifiers()) &&
+                    method.isAnnotationPresent(Property.class))
+                {
+                    getters.add(method);
+                }
+            }
+            return getters;
+        });
+    }
+
+}
@@ -70,6 +70,19 @@ public interface JDBCSession extends DBCSession, Connection {
     JDBCPreparedStatement prepareStatement(String sql)
         throws SQLException;
 
+    /**
+     * Prepares statement using execution context statement cache.
+     * Statement is returned to the cache on close and may be reused by subsequent calls with the same SQL.
+     * Use it for frequently executed queries with parameters (e.g. metadata reads).
+     */
+    @NotNull
+    JDBCPreparedStatement prepareCachedStatement(String sql)
+        throws SQLException;
+
+    @NotNull
+    JDBCPreparedStatement prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException;
+
     @Override
     @NotNull
     JDBCCallableStatement prepareCall(String sql)
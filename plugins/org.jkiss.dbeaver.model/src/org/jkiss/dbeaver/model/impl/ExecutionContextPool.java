@@ -0,0 +1,542 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Pool of isolated execution contexts of a single instance.
+ * Used by background consumers (session/lock monitors, data transfer consumer, data search) instead of
+ * opening and closing a new isolated context for each operation.
+ * Metadata readers (e.g. schema compare) do not use the pool: they load lazy model caches which always
+ * read metadata with the data source meta context.
+ *
+ * Borrowers are served in FIFO order. Idle contexts are validated with checkContextAlive before reuse
+ * and are closed after idle timeout (but pool always keeps at least minSize idle contexts).
+ * Pool opens minSize contexts in background after the first borrow.
+ *
+ * Monitoring borrowers (session and lock views) have their own queue and reserved contexts above maxSize,
+ * so they are not blocked by long running consumers like data transfer.
+ */
+public class ExecutionContextPool {
+
+    private static final Log log = Log.getLog(ExecutionContextPool.class);
+
+    public static final String POOLED_CONTEXT_NAME = "Pooled context";
+
+    // Idle contexts which were used recently are not validated
+    private static final long VALIDATION_INTERVAL = 30000;
+    private static final long BORROW_WAIT_PERIOD = 100;
+
+    /**
+     * Borrowed context. Returns context to the pool on close.
+     */
+    public static class PooledContext implements AutoCloseable {
+        @Nullable
+        private final ExecutionContextPool pool;
+        @NotNull
+        private final DBCExecutionContext context;
+        private final boolean autoCommit;
+        private final boolean monitoring;
+        private boolean broken;
+        private boolean released;
+
+        private PooledContext(@Nullable ExecutionContextPool pool, @NotNull DBCExecutionContext context, boolean monitoring) {
+            this.pool = pool;
+            this.context = context;
+            this.monitoring = monitoring;
+            this.autoCommit = isAutoCommit(context);
+        }
+
+        @NotNull
+        public DBCExecutionContext getContext() {
+            return context;
+        }
+
+        /**
+         * Marks context as broken. It will be closed instead of returning to the pool.
+         */
+        public void invalidate() {
+            this.broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (pool == null) {
+                context.close();
+            } else {
+                pool.releaseContext(this);
+            }
+        }
+    }
+
+    private static class IdleContext {
+        private final DBCExecutionContext context;
+        private final long releaseTime;
+
+        IdleContext(DBCExecutionContext context, long releaseTime) {
+            this.context = context;
+            this.releaseTime = releaseTime;
+        }
+    }
+
+    @NotNull
+    private final DBSInstance instance;
+    private final int minSize;
+    private final int maxSize;
+    private final int monitorReservedSize;
+    private final long idleTimeout;
+
+    // Most recently used contexts are at the end
+    private final LinkedList<IdleContext> idleContexts = new LinkedList<>();
+    private final LinkedList<Object> waiters = new LinkedList<>();
+    private final LinkedList<Object> monitorWaiters = new LinkedList<>();
+    // Borrowed contexts and contexts which are being opened
+    private int activeCount;
+    // Contexts borrowed by regular (non-monitoring) borrowers
+    private int regularActiveCount;
+    private boolean closed;
+    private EvictJob evictJob;
+    private PrewarmJob prewarmJob;
+
+    private long borrowCount;
+    private long totalWaitTime;
+    private long maxWaitTime;
+
+    public ExecutionContextPool(@NotNull DBSInstance instance) {
+        this.instance = instance;
+        DBPPreferenceStore preferenceStore = instance.getDataSource().getContainer().getPreferenceStore();
+        this.maxSize = Math.max(1, preferenceStore.getInt(ModelPreferences.CONTEXT_POOL_MAX_SIZE));
+        this.minSize = Math.min(maxSize, Math.max(0, preferenceStore.getInt(ModelPreferences.CONTEXT_POOL_MIN_SIZE)));
+        this.idleTimeout = Math.max(1, preferenceStore.getInt(ModelPreferences.CONTEXT_POOL_IDLE_TIMEOUT)) * 1000L;
+        this.monitorReservedSize = Math.max(0, preferenceStore.getInt(ModelPreferences.CONTEXT_POOL_MONITOR_RESERVED));
+    }
+
+    @NotNull
+    public DBSInstance getInstance() {
+        return instance;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMonitorReservedSize() {
+        return monitorReservedSize;
+    }
+
+    public synchronized int getActiveCount() {
+        return activeCount;
+    }
+
+    public synchronized int getIdleCount() {
+        return idleContexts.size();
+    }
+
+    public synchronized int getWaiterCount() {
+        return waiters.size() + monitorWaiters.size();
+    }
+
+    public synchronized long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public synchronized long getTotalWaitTime() {
+        return totalWaitTime;
+    }
+
+    public synchronized long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * Borrows context from the pool. Waits if all contexts are in use and pool reached its max size.
+     * Returned context must be closed after use (this returns underlying context to the pool).
+     *
+     * @param purpose describes borrower. Used in QM log.
+     */
+    @NotNull
+    public PooledContext borrowContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBException {
+        return borrowContext(monitor, purpose, false);
+    }
+
+    /**
+     * Borrows context from the pool.
+     *
+     * @param purpose describes borrower. Used in QM log.
+     * @param monitoring short monitoring query (sessions, locks). Such borrowers may use reserved contexts
+     *                   and do not wait behind regular borrowers.
+     */
+    @NotNull
+    public PooledContext borrowContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, boolean monitoring) throws DBException {
+        final long startTime = System.currentTimeMillis();
+        final Object ticket = new Object();
+        final LinkedList<Object> queue = monitoring ? monitorWaiters : waiters;
+        synchronized (this) {
+            queue.add(ticket);
+        }
+        try {
+            DBCExecutionContext context = null;
+            long lastUseTime = 0;
+            synchronized (this) {
+                for (;;) {
+                    if (closed) {
+                        throw new DBCException("Execution context pool of '" + instance.getName() + "' is closed");
+                    }
+                    if (monitor.isCanceled()) {
+                        throw new DBCException("Context borrow canceled");
+                    }
+                    // Regular borrowers never take more than maxSize contexts, the rest is reserved for monitoring
+                    if (queue.getFirst() == ticket && (monitoring || regularActiveCount < maxSize)) {
+                        if (!idleContexts.isEmpty()) {
+                            IdleContext idleContext = idleContexts.removeLast();
+                            context = idleContext.context;
+                            lastUseTime = idleContext.releaseTime;
+                            activeCount++;
+                            break;
+                        } else if (activeCount < maxSize + monitorReservedSize) {
+                            activeCount++;
+                            break;
+                        }
+                    }
+                    try {
+                        wait(BORROW_WAIT_PERIOD);
+                    } catch (InterruptedException e) {
+                        throw new DBCException("Context borrow interrupted", e);
+                    }
+                }
+                queue.removeFirst();
+                if (!monitoring) {
+                    regularActiveCount++;
+                }
+                // Let the next borrower check the pool
+                notifyAll();
+            }
+
+            try {
+                if (context != null && (!context.isConnected() || System.currentTimeMillis() - lastUseTime > VALIDATION_INTERVAL)) {
+                    try {
+                        context.checkContextAlive(monitor);
+                    } catch (Exception e) {
+                        log.debug("Pooled context '" + context.getContextName() + "' is not alive (" + e.getMessage() + "). Reopen.");
+                        closeContext(context);
+                        context = null;
+                    }
+                }
+                if (context == null) {
+                    context = instance.openIsolatedContext(monitor, POOLED_CONTEXT_NAME, null);
+                }
+            } catch (Throwable e) {
+                synchronized (this) {
+                    activeCount--;
+                    if (!monitoring) {
+                        regularActiveCount--;
+                    }
+                    notifyAll();
+                }
+                throw e;
+            }
+
+            long waitTime = System.currentTimeMillis() - startTime;
+            int active, poolSize;
+            synchronized (this) {
+                borrowCount++;
+                totalWaitTime += waitTime;
+                maxWaitTime = Math.max(maxWaitTime, waitTime);
+                active = activeCount;
+                poolSize = activeCount + idleContexts.size();
+                schedulePrewarm();
+            }
+            QMUtils.getDefaultHandler().handleContextPoolEvent(context, purpose, true, waitTime, active, poolSize);
+            return new PooledContext(this, context, monitoring);
+        } finally {
+            synchronized (this) {
+                if (queue.remove(ticket)) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private void releaseContext(@NotNull PooledContext pooledContext) {
+        DBCExecutionContext context = pooledContext.context;
+        boolean reusable = !pooledContext.broken && context.isConnected() && resetContextState(pooledContext);
+        int active, poolSize;
+        synchronized (this) {
+            activeCount--;
+            if (!pooledContext.monitoring) {
+                regularActiveCount--;
+            }
+            if (closed) {
+                reusable = false;
+            }
+            if (reusable) {
+                idleContexts.add(new IdleContext(context, System.currentTimeMillis()));
+                scheduleEviction();
+            }
+            active = activeCount;
+            poolSize = activeCount + idleContexts.size();
+            schedulePrewarm();
+            notifyAll();
+        }
+        if (!reusable) {
+            closeContext(context);
+        }
+        QMUtils.getDefaultHandler().handleContextPoolEvent(context, null, false, 0, active, poolSize);
+    }
+
+    /**
+     * Borrower may leave transaction open or change auto-commit mode. Restore initial state.
+     */
+    private boolean resetContextState(@NotNull PooledContext pooledContext) {
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(pooledContext.context);
+        if (txnManager == null) {
+            return true;
+        }
+        try {
+            if (!txnManager.isAutoCommit()) {
+                try (DBCSession session = pooledContext.context.openSession(new VoidProgressMonitor(), DBCExecutionPurpose.UTIL, "Reset pooled context")) {
+                    txnManager.rollback(session, null);
+                }
+            }
+            if (txnManager.isAutoCommit() != pooledContext.autoCommit) {
+                txnManager.setAutoCommit(new VoidProgressMonitor(), pooledContext.autoCommit);
+            }
+            return true;
+        } catch (Exception e) {
+            log.debug("Can't reset pooled context state: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Closes contexts which were idle longer than idle timeout. Keeps minSize idle contexts.
+     */
+    public void evictIdleContexts() {
+        List<DBCExecutionContext> toClose = new ArrayList<>();
+        long curTime = System.currentTimeMillis();
+        synchronized (this) {
+            // Oldest contexts are at the beginning of list
+            while (idleContexts.size() > minSize && curTime - idleContexts.getFirst().releaseTime > idleTimeout) {
+                toClose.add(idleContexts.removeFirst().context);
+            }
+        }
+        for (DBCExecutionContext context : toClose) {
+            closeContext(context);
+        }
+    }
+
+    /**
+     * Closes all idle contexts. Borrowed contexts will be closed when returned.
+     */
+    public void close() {
+        List<DBCExecutionContext> toClose = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            for (IdleContext idleContext : idleContexts) {
+                toClose.add(idleContext.context);
+            }
+            idleContexts.clear();
+            if (evictJob != null) {
+                evictJob.cancel();
+                evictJob = null;
+            }
+            if (prewarmJob != null) {
+                prewarmJob.cancel();
+                prewarmJob = null;
+            }
+            notifyAll();
+        }
+        for (DBCExecutionContext context : toClose) {
+            closeContext(context);
+        }
+    }
+
+    /**
+     * Borrows context from the pool if instance supports pooling. Otherwise opens new isolated context
+     * which will be closed on PooledContext close.
+     */
+    @NotNull
+    public static PooledContext borrowContext(@NotNull DBRProgressMonitor monitor, @NotNull DBSInstance instance, @NotNull String purpose) throws DBException {
+        return borrowContext(monitor, instance, purpose, false);
+    }
+
+    /**
+     * Borrows context for short monitoring query (sessions, locks). Monitoring borrowers may use contexts
+     * reserved above pool max size, so they are not blocked by running data transfers.
+     */
+    @NotNull
+    public static PooledContext borrowMonitorContext(@NotNull DBRProgressMonitor monitor, @NotNull DBSInstance instance, @NotNull String purpose) throws DBException {
+        return borrowContext(monitor, instance, purpose, true);
+    }
+
+    @NotNull
+    private static PooledContext borrowContext(@NotNull DBRProgressMonitor monitor, @NotNull DBSInstance instance, @NotNull String purpose, boolean monitoring) throws DBException {
+        if (instance instanceof ExecutionContextPoolProvider) {
+            return ((ExecutionContextPoolProvider) instance).getContextPool().borrowContext(monitor, purpose, monitoring);
+        }
+        return new PooledContext(null, instance.openIsolatedContext(monitor, purpose, null), monitoring);
+    }
+
+    /**
+     * Opens missing contexts up to minSize in background
+     */
+    private void schedulePrewarm() {
+        if (closed || activeCount + idleContexts.size() >= minSize) {
+            return;
+        }
+        if (prewarmJob == null) {
+            prewarmJob = new PrewarmJob();
+        }
+        if (prewarmJob.getState() == Job.NONE) {
+            prewarmJob.schedule();
+        }
+    }
+
+    private void scheduleEviction() {
+        if (idleContexts.size() <= minSize) {
+            return;
+        }
+        if (evictJob == null) {
+            evictJob = new EvictJob();
+        }
+        if (evictJob.getState() == Job.NONE) {
+            evictJob.schedule(idleTimeout);
+        }
+    }
+
+    private static boolean isAutoCommit(@NotNull DBCExecutionContext context) {
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        try {
+            return txnManager == null || txnManager.isAutoCommit();
+        } catch (DBCException e) {
+            log.debug("Can't read context auto-commit mode: " + e.getMessage());
+            return true;
+        }
+    }
+
+    private static void closeContext(@NotNull DBCExecutionContext context) {
+        try {
+            context.close();
+        } catch (Throwable e) {
+            log.debug("Error closing pooled context", e);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Context pool [" + instance.getName() + "; active=" + activeCount + ", idle=" + idleContexts.size() +
+            ", max=" + maxSize + ", waiting=" + waiters.size() + "]";
+    }
+
+    private class EvictJob extends AbstractJob {
+
+        EvictJob() {
+            super("Evict idle contexts of '" + instance.getName() + "'");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            evictIdleContexts();
+            synchronized (ExecutionContextPool.this) {
+                if (!closed && idleContexts.size() > minSize) {
+                    schedule(idleTimeout);
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    private class PrewarmJob extends AbstractJob {
+
+        PrewarmJob() {
+            super("Open pooled contexts of '" + instance.getName() + "'");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            for (;;) {
+                synchronized (ExecutionContextPool.this) {
+                    if (closed || monitor.isCanceled() || activeCount + idleContexts.size() >= minSize) {
+                        break;
+                    }
+                    // Opening context counts as active, so borrowers do not exceed max size meanwhile
+                    activeCount++;
+                }
+                DBCExecutionContext context = null;
+                try {
+                    context = instance.openIsolatedContext(monitor, POOLED_CONTEXT_NAME, null);
+                } catch (Throwable e) {
+                    log.debug("Can't open pooled context: " + e.getMessage());
+                }
+                boolean reusable;
+                synchronized (ExecutionContextPool.this) {
+                    activeCount--;
+                    reusable = context != null && !closed;
+                    if (reusable) {
+                        idleContexts.add(new IdleContext(context, System.currentTimeMillis()));
+                    }
+                    ExecutionContextPool.this.notifyAll();
+                }
+                if (context == null) {
+                    break;
+                }
+                if (!reusable) {
+                    closeContext(context);
+                    break;
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -33,6 +33,9 @@ import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -119,39 +122,34 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         try {
             // Here we'll try to reuse prepared statement.
             // It makes a great sense in case of data transfer where we need millions of inserts.
-            // We must be aware of nulls because actual insert statements may differ depending on null values.
-            // So if row nulls aren't the same as in previous row we need to prepare new statement and restart batch.
-            // Quite complicated but works.
-            boolean[] prevNulls = new boolean[attributes.length];
-            boolean[] nulls = new boolean[attributes.length];
+            // We must be aware of nulls because actual statements may differ depending on values (IS NULL criteria, value binders).
+            // So if row statement key isn't the same as in previous row we need to prepare new statement and restart batch.
+            // This must be done regardless of batch state - otherwise parameters of the new row are bound to the old query.
+            Object prevStatementKey = null;
             int statementsInBatch = 0;
+            int batchOffset = 0;
 
             for (int rowIndex = 0; rowIndex < values.size(); rowIndex++) {
                 Object[] rowValues = values.get(rowIndex);
                 if (session.getProgressMonitor().isCanceled()) {
                     break;
                 }
-                boolean reuse = reuseStatement;
-                if (reuse) {
-                    for (int i = 0; i < rowValues.length; i++) {
-                        nulls[i] = DBUtils.isNullValue(rowValues[i]);
-                    }
-                    if (!Arrays.equals(prevNulls, nulls) && statementsInBatch > 0) {
-                        reuse = false;
-                    }
-                    System.arraycopy(nulls, 0, prevNulls, 0, nulls.length);
-                    if (!reuse && statementsInBatch > 0) {
-                        // Flush batch
-                        if (actions == null) {
-                            flushBatch(statistics, statement);
+                if (reuseStatement) {
+                    Object statementKey = getStatementKey(session, handlers, rowValues, options);
+                    if (statement != null && !statementKey.equals(prevStatementKey)) {
+                        if (statementsInBatch > 0) {
+                            // Flush batch
+                            if (actions == null) {
+                                flushBatch(session, statistics, statement, batchOffset);
+                            }
+                            statementsInBatch = 0;
                         }
                         statement.close();
                         statement = null;
-                        statementsInBatch = 0;
-                        reuse = true;
                     }
+                    prevStatementKey = statementKey;
                 }
-                if (statement == null || !reuse) {
+                if (statement == null) {
                     statement = prepareStatement(session, handlers, rowValues, options);
                     statistics.setQueryText(statement.getQueryString());
                     statistics.addStatementsCount();
@@ -160,12 +158,19 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                     bindStatement(handlers, statement, rowValues);
                     if (actions == null) {
                         if (useBatch) {
+                            if (statementsInBatch == 0) {
+                                batchOffset = rowIndex;
+                            }
                             statement.addToBatch();
                             statementsInBatch++;
                         } else {
                             // Execute each row separately
                             long startTime = System.currentTimeMillis();
-                            executeStatement(statistics, statement);
+                            try {
+                                executeStatement(statistics, statement);
+                            } catch (DBCException e) {
+                                throw makeRowError(session, e, rowIndex, null);
+                            }
                             statistics.addExecuteTime(System.currentTimeMillis() - startTime);
 
                             long rowCount = statement.getUpdateRowCount();
@@ -190,8 +195,9 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                                 queryString));
                     }
                 } finally {
-                    if (!reuse) {
+                    if (!reuseStatement) {
                         statement.close();
+                        statement = null;
                     }
                     if (rowIndex > 0 && rowIndex % 100 == 0) {
                         session.getProgressMonitor().subTask("Save batch (" + rowIndex + " of " + values.size() + ")");
@@ -202,7 +208,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
             if (statementsInBatch > 0) {
                 if (actions == null) {
-                    flushBatch(statistics, statement);
+                    flushBatch(session, statistics, statement, batchOffset);
                 }
                 statement.close();
                 statement = null;
@@ -219,6 +225,21 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
+    /**
+     * Returns key of the statement which will be prepared for specified row values.
+     * Reused statement is prepared again each time the key changes.
+     * Default key is the row nulls pattern. Implementations which generate query text depending on values
+     * should return the query text itself.
+     */
+    @NotNull
+    protected Object getStatementKey(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
+        boolean[] nulls = new boolean[attributeValues.length];
+        for (int i = 0; i < attributeValues.length; i++) {
+            nulls[i] = DBUtils.isNullValue(attributeValues[i]);
+        }
+        return Arrays.toString(nulls);
+    }
+
     protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
         return paramIndex + 1;
     }
@@ -278,9 +299,18 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return formatted.toString();
     }
 
-    private void flushBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
+    private void flushBatch(DBCSession session, DBCStatistics statistics, DBCStatement statement, int batchOffset) throws DBCException {
         long startTime = System.currentTimeMillis();
-        int[] updatedRows = statement.executeStatementBatch();
+        int[] updatedRows;
+        try {
+            updatedRows = statement.executeStatementBatch();
+        } catch (DBCException e) {
+            BatchUpdateException batchError = findCause(e, BatchUpdateException.class);
+            if (batchError == null || batchOffset == 0) {
+                throw e;
+            }
+            throw makeRowError(session, e, batchOffset, batchError.getUpdateCounts());
+        }
         statistics.addExecuteTime(System.currentTimeMillis() - startTime);
         if (!ArrayUtils.isEmpty(updatedRows)) {
             for (int rows : updatedRows) {
@@ -299,6 +329,37 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         saveExecuteWarnings(statistics, statement);
     }
 
+    /**
+     * Makes error which identifies the failed row by BatchUpdateException update counts.
+     * Update counts cover all batch rows which precede the failed one (rowOffset rows executed before the failed
+     * statement or batch followed by the update counts of the failed batch).
+     */
+    private static DBCException makeRowError(@NotNull DBCSession session, @NotNull DBCException error, int rowOffset, @Nullable int[] batchCounts) {
+        int[] updateCounts = new int[rowOffset + (batchCounts == null ? 0 : batchCounts.length)];
+        Arrays.fill(updateCounts, 0, rowOffset, Statement.SUCCESS_NO_INFO);
+        if (batchCounts != null) {
+            System.arraycopy(batchCounts, 0, updateCounts, rowOffset, batchCounts.length);
+        }
+        SQLException sqlError = findCause(error, SQLException.class);
+        BatchUpdateException rowError = new BatchUpdateException(
+            error.getMessage(),
+            sqlError == null ? null : sqlError.getSQLState(),
+            sqlError == null ? 0 : sqlError.getErrorCode(),
+            updateCounts,
+            error.getCause());
+        return new DBCException(rowError, session.getExecutionContext());
+    }
+
+    @Nullable
+    private static <T extends Throwable> T findCause(@NotNull Throwable error, @NotNull Class<T> type) {
+        for (Throwable cause = error; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
     protected void executeStatement(DBCStatistics statistics, DBCStatement statement) throws DBCException {
         statement.executeStatement();
         saveExecuteWarnings(statistics, statement);
@@ -22,24 +22,40 @@ import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.time.ExtendedDateFormat;
 
 import java.text.DateFormat;
-import java.text.FieldPosition;
+import java.text.DecimalFormatSymbols;
 import java.text.ParseException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Date/time formatter.
+ * Formatter may be used by several threads at once: java.time values are formatted by immutable DateTimeFormatter,
+ * java.util.Date values - by per-thread copies of date format. Simple numeric patterns (like default yyyy-MM-dd HH:mm:ss)
+ * are formatted directly, without date format.
+ */
 public class DateTimeDataFormatter implements DBDDataFormatter {
 
     public static final String PROP_PATTERN = "pattern";
 
+    // Fast path is used only for modern dates. Older dates depend on calendar switch and LMT offsets.
+    private static final int FAST_PATH_MIN_YEAR = 1900;
+    private static final int FAST_PATH_MAX_YEAR = 9999;
+
     private String pattern;
     private DateFormat dateFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<DateFormat> threadDateFormat;
     private DateTimeFormatter dateTimeFormatter;
+    private char[] fastPattern;
+    private ZoneId fastPathZone;
 
     @Override
     public void init(DBSTypedObject type, Locale locale, Map<String, Object> properties)
@@ -50,11 +66,21 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
             locale);
         // We shouldn't use lanient formatter (#7244)
         dateFormat.setLenient(false);
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
+        // Date format is not thread safe. Each thread uses its own copy of the original format.
+        final DateFormat baseFormat = dateFormat;
+        threadDateFormat = ThreadLocal.withInitial(() -> (DateFormat) baseFormat.clone());
         // DateTimeFormatter pattern for nanoseconds is "n" but old "f" (ExtendedDateFormat)
         String java8DatePattern = pattern.replaceAll("f+", "n");
         dateTimeFormatter = DateTimeFormatter.ofPattern(java8DatePattern);
+
+        fastPattern = null;
+        if (dateFormat.getCalendar().getClass() == GregorianCalendar.class &&
+            DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0' &&
+            isFastPattern(pattern))
+        {
+            fastPattern = pattern.toCharArray();
+            fastPathZone = dateFormat.getTimeZone().toZoneId();
+        }
     }
 
     @Override
@@ -69,10 +95,16 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
         if (value instanceof TemporalAccessor) {
             return dateTimeFormatter.format((TemporalAccessor) value);
         }
-        synchronized (dateFormat) {
-            buffer.setLength(0);
-            return value == null ? null : dateFormat.format(value, buffer, position).toString();
+        if (value == null) {
+            return null;
+        }
+        if (fastPattern != null && value instanceof Date) {
+            String result = formatFast((Date) value);
+            if (result != null) {
+                return result;
+            }
         }
+        return threadDateFormat.get().format(value);
     }
 
     @Override
@@ -85,7 +117,97 @@ public class DateTimeDataFormatter implements DBDDataFormatter {
                 throw new ParseException(e.getParsedString(), e.getErrorIndex());
             }
         }
-        return dateFormat.parse(value);
+        return threadDateFormat.get().parse(value);
+    }
+
+    private String formatFast(Date date) {
+        ZonedDateTime dateTime = Instant.ofEpochMilli(date.getTime()).atZone(fastPathZone);
+        int year = dateTime.getYear();
+        if (year < FAST_PATH_MIN_YEAR || year > FAST_PATH_MAX_YEAR) {
+            return null;
+        }
+        final char[] pattern = fastPattern;
+        final char[] result = new char[pattern.length];
+        for (int i = 0; i < pattern.length; ) {
+            char c = pattern[i];
+            switch (c) {
+                case 'y':
+                    i = putDigits(result, i, year, 4);
+                    break;
+                case 'M':
+                    i = putDigits(result, i, dateTime.getMonthValue(), 2);
+                    break;
+                case 'd':
+                    i = putDigits(result, i, dateTime.getDayOfMonth(), 2);
+                    break;
+                case 'H':
+                    i = putDigits(result, i, dateTime.getHour(), 2);
+                    break;
+                case 'm':
+                    i = putDigits(result, i, dateTime.getMinute(), 2);
+                    break;
+                case 's':
+                    i = putDigits(result, i, dateTime.getSecond(), 2);
+                    break;
+                case 'S':
+                    i = putDigits(result, i, dateTime.getNano() / 1000000, 3);
+                    break;
+                default:
+                    result[i++] = c;
+                    break;
+            }
+        }
+        return new String(result);
+    }
+
+    private static int putDigits(char[] buffer, int offset, int value, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + length;
+    }
+
+    /**
+     * Checks that pattern consists of fixed-width numeric fields (yyyy, MM, dd, HH, mm, ss, SSS) and simple separators.
+     */
+    static boolean isFastPattern(String pattern) {
+        if (CommonUtils.isEmpty(pattern)) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); ) {
+            char c = pattern.charAt(i);
+            int length = 1;
+            while (i + length < pattern.length() && pattern.charAt(i + length) == c) {
+                length++;
+            }
+            switch (c) {
+                case 'y':
+                    if (length != 4) return false;
+                    break;
+                case 'M':
+                case 'd':
+                case 'H':
+                case 'm':
+                case 's':
+                    if (length != 2) return false;
+                    break;
+                case 'S':
+                    if (length != 3) return false;
+                    break;
+                case '-':
+                case ':':
+                case '.':
+                case '/':
+                case ',':
+                case ' ':
+                    break;
+                default:
+                    return false;
+            }
+            i += length;
+        }
+        return true;
     }
 
 }
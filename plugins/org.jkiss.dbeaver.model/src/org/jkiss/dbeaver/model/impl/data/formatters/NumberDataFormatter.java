@@ -26,21 +26,30 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
-import java.text.FieldPosition;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Number formatter.
+ * Decimal format is not thread safe so each thread formats values with its own copy.
+ * Integer values are formatted directly if format has no prefixes, suffixes or other decorations except grouping.
+ */
 public class NumberDataFormatter implements DBDDataFormatter {
 
     public static final int MAX_DEFAULT_FRACTIONS_DIGITS = 16;
+    private static final int MAX_LONG_DIGITS = 19;
 
     private static final Log log = Log.getLog(NumberDataFormatter.class);
 
     private DecimalFormat numberFormat;
-    private StringBuffer buffer;
-    private FieldPosition position;
+    private ThreadLocal<DecimalFormat> threadNumberFormat;
+    private boolean fastIntegers;
+    private char groupingSeparator;
+    private int groupingSize;
+    private char minusSign;
 
     @Override
     public void init(DBSTypedObject type, Locale locale, Map<String, Object> properties)
@@ -97,8 +106,24 @@ public class NumberDataFormatter implements DBDDataFormatter {
             numberFormat.setMinimumIntegerDigits((int) type.getMaxLength());
             numberFormat.setGroupingUsed(false);
         }
-        buffer = new StringBuffer();
-        position = new FieldPosition(0);
+        final DecimalFormat baseFormat = numberFormat;
+        threadNumberFormat = ThreadLocal.withInitial(() -> (DecimalFormat) baseFormat.clone());
+
+        DecimalFormatSymbols symbols = numberFormat.getDecimalFormatSymbols();
+        minusSign = symbols.getMinusSign();
+        groupingSeparator = symbols.getGroupingSeparator();
+        groupingSize = numberFormat.isGroupingUsed() ? numberFormat.getGroupingSize() : 0;
+        fastIntegers =
+            symbols.getZeroDigit() == '0' &&
+            numberFormat.getPositivePrefix().isEmpty() &&
+            numberFormat.getPositiveSuffix().isEmpty() &&
+            numberFormat.getNegativePrefix().equals(String.valueOf(minusSign)) &&
+            numberFormat.getNegativeSuffix().isEmpty() &&
+            numberFormat.getMultiplier() == 1 &&
+            !numberFormat.isDecimalSeparatorAlwaysShown() &&
+            numberFormat.getMinimumIntegerDigits() <= 1 &&
+            numberFormat.getMaximumIntegerDigits() >= MAX_LONG_DIGITS &&
+            numberFormat.getMinimumFractionDigits() == 0;
     }
 
     @Nullable
@@ -115,19 +140,20 @@ public class NumberDataFormatter implements DBDDataFormatter {
         if (value == null) {
             return null;
         }
+        if (fastIntegers && (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+            return formatLong(((Number) value).longValue());
+        }
         try {
-            synchronized (this) {
-                buffer.setLength(0);
-                try {
-                    return numberFormat.format(value, buffer, position).toString();
-                } catch (ArithmeticException e) {
-                    if (numberFormat.getRoundingMode() == RoundingMode.UNNECESSARY) {
-                        // This type can't use UNNECESSARY rounding. Let's set default one
-                        log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
-                        numberFormat.setRoundingMode(RoundingMode.HALF_EVEN);
-                    }
-                    return numberFormat.format(value, buffer, position).toString();
+            DecimalFormat format = threadNumberFormat.get();
+            try {
+                return format.format(value);
+            } catch (ArithmeticException e) {
+                if (format.getRoundingMode() == RoundingMode.UNNECESSARY) {
+                    // This type can't use UNNECESSARY rounding. Let's set default one
+                    log.debug("Disabling UNNECESSARY rounding for numbers (" + e.getMessage() + ")");
+                    format.setRoundingMode(RoundingMode.HALF_EVEN);
                 }
+                return format.format(value);
             }
         } catch (Exception e) {
             return value.toString();
@@ -137,39 +163,61 @@ public class NumberDataFormatter implements DBDDataFormatter {
     @Override
     public Object parseValue(String value, @Nullable Class<?> typeHint) throws ParseException
     {
-        synchronized (this) {
-            numberFormat.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
-            Number number = numberFormat.parse(value);
-            if (number != null && typeHint != null) {
-                boolean isFloat = number instanceof Double || number instanceof Float;
-                if (typeHint == Byte.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.byteValue();
-                } else if (typeHint == Short.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.shortValue();
-                } else if (typeHint == Integer.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.intValue();
-                } else if (typeHint == Long.class) {
-                    if (isFloat) {
-                        return number;
-                    }
-                    return number.longValue();
-                } else if (typeHint == Float.class) {
-                    return number.floatValue();
-                } else if (typeHint == Double.class) {
-                    return number.doubleValue();
+        DecimalFormat format = threadNumberFormat.get();
+        format.setParseBigDecimal(typeHint == BigDecimal.class || typeHint == BigInteger.class);
+        Number number = format.parse(value);
+        if (number != null && typeHint != null) {
+            boolean isFloat = number instanceof Double || number instanceof Float;
+            if (typeHint == Byte.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.byteValue();
+            } else if (typeHint == Short.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.shortValue();
+            } else if (typeHint == Integer.class) {
+                if (isFloat) {
+                    return number;
                 }
+                return number.intValue();
+            } else if (typeHint == Long.class) {
+                if (isFloat) {
+                    return number;
+                }
+                return number.longValue();
+            } else if (typeHint == Float.class) {
+                return number.floatValue();
+            } else if (typeHint == Double.class) {
+                return number.doubleValue();
+            }
+        }
+        return number;
+    }
+
+    private String formatLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return threadNumberFormat.get().format(value);
+        }
+        // Digits + grouping separators + sign
+        char[] buffer = new char[MAX_LONG_DIGITS * 2 + 1];
+        int pos = buffer.length;
+        long absValue = Math.abs(value);
+        int digitCount = 0;
+        do {
+            if (groupingSize > 0 && digitCount > 0 && digitCount % groupingSize == 0) {
+                buffer[--pos] = groupingSeparator;
             }
-            return number;
+            buffer[--pos] = (char) ('0' + absValue % 10);
+            absValue /= 10;
+            digitCount++;
+        } while (absValue != 0);
+        if (value < 0) {
+            buffer[--pos] = minusSign;
         }
+        return new String(buffer, pos, buffer.length - pos);
     }
 
 }
@@ -21,6 +21,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
@@ -58,10 +59,14 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
+    @NotNull
+    private final JDBCStatementCache statementCache;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
         super(instance.getDataSource(), purpose);
         this.instance = instance;
+        this.statementCache = new JDBCStatementCache(
+            dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.META_STATEMENT_CACHE_SIZE));
     }
 
     @Override
@@ -73,6 +78,15 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         this.instance = instance;
     }
 
+    /**
+     * Prepared statements cache. Cached statements are bound to the current physical connection
+     * and are closed on disconnect or reconnect.
+     */
+    @NotNull
+    public JDBCStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     @NotNull
     private Connection getConnection() throws DBCException {
         Connection dbCon = this.connection;
@@ -177,6 +191,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
             if (this.connection != null) {
+                if (statementCache.getSize() > 0) {
+                    log.debug("Close " + statementCache);
+                }
+                statementCache.invalidate();
                 if (!this.dataSource.closeConnection(connection, purpose, true)) {
                     log.debug("Connection close timeout");
                 }
@@ -25,6 +25,8 @@ import org.jkiss.dbeaver.model.DBPExclusiveResource;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPool;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPoolProvider;
 import org.jkiss.dbeaver.model.impl.SimpleExclusiveLock;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSInstance;
@@ -37,7 +39,7 @@ import java.util.List;
 /**
  * JDBC data source
  */
-public class JDBCRemoteInstance implements DBSInstance {
+public class JDBCRemoteInstance implements DBSInstance, ExecutionContextPoolProvider {
     private static final Log log = Log.getLog(JDBCRemoteInstance.class);
 
     @NotNull
@@ -49,6 +51,8 @@ public class JDBCRemoteInstance implements DBSInstance {
     @NotNull
     private final List<JDBCExecutionContext> allContexts = new ArrayList<>();
     private final DBPExclusiveResource exclusiveLock = new SimpleExclusiveLock();
+    @Nullable
+    private volatile ExecutionContextPool contextPool;
 
     protected JDBCRemoteInstance(@NotNull DBRProgressMonitor monitor, @NotNull JDBCDataSource dataSource, boolean initContext)
         throws DBException {
@@ -137,6 +141,21 @@ public class JDBCRemoteInstance implements DBSInstance {
         return context;
     }
 
+    @NotNull
+    @Override
+    public ExecutionContextPool getContextPool() {
+        ExecutionContextPool pool = this.contextPool;
+        if (pool == null) {
+            synchronized (allContexts) {
+                pool = this.contextPool;
+                if (pool == null) {
+                    pool = this.contextPool = new ExecutionContextPool(this);
+                }
+            }
+        }
+        return pool;
+    }
+
     @NotNull
     @Override
     public JDBCExecutionContext[] getAllContexts() {
@@ -181,6 +200,11 @@ public class JDBCRemoteInstance implements DBSInstance {
      * @param keepMeta do not close meta context
      */
     public void shutdown(DBRProgressMonitor monitor, boolean keepMeta) {
+        ExecutionContextPool pool = this.contextPool;
+        if (pool != null) {
+            this.contextPool = null;
+            pool.close();
+        }
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         List<JDBCExecutionContext> ctxCopy;
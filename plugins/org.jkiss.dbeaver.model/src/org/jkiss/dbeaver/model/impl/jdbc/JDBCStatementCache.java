@@ -0,0 +1,206 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.runtime.metrics.MetricCounter;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Bounded LRU cache of prepared statements which belong to one physical connection.
+ * Statement is removed from cache while it is in use and returned back on close,
+ * so the same statement is never shared between two callers.
+ * Hits, misses and evictions of all caches are published in {@link MetricRegistry}.
+ */
+public class JDBCStatementCache {
+
+    private static final Log log = Log.getLog(JDBCStatementCache.class);
+
+    private static final MetricCounter cacheHits = MetricRegistry.getInstance().getCounter(MetricRegistry.STATEMENT_CACHE_HITS);
+    private static final MetricCounter cacheMisses = MetricRegistry.getInstance().getCounter(MetricRegistry.STATEMENT_CACHE_MISSES);
+    private static final MetricCounter cacheEvictions = MetricRegistry.getInstance().getCounter(MetricRegistry.STATEMENT_CACHE_EVICTIONS);
+
+    public static final class Key {
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+
+        Key(@NotNull String sql, int resultSetType, int resultSetConcurrency) {
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+        }
+
+        @NotNull
+        public String getSql() {
+            return sql;
+        }
+
+        public int getResultSetType() {
+            return resultSetType;
+        }
+
+        public int getResultSetConcurrency() {
+            return resultSetConcurrency;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return resultSetType == key.resultSetType &&
+                resultSetConcurrency == key.resultSetConcurrency &&
+                sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return (sql.hashCode() * 31 + resultSetType) * 31 + resultSetConcurrency;
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    // Incremented on each invalidation. Statements acquired before invalidation must not return to cache.
+    private int generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public JDBCStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @NotNull
+    public Key makeKey(@NotNull String sql, int resultSetType, int resultSetConcurrency) {
+        return new Key(sql, resultSetType, resultSetConcurrency);
+    }
+
+    public synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Takes statement out of cache. Returns null if there is no free statement for this key.
+     */
+    @Nullable
+    public synchronized PreparedStatement acquire(@NotNull Key key) {
+        PreparedStatement statement = statements.remove(key);
+        if (statement != null) {
+            hitCount++;
+            cacheHits.increment();
+        } else {
+            missCount++;
+            cacheMisses.increment();
+        }
+        return statement;
+    }
+
+    /**
+     * Puts statement back to cache. If cache already has statement for this key,
+     * the cache was invalidated after statement acquisition or the cache is disabled
+     * then statement is closed.
+     */
+    public void release(@NotNull Key key, @NotNull PreparedStatement statement, int acquireGeneration) {
+        List<PreparedStatement> toClose = new ArrayList<>();
+        synchronized (this) {
+            if (maxSize <= 0 || acquireGeneration != generation || statements.containsKey(key)) {
+                toClose.add(statement);
+            } else {
+                statements.put(key, statement);
+                for (Iterator<PreparedStatement> iter = statements.values().iterator(); statements.size() > maxSize && iter.hasNext(); ) {
+                    toClose.add(iter.next());
+                    iter.remove();
+                    evictionCount++;
+                    cacheEvictions.increment();
+                }
+            }
+        }
+        closeStatements(toClose);
+    }
+
+    /**
+     * Closes all cached statements. Called when underlying connection is closed or reopened.
+     */
+    public void invalidate() {
+        List<PreparedStatement> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(statements.values());
+            statements.clear();
+            generation++;
+        }
+        closeStatements(toClose);
+    }
+
+    public synchronized int getSize() {
+        return statements.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Statement cache [size=" + statements.size() + "/" + maxSize +
+            ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+    }
+
+    private static void closeStatements(List<PreparedStatement> statements) {
+        for (PreparedStatement statement : statements) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                log.debug("Error closing cached statement", e);
+            }
+        }
+    }
+}
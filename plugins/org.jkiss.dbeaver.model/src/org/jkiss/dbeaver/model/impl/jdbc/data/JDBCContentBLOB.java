@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.impl.jdbc.data;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataKind;
@@ -24,6 +25,7 @@ import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.app.DBPPlatform;
 import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDContentStreamed;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.storage.BytesContentStorage;
 import org.jkiss.dbeaver.model.data.storage.TemporaryContentStorage;
@@ -46,7 +48,7 @@ import java.sql.SQLFeatureNotSupportedException;
  *
  * @author Serge Rider
  */
-public class JDBCContentBLOB extends JDBCContentLOB {
+public class JDBCContentBLOB extends JDBCContentLOB implements DBDContentStreamed {
 
     private static final Log log = Log.getLog(JDBCContentBLOB.class);
 
@@ -125,6 +127,27 @@ public class JDBCContentBLOB extends JDBCContentLOB {
         return storage;
     }
 
+    @Nullable
+    @Override
+    public InputStream openContentStream(@NotNull DBRProgressMonitor monitor) throws DBCException {
+        if (storage != null) {
+            try {
+                return storage.getContentStream();
+            } catch (IOException e) {
+                throw new DBCException("IO error while reading content", e);
+            }
+        }
+        if (blob == null) {
+            return null;
+        }
+        try {
+            // Read blob directly. We don't need local copy here
+            return blob.getBinaryStream();
+        } catch (Throwable e) {
+            throw new DBCException(e, executionContext);
+        }
+    }
+
     @Override
     public void release()
     {
@@ -28,10 +28,13 @@ import org.jkiss.dbeaver.model.impl.AbstractSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCException;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCStatementCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.metrics.MetricHistogram;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
 
 import java.sql.*;
 import java.util.Map;
@@ -94,6 +97,23 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         boolean updatable,
         boolean returnGeneratedKeys)
         throws DBCException
+    {
+        long startTime = System.nanoTime();
+        try {
+            return prepareStatementImpl(type, sqlQuery, scrollable, updatable, returnGeneratedKeys);
+        } finally {
+            MetricRegistry.getInstance().getHistogram(MetricRegistry.STATEMENT_PREPARE, MetricHistogram.UNIT_MICROS).updateTime(startTime);
+        }
+    }
+
+    @NotNull
+    private JDBCStatement prepareStatementImpl(
+        @NotNull DBCStatementType type,
+        @NotNull String sqlQuery,
+        boolean scrollable,
+        boolean updatable,
+        boolean returnGeneratedKeys)
+        throws DBCException
     {
         try {
             if (type == DBCStatementType.EXEC && JDBCUtils.queryHasOutputParameters(getDataSource().getSQLDialect(), sqlQuery)) {
@@ -106,7 +126,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
                 }
                 catch (SQLSyntaxErrorException e) {
                     // Call syntax not supported. Let's try t execute it as a regular query
-                    return prepareStatement(DBCStatementType.QUERY, sqlQuery, scrollable, updatable, returnGeneratedKeys);
+                    return prepareStatementImpl(DBCStatementType.QUERY, sqlQuery, scrollable, updatable, returnGeneratedKeys);
                 }
                 catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e) {
                     return prepareCall(sqlQuery);
@@ -244,6 +264,32 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         return createPreparedStatementImpl(getOriginal().prepareStatement(sql), sql);
     }
 
+    @NotNull
+    @Override
+    public JDBCPreparedStatement prepareCachedStatement(String sql)
+        throws SQLException
+    {
+        return prepareCachedStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    @NotNull
+    @Override
+    public JDBCPreparedStatement prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException
+    {
+        JDBCStatementCache cache = context.getStatementCache();
+        if (!cache.isEnabled()) {
+            return prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        JDBCStatementCache.Key cacheKey = cache.makeKey(sql, resultSetType, resultSetConcurrency);
+        int cacheGeneration = cache.getGeneration();
+        PreparedStatement original = cache.acquire(cacheKey);
+        if (original == null) {
+            original = getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        return new JDBCPreparedStatementCachedImpl(this, original, cache, cacheKey, cacheGeneration, !isLoggingEnabled());
+    }
+
     @NotNull
     @Override
     public JDBCCallableStatement prepareCall(String sql)
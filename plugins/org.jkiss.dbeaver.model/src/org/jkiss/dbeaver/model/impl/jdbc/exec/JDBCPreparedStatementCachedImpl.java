@@ -16,20 +16,84 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.exec;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCStatementCache;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement which belongs to the execution context statement cache.
+ * close() doesn't close original statement but returns it back to the cache.
+ */
 public class JDBCPreparedStatementCachedImpl extends JDBCPreparedStatementImpl {
 
-	public JDBCPreparedStatementCachedImpl(JDBCPreparedStatementImpl statment){
-		super(statment.getSession(), statment.original, statment.query, statment.disableLogging);
-	}
-
-	@Override
-	public void close() {
-		// For cached statement close() do nothing
-	}
-	
-	public void drop(){
-		super.close();
-	}
-	
+    private static final Log log = Log.getLog(JDBCPreparedStatementCachedImpl.class);
+
+    @NotNull
+    private final JDBCStatementCache cache;
+    @NotNull
+    private final JDBCStatementCache.Key cacheKey;
+    private final int cacheGeneration;
+    private boolean dropped;
+
+    JDBCPreparedStatementCachedImpl(
+        @NotNull JDBCSession connection,
+        @NotNull PreparedStatement original,
+        @NotNull JDBCStatementCache cache,
+        @NotNull JDBCStatementCache.Key cacheKey,
+        int cacheGeneration,
+        boolean disableLogging)
+    {
+        super(connection, original, cacheKey.getSql(), disableLogging);
+        this.cache = cache;
+        this.cacheKey = cacheKey;
+        this.cacheGeneration = cacheGeneration;
+    }
+
+    @Override
+    protected SQLException handleExecuteError(Throwable ex)
+    {
+        // Do not reuse statements which failed. Their server-side plan may be invalid (e.g. after DDL).
+        dropped = true;
+        return super.handleExecuteError(ex);
+    }
+
+    @Override
+    protected void closeOriginal()
+    {
+        if (dropped) {
+            super.closeOriginal();
+            return;
+        }
+        try {
+            if (original.isClosed()) {
+                return;
+            }
+            // Reset statement state which may affect next usage
+            original.clearParameters();
+            original.clearWarnings();
+            if (original.getMaxRows() != 0) {
+                original.setMaxRows(0);
+            }
+        } catch (Throwable e) {
+            log.debug("Can't reset cached statement state. Drop it.", e);
+            super.closeOriginal();
+            return;
+        }
+        cache.release(cacheKey, original, cacheGeneration);
+    }
+
+    /**
+     * Closes statement and removes it from the cache.
+     * Should be used when statement state is broken (e.g. after execution error).
+     */
+    public void drop()
+    {
+        dropped = true;
+        close();
+    }
+
 }
@@ -490,6 +490,14 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
             QMUtils.getDefaultHandler().handleStatementClose(this, updateCount);
         }
 
+        closeOriginal();
+    }
+
+    /**
+     * Releases original statement. Cached statements override it to return statement to the cache.
+     */
+    protected void closeOriginal()
+    {
         // Close statement
         try {
             getOriginal().close();
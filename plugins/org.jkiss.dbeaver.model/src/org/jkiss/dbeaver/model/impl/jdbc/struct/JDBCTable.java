@@ -22,11 +22,13 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.data.*;
+import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchImpl;
+import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistAction;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.impl.sql.BaseInsertMethod;
@@ -45,6 +47,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -55,7 +58,7 @@ import java.util.Map;
  */
 public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER extends DBSObject>
     extends AbstractTable<DATASOURCE, CONTAINER>
-    implements DBSDictionary, DBSDataManipulator, DBPSaveableObject
+    implements DBSDictionary, DBSDataManipulatorExt2, DBPSaveableObject
 {
     private static final Log log = Log.getLog(JDBCTable.class);
 
@@ -417,10 +420,24 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         DBSAttributeBase[] attributes = ArrayUtils.concatArrays(updateAttributes, keyAttributes);
 
-        return new ExecuteBatchImpl(attributes, keysReceiver, false) {
+        return new ExecuteBatchImpl(attributes, keysReceiver, true) {
+            @NotNull
+            @Override
+            protected Object getStatementKey(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
+                return makeQuery(session, handlers, attributeValues, options);
+            }
+
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
+                // Execute
+                DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, makeQuery(session, handlers, attributeValues, options), false, false, keysReceiver != null);
+
+                dbStat.setStatementSource(source);
+                return dbStat;
+            }
+
+            private String makeQuery(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
                 String tableAlias = null;
                 SQLDialect dialect = session.getDataSource().getSQLDialect();
                 if (dialect.supportsAliasInUpdate()) {
@@ -461,12 +478,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                         appendAttributeCriteria(tableAlias, dialect, query, attribute, attributeValues[updateAttributes.length + i]);
                     }
                 }
-
-                // Execute
-                DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, keysReceiver != null);
-
-                dbStat.setStatementSource(source);
-                return dbStat;
+                return query.toString();
             }
 
             @Override
@@ -494,10 +506,23 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     {
         readRequiredMeta(session.getProgressMonitor());
 
-        return new ExecuteBatchImpl(keyAttributes, null, false) {
+        return new ExecuteBatchImpl(keyAttributes, null, true) {
+            @NotNull
+            @Override
+            protected Object getStatementKey(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) {
+                return makeQuery(session, attributeValues, options);
+            }
+
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
+                // Execute
+                DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, makeQuery(session, attributeValues, options), false, false, false);
+                dbStat.setStatementSource(source);
+                return dbStat;
+            }
+
+            private String makeQuery(@NotNull DBCSession session, Object[] attributeValues, Map<String, Object> options) {
                 String tableAlias = null;
                 SQLDialect dialect = session.getDataSource().getSQLDialect();
                 if (dialect.supportsAliasInUpdate()) {
@@ -520,11 +545,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                         appendAttributeCriteria(tableAlias, dialect, query, keyAttributes[i], attributeValues[i]);
                     }
                 }
-
-                // Execute
-                DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false);
-                dbStat.setStatementSource(source);
-                return dbStat;
+                return query.toString();
             }
 
             @Override
@@ -542,6 +563,104 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         };
     }
 
+    @NotNull
+    @Override
+    public ExecuteBatch deleteDataBulk(@NotNull DBCSession session, @NotNull final DBSAttributeBase keyAttribute, @NotNull final DBCExecutionSource source)
+        throws DBCException
+    {
+        readRequiredMeta(session.getProgressMonitor());
+
+        return new ExecuteBatch() {
+            private final List<Object> keyValues = new ArrayList<>();
+
+            @Override
+            public void add(@NotNull Object[] attributeValues) throws DBCException {
+                if (attributeValues.length != 1 || DBUtils.isNullValue(attributeValues[0])) {
+                    throw new DBCException("Bulk delete requires exactly one non-null key value");
+                }
+                keyValues.add(attributeValues[0]);
+            }
+
+            @NotNull
+            @Override
+            public DBCStatistics execute(@NotNull DBCSession session, Map<String, Object> options) throws DBCException {
+                return processChunks(session, null, options);
+            }
+
+            @Override
+            public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException {
+                processChunks(session, actions, options);
+            }
+
+            @Override
+            public void close() {
+                keyValues.clear();
+            }
+
+            private DBCStatistics processChunks(@NotNull DBCSession session, @Nullable List<DBEPersistAction> actions, Map<String, Object> options) throws DBCException {
+                int chunkSize = CommonUtils.toInt(options.get(OPTION_BULK_CHUNK_SIZE), DEFAULT_BULK_CHUNK_SIZE);
+                if (chunkSize <= 0) {
+                    chunkSize = DEFAULT_BULK_CHUNK_SIZE;
+                }
+                DBDValueHandler valueHandler = keyAttribute instanceof DBDAttributeBinding ?
+                    ((DBDAttributeBinding) keyAttribute).getValueHandler() :
+                    DBUtils.findValueHandler(session, keyAttribute);
+                SQLDialect dialect = session.getDataSource().getSQLDialect();
+                String tableName = DBUtils.getEntityScriptName(JDBCTable.this, options);
+
+                DBCStatistics statistics = new DBCStatistics();
+                try {
+                    for (int offset = 0; offset < keyValues.size(); offset += chunkSize) {
+                        if (session.getProgressMonitor().isCanceled()) {
+                            break;
+                        }
+                        int count = Math.min(chunkSize, keyValues.size() - offset);
+                        StringBuilder query = new StringBuilder(64 + count * 4);
+                        query.append("DELETE FROM ").append(tableName).append("\n\tWHERE "); //$NON-NLS-1$ //$NON-NLS-2$
+                        appendAttributeName(null, dialect, query, keyAttribute);
+                        query.append(" IN ("); //$NON-NLS-1$
+                        for (int i = 0; i < count; i++) {
+                            if (i > 0) query.append(","); //$NON-NLS-1$
+                            Object keyValue = keyValues.get(offset + i);
+                            if (actions != null) {
+                                query.append(SQLUtils.convertValueToSQL(session.getDataSource(), keyAttribute, valueHandler, keyValue, DBDDisplayFormat.NATIVE));
+                            } else if (valueHandler instanceof DBDValueBinder) {
+                                query.append(((DBDValueBinder) valueHandler).makeQueryBind(keyAttribute, keyValue));
+                            } else {
+                                query.append(dialect.getTypeCastClause(keyAttribute, "?")); //$NON-NLS-1$
+                            }
+                        }
+                        query.append(")"); //$NON-NLS-1$
+
+                        statistics.setQueryText(query.toString());
+                        statistics.addStatementsCount();
+                        if (actions != null) {
+                            actions.add(new SQLDatabasePersistAction("Delete rows", query.toString()));
+                            continue;
+                        }
+                        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false)) {
+                            dbStat.setStatementSource(source);
+                            for (int i = 0; i < count; i++) {
+                                valueHandler.bindValueObject(session, dbStat, keyAttribute, i, keyValues.get(offset + i));
+                            }
+                            long startTime = System.currentTimeMillis();
+                            dbStat.executeStatement();
+                            statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                            long rowCount = dbStat.getUpdateRowCount();
+                            if (rowCount > 0) {
+                                statistics.addRowsUpdated(rowCount);
+                            }
+                        }
+                        session.getProgressMonitor().subTask("Delete rows (" + (offset + count) + " of " + keyValues.size() + ")");
+                    }
+                } finally {
+                    keyValues.clear();
+                }
+                return statistics;
+            }
+        };
+    }
+
     ////////////////////////////////////////////////////////////////////
     // Dictionary
 
@@ -902,6 +1021,15 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     }
 
     private void appendAttributeCriteria(@Nullable String tableAlias, SQLDialect dialect, StringBuilder query, DBSAttributeBase attribute, Object value) {
+        appendAttributeName(tableAlias, dialect, query, attribute);
+        if (DBUtils.isNullValue(value)) {
+            query.append(" IS NULL"); //$NON-NLS-1$
+        } else {
+            query.append("=").append(dialect.getTypeCastClause(attribute, "?")); //$NON-NLS-1$
+        }
+    }
+
+    private void appendAttributeName(@Nullable String tableAlias, SQLDialect dialect, StringBuilder query, DBSAttributeBase attribute) {
         DBDPseudoAttribute pseudoAttribute = null;
         if (DBUtils.isPseudoAttribute(attribute)) {
             if (attribute instanceof DBDAttributeBindingMeta) {
@@ -922,11 +1050,6 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             }
             query.append(getAttributeName(attribute));
         }
-        if (DBUtils.isNullValue(value)) {
-            query.append(" IS NULL"); //$NON-NLS-1$
-        } else {
-            query.append("=").append(dialect.getTypeCastClause(attribute, "?")); //$NON-NLS-1$
-        }
     }
 
     /**
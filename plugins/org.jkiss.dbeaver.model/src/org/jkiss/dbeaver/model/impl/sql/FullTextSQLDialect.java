@@ -0,0 +1,50 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+
+import java.util.Map;
+
+/**
+ * SQL dialect which supports server-side full-text search predicates
+ */
+public interface FullTextSQLDialect extends SQLDialect {
+
+    /**
+     * Returns full-text search conditions for entity attributes which can be searched with a full-text index.
+     * Each condition is a boolean expression with exactly one parameter placeholder (?) which must be bound
+     * to {@link #getFullTextSearchValue(String)}. Search string is never inlined into condition.
+     * Attribute name in condition is not qualified with table name or alias.
+     * Note that full-text search matches words or phrases, not arbitrary substrings.
+     */
+    @NotNull
+    Map<DBSEntityAttribute, String> getFullTextConditions(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity)
+        throws DBException;
+
+    /**
+     * Converts user search string into full-text condition parameter value (e.g. phrase query).
+     */
+    @NotNull
+    String getFullTextSearchValue(@NotNull String searchString);
+
+}
@@ -39,6 +39,12 @@ public interface QMExecutionHandler {
 
     void handleContextClose(@NotNull DBCExecutionContext context);
 
+    /**
+     * Pooled context was borrowed (borrow=true) or returned to the pool.
+     * activeCount and poolSize describe pool state after the operation.
+     */
+    void handleContextPoolEvent(@NotNull DBCExecutionContext context, @Nullable String purpose, boolean borrow, long waitTime, int activeCount, int poolSize);
+
     void handleSessionOpen(@NotNull DBCSession session);
 
     void handleSessionClose(@NotNull DBCSession session);
@@ -0,0 +1,93 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm.meta;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Pooled execution context borrow/return event.
+ * Open time is the moment borrower started to wait for context, so duration equals wait time.
+ */
+public class QMMContextPoolInfo extends QMMObject {
+
+    @NotNull
+    private final QMMSessionInfo session;
+    @Nullable
+    private final String purpose;
+    private final boolean borrow;
+    private final long waitTime;
+    private final int activeCount;
+    private final int poolSize;
+
+    public QMMContextPoolInfo(@NotNull QMMSessionInfo session, @Nullable String purpose, boolean borrow, long waitTime, int activeCount, int poolSize) {
+        super(getTimeStamp() - waitTime, getTimeStamp());
+        this.session = session;
+        this.purpose = purpose;
+        this.borrow = borrow;
+        this.waitTime = waitTime;
+        this.activeCount = activeCount;
+        this.poolSize = poolSize;
+    }
+
+    @NotNull
+    public QMMSessionInfo getSession() {
+        return session;
+    }
+
+    @Nullable
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public boolean isBorrow() {
+        return borrow;
+    }
+
+    public long getWaitTime() {
+        return waitTime;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    @Override
+    public String getText() {
+        StringBuilder text = new StringBuilder();
+        if (borrow) {
+            text.append("Borrow pooled context");
+            if (purpose != null) {
+                text.append(" for '").append(purpose).append("'");
+            }
+            text.append(" (wait ").append(waitTime).append("ms");
+        } else {
+            text.append("Return pooled context (");
+        }
+        text.append(borrow ? ", " : "").append(activeCount).append("/").append(poolSize).append(" in use)");
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "POOL " + getText();
+    }
+}
@@ -193,6 +193,22 @@ public class QMMSessionInfo extends QMMObject {
         return null;
     }
 
+    /**
+     * Returns time of the last statement activity in this session (or zero if there were no statements).
+     * Statement which is still executing or fetching counts as current activity.
+     */
+    public long getLastActivityTime()
+    {
+        QMMStatementExecuteInfo exec = this.executionStack;
+        if (exec == null) {
+            return 0;
+        }
+        if (!exec.isClosed() || exec.isFetching()) {
+            return getTimeStamp();
+        }
+        return Math.max(exec.getCloseTime(), exec.getFetchEndTime());
+    }
+
     public QMMStatementExecuteInfo beginExecution(DBCStatement statement)
     {
         QMMStatementInfo stat = getStatement(statement);
@@ -0,0 +1,49 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Data manipulator with set-based operations.
+ * Allows to process many rows with a single statement instead of a statement per row.
+ */
+public interface DBSDataManipulatorExt2 extends DBSDataManipulator {
+
+    /**
+     * Max number of rows processed by a single set-based statement
+     */
+    String OPTION_BULK_CHUNK_SIZE = "data.manipulate.bulkChunkSize";//$NON-NLS-1$
+
+    int DEFAULT_BULK_CHUNK_SIZE = 500;
+
+    /**
+     * Creates batch which deletes rows by single key attribute.
+     * Each added row must contain exactly one non-null key value.
+     * Rows are deleted with statements like DELETE ... WHERE key IN (...), split into chunks.
+     */
+    @NotNull
+    ExecuteBatch deleteDataBulk(
+        @NotNull DBCSession session,
+        @NotNull DBSAttributeBase keyAttribute,
+        @NotNull DBCExecutionSource source)
+        throws DBCException;
+
+}
@@ -78,6 +78,18 @@ public final class DBStructUtils {
     }
 
     public static <T extends DBSEntity> void generateTableListDDL(@NotNull DBRProgressMonitor monitor, @NotNull StringBuilder sql, @NotNull Collection<T> tablesOrViews, Map<String, Object> options, boolean addComments) throws DBException {
+        for (TableDDLPart<T> part : getTableListDDLParts(monitor, tablesOrViews, options)) {
+            appendTableDDLPart(sql, part, DBStructUtils.getTableDDL(monitor, part.getTable(), part.getOptions(), addComments));
+        }
+        monitor.done();
+    }
+
+    /**
+     * Splits table list DDL into parts in the order they must appear in the script.
+     * Each part may be rendered independently (e.g. in parallel) and then appended with {@link #appendTableDDLPart}.
+     */
+    public static <T extends DBSEntity> List<TableDDLPart<T>> getTableListDDLParts(@NotNull DBRProgressMonitor monitor, @NotNull Collection<T> tablesOrViews, Map<String, Object> options) throws DBException {
+        List<TableDDLPart<T>> parts = new ArrayList<>();
         List<T> goodTableList = new ArrayList<>();
         List<T> cycleTableList = new ArrayList<>();
         List<T> viewList = new ArrayList<>();
@@ -86,8 +98,7 @@ public final class DBStructUtils {
 
         // Good tables: generate full DDL
         for (T table : goodTableList) {
-            sql.append(getObjectNameComment(table, "definition"));
-            addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, options, addComments));
+            parts.add(new TableDDLPart<>(table, options, "definition"));
         }
         {
             // Cycle tables: generate CREATE TABLE and CREATE FOREIGN KEY separately
@@ -107,29 +118,30 @@ public final class DBStructUtils {
             Map<String, Object> optionsNoFK = new HashMap<>(options);
             optionsNoFK.put(DBPScriptObject.OPTION_DDL_SKIP_FOREIGN_KEYS, true);
             for (T table : goodCycleTableList) {
-                sql.append(getObjectNameComment(table, "definition"));
-                addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, optionsNoFK, addComments));
+                parts.add(new TableDDLPart<>(table, optionsNoFK, "definition"));
             }
             Map<String, Object> optionsOnlyFK = new HashMap<>(options);
             optionsOnlyFK.put(DBPScriptObject.OPTION_DDL_ONLY_FOREIGN_KEYS, true);
             for (T table : goodCycleTableList) {
-                sql.append(getObjectNameComment(table, "foreign keys"));
-                addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, optionsOnlyFK, addComments));
+                parts.add(new TableDDLPart<>(table, optionsOnlyFK, "foreign keys"));
             }
 
             // the rest - tables which can't split their DDL
             for (T table : cycleTableList) {
-                sql.append(getObjectNameComment(table, "definition"));
-                addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, options, addComments));
+                parts.add(new TableDDLPart<>(table, options, "definition"));
             }
         }
         // Views: generate them after all tables.
         // TODO: find view dependencies and generate them in right order
         for (T table : viewList) {
-            sql.append(getObjectNameComment(table, "source"));
-            addDDLLine(sql, DBStructUtils.getTableDDL(monitor, table, options, addComments));
+            parts.add(new TableDDLPart<>(table, options, "source"));
         }
-        monitor.done();
+        return parts;
+    }
+
+    public static void appendTableDDLPart(@NotNull StringBuilder sql, @NotNull TableDDLPart<?> part, String ddl) {
+        sql.append(getObjectNameComment(part.getTable(), part.getComment()));
+        addDDLLine(sql, ddl);
     }
 
     private static String getObjectNameComment(DBSObject object, String comment) {
@@ -304,4 +316,32 @@ public final class DBStructUtils {
         }
         return typeName;
     }
+
+    /**
+     * Table (or view) DDL part of table list script
+     */
+    public static class TableDDLPart<T extends DBSEntity> {
+        private final T table;
+        private final Map<String, Object> options;
+        private final String comment;
+
+        TableDDLPart(T table, Map<String, Object> options, String comment) {
+            this.table = table;
+            this.options = options;
+            this.comment = comment;
+        }
+
+        public T getTable() {
+            return table;
+        }
+
+        public Map<String, Object> getOptions() {
+            return options;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+    }
+
 }
@@ -24,6 +24,8 @@ import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.meta.PropertyGroup;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.runtime.metrics.MetricCounter;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
 import org.jkiss.utils.BeanUtils;
 
 import java.lang.reflect.Field;
@@ -32,13 +34,18 @@ import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
- * Various objects cache
+ * Various objects cache.
+ * Reports cache metrics: each full cache (re)load is counted as a miss and each read of fully cached contents as a hit.
+ * Reads which immediately follow a load are counted as hits too, so hit ratio is approximate.
  */
 public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject>
     implements DBSObjectCache<OWNER, OBJECT>
 {
     private static final Log log = Log.getLog(AbstractObjectCache.class);
 
+    private static final MetricCounter cacheHits = MetricRegistry.getInstance().getCounter(MetricRegistry.CACHE_HITS);
+    private static final MetricCounter cacheMisses = MetricRegistry.getInstance().getCounter(MetricRegistry.CACHE_MISSES);
+
     private List<OBJECT> objectList;
     private Map<String, OBJECT> objectMap;
     protected volatile boolean fullCache = false;
@@ -74,6 +81,9 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public List<OBJECT> getCachedObjects()
     {
+        if (fullCache) {
+            cacheHits.increment();
+        }
         synchronized (cacheSync) {
             return objectList == null ? Collections.<OBJECT>emptyList() : objectList;
         }
@@ -95,6 +105,9 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public OBJECT getCachedObject(@NotNull String name)
     {
+        if (fullCache) {
+            cacheHits.increment();
+        }
         synchronized (cacheSync) {
             return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
         }
@@ -180,6 +193,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
 
     public void setCache(List<OBJECT> objects)
     {
+        cacheMisses.increment();
         synchronized (cacheSync) {
             this.objectList = objects;
             this.objectMap = null;
@@ -40,6 +40,11 @@ public interface DBTTaskRun {
 
     long getRunDuration();
 
+    /**
+     * Time (ms) the run spent in the task run queue before it was started
+     */
+    long getQueueWaitTime();
+
     boolean isRunSuccess();
 
     @Nullable
@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
 import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
@@ -32,6 +33,7 @@ import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,6 +44,12 @@ public class DBTaskUtils {
 
     public static final String TASK_VARIABLES = "taskVariables";
     public static final String TASK_CONTEXT = "taskContext";
+    public static final String TASK_PRIORITY = "taskPriority";
+    public static final String TASK_DEPENDENCIES = "taskDependencies";
+
+    public static final int PRIORITY_LOW = -10;
+    public static final int PRIORITY_NORMAL = 0;
+    public static final int PRIORITY_HIGH = 10;
 
     @NotNull
     public static Map<String, Object> getVariables(@NotNull DBTTask task) {
@@ -136,6 +144,37 @@ public class DBTaskUtils {
         }
     }
 
+    /**
+     * Task run priority. Runs with higher priority are started first when task runs are queued.
+     */
+    public static int getPriority(@NotNull DBTTask task) {
+        return CommonUtils.toInt(task.getProperties().get(TASK_PRIORITY), PRIORITY_NORMAL);
+    }
+
+    public static void setPriority(@NotNull Map<String, Object> taskState, int priority) {
+        if (priority != PRIORITY_NORMAL) {
+            taskState.put(TASK_PRIORITY, priority);
+        } else {
+            taskState.remove(TASK_PRIORITY);
+        }
+    }
+
+    /**
+     * IDs of tasks which must finish before this task run starts (if they are running or queued).
+     */
+    @NotNull
+    public static List<String> getDependencies(@NotNull DBTTask task) {
+        return JSONUtils.deserializeStringList(task.getProperties(), TASK_DEPENDENCIES);
+    }
+
+    public static void setDependencies(@NotNull Map<String, Object> taskState, @Nullable List<String> taskIds) {
+        if (!CommonUtils.isEmpty(taskIds)) {
+            taskState.put(TASK_DEPENDENCIES, taskIds);
+        } else {
+            taskState.remove(TASK_DEPENDENCIES);
+        }
+    }
+
     public static boolean isTaskExists(DBTTask task) {
         if (task == null) {
             return false;
@@ -0,0 +1,176 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup timeline.
+ * Keeps start time and duration of startup phases (per plugin) so slow startup can be analyzed.
+ */
+public class StartupTimeline {
+
+    private static final StartupTimeline instance = new StartupTimeline();
+
+    public static StartupTimeline getInstance() {
+        return instance;
+    }
+
+    public static class Phase implements AutoCloseable {
+        private final String plugin;
+        private final String name;
+        private final String threadName;
+        private final long startTime;
+        private volatile long endTime;
+
+        private Phase(@Nullable String plugin, @NotNull String name) {
+            this.plugin = plugin;
+            this.name = name;
+            this.threadName = Thread.currentThread().getName();
+            this.startTime = System.currentTimeMillis();
+        }
+
+        @Nullable
+        public String getPlugin() {
+            return plugin;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public boolean isFinished() {
+            return endTime != 0;
+        }
+
+        /**
+         * Phase duration in ms. For unfinished phases returns time since phase start.
+         */
+        public long getDuration() {
+            return (isFinished() ? endTime : System.currentTimeMillis()) - startTime;
+        }
+
+        @Override
+        public void close() {
+            if (endTime == 0) {
+                endTime = System.currentTimeMillis();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return (plugin == null ? "" : plugin + ": ") + name + " (" + getDuration() + "ms)";
+        }
+    }
+
+    private final long startTime;
+    private final List<Phase> phases = new ArrayList<>();
+
+    private StartupTimeline() {
+        long vmStartTime;
+        try {
+            vmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+        } catch (Throwable e) {
+            vmStartTime = System.currentTimeMillis();
+        }
+        this.startTime = vmStartTime;
+    }
+
+    /**
+     * Time of application start (JVM start)
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Starts new phase. Phase must be closed when finished (use try-with-resources).
+     */
+    @NotNull
+    public Phase startPhase(@Nullable String plugin, @NotNull String name) {
+        Phase phase = new Phase(plugin, name);
+        synchronized (phases) {
+            phases.add(phase);
+        }
+        return phase;
+    }
+
+    @NotNull
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    /**
+     * Total duration of phases per plugin
+     */
+    @NotNull
+    public Map<String, Long> getPluginDurations() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Phase phase : getPhases()) {
+            if (phase.getPlugin() != null) {
+                result.merge(phase.getPlugin(), phase.getDuration(), Long::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Formats timeline as a text table: offset since start, duration, thread, plugin and phase name.
+     */
+    @NotNull
+    public String dump() {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(String.format("%8s %8s  %-30s %-40s %s%n", "Start", "Duration", "Thread", "Plugin", "Phase"));
+        for (Phase phase : getPhases()) {
+            buffer.append(String.format("%8d %8d%s %-30s %-40s %s%n",
+                phase.getStartTime() - startTime,
+                phase.getDuration(),
+                phase.isFinished() ? " " : "+",
+                phase.getThreadName(),
+                phase.getPlugin() == null ? "" : phase.getPlugin(),
+                phase.getName()));
+        }
+        Map<String, Long> pluginDurations = getPluginDurations();
+        if (!pluginDurations.isEmpty()) {
+            buffer.append(String.format("%nTotal time per plugin:%n"));
+            for (Map.Entry<String, Long> entry : pluginDurations.entrySet()) {
+                buffer.append(String.format("%8d  %s%n", entry.getValue(), entry.getKey()));
+            }
+        }
+        return buffer.toString();
+    }
+
+}
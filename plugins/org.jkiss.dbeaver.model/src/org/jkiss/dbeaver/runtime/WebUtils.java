@@ -29,6 +29,7 @@ import java.io.*;
 import java.net.*;
 import java.text.NumberFormat;
 import java.util.Base64;
+import java.util.Map;
 
 /**
  * WebUtils
@@ -44,7 +45,17 @@ public class WebUtils {
 
     @NotNull
     public static URLConnection openConnection(String urlString, DBPAuthInfo authInfo, String referrer) throws IOException {
-        return openURLConnection(urlString, authInfo, referrer, 1);
+        return openURLConnection(urlString, authInfo, referrer, null, 1);
+    }
+
+    /**
+     * Opens URL connection with additional request headers.
+     * If conditional headers (If-None-Match, If-Modified-Since) are specified then
+     * "Not modified" response is valid and the caller must check response code.
+     */
+    @NotNull
+    public static URLConnection openConnection(String urlString, DBPAuthInfo authInfo, String referrer, Map<String, String> requestHeaders) throws IOException {
+        return openURLConnection(urlString, authInfo, referrer, requestHeaders, 1);
     }
 
     /**
@@ -52,11 +63,12 @@ public class WebUtils {
      * @param urlString   URL
      * @param authInfo    authenticate info.
      * @param referrer    Referrer (who opens the URL?)
+     * @param requestHeaders additional request headers
      * @param retryNumber retry number
      * @return  URL connection
      */
     @NotNull
-    private static URLConnection openURLConnection(String urlString, DBPAuthInfo authInfo, String referrer, int retryNumber) throws IOException {
+    private static URLConnection openURLConnection(String urlString, DBPAuthInfo authInfo, String referrer, Map<String, String> requestHeaders, int retryNumber) throws IOException {
         if (retryNumber > MAX_RETRY_COUNT) {
             throw new IOException("Too many redirects (" + retryNumber + ")");
         } else if (retryNumber > 1) {
@@ -98,15 +110,20 @@ public class WebUtils {
                     (authInfo.getUserName() + ":" + CommonUtils.notEmpty(authInfo.getUserPassword())).getBytes(GeneralUtils.UTF8_CHARSET));
                 connection.setRequestProperty("Authorization", "Basic " + encoded);
             }
+            if (requestHeaders != null) {
+                for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+                    connection.setRequestProperty(header.getKey(), header.getValue());
+                }
+            }
         }
         connection.connect();
         if (connection instanceof HttpURLConnection) {
             final HttpURLConnection httpConnection = (HttpURLConnection) connection;
             final int responseCode = httpConnection.getResponseCode();
-            if (responseCode != 200) {
+            if (responseCode != 200 && !(responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && !CommonUtils.isEmpty(requestHeaders))) {
                 if (responseCode == HttpURLConnection.HTTP_MOVED_TEMP || responseCode == HttpURLConnection.HTTP_MOVED_PERM || responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
                     String newUrl = connection.getHeaderField("Location");
-                    return openURLConnection(newUrl, authInfo, referrer, retryNumber + 1);
+                    return openURLConnection(newUrl, authInfo, referrer, requestHeaders, retryNumber + 1);
                 }
                 throw new IOException("Can't open '" + urlString + "': " + httpConnection.getResponseMessage());
             }
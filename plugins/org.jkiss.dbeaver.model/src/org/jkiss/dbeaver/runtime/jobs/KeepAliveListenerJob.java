@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.app.DBPWorkspace;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
 
@@ -39,12 +40,15 @@ public class KeepAliveListenerJob extends AbstractJob
 {
     private static final int MONITOR_INTERVAL = 3000; // once per 3 seconds
     private static final long SYSTEM_SUSPEND_INTERVAL = 30000; // 30 seconds of inactivity - most likely a system suspend
+    private static final int MAX_BACKOFF_SHIFT = 4; // Keep-alive interval grows up to 16 times after sequential failures
+    private static final int MAX_BACKOFF_INTERVAL = 600; // But not more than 10 minutes
 
     private static final Log log = Log.getLog(KeepAliveListenerJob.class);
 
     private final DBPPlatform platform;
     private Map<String, Long> checkCache = new HashMap<>();
     private final Set<String> pingCache = new HashSet<>();
+    private final Map<String, Integer> failureCache = new HashMap<>();
     private long lastPingTime = -1;
 
     public KeepAliveListenerJob(DBPPlatform platform)
@@ -83,6 +87,9 @@ public class KeepAliveListenerJob extends AbstractJob
 
     private void checkDataSourceAlive(final DBPDataSourceContainer dataSourceDescriptor) {
         if (!dataSourceDescriptor.isConnected()) {
+            synchronized (this) {
+                failureCache.remove(dataSourceDescriptor.getId());
+            }
             return;
         }
         final int keepAliveInterval = dataSourceDescriptor.getConnectionConfiguration().getKeepAliveInterval();
@@ -102,8 +109,10 @@ public class KeepAliveListenerJob extends AbstractJob
             return;
         }
         Long lastCheckTime;
+        int failureCount;
         synchronized (this) {
             lastCheckTime = checkCache.get(dsId);
+            failureCount = CommonUtils.toInt(failureCache.get(dsId));
         }
         if (lastCheckTime == null) {
             final Date connectTime = dataSourceDescriptor.getConnectTime();
@@ -116,14 +125,19 @@ public class KeepAliveListenerJob extends AbstractJob
             return;
         }
         long curTime = System.currentTimeMillis();
-        if ((curTime - lastCheckTime) / 1000 > keepAliveInterval) {
-            final KeepAlivePingJob pingJob = new KeepAlivePingJob(dataSource);
+        if ((curTime - lastCheckTime) / 1000 > getCheckInterval(keepAliveInterval, failureCount)) {
+            final KeepAlivePingJob pingJob = new KeepAlivePingJob(dataSource, keepAliveInterval);
             pingJob.addJobChangeListener(new JobChangeAdapter() {
                 @Override
                 public void done(IJobChangeEvent event) {
                     synchronized (KeepAliveListenerJob.this) {
                         checkCache.put(dsId, System.currentTimeMillis());
                         pingCache.remove(dsId);
+                        if (pingJob.getFailedCount() > 0) {
+                            failureCache.put(dsId, failureCount + 1);
+                        } else if (pingJob.getCheckedCount() > 0) {
+                            failureCache.remove(dsId);
+                        }
                     }
                 }
             });
@@ -134,6 +148,17 @@ public class KeepAliveListenerJob extends AbstractJob
         }
     }
 
+    /**
+     * Check interval (in seconds) grows exponentially while pings fail, so unreachable servers are not hammered.
+     */
+    private static int getCheckInterval(int keepAliveInterval, int failureCount) {
+        if (failureCount <= 0) {
+            return keepAliveInterval;
+        }
+        int interval = keepAliveInterval << Math.min(failureCount, MAX_BACKOFF_SHIFT);
+        return Math.max(keepAliveInterval, Math.min(interval, MAX_BACKOFF_INTERVAL));
+    }
+
     public void scheduleMonitor() {
         schedule(MONITOR_INTERVAL);
     }
@@ -20,56 +20,162 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.qm.meta.QMMSessionInfo;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 
-import java.util.List;
+import java.util.*;
 
 /**
- * KeepAlivePingJob
+ * KeepAlivePingJob.
+ * Pings all contexts of the data source concurrently. Contexts with recent query activity are skipped.
+ * Each ping has its own deadline, so one hanged connection doesn't delay checks of other contexts.
+ * Failed contexts are invalidated one by one. Whole data source is invalidated only if all its contexts were checked and failed
+ * (contexts with recent activity may run queries right now, they must not be closed because of idle context failure).
  */
 class KeepAlivePingJob extends AbstractJob {
     private static final Log log = Log.getLog(KeepAlivePingJob.class);
 
+    // Extra time given to the context ping over validation timeout
+    private static final long PING_DEADLINE_GAP = 2000;
+
+    // Contexts which are being pinged right now (possibly hanged). They are skipped by subsequent pings.
+    private static final Set<DBCExecutionContext> activePings = Collections.synchronizedSet(
+        Collections.newSetFromMap(new IdentityHashMap<>()));
+
     private final DBPDataSource dataSource;
+    private final int keepAliveInterval;
+    private int checkedCount;
+    private int failedCount;
 
-    KeepAlivePingJob(DBPDataSource dataSource) {
+    KeepAlivePingJob(DBPDataSource dataSource, int keepAliveInterval) {
         super("Connection ping (" + dataSource.getContainer().getName() + ")");
         setUser(false);
         setSystem(true);
         this.dataSource = dataSource;
+        this.keepAliveInterval = keepAliveInterval;
+    }
+
+    /**
+     * Number of contexts actually pinged (contexts with recent activity are not counted)
+     */
+    int getCheckedCount() {
+        return checkedCount;
+    }
+
+    /**
+     * Number of contexts which failed ping (or didn't respond in time) and were invalidated
+     */
+    int getFailedCount() {
+        return failedCount;
     }
 
     @Override
     protected IStatus run(DBRProgressMonitor monitor) {
+        final long activityThreshold = System.currentTimeMillis() - keepAliveInterval * 1000L;
+        final List<ContextPingJob> pingJobs = new ArrayList<>();
+        int contextCount = 0;
         for (final DBSInstance instance : dataSource.getAvailableInstances()) {
             for (final DBCExecutionContext context : instance.getAllContexts()) {
+                contextCount++;
+                if (getLastActivityTime(context) > activityThreshold) {
+                    // Connection was used recently, no need to ping it
+                    continue;
+                }
+                if (!activePings.add(context)) {
+                    // Previous ping is still in progress
+                    continue;
+                }
+                ContextPingJob pingJob = new ContextPingJob(instance, context);
+                pingJobs.add(pingJob);
+                pingJob.schedule();
+            }
+        }
+        checkedCount = pingJobs.size();
+        if (pingJobs.isEmpty()) {
+            return Status.OK_STATUS;
+        }
+
+        // Wait for all pings. Context which didn't respond till the deadline is considered broken.
+        final long deadline = System.currentTimeMillis() +
+            dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.CONNECTION_VALIDATION_TIMEOUT) +
+            PING_DEADLINE_GAP;
+        for (ContextPingJob pingJob : pingJobs) {
+            while (!pingJob.finished && System.currentTimeMillis() < deadline && !monitor.isCanceled()) {
                 try {
-                    context.checkContextAlive(monitor);
-                } catch (Exception e) {
-                    log.debug("Context [" + dataSource.getName() + "::" + context.getContextName() + "] check failed: " + e.getMessage());
-                    // Invalidate. Do not log errors (as it can spam tons of logs)
-                    if (e instanceof DBException) {
-                        final List<InvalidateJob.ContextInvalidateResult> results = InvalidateJob.invalidateDataSource(
-                            monitor,
-                            dataSource,
-                            false,
-                            false,
-                            () -> DBWorkbench.getPlatformUI().openConnectionEditor(dataSource.getContainer()));
-                        if (isSuccess(results)) {
-                            log.debug("Connection invalidated: " + results);
-                        }
-                    }
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+
+        final List<ContextPingJob> failedPings = new ArrayList<>();
+        for (ContextPingJob pingJob : pingJobs) {
+            if (!pingJob.finished) {
+                log.debug("Context [" + dataSource.getName() + "::" + pingJob.context.getContextName() + "] ping timed out");
+                failedPings.add(pingJob);
+            } else if (pingJob.error != null) {
+                log.debug("Context [" + dataSource.getName() + "::" + pingJob.context.getContextName() + "] check failed: " + pingJob.error.getMessage());
+                if (pingJob.error instanceof DBException) {
+                    failedPings.add(pingJob);
                 }
             }
         }
+        failedCount = failedPings.size();
+        if (failedPings.isEmpty()) {
+            return Status.OK_STATUS;
+        }
+
+        // Invalidate. Do not log errors (as it can spam tons of logs)
+        if (failedPings.size() == contextCount) {
+            // Nothing works. Most likely network (or tunnel) is broken - invalidate the whole data source
+            final List<InvalidateJob.ContextInvalidateResult> results = InvalidateJob.invalidateDataSource(
+                monitor,
+                dataSource,
+                false,
+                false,
+                () -> DBWorkbench.getPlatformUI().openConnectionEditor(dataSource.getContainer()));
+            if (isSuccess(results)) {
+                log.debug("Connection invalidated: " + results);
+            }
+        } else {
+            for (ContextPingJob pingJob : failedPings) {
+                invalidateContext(monitor, pingJob.instance, pingJob.context);
+            }
+        }
         return Status.OK_STATUS;
     }
 
+    private void invalidateContext(DBRProgressMonitor monitor, DBSInstance instance, DBCExecutionContext context) {
+        Object exclusiveLock = instance.getExclusiveLock().acquireExclusiveLock();
+        try {
+            final DBCExecutionContext.InvalidateResult result = context.invalidateContext(monitor, false);
+            log.debug("Context [" + dataSource.getName() + "::" + context.getContextName() + "] invalidated: " + result);
+        } catch (Exception e) {
+            log.debug("Context [" + dataSource.getName() + "::" + context.getContextName() + "] invalidate failed: " + e.getMessage());
+        } finally {
+            instance.getExclusiveLock().releaseExclusiveLock(exclusiveLock);
+        }
+    }
+
+    private static long getLastActivityTime(DBCExecutionContext context) {
+        QMMSessionInfo sessionInfo = QMUtils.getCurrentSession(context);
+        if (sessionInfo == null || sessionInfo.isClosed()) {
+            return 0;
+        }
+        return sessionInfo.getLastActivityTime();
+    }
+
     private boolean isSuccess(List<InvalidateJob.ContextInvalidateResult> results) {
         for (InvalidateJob.ContextInvalidateResult result : results) {
             switch (result.result) {
@@ -82,5 +188,32 @@ class KeepAlivePingJob extends AbstractJob {
         return false;
     }
 
+    private class ContextPingJob extends AbstractJob {
+        private final DBSInstance instance;
+        private final DBCExecutionContext context;
+        private volatile boolean finished;
+        private volatile Exception error;
+
+        ContextPingJob(DBSInstance instance, DBCExecutionContext context) {
+            super("Context ping (" + dataSource.getContainer().getName() + "::" + context.getContextName() + ")");
+            setUser(false);
+            setSystem(true);
+            this.instance = instance;
+            this.context = context;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                context.checkContextAlive(monitor);
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                finished = true;
+                activePings.remove(context);
+            }
+            return Status.OK_STATUS;
+        }
+    }
 
-}
\ No newline at end of file
+}
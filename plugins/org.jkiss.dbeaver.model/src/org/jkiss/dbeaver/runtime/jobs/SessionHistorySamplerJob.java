@@ -0,0 +1,150 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.jobs;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionHistory;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionSampler;
+import org.jkiss.dbeaver.model.app.DBPPlatform;
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Samples server sessions of connected data sources into the session history.
+ * Sampling interval is configured per data source (0 disables background sampling).
+ * Data sources sampled recently (e.g. by an open session manager) are skipped.
+ */
+public class SessionHistorySamplerJob extends AbstractJob
+{
+    private static final int MONITOR_INTERVAL = 5000; // once per 5 seconds
+
+    private static final Log log = Log.getLog(SessionHistorySamplerJob.class);
+
+    private final DBPPlatform platform;
+    private final Set<String> sampleCache = new HashSet<>();
+
+    public SessionHistorySamplerJob(DBPPlatform platform)
+    {
+        super("Session history sampler");
+        setUser(false);
+        setSystem(true);
+        this.platform = platform;
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor)
+    {
+        if (platform.isShuttingDown()) {
+            return Status.OK_STATUS;
+        }
+        for (DBPProject project : platform.getWorkspace().getProjects()) {
+            if (project.isOpen() && project.isRegistryLoaded()) {
+                for (DBPDataSourceContainer ds : project.getDataSourceRegistry().getDataSources()) {
+                    checkDataSource(ds);
+                }
+            }
+        }
+        if (!platform.isShuttingDown()) {
+            scheduleMonitor();
+        }
+        return Status.OK_STATUS;
+    }
+
+    private void checkDataSource(final DBPDataSourceContainer dataSourceContainer) {
+        final DBPDataSource dataSource = dataSourceContainer.getDataSource();
+        if (!dataSourceContainer.isConnected() || dataSource == null) {
+            return;
+        }
+        final int sampleInterval = dataSourceContainer.getPreferenceStore().getInt(ModelPreferences.SESSION_HISTORY_SAMPLE_INTERVAL);
+        if (sampleInterval <= 0) {
+            return;
+        }
+        final DBAServerSessionManager<?> sessionManager = DBUtils.getAdapter(DBAServerSessionManager.class, dataSource);
+        if (sessionManager == null) {
+            return;
+        }
+        final String dsId = dataSourceContainer.getId();
+        synchronized (this) {
+            if (sampleCache.contains(dsId)) {
+                // Previous sample is still in progress
+                return;
+            }
+        }
+        final DBAServerSessionHistory history = DBAServerSessionHistory.getHistory(dataSourceContainer);
+        final long lastSampleTime = history.getLastSampleTime();
+        if (lastSampleTime > 0 && (System.currentTimeMillis() - lastSampleTime) / 1000 < sampleInterval) {
+            return;
+        }
+        AbstractJob sampleJob = new AbstractJob("Sample sessions (" + dataSourceContainer.getName() + ")") {
+            {
+                setUser(false);
+                setSystem(true);
+            }
+
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                try {
+                    sampleSessions(monitor, sessionManager, history);
+                } catch (DBException e) {
+                    log.debug("Error sampling sessions of '" + dataSourceContainer.getName() + "': " + e.getMessage());
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        sampleJob.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                synchronized (SessionHistorySamplerJob.this) {
+                    sampleCache.remove(dsId);
+                }
+            }
+        });
+        synchronized (this) {
+            sampleCache.add(dsId);
+        }
+        sampleJob.schedule();
+    }
+
+    private static <SESSION_TYPE extends DBAServerSession> void sampleSessions(
+        DBRProgressMonitor monitor,
+        DBAServerSessionManager<SESSION_TYPE> sessionManager,
+        DBAServerSessionHistory history) throws DBException
+    {
+        new DBAServerSessionSampler<>(sessionManager, history).readSessions(monitor, Collections.emptyMap());
+    }
+
+    public void scheduleMonitor() {
+        schedule(MONITOR_INTERVAL);
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.util.Map;
+
+/**
+ * Base class for runtime metrics.
+ * Metrics are thread-safe and cheap to update. Snapshot contains metric type and current values.
+ */
+public abstract class Metric {
+
+    public static final String TYPE_COUNTER = "counter";
+    public static final String TYPE_GAUGE = "gauge";
+    public static final String TYPE_HISTOGRAM = "histogram";
+
+    private final String name;
+
+    protected Metric(@NotNull String name) {
+        this.name = name;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public abstract String getType();
+
+    /**
+     * Returns current metric values. Keys are value names (e.g. count, p99).
+     */
+    @NotNull
+    public abstract Map<String, Object> getSnapshot();
+
+    @Override
+    public String toString() {
+        return name + " " + getSnapshot();
+    }
+}
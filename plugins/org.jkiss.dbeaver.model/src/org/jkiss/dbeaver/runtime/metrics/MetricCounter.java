@@ -0,0 +1,61 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter
+ */
+public class MetricCounter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    MetricCounter(@NotNull String name) {
+        super(name);
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long getValue() {
+        return value.sum();
+    }
+
+    @NotNull
+    @Override
+    public String getType() {
+        return TYPE_COUNTER;
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", getValue());
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.metrics;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Gauge. Value is evaluated on each snapshot.
+ */
+public class MetricGauge extends Metric {
+
+    private static final Log log = Log.getLog(MetricGauge.class);
+
+    private final Supplier<? extends Number> supplier;
+
+    MetricGauge(@NotNull String name, @NotNull Supplier<? extends Number> supplier) {
+        super(name);
+        this.supplier = supplier;
+    }
+
+    @Nullable
+    public Number getValue() {
+        try {
+            return supplier.get();
+        } catch (Throwable e) {
+            log.debug("Error evaluating gauge '" + getName() + "'", e);
+            return null;
+        }
+    }
+
+    @NotNull
+    @Override
+    public String getType() {
+        return TYPE_GAUGE;
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("value", getValue());
+        return result;
+    }
+}
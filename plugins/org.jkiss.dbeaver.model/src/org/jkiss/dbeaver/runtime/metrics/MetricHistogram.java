@@ -0,0 +1,171 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative long values (latencies, rates).
+ * Values are kept in log-linear buckets: each power of two is split into 4 sub-buckets,
+ * so percentiles have relative error below 25% while update is lock-free and memory is fixed.
+ */
+public class MetricHistogram extends Metric {
+
+    public static final String UNIT_MICROS = "us";
+    public static final String UNIT_MILLIS = "ms";
+    public static final String UNIT_ROWS_PER_SECOND = "rows/s";
+    public static final String UNIT_BYTES_PER_SECOND = "bytes/s";
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String unit;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    MetricHistogram(@NotNull String name, @NotNull String unit) {
+        super(name);
+        this.unit = unit;
+    }
+
+    @NotNull
+    public String getUnit() {
+        return unit;
+    }
+
+    public void update(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(getBucketIndex(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Records time elapsed since {@code startNanos} (obtained from System.nanoTime()) in histogram units.
+     */
+    public void updateTime(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        update(UNIT_MILLIS.equals(unit) ? elapsed / 1000000 : elapsed / 1000);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns approximate percentile value.
+     * @param percentile percentile in range 0..1
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        return getPercentile(counts, total, percentile);
+    }
+
+    private long getPercentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Middle of the bucket but never more than the observed max
+                long lower = getBucketLowerBound(i);
+                long upper = i + 1 < BUCKET_COUNT ? getBucketLowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(lower + (upper - lower) / 2, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @NotNull
+    @Override
+    public String getType() {
+        return TYPE_HISTOGRAM;
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long sumValue = getSum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("unit", unit);
+        result.put("count", total);
+        result.put("sum", sumValue);
+        result.put("mean", total == 0 ? 0 : sumValue / total);
+        result.put("max", getMax());
+        result.put("p50", getPercentile(counts, total, 0.50));
+        result.put("p95", getPercentile(counts, total, 0.95));
+        result.put("p99", getPercentile(counts, total, 0.99));
+        return result;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long getBucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exp = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exp - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.metrics;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runtime metrics registry.
+ * Keeps counters, histograms and gauges of data-access hot paths (connect, statement execution, fetch,
+ * data transfer, object caches). Metrics are published by headless platform over JMX and JSON dumps.
+ */
+public class MetricRegistry {
+
+    public static final String CONNECT_TIME = "connect.time";
+    public static final String CONNECT_ERRORS = "connect.errors";
+    public static final String STATEMENT_PREPARE = "statement.prepare";
+    public static final String STATEMENT_EXECUTE = "statement.execute";
+    public static final String STATEMENT_ERRORS = "statement.errors";
+    public static final String STATEMENT_CACHE_HITS = "statementCache.hits";
+    public static final String STATEMENT_CACHE_MISSES = "statementCache.misses";
+    public static final String STATEMENT_CACHE_EVICTIONS = "statementCache.evictions";
+    public static final String RESULTSET_FETCH = "resultset.fetch";
+    public static final String RESULTSET_ROWS = "resultset.rows";
+    public static final String TRANSFER_TIME = "transfer.time";
+    public static final String TRANSFER_ROWS = "transfer.rows";
+    public static final String TRANSFER_BYTES = "transfer.bytes";
+    public static final String TRANSFER_ROWS_PER_SECOND = "transfer.rowsPerSecond";
+    public static final String TRANSFER_BYTES_PER_SECOND = "transfer.bytesPerSecond";
+    public static final String CACHE_HITS = "cache.hits";
+    public static final String CACHE_MISSES = "cache.misses";
+    public static final String CONTEXT_POOL_BORROWS = "contextPool.borrows";
+    public static final String CONTEXT_POOL_WAIT = "contextPool.wait";
+    public static final String CONTEXT_POOL_ACTIVE = "contextPool.active";
+    public static final String CONTEXT_POOL_SIZE = "contextPool.size";
+    public static final String JOBS_RUNNING = "jobs.running";
+    public static final String JOBS_WAITING = "jobs.waiting";
+
+    private static final MetricRegistry instance = new MetricRegistry();
+
+    public static MetricRegistry getInstance() {
+        return instance;
+    }
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    private MetricRegistry() {
+        registerGauge(JOBS_RUNNING, () -> countJobs(Job.RUNNING));
+        registerGauge(JOBS_WAITING, () -> countJobs(Job.WAITING));
+    }
+
+    @NotNull
+    public MetricCounter getCounter(@NotNull String name) {
+        return getMetric(name, MetricCounter.class, () -> new MetricCounter(name));
+    }
+
+    @NotNull
+    public MetricHistogram getHistogram(@NotNull String name, @NotNull String unit) {
+        return getMetric(name, MetricHistogram.class, () -> new MetricHistogram(name, unit));
+    }
+
+    /**
+     * Registers gauge. Replaces previously registered gauge with the same name.
+     */
+    @NotNull
+    public MetricGauge registerGauge(@NotNull String name, @NotNull Supplier<? extends Number> supplier) {
+        MetricGauge gauge = new MetricGauge(name, supplier);
+        metrics.compute(name, (key, prevMetric) -> {
+            if (prevMetric != null && !(prevMetric instanceof MetricGauge)) {
+                throw new IllegalArgumentException("Metric '" + name + "' is not a gauge");
+            }
+            return gauge;
+        });
+        return gauge;
+    }
+
+    public void unregisterGauge(@NotNull String name) {
+        metrics.computeIfPresent(name, (key, metric) -> metric instanceof MetricGauge ? null : metric);
+    }
+
+    @Nullable
+    public Metric getMetric(@NotNull String name) {
+        return metrics.get(name);
+    }
+
+    @NotNull
+    public Collection<Metric> getMetrics() {
+        List<Metric> result = new ArrayList<>(metrics.values());
+        result.sort((o1, o2) -> o1.getName().compareTo(o2.getName()));
+        return result;
+    }
+
+    /**
+     * Snapshot of all metrics ordered by name. Each value is a metric snapshot with additional 'type' attribute.
+     */
+    @NotNull
+    public Map<String, Map<String, Object>> getSnapshot() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        for (Metric metric : metrics.values()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("type", metric.getType());
+            values.putAll(metric.getSnapshot());
+            result.put(metric.getName(), values);
+        }
+        return result;
+    }
+
+    private <T extends Metric> T getMetric(@NotNull String name, @NotNull Class<T> type, @NotNull Supplier<T> creator) {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(name, key -> creator.get());
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric '" + name + "' is not a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    private static int countJobs(int state) {
+        int count = 0;
+        for (Job job : Job.getJobManager().find(null)) {
+            if (job.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -43,6 +43,12 @@ public abstract class DefaultExecutionHandler implements QMExecutionHandler {
 
     }
 
+    @Override
+    public void handleContextPoolEvent(@NotNull DBCExecutionContext context, @Nullable String purpose, boolean borrow, long waitTime, int activeCount, int poolSize)
+    {
+
+    }
+
     @Override
     public void handleSessionOpen(@NotNull DBCSession session)
     {
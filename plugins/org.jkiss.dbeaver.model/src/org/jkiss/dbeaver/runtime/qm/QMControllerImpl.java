@@ -45,6 +45,7 @@ public class QMControllerImpl implements QMController {
 
     private QMExecutionHandler defaultHandler;
     private QMMCollectorImpl metaHandler;
+    private QMMetricsHandler metricsHandler;
     private final List<QMExecutionHandler> handlers = new ArrayList<>();
     private QMEventBrowser eventBrowser;
     private DefaultEventBrowser defaultEventBrowser = new DefaultEventBrowser();
@@ -57,6 +58,9 @@ public class QMControllerImpl implements QMController {
 
         metaHandler = new QMMCollectorImpl();
         registerHandler(metaHandler);
+
+        metricsHandler = new QMMetricsHandler();
+        registerHandler(metricsHandler);
     }
 
     public void dispose()
@@ -66,6 +70,11 @@ public class QMControllerImpl implements QMController {
             metaHandler.dispose();
             metaHandler = null;
         }
+        if (metricsHandler != null) {
+            unregisterHandler(metricsHandler);
+            metricsHandler.dispose();
+            metricsHandler = null;
+        }
 
         synchronized (handlers) {
             if (!handlers.isEmpty()) {
@@ -228,7 +237,7 @@ public class QMControllerImpl implements QMController {
         }
 
         private boolean matchesObjectType(QMMObject object, QMObjectType[] objectTypes) {
-            if (object instanceof QMMSessionInfo)
+            if (object instanceof QMMSessionInfo || object instanceof QMMContextPoolInfo)
                 return ArrayUtils.contains(objectTypes, QMObjectType.session);
             else if (object instanceof QMMTransactionInfo || object instanceof QMMTransactionSavepointInfo)
                 return ArrayUtils.contains(objectTypes, QMObjectType.txn);
@@ -165,6 +165,9 @@ public class QMLogFileWriter implements QMMetaListener, DBPPreferenceListener {
         } else if (object instanceof QMMSessionInfo) {
             QMMSessionInfo sessionInfo = (QMMSessionInfo)object;
             buffer.append(action).append(" SESSION [").append(sessionInfo.getContainerName()).append("]");
+        } else if (object instanceof QMMContextPoolInfo) {
+            QMMContextPoolInfo poolInfo = (QMMContextPoolInfo)object;
+            buffer.append("POOL [").append(poolInfo.getSession().getContainerName()).append("] ").append(poolInfo.getText());
         }
         buffer.append(lineSeparator);
 
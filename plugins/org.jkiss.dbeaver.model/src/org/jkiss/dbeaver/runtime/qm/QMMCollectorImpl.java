@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.runtime.qm;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
@@ -193,6 +194,15 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         closedSessions.add(context.getContextId());
     }
 
+    @Override
+    public synchronized void handleContextPoolEvent(@NotNull DBCExecutionContext context, @Nullable String purpose, boolean borrow, long waitTime, int activeCount, int poolSize)
+    {
+        QMMSessionInfo session = getSessionInfo(context);
+        if (session != null) {
+            fireMetaEvent(new QMMContextPoolInfo(session, purpose, borrow, waitTime, activeCount, poolSize), QMMetaEvent.Action.END);
+        }
+    }
+
     @Override
     public synchronized void handleTransactionAutocommit(@NotNull DBCExecutionContext context, boolean autoCommit)
     {
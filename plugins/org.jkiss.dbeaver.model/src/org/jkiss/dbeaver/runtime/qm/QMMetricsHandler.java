@@ -0,0 +1,133 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+import org.jkiss.dbeaver.runtime.metrics.MetricCounter;
+import org.jkiss.dbeaver.runtime.metrics.MetricHistogram;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects statement execution, fetch and context pool metrics.
+ */
+public class QMMetricsHandler extends DefaultExecutionHandler {
+
+    private final MetricHistogram executeTime;
+    private final MetricCounter executeErrors;
+    private final MetricHistogram fetchTime;
+    private final MetricCounter fetchRows;
+    private final MetricCounter poolBorrows;
+    private final MetricHistogram poolWaitTime;
+
+    // Start time (nanos) of running statements and open result sets
+    private final Map<Object, Long> startTimes = new ConcurrentHashMap<>();
+    // Last known pool state (active count, pool size) per owner instance
+    private final Map<DBSInstance, int[]> poolStates = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public QMMetricsHandler() {
+        MetricRegistry registry = MetricRegistry.getInstance();
+        executeTime = registry.getHistogram(MetricRegistry.STATEMENT_EXECUTE, MetricHistogram.UNIT_MICROS);
+        executeErrors = registry.getCounter(MetricRegistry.STATEMENT_ERRORS);
+        fetchTime = registry.getHistogram(MetricRegistry.RESULTSET_FETCH, MetricHistogram.UNIT_MICROS);
+        fetchRows = registry.getCounter(MetricRegistry.RESULTSET_ROWS);
+        poolBorrows = registry.getCounter(MetricRegistry.CONTEXT_POOL_BORROWS);
+        poolWaitTime = registry.getHistogram(MetricRegistry.CONTEXT_POOL_WAIT, MetricHistogram.UNIT_MILLIS);
+        registry.registerGauge(MetricRegistry.CONTEXT_POOL_ACTIVE, () -> sumPoolState(0));
+        registry.registerGauge(MetricRegistry.CONTEXT_POOL_SIZE, () -> sumPoolState(1));
+    }
+
+    public void dispose() {
+        MetricRegistry registry = MetricRegistry.getInstance();
+        registry.unregisterGauge(MetricRegistry.CONTEXT_POOL_ACTIVE);
+        registry.unregisterGauge(MetricRegistry.CONTEXT_POOL_SIZE);
+        startTimes.clear();
+        poolStates.clear();
+    }
+
+    @NotNull
+    @Override
+    public String getHandlerName() {
+        return "Metrics collector";
+    }
+
+    @Override
+    public void handleContextPoolEvent(@NotNull DBCExecutionContext context, @Nullable String purpose, boolean borrow, long waitTime, int activeCount, int poolSize) {
+        if (borrow) {
+            poolBorrows.increment();
+            poolWaitTime.update(waitTime);
+        }
+        poolStates.put(context.getOwnerInstance(), new int[] { activeCount, poolSize });
+    }
+
+    @Override
+    public void handleStatementExecuteBegin(@NotNull DBCStatement statement) {
+        startTimes.put(statement, System.nanoTime());
+    }
+
+    @Override
+    public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
+        Long startTime = startTimes.remove(statement);
+        if (startTime != null) {
+            executeTime.updateTime(startTime);
+        }
+        if (error != null) {
+            executeErrors.increment();
+        }
+    }
+
+    @Override
+    public void handleStatementClose(@NotNull DBCStatement statement, long rows) {
+        startTimes.remove(statement);
+    }
+
+    @Override
+    public void handleResultSetOpen(@NotNull DBCResultSet resultSet) {
+        startTimes.put(resultSet, System.nanoTime());
+    }
+
+    @Override
+    public void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount) {
+        Long startTime = startTimes.remove(resultSet);
+        if (startTime != null) {
+            fetchTime.updateTime(startTime);
+        }
+        if (rowCount > 0) {
+            fetchRows.add(rowCount);
+        }
+    }
+
+    private int sumPoolState(int index) {
+        int result = 0;
+        synchronized (poolStates) {
+            for (int[] state : poolStates.values()) {
+                result += state[index];
+            }
+        }
+        return result;
+    }
+
+}
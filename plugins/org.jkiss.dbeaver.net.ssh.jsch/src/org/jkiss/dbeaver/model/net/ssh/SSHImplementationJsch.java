@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.net.ssh;
 
 import com.jcraft.jsch.*;
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
@@ -42,21 +43,64 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
 
     private static final Log log = Log.getLog(SSHImplementationJsch.class);
 
+    // Sessions are shared between all tunnels with the same host and credentials
+    private static final SSHSessionPool<Session> sessionPool = new SSHSessionPool<Session>() {
+        @Override
+        protected boolean isSessionAlive(@NotNull Session session) {
+            return session.isConnected();
+        }
+
+        @Override
+        protected void closeSession(@NotNull DBRProgressMonitor monitor, @NotNull Session session) {
+            RuntimeUtils.runTask(monitor1 -> {
+                try {
+                    session.disconnect();
+                } catch (Exception e) {
+                    throw new InvocationTargetException(e);
+                }
+            }, "Close SSH session", 1000);
+        }
+    };
+
     private transient JSch jsch;
     private transient volatile Session session;
+    private transient SSHSessionPool.PooledSession<Session> pooledSession;
+    private transient SSHSessionPool.SessionOpener<Session> sessionOpener;
+    private transient String localHost;
+    private transient int localPort;
+    private transient String remoteHost;
+    private transient int remotePort;
+    private transient boolean portForwarded;
 
     @Override
     protected synchronized void setupTunnel(DBRProgressMonitor monitor, DBWHandlerConfiguration configuration, String sshHost, int aliveInterval, int sshPortNum, File privKeyFile, int connectTimeout, String sshLocalHost, int sshLocalPort, String sshRemoteHost, int sshRemotePort) throws DBException, IOException {
+        String autoTypeString = CommonUtils.toString(configuration.getProperty(SSHConstants.PROP_AUTH_TYPE));
+        AuthType authType = CommonUtils.isEmpty(autoTypeString) ?
+                (privKeyFile == null ? AuthType.PASSWORD : AuthType.PUBLIC_KEY) :
+                CommonUtils.valueOf(AuthType.class, autoTypeString, AuthType.PASSWORD);
+
+        sessionOpener = monitor1 -> openSession(monitor1, configuration, authType, sshHost, aliveInterval, sshPortNum, privKeyFile, connectTimeout);
+        pooledSession = sessionPool.acquire(monitor, makeSessionKey(configuration, sshHost, sshPortNum, authType, privKeyFile, aliveInterval, connectTimeout), sessionOpener);
+        session = pooledSession.getSession();
+        localHost = sshLocalHost;
+        localPort = sshLocalPort;
+        remoteHost = sshRemoteHost;
+        remotePort = sshRemotePort;
+        try {
+            addPortForwarding();
+        } catch (JSchException e) {
+            closeTunnel(monitor);
+            throw new DBException("Cannot establish tunnel", e);
+        }
+    }
+
+    private Session openSession(DBRProgressMonitor monitor, DBWHandlerConfiguration configuration, AuthType authType, String sshHost, int aliveInterval, int sshPortNum, File privKeyFile, int connectTimeout) throws DBException, IOException {
         try {
             if (jsch == null) {
                 jsch = new JSch();
                 JSch.setLogger(new LoggerProxy());
             }
 
-            String autoTypeString = CommonUtils.toString(configuration.getProperty(SSHConstants.PROP_AUTH_TYPE));
-            AuthType authType = CommonUtils.isEmpty(autoTypeString) ?
-                    (privKeyFile == null ? AuthType.PASSWORD : AuthType.PUBLIC_KEY) :
-                    CommonUtils.valueOf(AuthType.class, autoTypeString, AuthType.PASSWORD);
             if (authType == AuthType.PUBLIC_KEY) {
                 addIdentityKey(monitor, configuration.getDataSource(), privKeyFile, configuration.getPassword());
             } else if (authType == AuthType.AGENT) {
@@ -66,7 +110,7 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
             }
 
             log.debug("Instantiate SSH tunnel");
-            session = jsch.getSession(configuration.getUserName(), sshHost, sshPortNum);
+            Session session = jsch.getSession(configuration.getUserName(), sshHost, sshPortNum);
             session.setConfig("StrictHostKeyChecking", "no");
 
             if (authType == AuthType.PASSWORD) {
@@ -92,33 +136,46 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
             }
             log.debug("Connect to tunnel host");
             session.connect(connectTimeout);
-            try {
-                if (CommonUtils.isEmpty(sshLocalHost)) {
-                    session.setPortForwardingL(sshLocalPort, sshRemoteHost, sshRemotePort);
-                } else {
-                    session.setPortForwardingL(sshLocalHost, sshLocalPort, sshRemoteHost, sshRemotePort);
-                }
-            } catch (JSchException e) {
-                closeTunnel(monitor);
-                throw e;
-            }
+            return session;
         } catch (JSchException e) {
             throw new DBException("Cannot establish tunnel", e);
         }
     }
 
+    private void addPortForwarding() throws JSchException {
+        if (CommonUtils.isEmpty(localHost)) {
+            session.setPortForwardingL(localPort, remoteHost, remotePort);
+        } else {
+            session.setPortForwardingL(localHost, localPort, remoteHost, remotePort);
+        }
+        portForwarded = true;
+        pooledSession.channelOpened();
+        log.debug("SSH port forwarding " + localPort + " -> " + remoteHost + ":" + remotePort + " opened over " + pooledSession);
+    }
+
+    private void removePortForwarding() {
+        if (!portForwarded) {
+            return;
+        }
+        portForwarded = false;
+        try {
+            if (CommonUtils.isEmpty(localHost)) {
+                session.delPortForwardingL(localPort);
+            } else {
+                session.delPortForwardingL(localHost, localPort);
+            }
+        } catch (JSchException e) {
+            log.debug("Error removing SSH port forwarding: " + e.getMessage());
+        }
+        pooledSession.channelClosed();
+    }
+
     @Override
     public synchronized void closeTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
-        if (session != null) {
-            RuntimeUtils.runTask(monitor1 -> {
-                if (session != null) {
-                    try {
-                        session.disconnect();
-                    } catch (Exception e) {
-                        throw new InvocationTargetException(e);
-                    }
-                }
-            }, "Close SSH session", 1000);
+        if (pooledSession != null) {
+            removePortForwarding();
+            sessionPool.release(monitor, pooledSession);
+            pooledSession = null;
             session = null;
         }
     }
@@ -134,19 +191,20 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
     }
 
     @Override
-    public void invalidateTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
-        // Do not test - just reopen the tunnel. Otherwise it may take too much time.
-        boolean isAlive = false;//session != null && session.isConnected();
-        if (isAlive) {
-            try {
-                session.sendKeepAliveMsg();
-            } catch (Exception e) {
-                isAlive = false;
-            }
-        }
-        if (!isAlive) {
-            closeTunnel(monitor);
+    public synchronized void invalidateTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
+        if (pooledSession == null) {
             initTunnel(monitor, DBWorkbench.getPlatform(), savedConfiguration, savedConnectionInfo);
+            return;
+        }
+        // Do not test - just reopen the tunnel. Otherwise it may take too much time.
+        // Session shared with other tunnels is not closed (their port forwardings are bound to it), we move to a new one.
+        removePortForwarding();
+        pooledSession = sessionPool.reconnect(monitor, pooledSession, sessionOpener);
+        session = pooledSession.getSession();
+        try {
+            addPortForwarding();
+        } catch (JSchException e) {
+            throw new DBException("Cannot establish tunnel", e);
         }
     }
 
@@ -24,6 +24,7 @@ import net.schmizz.sshj.connection.channel.direct.LocalPortForwarder;
 import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
 import net.schmizz.sshj.userauth.keyprovider.KeyProvider;
 import net.schmizz.sshj.userauth.method.AuthMethod;
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
@@ -47,20 +48,52 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
 
     private static final Log log = Log.getLog(SSHImplementationSshj.class);
 
-    private transient SSHClient sshClient;
+    // Clients are shared between all tunnels with the same host and credentials
+    private static final SSHSessionPool<SSHClient> sessionPool = new SSHSessionPool<SSHClient>() {
+        @Override
+        protected boolean isSessionAlive(@NotNull SSHClient client) {
+            return client.isConnected() && client.isAuthenticated();
+        }
+
+        @Override
+        protected void closeSession(@NotNull DBRProgressMonitor monitor, @NotNull SSHClient client) {
+            RuntimeUtils.runTask(monitor1 -> {
+                try {
+                    client.disconnect();
+                } catch (Exception e) {
+                    throw new InvocationTargetException(e);
+                }
+            }, "Close SSH client", 1000);
+        }
+    };
+
+    private transient volatile SSHClient sshClient;
+    private transient SSHSessionPool.PooledSession<SSHClient> pooledSession;
+    private transient SSHSessionPool.SessionOpener<SSHClient> sessionOpener;
+    private transient LocalPortForwarder.Parameters forwardParameters;
     private transient LocalPortListener portListener;
 
     @Override
-    protected void setupTunnel(DBRProgressMonitor monitor, DBWHandlerConfiguration configuration, String sshHost, int aliveInterval, int sshPortNum, File privKeyFile, int connectTimeout, String sshLocalHost, int sshLocalPort, String sshRemoteHost, int sshRemotePort) throws DBException, IOException {
-        try {
-            String autoTypeString = CommonUtils.toString(configuration.getProperty(SSHConstants.PROP_AUTH_TYPE));
-            AuthType authType = CommonUtils.isEmpty(autoTypeString) ?
-                (privKeyFile == null ? AuthType.PASSWORD : AuthType.PUBLIC_KEY) :
-                CommonUtils.valueOf(AuthType.class, autoTypeString, AuthType.PASSWORD);
+    protected synchronized void setupTunnel(DBRProgressMonitor monitor, DBWHandlerConfiguration configuration, String sshHost, int aliveInterval, int sshPortNum, File privKeyFile, int connectTimeout, String sshLocalHost, int sshLocalPort, String sshRemoteHost, int sshRemotePort) throws DBException, IOException {
+        String autoTypeString = CommonUtils.toString(configuration.getProperty(SSHConstants.PROP_AUTH_TYPE));
+        AuthType authType = CommonUtils.isEmpty(autoTypeString) ?
+            (privKeyFile == null ? AuthType.PASSWORD : AuthType.PUBLIC_KEY) :
+            CommonUtils.valueOf(AuthType.class, autoTypeString, AuthType.PASSWORD);
+
+        sessionOpener = monitor1 -> openClient(configuration, authType, sshHost, sshPortNum, privKeyFile);
+        pooledSession = sessionPool.acquire(monitor, makeSessionKey(configuration, sshHost, sshPortNum, authType, privKeyFile, aliveInterval, connectTimeout), sessionOpener);
+        sshClient = pooledSession.getSession();
+
+        log.debug("Instantiate SSH tunnel");
+        forwardParameters = new LocalPortForwarder.Parameters(sshLocalHost, sshLocalPort, sshRemoteHost, sshRemotePort);
+        startPortListener();
+    }
 
+    private SSHClient openClient(DBWHandlerConfiguration configuration, AuthType authType, String sshHost, int sshPortNum, File privKeyFile) throws DBException {
+        try {
             Config clientConfig = new DefaultConfig();
             clientConfig.setLoggerFactory(LoggerFactory.DEFAULT);
-            sshClient = new SSHClient(clientConfig);
+            SSHClient sshClient = new SSHClient(clientConfig);
             // TODO: make real host verifier
             sshClient.addHostKeyVerifier(new PromiscuousVerifier());
 
@@ -97,32 +130,34 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
                 }
                 sshClient.auth(sshUser, authMethods);
             }
-
-            log.debug("Instantiate SSH tunnel");
-
-            final LocalPortForwarder.Parameters params
-                = new LocalPortForwarder.Parameters(sshLocalHost, sshLocalPort, sshRemoteHost, sshRemotePort);
-            portListener = new LocalPortListener(params);
-            portListener.start();
-            RuntimeUtils.pause(100);
+            return sshClient;
         } catch (Exception e) {
             throw new DBException("Cannot establish tunnel", e);
         }
     }
 
-    @Override
-    public void closeTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
+    private void startPortListener() {
+        portListener = new LocalPortListener(sshClient, forwardParameters);
+        portListener.start();
+        pooledSession.channelOpened();
+        RuntimeUtils.pause(100);
+        log.debug("SSH port forwarding " + forwardParameters.getLocalPort() + " -> " + forwardParameters.getRemoteHost() + ":" + forwardParameters.getRemotePort() + " opened over " + pooledSession);
+    }
+
+    private void stopPortListener() {
         if (portListener != null) {
             portListener.stopServer();
+            portListener = null;
+            pooledSession.channelClosed();
         }
-        if (sshClient != null) {
-            RuntimeUtils.runTask(monitor1 -> {
-                try {
-                    sshClient.disconnect();
-                } catch (Exception e) {
-                    throw new InvocationTargetException(e);
-                }
-            }, "Close SSH client", 1000);
+    }
+
+    @Override
+    public synchronized void closeTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
+        if (pooledSession != null) {
+            stopPortListener();
+            sessionPool.release(monitor, pooledSession);
+            pooledSession = null;
             sshClient = null;
         }
     }
@@ -138,27 +173,26 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
     }
 
     @Override
-    public void invalidateTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
-        // Do not test - just reopen the tunnel. Otherwise it may take too much time.
-        boolean isAlive = false;//sshClient != null && sshClient.isConnected();
-        if (isAlive) {
-            try {
-                sshClient.isConnected();
-            } catch (Exception e) {
-                isAlive = false;
-            }
-        }
-        if (!isAlive) {
-            closeTunnel(monitor);
+    public synchronized void invalidateTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
+        if (pooledSession == null) {
             initTunnel(monitor, null, savedConfiguration, savedConnectionInfo);
+            return;
         }
+        // Do not test - just reopen the tunnel. Otherwise it may take too much time.
+        // Client shared with other tunnels is not closed (their port listeners are bound to it), we move to a new one.
+        stopPortListener();
+        pooledSession = sessionPool.reconnect(monitor, pooledSession, sessionOpener);
+        sshClient = pooledSession.getSession();
+        startPortListener();
     }
 
-    private class LocalPortListener extends Thread {
+    private static class LocalPortListener extends Thread {
+        private final SSHClient sshClient;
         private LocalPortForwarder.Parameters params;
         private LocalPortForwarder portForwarder;
 
-        LocalPortListener(LocalPortForwarder.Parameters params) {
+        LocalPortListener(SSHClient sshClient, LocalPortForwarder.Parameters params) {
+            this.sshClient = sshClient;
             this.params = params;
         }
 
@@ -176,6 +176,21 @@ public abstract class SSHImplementationAbstract implements SSHImplementation {
         return result;
     }
 
+    /**
+     * Key of shared SSH session. Tunnels with the same host, user, credentials and connection settings reuse one SSH session.
+     */
+    protected static SSHSessionPool.SessionKey makeSessionKey(DBWHandlerConfiguration configuration, String sshHost, int sshPortNum, SSHConstants.AuthType authType, File privKeyFile, int aliveInterval, int connectTimeout) {
+        return new SSHSessionPool.SessionKey(
+            sshHost,
+            sshPortNum,
+            configuration.getUserName(),
+            authType,
+            privKeyFile == null ? null : privKeyFile.getAbsolutePath(),
+            authType == SSHConstants.AuthType.AGENT ? null : configuration.getPassword(),
+            aliveInterval,
+            connectTimeout);
+    }
+
     protected abstract void setupTunnel(
         DBRProgressMonitor monitor,
         DBWHandlerConfiguration configuration,
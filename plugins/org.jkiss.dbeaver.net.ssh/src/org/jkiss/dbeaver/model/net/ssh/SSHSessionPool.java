@@ -0,0 +1,276 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of SSH sessions shared between tunnels.
+ * Tunnels which go to the same SSH host with the same credentials use one transport (session)
+ * and open their own port forwarding channels over it. Session is reference counted and is closed
+ * when the last tunnel releases it.
+ *
+ * @param <T> transport session type (depends on SSH implementation)
+ */
+public abstract class SSHSessionPool<T> {
+
+    private static final Log log = Log.getLog(SSHSessionPool.class);
+
+    public interface SessionOpener<T> {
+        @NotNull
+        T openSession(@NotNull DBRProgressMonitor monitor) throws DBException, IOException;
+    }
+
+    /**
+     * Session identity. Sessions are shared only if all authentication and connection parameters are equal.
+     */
+    public static final class SessionKey {
+        private final String host;
+        private final int port;
+        private final String userName;
+        private final SSHConstants.AuthType authType;
+        private final String keyPath;
+        private final String password;
+        private final int keepAliveInterval;
+        private final int connectTimeout;
+
+        public SessionKey(@NotNull String host, int port, @Nullable String userName, @NotNull SSHConstants.AuthType authType, @Nullable String keyPath, @Nullable String password, int keepAliveInterval, int connectTimeout) {
+            this.host = host;
+            this.port = port;
+            this.userName = CommonUtils.notEmpty(userName);
+            this.authType = authType;
+            this.keyPath = CommonUtils.notEmpty(keyPath);
+            this.password = CommonUtils.notEmpty(password);
+            this.keepAliveInterval = keepAliveInterval;
+            this.connectTimeout = connectTimeout;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SessionKey)) {
+                return false;
+            }
+            SessionKey key = (SessionKey) obj;
+            return port == key.port &&
+                keepAliveInterval == key.keepAliveInterval &&
+                connectTimeout == key.connectTimeout &&
+                authType == key.authType &&
+                host.equals(key.host) &&
+                userName.equals(key.userName) &&
+                keyPath.equals(key.keyPath) &&
+                password.equals(key.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, port, userName, authType, keyPath, keepAliveInterval, connectTimeout);
+        }
+
+        @Override
+        public String toString() {
+            // Never show password here
+            return userName + "@" + host + ":" + port;
+        }
+    }
+
+    /**
+     * Shared session reference
+     */
+    public static final class PooledSession<T> {
+        private final SessionKey key;
+        private volatile T session;
+        private int referenceCount;
+        private final AtomicInteger channelCount = new AtomicInteger();
+
+        private PooledSession(SessionKey key) {
+            this.key = key;
+        }
+
+        @NotNull
+        public SessionKey getKey() {
+            return key;
+        }
+
+        @Nullable
+        public T getSession() {
+            return session;
+        }
+
+        public synchronized int getReferenceCount() {
+            return referenceCount;
+        }
+
+        public int getChannelCount() {
+            return channelCount.get();
+        }
+
+        public void channelOpened() {
+            channelCount.incrementAndGet();
+        }
+
+        public void channelClosed() {
+            channelCount.decrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            return key + " [references=" + getReferenceCount() + ", channels=" + getChannelCount() + "]";
+        }
+    }
+
+    private final Map<SessionKey, PooledSession<T>> sessions = new HashMap<>();
+
+    /**
+     * Returns shared session for the specified key. Opens new session if there is no live session yet.
+     * Each successful call must be paired with {@link #release(DBRProgressMonitor, PooledSession)}.
+     */
+    @NotNull
+    public PooledSession<T> acquire(@NotNull DBRProgressMonitor monitor, @NotNull SessionKey key, @NotNull SessionOpener<T> opener) throws DBException, IOException {
+        PooledSession<T> pooledSession;
+        synchronized (sessions) {
+            pooledSession = sessions.computeIfAbsent(key, PooledSession::new);
+            synchronized (pooledSession) {
+                pooledSession.referenceCount++;
+            }
+        }
+        try {
+            // Connect outside of pool lock, so slow hosts do not block tunnels to other hosts
+            synchronized (pooledSession) {
+                T session = pooledSession.session;
+                if (session == null || !isSessionAlive(session)) {
+                    if (session != null) {
+                        closeSessionSafe(monitor, pooledSession, session);
+                    }
+                    pooledSession.session = opener.openSession(monitor);
+                    log.debug("SSH session " + key + " opened");
+                } else {
+                    log.debug("Reuse SSH session " + pooledSession);
+                }
+            }
+        } catch (DBException | IOException | RuntimeException e) {
+            release(monitor, pooledSession);
+            throw e;
+        }
+        return pooledSession;
+    }
+
+    /**
+     * Reopens session after failure of the caller's tunnel. Returns session reference which replaces the specified one.
+     * The failed session is never reused: its local connected state is not reliable after a silent network drop.
+     * <p>
+     * If the caller is the only holder then the session is reopened in place. Otherwise the failed session isn't closed
+     * (port forwardings of other tunnels are bound to it): it is detached from the pool and the caller gets a new
+     * session. Other tunnels move to the new session on their own invalidation, the old session is closed
+     * when its last holder releases it.
+     */
+    @NotNull
+    public PooledSession<T> reconnect(@NotNull DBRProgressMonitor monitor, @NotNull PooledSession<T> pooledSession, @NotNull SessionOpener<T> opener) throws DBException, IOException {
+        for (;;) {
+            boolean pooled;
+            synchronized (sessions) {
+                synchronized (pooledSession) {
+                    pooled = sessions.get(pooledSession.key) == pooledSession;
+                    if (pooled && pooledSession.referenceCount > 1) {
+                        // Shared session. Let the new session replace it in the pool.
+                        sessions.remove(pooledSession.key);
+                        pooled = false;
+                        log.debug("SSH session " + pooledSession + " detached from the pool");
+                    }
+                }
+            }
+            if (!pooled) {
+                break;
+            }
+            // Reconnect outside of pool lock. New tunnels wait for the session lock and get the reopened session.
+            synchronized (pooledSession) {
+                if (pooledSession.referenceCount <= 1) {
+                    reopenSession(monitor, pooledSession, opener);
+                    return pooledSession;
+                }
+            }
+        }
+        // Join the session reopened by another tunnel or open a new one
+        PooledSession<T> newSession = acquire(monitor, pooledSession.key, opener);
+        release(monitor, pooledSession);
+        return newSession;
+    }
+
+    private void reopenSession(@NotNull DBRProgressMonitor monitor, @NotNull PooledSession<T> pooledSession, @NotNull SessionOpener<T> opener) throws DBException, IOException {
+        T session = pooledSession.session;
+        if (session != null) {
+            closeSessionSafe(monitor, pooledSession, session);
+            pooledSession.session = null;
+        }
+        pooledSession.session = opener.openSession(monitor);
+        log.debug("SSH session " + pooledSession.key + " reconnected");
+    }
+
+    /**
+     * Releases session reference. Session is closed after the last reference release.
+     */
+    public void release(@NotNull DBRProgressMonitor monitor, @NotNull PooledSession<T> pooledSession) {
+        T sessionToClose = null;
+        synchronized (sessions) {
+            synchronized (pooledSession) {
+                pooledSession.referenceCount--;
+                if (pooledSession.referenceCount <= 0) {
+                    sessions.remove(pooledSession.key, pooledSession);
+                    sessionToClose = pooledSession.session;
+                    pooledSession.session = null;
+                }
+            }
+        }
+        if (sessionToClose != null) {
+            closeSessionSafe(monitor, pooledSession, sessionToClose);
+        } else {
+            log.debug("SSH session " + pooledSession + " is still in use");
+        }
+    }
+
+    /**
+     * Active sessions snapshot (for diagnostics)
+     */
+    @NotNull
+    public List<PooledSession<T>> getActiveSessions() {
+        synchronized (sessions) {
+            return new ArrayList<>(sessions.values());
+        }
+    }
+
+    private void closeSessionSafe(DBRProgressMonitor monitor, PooledSession<T> pooledSession, T session) {
+        try {
+            closeSession(monitor, session);
+            log.debug("SSH session " + pooledSession.key + " closed");
+        } catch (Exception e) {
+            log.debug("Error closing SSH session " + pooledSession.key + ": " + e.getMessage());
+        }
+    }
+
+    protected abstract boolean isSessionAlive(@NotNull T session);
+
+    protected abstract void closeSession(@NotNull DBRProgressMonitor monitor, @NotNull T session) throws DBException, IOException;
+
+}
@@ -35,9 +35,13 @@ import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
 import org.jkiss.dbeaver.registry.formatter.DataFormatterRegistry;
 import org.jkiss.dbeaver.registry.language.PlatformLanguageRegistry;
 import org.jkiss.dbeaver.runtime.IPluginService;
+import org.jkiss.dbeaver.runtime.StartupTimeline;
 import org.jkiss.dbeaver.runtime.jobs.KeepAliveListenerJob;
+import org.jkiss.dbeaver.runtime.jobs.SessionHistorySamplerJob;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 import java.io.File;
 import java.io.IOException;
@@ -88,13 +92,20 @@ public abstract class BasePlatformImpl implements DBPPlatform, DBPPlatformLangua
             }
         }
 
+        StartupTimeline timeline = StartupTimeline.getInstance();
         // Navigator model
-        this.navigatorModel = new DBNModel(this, null);
-        this.navigatorModel.initialize();
+        try (StartupTimeline.Phase ignored = timeline.startPhase(null, "Initialize navigator model")) {
+            this.navigatorModel = new DBNModel(this, null);
+            this.navigatorModel.initialize();
+        }
 
         // Activate plugin services
         for (IPluginService pluginService : PluginServiceRegistry.getInstance().getServices()) {
-            try {
+            Bundle serviceBundle = FrameworkUtil.getBundle(pluginService.getClass());
+            try (StartupTimeline.Phase ignored = timeline.startPhase(
+                serviceBundle == null ? null : serviceBundle.getSymbolicName(),
+                "Activate service " + pluginService.getClass().getSimpleName()))
+            {
                 pluginService.activateService();
                 activatedServices.add(pluginService);
             } catch (Throwable e) {
@@ -104,6 +115,8 @@ public abstract class BasePlatformImpl implements DBPPlatform, DBPPlatformLangua
 
         // Keep-alive job
         new KeepAliveListenerJob(this).scheduleMonitor();
+        // Session history sampler
+        new SessionHistorySamplerJob(this).scheduleMonitor();
     }
 
     public synchronized void dispose() {
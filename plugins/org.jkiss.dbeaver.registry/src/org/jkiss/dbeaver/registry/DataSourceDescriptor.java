@@ -61,6 +61,8 @@ import org.jkiss.dbeaver.registry.formatter.DataFormatterProfile;
 import org.jkiss.dbeaver.registry.internal.RegistryMessages;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.IVariableResolver;
+import org.jkiss.dbeaver.runtime.metrics.MetricHistogram;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
 import org.jkiss.dbeaver.runtime.properties.PropertyCollector;
 import org.jkiss.dbeaver.utils.SystemVariablesResolver;
 import org.jkiss.utils.CommonUtils;
@@ -788,6 +790,7 @@ public class DataSourceDescriptor
         processEvents(monitor, DBPConnectionEventType.BEFORE_CONNECT);
 
         connecting = true;
+        long connectStartTime = System.nanoTime();
         try {
             // Resolve variables
             if (preferenceStore.getBoolean(ModelPreferences.CONNECT_USE_ENV_VARS) ||
@@ -895,6 +898,7 @@ public class DataSourceDescriptor
             } finally {
                 exclusiveLock.releaseExclusiveLock(dsLock);
             }
+            MetricRegistry.getInstance().getHistogram(MetricRegistry.CONNECT_TIME, MetricHistogram.UNIT_MILLIS).updateTime(connectStartTime);
 
             processEvents(monitor, DBPConnectionEventType.AFTER_CONNECT);
 
@@ -912,6 +916,7 @@ public class DataSourceDescriptor
             return true;
         } catch (Exception e) {
             log.debug("Connection failed (" + getId() + ")");
+            MetricRegistry.getInstance().getCounter(MetricRegistry.CONNECT_ERRORS).increment();
             if (tunnelHandler != null) {
                 try {
                     tunnelHandler.closeTunnel(monitor);
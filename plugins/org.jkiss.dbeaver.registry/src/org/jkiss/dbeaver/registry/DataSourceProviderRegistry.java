@@ -33,6 +33,7 @@ import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
 import org.jkiss.dbeaver.registry.driver.DriverDescriptorSerializerLegacy;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.StartupTimeline;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.xml.SAXListener;
@@ -116,8 +117,12 @@ public class DataSourceProviderRegistry implements DBPDataSourceProviderRegistry
             for (IConfigurationElement ext : extElements) {
                 switch (ext.getName()) {
                     case RegistryConstants.TAG_DATASOURCE: {
-                        DataSourceProviderDescriptor provider = new DataSourceProviderDescriptor(this, ext);
-                        dataSourceProviders.add(provider);
+                        try (StartupTimeline.Phase ignored = StartupTimeline.getInstance().startPhase(
+                            ext.getContributor().getName(), "Load data source provider " + ext.getAttribute(RegistryConstants.ATTR_ID)))
+                        {
+                            DataSourceProviderDescriptor provider = new DataSourceProviderDescriptor(this, ext);
+                            dataSourceProviders.add(provider);
+                        }
                         break;
                     }
                     case RegistryConstants.TAG_DATASOURCE_ORIGIN: {
@@ -180,7 +185,9 @@ public class DataSourceProviderRegistry implements DBPDataSourceProviderRegistry
             File driversConfig = DBWorkbench.getPlatform().getConfigurationFile(RegistryConstants.DRIVERS_FILE_NAME);
             if (driversConfig.exists()) {
                 log.debug("Loading user drivers configuration from '" + driversConfig.getAbsolutePath() + "'");
-                loadDrivers(driversConfig, false);
+                try (StartupTimeline.Phase ignored = StartupTimeline.getInstance().startPhase(null, "Load user drivers configuration")) {
+                    loadDrivers(driversConfig, false);
+                }
             }
         }
 
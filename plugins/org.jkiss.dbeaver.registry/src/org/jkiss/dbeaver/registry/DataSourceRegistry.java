@@ -61,6 +61,8 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
     public static final String DEFAULT_ACTIVE_OBJECT = "default.activeObject"; //$NON-NLS-1$
 
     private static final long DISCONNECT_ALL_TIMEOUT = 5000;
+    // Save requests made within this delay are coalesced in a single save
+    private static final long SAVE_DELAY = 100;
 
     private static final Log log = Log.getLog(DataSourceRegistry.class);
 
@@ -77,6 +79,13 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
     private final List<DBWNetworkProfile> networkProfiles = new ArrayList<>();
     private final Map<String, DBAAuthProfile> authProfiles = new LinkedHashMap<>();
     private volatile boolean saveInProgress = false;
+    // Storages which were changed since the last save
+    private final Set<DBPDataSourceConfigurationStorage> dirtyStorages = new LinkedHashSet<>();
+    // Save statistics
+    private volatile long saveRequestCount;
+    private volatile long saveCount;
+    private volatile long lastSaveTime;
+    private volatile long totalSaveTime;
 
     private final DBVModel.ModelChangeListener modelChangeListener = new DBVModel.ModelChangeListener();
     private volatile ConfigSaver configSaver;
@@ -94,6 +103,14 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
 
     @Override
     public void dispose() {
+        // Write pending changes
+        if (configSaver != null) {
+            configSaver.cancel();
+            configSaver = null;
+        }
+        synchronized (this) {
+            saveDataSources();
+        }
         removeDataSourceListener(modelChangeListener);
         DataSourceProviderRegistry.getInstance().fireRegistryChange(this, false);
         synchronized (dataSourceListeners) {
@@ -461,7 +478,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
         final DataSourceDescriptor descriptor = (DataSourceDescriptor) dataSource;
         addDataSourceToList(descriptor);
         if (!descriptor.isDetached()) {
-            this.saveDataSources();
+            this.saveDataSources(descriptor);
         }
         notifyDataSourceListeners(new DBPEvent(DBPEvent.Action.OBJECT_ADD, descriptor, true));
     }
@@ -478,7 +495,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
             this.dataSources.remove(descriptor.getId());
         }
         if (!descriptor.isDetached()) {
-            this.saveDataSources();
+            this.saveDataSources(descriptor);
         }
         try {
             this.fireDataSourceEvent(DBPEvent.Action.OBJECT_REMOVE, dataSource);
@@ -495,7 +512,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
             addDataSource(dataSource);
         } else {
             if (!((DataSourceDescriptor) dataSource).isDetached()) {
-                this.saveDataSources();
+                this.saveDataSources((DataSourceDescriptor) dataSource);
             }
             this.fireDataSourceEvent(DBPEvent.Action.OBJECT_UPDATE, dataSource);
         }
@@ -506,11 +523,56 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
         if (project.isInMemory()) {
             return;
         }
+        synchronized (storages) {
+            synchronized (dirtyStorages) {
+                dirtyStorages.addAll(storages.values());
+            }
+        }
+        scheduleSave();
+    }
+
+    /**
+     * Saves storage of the specified data source only
+     */
+    private void saveDataSources(@NotNull DataSourceDescriptor dataSource) {
+        if (project.isInMemory()) {
+            return;
+        }
+        synchronized (dirtyStorages) {
+            dirtyStorages.add(dataSource.getStorage());
+        }
+        scheduleSave();
+    }
+
+    private void scheduleSave() {
+        saveRequestCount++;
         // Use async config saver to avoid too frequent configuration re-save during some massive configuration update
         if (configSaver == null) {
             configSaver = new ConfigSaver();
         }
-        configSaver.schedule(100);
+        configSaver.schedule(SAVE_DELAY);
+    }
+
+    /**
+     * Number of save requests. Requests are coalesced so usually there are much fewer actual saves.
+     */
+    public long getSaveRequestCount() {
+        return saveRequestCount;
+    }
+
+    public long getSaveCount() {
+        return saveCount;
+    }
+
+    /**
+     * Duration of the last save in milliseconds
+     */
+    public long getLastSaveTime() {
+        return lastSaveTime;
+    }
+
+    public long getTotalSaveTime() {
+        return totalSaveTime;
     }
 
     @Override
@@ -712,6 +774,9 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
         }
 
         try {
+            if (configurationStorage instanceof DataSourceStorage) {
+                ((DataSourceStorage) configurationStorage).resetFileContents();
+            }
             DataSourceSerializer serializer = modern ? new DataSourceSerializerModern(this) : new DataSourceSerializerLegacy(this);
             serializer.parseDataSources(fromFile, configurationStorage, refresh, parseResults);
             updateProjectNature();
@@ -724,12 +789,27 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
         if (project.isInMemory()) {
             return;
         }
+        List<DataSourceStorage> changedStorages = new ArrayList<>();
+        synchronized (storages) {
+            synchronized (dirtyStorages) {
+                for (DataSourceStorage storage : storages.values()) {
+                    if (dirtyStorages.contains(storage)) {
+                        changedStorages.add(storage);
+                    }
+                }
+                dirtyStorages.clear();
+            }
+        }
+        if (changedStorages.isEmpty()) {
+            return;
+        }
 
         updateProjectNature();
         final DBRProgressMonitor monitor = new VoidProgressMonitor();
+        long startTime = System.currentTimeMillis();
         saveInProgress = true;
         try {
-            for (DataSourceStorage storage : storages.values()) {
+            for (DataSourceStorage storage : changedStorages) {
                 List<DataSourceDescriptor> localDataSources = getDataSources(storage);
 
                 File configFile = storage.getSourceFile();
@@ -784,6 +864,11 @@ public class DataSourceRegistry implements DBPDataSourceRegistry {
             }
         } finally {
             saveInProgress = false;
+            lastSaveTime = System.currentTimeMillis() - startTime;
+            totalSaveTime += lastSaveTime;
+            saveCount++;
+            log.debug("Saved " + changedStorages.size() + " datasource storage(s) in " + lastSaveTime + "ms (" +
+                saveCount + " saves of " + saveRequestCount + " requests)");
         }
     }
 
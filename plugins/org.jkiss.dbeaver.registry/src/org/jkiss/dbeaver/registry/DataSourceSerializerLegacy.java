@@ -112,7 +112,7 @@ class DataSourceSerializerLegacy implements DataSourceSerializer
         } catch (IOException ex) {
             log.error("IO error while saving datasources xml", ex);
         }
-        IOUtils.writeFileFromBuffer(configFile, tempStream.toByteArray());
+        IOUtils.writeFileAtomically(configFile, tempStream.toByteArray());
     }
 
     @Override
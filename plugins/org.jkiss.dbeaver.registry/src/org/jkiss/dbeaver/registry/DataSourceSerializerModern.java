@@ -262,7 +262,7 @@ class DataSourceSerializerModern implements DataSourceSerializer
 
         String jsonString = new String(dsConfigBuffer.toByteArray(), StandardCharsets.UTF_8);
         boolean encryptProject = CommonUtils.toBoolean(registry.getProject().getProjectProperty(DBPProject.PROP_SECURE_PROJECT));
-        saveConfigFile(configFile, jsonString, false, encryptProject);
+        saveConfigFile(configurationStorage, configFile, jsonString, false, encryptProject);
 
         {
             saveSecureCredentialsFile(
@@ -291,7 +291,11 @@ class DataSourceSerializerModern implements DataSourceSerializer
         }
     }
 
-    private void saveConfigFile(File configFile, String contents, boolean teamPrivate, boolean encrypt) {
+    private void saveConfigFile(DBPDataSourceConfigurationStorage storage, File configFile, String contents, boolean teamPrivate, boolean encrypt) {
+        if (storage instanceof DataSourceStorage && !((DataSourceStorage) storage).isFileContentChanged(configFile, contents)) {
+            // Nothing was changed
+            return;
+        }
         try {
             byte[] binaryContents;
             if (encrypt) {
@@ -304,7 +308,10 @@ class DataSourceSerializerModern implements DataSourceSerializer
 
             // Save result to file
 
-            IOUtils.writeFileFromBuffer(configFile, binaryContents);
+            IOUtils.writeFileAtomically(configFile, binaryContents);
+            if (storage instanceof DataSourceStorage) {
+                ((DataSourceStorage) storage).setFileContentSaved(configFile, contents);
+            }
         } catch (Exception e) {
             log.error("Error saving configuration file " + configFile.getAbsolutePath(), e);
         }
@@ -313,15 +320,19 @@ class DataSourceSerializerModern implements DataSourceSerializer
     private void saveSecureCredentialsFile(IProgressMonitor monitor, File parent, DBPDataSourceConfigurationStorage storage) {
         File credFile = new File(parent, DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_PREFIX + storage.getConfigurationFileSuffix() + DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_EXT);
         try {
-            ContentUtils.makeFileBackup(credFile);
             if (secureProperties.isEmpty()) {
+                ContentUtils.makeFileBackup(credFile);
                 if (credFile.exists() && !credFile.delete()) {
                     log.debug("Error deleting file " + credFile.getAbsolutePath());
                 }
             } else {
                 // Serialize and encrypt
                 String jsonString = SECURE_GSON.toJson(secureProperties, Map.class);
-                saveConfigFile(credFile, jsonString, true, true);
+                if (storage instanceof DataSourceStorage && !((DataSourceStorage) storage).isFileContentChanged(credFile, jsonString)) {
+                    return;
+                }
+                ContentUtils.makeFileBackup(credFile);
+                saveConfigFile(storage, credFile, jsonString, true, true);
             }
         } catch (Exception e) {
             log.error("Error saving secure credentials", e);
@@ -22,7 +22,11 @@ import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
 import org.jkiss.dbeaver.model.exec.DBCFeatureNotSupportedException;
 
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.SecurityUtils;
+
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +38,8 @@ class DataSourceStorage implements DBPDataSourceConfigurationStorage
     private final File sourceFile;
     private final boolean isDefault;
     private final String configSuffix;
+    // Digests of the last saved/loaded contents of storage files
+    private final Map<String, String> fileDigests = new HashMap<>();
 
     DataSourceStorage(File sourceFile, boolean isDefault) {
         this.sourceFile = sourceFile;
@@ -82,6 +88,22 @@ class DataSourceStorage implements DBPDataSourceConfigurationStorage
         return sourceFile;
     }
 
+    /**
+     * Checks whether file contents differ from the last saved contents.
+     * Unchanged files are not rewritten (and not re-encrypted).
+     */
+    synchronized boolean isFileContentChanged(File file, String contents) {
+        return !file.exists() || !CommonUtils.equalObjects(fileDigests.get(file.getName()), SecurityUtils.makeDigest(contents));
+    }
+
+    synchronized void setFileContentSaved(File file, String contents) {
+        fileDigests.put(file.getName(), SecurityUtils.makeDigest(contents));
+    }
+
+    synchronized void resetFileContents() {
+        fileDigests.clear();
+    }
+
     @Override
     public List<? extends DBPDataSourceContainer> loadDataSources(DBPDataSourceRegistry registry, Map<String, Object> options) throws DBException {
         throw new DBCFeatureNotSupportedException();
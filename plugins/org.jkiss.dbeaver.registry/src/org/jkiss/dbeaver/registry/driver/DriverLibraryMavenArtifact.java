@@ -225,12 +225,17 @@ public class DriverLibraryMavenArtifact extends DriverLibraryAbstract
 
             List<MavenArtifactDependency> artifactDeps = localVersion.getDependencies();
             if (!CommonUtils.isEmpty(artifactDeps)) {
+                List<MavenArtifactDependency> resolveDeps = new ArrayList<>(artifactDeps.size());
                 for (MavenArtifactDependency dependency : artifactDeps) {
-                    if (isDependencyExcluded(monitor, dependency)) {
-                        continue;
+                    if (!isDependencyExcluded(monitor, dependency)) {
+                        resolveDeps.add(dependency);
                     }
-
-                    MavenArtifactVersion depArtifact = MavenRegistry.getInstance().findArtifact(monitor, localVersion, dependency);
+                }
+                // Sibling dependencies are independent so their POMs are fetched in parallel
+                List<MavenArtifactVersion> depArtifacts = MavenRegistry.getInstance().resolveArtifacts(monitor, localVersion, resolveDeps);
+                for (int i = 0; i < resolveDeps.size(); i++) {
+                    MavenArtifactDependency dependency = resolveDeps.get(i);
+                    MavenArtifactVersion depArtifact = depArtifacts.get(i);
                     if (depArtifact != null) {
                         dependencies.add(
                             new DriverLibraryMavenDependency(
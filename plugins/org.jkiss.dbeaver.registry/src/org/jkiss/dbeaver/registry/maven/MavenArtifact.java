@@ -32,6 +32,8 @@ import org.jkiss.utils.xml.XMLException;
 import org.xml.sax.Attributes;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
@@ -85,7 +87,7 @@ public class MavenArtifact implements IMavenIdentifier
         String metadataPath = getBaseArtifactURL() + MAVEN_METADATA_XML;
         monitor.subTask("Load metadata " + this + "");
 
-        try (InputStream mdStream = WebUtils.openConnection(metadataPath, getRepository().getAuthInfo(), null).getInputStream()) {
+        try (InputStream mdStream = openMetadataStream(metadataPath)) {
             parseMetadata(mdStream);
         } catch (XMLException e) {
             log.warn("Error parsing artifact metadata", e);
@@ -103,6 +105,15 @@ public class MavenArtifact implements IMavenIdentifier
         metadataLoaded = true;
     }
 
+    private InputStream openMetadataStream(String metadataPath) throws IOException {
+        if (repository.getType() == MavenRepository.RepositoryType.LOCAL) {
+            return WebUtils.openConnection(metadataPath, repository.getAuthInfo(), null).getInputStream();
+        }
+        File localMetadata = new File(repository.getLocalCacheDir(), groupId + "/" + artifactId + "/" + MAVEN_METADATA_XML);
+        return new FileInputStream(
+            MavenRegistry.getInstance().getRemoteCache().getFile(metadataPath, repository.getAuthInfo(), localMetadata));
+    }
+
     private void removeIgnoredVersions() {
         for (Iterator<String> iter = versions.iterator(); iter.hasNext(); ) {
             String version = iter.next();
@@ -21,11 +21,9 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.IVariableResolver;
-import org.jkiss.dbeaver.runtime.WebUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.IOUtils;
 import org.jkiss.utils.StandardConstants;
 import org.jkiss.utils.xml.XMLException;
 import org.jkiss.utils.xml.XMLUtils;
@@ -236,16 +234,7 @@ public class MavenArtifactVersion implements IMavenIdentifier {
             return;
         }
         String pomURL = getRemotePOMLocation();
-        try (InputStream is = WebUtils.openConnection(pomURL, artifact.getRepository().getAuthInfo(), null).getInputStream()) {
-            File folder = localPOM.getParentFile();
-            if (!folder.exists() && !folder.mkdirs()) {
-                throw new IOException("Can't create cache folder '" + folder.getAbsolutePath() + "'");
-            }
-
-            try (OutputStream os = new FileOutputStream(localPOM)) {
-                IOUtils.fastCopy(is, os);
-            }
-        }
+        MavenRegistry.getInstance().getRemoteCache().getFile(pomURL, artifact.getRepository().getAuthInfo(), localPOM);
     }
 
     private void loadPOM(DBRProgressMonitor monitor) throws IOException {
@@ -23,6 +23,7 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.connection.DBPAuthInfo;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.encode.PasswordEncrypter;
 import org.jkiss.dbeaver.runtime.encode.SimpleStringEncrypter;
@@ -38,6 +39,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MavenRegistry
 {
@@ -47,6 +50,9 @@ public class MavenRegistry
     public static final String MAVEN_LOCAL_REPO_NAME = "Local Repository";
     public static final String MAVEN_LOCAL_REPO_FOLDER = "maven-local";
 
+    // Maximum number of concurrent remote requests during dependencies resolution
+    private static final int MAX_PARALLEL_REQUESTS = 8;
+
     private static MavenRegistry instance = null;
     private final List<String> ignoredArtifactVersions = new ArrayList<>();
 
@@ -62,7 +68,9 @@ public class MavenRegistry
     private final List<MavenRepository> repositories = new ArrayList<>();
     private MavenRepository localRepository;
     // Cache for not found artifact ids. Avoid multiple remote metadata reading
-    private final Set<String> notFoundArtifacts = new HashSet<>();
+    private final Set<String> notFoundArtifacts = ConcurrentHashMap.newKeySet();
+    private MavenRemoteCache remoteCache;
+    private ExecutorService resolveExecutor;
 
     private static final PasswordEncrypter ENCRYPTOR = new SimpleStringEncrypter();
 
@@ -190,6 +198,63 @@ public class MavenRegistry
         return null;
     }
 
+    /**
+     * Resolves artifacts in parallel. Result list has the same order as references list,
+     * not found artifacts are represented by nulls.
+     * Nested calls (e.g. from resolver threads) are performed sequentially.
+     */
+    @NotNull
+    public List<MavenArtifactVersion> resolveArtifacts(@NotNull DBRProgressMonitor monitor, @Nullable MavenArtifactVersion owner, @NotNull List<? extends MavenArtifactReference> refs) {
+        List<MavenArtifactVersion> result = new ArrayList<>(refs.size());
+        if (refs.size() <= 1 || Thread.currentThread() instanceof ResolverThread) {
+            for (MavenArtifactReference ref : refs) {
+                result.add(monitor.isCanceled() ? null : findArtifact(monitor, owner, ref));
+            }
+            return result;
+        }
+        DBRProgressMonitor syncMonitor = new SynchronizedProgressMonitor(monitor);
+        List<Future<MavenArtifactVersion>> futures = new ArrayList<>(refs.size());
+        for (MavenArtifactReference ref : refs) {
+            futures.add(getResolveExecutor().submit(() -> syncMonitor.isCanceled() ? null : findArtifact(syncMonitor, owner, ref)));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                result.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.add(null);
+            } catch (ExecutionException e) {
+                log.warn("Error resolving Maven artifact '" + refs.get(i) + "'", e.getCause());
+                result.add(null);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Executor for parallel artifacts resolution and download.
+     * Tasks which run in this executor must not wait for other tasks of this executor.
+     */
+    @NotNull
+    public synchronized ExecutorService getResolveExecutor() {
+        if (resolveExecutor == null) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            resolveExecutor = Executors.newFixedThreadPool(
+                MAX_PARALLEL_REQUESTS,
+                r -> new ResolverThread(r, "Maven resolver " + threadCounter.incrementAndGet()));
+        }
+        return resolveExecutor;
+    }
+
+    @NotNull
+    public synchronized MavenRemoteCache getRemoteCache() {
+        if (remoteCache == null) {
+            File indexFile = new File(DBWorkbench.getPlatform().getCustomDriversHome(), "maven/remote-cache.properties");
+            remoteCache = new MavenRemoteCache(indexFile, MavenRemoteCache.DEFAULT_TTL);
+        }
+        return remoteCache;
+    }
+
     public void resetArtifactInfo(MavenArtifactReference artifactReference) {
         notFoundArtifacts.remove(artifactReference.getId());
 
@@ -305,6 +370,29 @@ public class MavenRegistry
         repositories.sort(Comparator.comparingInt(MavenRepository::getOrder));
     }
 
+    private static class ResolverThread extends Thread {
+        ResolverThread(Runnable target, String name) {
+            super(target, name);
+            setDaemon(true);
+        }
+    }
+
+    private static class SynchronizedProgressMonitor extends ProxyProgressMonitor {
+        SynchronizedProgressMonitor(DBRProgressMonitor original) {
+            super(original);
+        }
+
+        @Override
+        public synchronized void subTask(String name) {
+            super.subTask(name);
+        }
+
+        @Override
+        public synchronized void worked(int work) {
+            super.worked(work);
+        }
+    }
+
     private static File getConfigurationFile()
     {
         return DBWorkbench.getPlatform().getConfigurationFile("maven-repositories.xml");
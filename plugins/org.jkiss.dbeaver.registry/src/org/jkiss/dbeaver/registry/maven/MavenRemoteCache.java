@@ -0,0 +1,247 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.maven;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.connection.DBPAuthInfo;
+import org.jkiss.dbeaver.runtime.WebUtils;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.IOUtils;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URLConnection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local cache of remote repository files (metadata and POMs).
+ *
+ * Keeps persistent index of cached files with fetch time and ETag/Last-Modified headers.
+ * Files younger than TTL are used as is, older files are revalidated with conditional requests.
+ * Concurrent requests of the same URL are merged into one remote request.
+ */
+public class MavenRemoteCache {
+
+    private static final Log log = Log.getLog(MavenRemoteCache.class);
+
+    public static final long DEFAULT_TTL = 24 * 60 * 60 * 1000L;
+
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private static class IndexEntry {
+        final long fetchTime;
+        final String etag;
+        final String lastModified;
+
+        IndexEntry(long fetchTime, String etag, String lastModified) {
+            this.fetchTime = fetchTime;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        static IndexEntry parse(String str) {
+            String[] parts = str.split("\\|", -1);
+            if (parts.length < 3) {
+                return null;
+            }
+            return new IndexEntry(CommonUtils.toLong(parts[0]), CommonUtils.nullIfEmpty(parts[1]), CommonUtils.nullIfEmpty(parts[2]));
+        }
+
+        String format() {
+            return fetchTime + "|" + CommonUtils.notEmpty(etag) + "|" + CommonUtils.notEmpty(lastModified);
+        }
+    }
+
+    private final File indexFile;
+    private final long ttl;
+    private final Map<String, IndexEntry> index = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<File>> inFlightRequests = new ConcurrentHashMap<>();
+    private final AtomicLong remoteRequestCount = new AtomicLong();
+
+    public MavenRemoteCache(@NotNull File indexFile, long ttl) {
+        this.indexFile = indexFile;
+        this.ttl = ttl;
+        loadIndex();
+    }
+
+    /**
+     * Number of performed remote requests (including revalidation requests)
+     */
+    public long getRemoteRequestCount() {
+        return remoteRequestCount.get();
+    }
+
+    /**
+     * Returns local copy of remote file. Downloads or revalidates it if needed.
+     * If remote repository is not available then stale local copy is used.
+     */
+    @NotNull
+    public File getFile(@NotNull String url, @Nullable DBPAuthInfo authInfo, @NotNull File localFile) throws IOException {
+        CompletableFuture<File> request = new CompletableFuture<>();
+        CompletableFuture<File> prevRequest = inFlightRequests.putIfAbsent(url, request);
+        if (prevRequest != null) {
+            // The same file is being loaded by another thread
+            try {
+                return prevRequest.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for '" + url + "'");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException("Error loading '" + url + "'", cause);
+            }
+        }
+        try {
+            File result = loadFile(url, authInfo, localFile);
+            request.complete(result);
+            return result;
+        } catch (Throwable e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(url, request);
+        }
+    }
+
+    private File loadFile(@NotNull String url, @Nullable DBPAuthInfo authInfo, @NotNull File localFile) throws IOException {
+        IndexEntry entry;
+        synchronized (index) {
+            entry = index.get(url);
+        }
+        boolean hasLocalCopy = localFile.exists() && entry != null;
+        if (hasLocalCopy && System.currentTimeMillis() - entry.fetchTime < ttl) {
+            return localFile;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (hasLocalCopy) {
+            if (entry.etag != null) {
+                headers.put(HEADER_IF_NONE_MATCH, entry.etag);
+            }
+            if (entry.lastModified != null) {
+                headers.put(HEADER_IF_MODIFIED_SINCE, entry.lastModified);
+            }
+        }
+        try {
+            remoteRequestCount.incrementAndGet();
+            URLConnection connection = openConnection(url, authInfo, headers);
+            if (connection instanceof HttpURLConnection &&
+                ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED)
+            {
+                ((HttpURLConnection) connection).disconnect();
+                updateEntry(url, new IndexEntry(System.currentTimeMillis(), entry.etag, entry.lastModified));
+                return localFile;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (InputStream is = connection.getInputStream()) {
+                IOUtils.copyStream(is, buffer);
+            }
+            File folder = localFile.getParentFile();
+            if (!folder.exists() && !folder.mkdirs()) {
+                throw new IOException("Can't create cache folder '" + folder.getAbsolutePath() + "'");
+            }
+            IOUtils.writeFileAtomically(localFile, buffer.toByteArray());
+            updateEntry(url, new IndexEntry(
+                System.currentTimeMillis(),
+                connection.getHeaderField(HEADER_ETAG),
+                connection.getHeaderField(HEADER_LAST_MODIFIED)));
+            return localFile;
+        } catch (IOException e) {
+            if (hasLocalCopy) {
+                log.debug("Can't revalidate '" + url + "', use cached copy: " + e.getMessage());
+                return localFile;
+            }
+            throw e;
+        }
+    }
+
+    @NotNull
+    protected URLConnection openConnection(@NotNull String url, @Nullable DBPAuthInfo authInfo, @NotNull Map<String, String> headers) throws IOException {
+        return WebUtils.openConnection(url, authInfo, null, headers);
+    }
+
+    /**
+     * Removes file from index. It will be reloaded on the next access.
+     */
+    public void invalidate(@NotNull String url) {
+        synchronized (index) {
+            if (index.remove(url) != null) {
+                saveIndex();
+            }
+        }
+    }
+
+    private void updateEntry(String url, IndexEntry entry) {
+        synchronized (index) {
+            index.put(url, entry);
+            saveIndex();
+        }
+    }
+
+    private void loadIndex() {
+        if (!indexFile.exists()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream is = new FileInputStream(indexFile)) {
+            props.load(is);
+        } catch (IOException e) {
+            log.warn("Error reading Maven cache index", e);
+            return;
+        }
+        synchronized (index) {
+            for (String url : props.stringPropertyNames()) {
+                IndexEntry entry = IndexEntry.parse(props.getProperty(url));
+                if (entry != null) {
+                    index.put(url, entry);
+                }
+            }
+        }
+    }
+
+    private void saveIndex() {
+        Properties props = new Properties();
+        for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+            props.setProperty(entry.getKey(), entry.getValue().format());
+        }
+        try {
+            File folder = indexFile.getParentFile();
+            if (folder != null && !folder.exists() && !folder.mkdirs()) {
+                throw new IOException("Can't create folder '" + folder.getAbsolutePath() + "'");
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            props.store(buffer, "Maven remote files cache index");
+            IOUtils.writeFileAtomically(indexFile, buffer.toByteArray());
+        } catch (IOException e) {
+            log.warn("Error saving Maven cache index", e);
+        }
+    }
+
+}
@@ -182,23 +182,32 @@ public class MavenRepository
     }
 
     @Nullable
-    public synchronized MavenArtifactVersion findArtifact(DBRProgressMonitor monitor, @NotNull MavenArtifactReference ref) {
+    public MavenArtifactVersion findArtifact(DBRProgressMonitor monitor, @NotNull MavenArtifactReference ref) {
+        // Repository is locked only for cache access. Different artifacts may be resolved in parallel,
+        // concurrent resolve of the same artifact waits for the first one.
         boolean newArtifact = false;
-        MavenArtifact artifact = cachedArtifacts.get(ref.getId());
-        if (artifact == null) {
-            artifact = new MavenArtifact(this, ref.getGroupId(), ref.getArtifactId(), ref.getClassifier());
-            newArtifact = true;
-        }
-        try {
-            MavenArtifactVersion version = artifact.resolveVersion(monitor, ref.getVersion());
-            if (newArtifact) {
+        MavenArtifact artifact;
+        synchronized (this) {
+            artifact = cachedArtifacts.get(ref.getId());
+            if (artifact == null) {
+                artifact = new MavenArtifact(this, ref.getGroupId(), ref.getArtifactId(), ref.getClassifier());
                 cachedArtifacts.put(ref.getId(), artifact);
+                newArtifact = true;
+            }
+        }
+        synchronized (artifact) {
+            try {
+                return artifact.resolveVersion(monitor, ref.getVersion());
+            } catch (IOException e) {
+                // Generally it is ok. Artifact not present in this repository
+                log.debug("Maven artifact '" + ref + "' not found in repository '" + this + "': " + e.getMessage());
+                if (newArtifact) {
+                    synchronized (this) {
+                        cachedArtifacts.remove(ref.getId(), artifact);
+                    }
+                }
+                return null;
             }
-            return version;
-        } catch (IOException e) {
-            // Generally it is ok. Artifact not present in this repository
-            log.debug("Maven artifact '" + ref + "' not found in repository '" + this + "': " + e.getMessage());
-            return null;
         }
     }
 
@@ -211,7 +211,8 @@ public class TaskManagerImpl implements DBTTaskManager {
     @Override
     public Job runTask(@NotNull DBTTask task, @NotNull DBTTaskExecutionListener listener, @NotNull Map<String, Object> options) {
         TaskRunJob runJob = new TaskRunJob((TaskImpl) task, Locale.getDefault(), listener);
-        runJob.schedule();
+        int priority = CommonUtils.toInt(options.get(DBTaskUtils.TASK_PRIORITY), DBTaskUtils.getPriority(task));
+        TaskRunScheduler.getInstance().submit(runJob, priority);
         return runJob;
     }
 
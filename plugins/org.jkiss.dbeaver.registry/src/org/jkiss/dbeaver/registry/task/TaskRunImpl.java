@@ -36,6 +36,7 @@ class TaskRunImpl implements DBTTaskRun {
     private String startUser;
     private String startedBy;
     private long duration;
+    private long queueWaitTime;
     private String errorMessage;
     private String errorStackTrace;
 
@@ -85,6 +86,15 @@ class TaskRunImpl implements DBTTaskRun {
         this.duration = duration;
     }
 
+    @Override
+    public long getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    public void setQueueWaitTime(long queueWaitTime) {
+        this.queueWaitTime = queueWaitTime;
+    }
+
     @Override
     public boolean isRunSuccess() {
         return errorMessage == null;
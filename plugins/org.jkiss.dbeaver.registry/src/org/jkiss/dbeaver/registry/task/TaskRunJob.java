@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.model.runtime.*;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
 import org.jkiss.dbeaver.model.task.DBTTaskHandler;
 import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.StandardConstants;
 
@@ -53,6 +54,7 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
 
     private long startTime;
     private long elapsedTime;
+    private long queueWaitTime;
     private Throwable taskError;
 
     protected TaskRunJob(TaskImpl task, Locale locale, DBTTaskExecutionListener executionListener) {
@@ -76,6 +78,7 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
             System.getProperty(StandardConstants.ENV_USER_NAME),
             GeneralUtils.getProductTitle(),
             0, null, null);
+        taskRun.setQueueWaitTime(queueWaitTime);
         task.getTaskStatsFolder(true);
         File logFile = task.getRunLog(taskRun);
         task.addNewRun(taskRun);
@@ -83,6 +86,9 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
         try (PrintStream logStream = new PrintStream(new FileOutputStream(logFile), true, StandardCharsets.UTF_8.name())) {
             taskLog = Log.getLog(TaskRunJob.class);
             Log.setLogWriter(logStream);
+            if (queueWaitTime > 0) {
+                taskLog.debug("Task run was queued for " + RuntimeUtils.formatExecutionTime(queueWaitTime));
+            }
             monitor.beginTask("Run task '" + task.getName() + " (" + task.getType().getName() + ")", 1);
             try {
                 executeTask(new LoggingProgressMonitor(monitor), logStream);
@@ -113,6 +119,14 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
         return Status.OK_STATUS;
     }
 
+    TaskImpl getTask() {
+        return task;
+    }
+
+    void setQueueWaitTime(long queueWaitTime) {
+        this.queueWaitTime = queueWaitTime;
+    }
+
     private void executeTask(DBRProgressMonitor monitor, PrintStream logWriter) throws DBException {
         activeMonitor = monitor;
         DBTTaskHandler taskHandler = task.getType().createHandler();
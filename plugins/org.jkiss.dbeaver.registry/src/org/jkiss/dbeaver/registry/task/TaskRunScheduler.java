@@ -0,0 +1,357 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.task.DBTTaskEvent;
+import org.jkiss.dbeaver.model.task.DBTaskUtils;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+import java.util.function.IntSupplier;
+
+/**
+ * Task run scheduler.
+ *
+ * Task runs are queued and started when:
+ * - number of running tasks is below global limit ({@link ModelPreferences#TASK_MAX_CONCURRENT_RUNS})
+ * - number of running tasks for each data source used by the task is below data source limit
+ *   ({@link ModelPreferences#TASK_MAX_DATASOURCE_RUNS}, may be overridden in connection preferences)
+ * - tasks it depends on and earlier runs of the same task are not running or queued before it.
+ *
+ * Ready runs are started in order of priority and then queue order. Queued runs gain one priority level
+ * per {@link #PRIORITY_AGING_PERIOD} so low-priority runs are not starved. Runs blocked by a busy data source
+ * do not block runs for other data sources.
+ *
+ * Run jobs are scheduled in sleeping state while queued. Cancelling a queued job removes it from the queue
+ * and notifies job listeners as usual.
+ */
+public class TaskRunScheduler {
+
+    private static final Log log = Log.getLog(TaskRunScheduler.class);
+
+    public static final long PRIORITY_AGING_PERIOD = 60 * 1000;
+
+    // Queued run jobs sleep until scheduler wakes them up
+    private static final long QUEUED_RUN_DELAY = Integer.MAX_VALUE;
+
+    private static final String METRIC_TASKS_QUEUED = "tasks.queued";
+    private static final String METRIC_TASKS_RUNNING = "tasks.running";
+
+    private static TaskRunScheduler instance;
+
+    public static synchronized TaskRunScheduler getInstance() {
+        if (instance == null) {
+            instance = new TaskRunScheduler(
+                () -> DBWorkbench.getPlatform().getPreferenceStore().getInt(ModelPreferences.TASK_MAX_CONCURRENT_RUNS));
+            MetricRegistry.getInstance().registerGauge(METRIC_TASKS_QUEUED, instance::getQueuedRunCount);
+            MetricRegistry.getInstance().registerGauge(METRIC_TASKS_RUNNING, instance::getActiveRunCount);
+        }
+        return instance;
+    }
+
+    /**
+     * Task run in scheduler queue.
+     */
+    public abstract static class QueuedRun {
+        private final String taskId;
+        private final int priority;
+        private final Set<String> dependencies;
+        private final Map<String, Integer> dataSourceLimits;
+        private long queueTime;
+        private long number;
+
+        /**
+         * @param taskId           task ID or null for temporary tasks (such runs are never serialized)
+         * @param dependencies     IDs of tasks which must not be running or queued when this run starts
+         * @param dataSourceLimits max number of active runs per data source ID used by the task
+         */
+        protected QueuedRun(@Nullable String taskId, int priority, @NotNull Collection<String> dependencies, @NotNull Map<String, Integer> dataSourceLimits) {
+            this.taskId = taskId;
+            this.priority = priority;
+            this.dependencies = new HashSet<>(dependencies);
+            this.dataSourceLimits = new LinkedHashMap<>(dataSourceLimits);
+        }
+
+        @Nullable
+        public String getTaskId() {
+            return taskId;
+        }
+
+        long getEffectivePriority(long currentTime) {
+            return priority + (currentTime - queueTime) / PRIORITY_AGING_PERIOD;
+        }
+
+        /**
+         * Called (out of scheduler lock) when run leaves the queue.
+         * {@link #finishRun(QueuedRun)} must be called when run ends.
+         */
+        protected abstract void startRun(long queueWaitTime);
+    }
+
+    private class JobRun extends QueuedRun {
+        private final TaskRunJob job;
+
+        JobRun(TaskRunJob job, int priority) {
+            super(job.getTask().isTemporary() ? null : job.getTask().getId(),
+                priority,
+                DBTaskUtils.getDependencies(job.getTask()),
+                getDataSourceLimits(job.getTask()));
+            this.job = job;
+        }
+
+        @Override
+        protected void startRun(long queueWaitTime) {
+            job.setQueueWaitTime(queueWaitTime);
+            job.wakeUp(0);
+            notifyTaskUpdate(job.getTask());
+        }
+
+        @Override
+        public String toString() {
+            return job.getName();
+        }
+    }
+
+    private final IntSupplier maxRunsProvider;
+    private final List<QueuedRun> queuedRuns = new ArrayList<>();
+    private final List<QueuedRun> activeRuns = new ArrayList<>();
+    private long runCounter;
+
+    /**
+     * @param maxRunsProvider global limit of active runs
+     */
+    public TaskRunScheduler(@NotNull IntSupplier maxRunsProvider) {
+        this.maxRunsProvider = maxRunsProvider;
+    }
+
+    /**
+     * Adds task run in queue. Run job is started when resources are available.
+     */
+    public void submit(@NotNull TaskRunJob job, int priority) {
+        JobRun run = new JobRun(job, priority);
+        job.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                job.removeJobChangeListener(this);
+                // Either finished or cancelled while queued
+                finishRun(run);
+                notifyTaskUpdate(job.getTask());
+            }
+        });
+        job.schedule(QUEUED_RUN_DELAY);
+        notifyTaskUpdate(job.getTask());
+        submit(run);
+    }
+
+    public void submit(@NotNull QueuedRun run) {
+        synchronized (this) {
+            run.queueTime = getCurrentTime();
+            run.number = runCounter++;
+            queuedRuns.add(run);
+        }
+        dispatch();
+    }
+
+    /**
+     * Removes run from scheduler. Queued run is dropped, active run releases its resources.
+     */
+    public void finishRun(@NotNull QueuedRun run) {
+        synchronized (this) {
+            if (!queuedRuns.remove(run)) {
+                activeRuns.remove(run);
+            }
+        }
+        dispatch();
+    }
+
+    public synchronized int getQueuedRunCount() {
+        return queuedRuns.size();
+    }
+
+    public synchronized int getActiveRunCount() {
+        return activeRuns.size();
+    }
+
+    public synchronized boolean isTaskQueued(@NotNull String taskId) {
+        return findTaskRun(queuedRuns, taskId) != null;
+    }
+
+    public synchronized boolean isTaskRunning(@NotNull String taskId) {
+        return findTaskRun(activeRuns, taskId) != null;
+    }
+
+    protected long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    private void dispatch() {
+        List<QueuedRun> startedRuns = new ArrayList<>();
+        long currentTime = getCurrentTime();
+        synchronized (this) {
+            if (queuedRuns.isEmpty()) {
+                return;
+            }
+            int maxRuns = Math.max(1, maxRunsProvider.getAsInt());
+            List<QueuedRun> candidates = new ArrayList<>(queuedRuns);
+            candidates.sort((o1, o2) -> {
+                int cmp = Long.compare(o2.getEffectivePriority(currentTime), o1.getEffectivePriority(currentTime));
+                return cmp != 0 ? cmp : Long.compare(o1.number, o2.number);
+            });
+            for (QueuedRun run : candidates) {
+                if (activeRuns.size() >= maxRuns) {
+                    break;
+                }
+                if (isDataSourceBusy(run) || isBlockedByOtherRun(run)) {
+                    continue;
+                }
+                queuedRuns.remove(run);
+                activeRuns.add(run);
+                startedRuns.add(run);
+            }
+        }
+        for (QueuedRun run : startedRuns) {
+            run.startRun(currentTime - run.queueTime);
+        }
+    }
+
+    private boolean isDataSourceBusy(QueuedRun run) {
+        for (Map.Entry<String, Integer> ds : run.dataSourceLimits.entrySet()) {
+            int maxRuns = Math.max(1, ds.getValue());
+            int dsRuns = 0;
+            for (QueuedRun activeRun : activeRuns) {
+                if (activeRun.dataSourceLimits.containsKey(ds.getKey())) {
+                    dsRuns++;
+                }
+            }
+            if (dsRuns >= maxRuns) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBlockedByOtherRun(QueuedRun run) {
+        for (QueuedRun activeRun : activeRuns) {
+            if (activeRun.taskId != null && (activeRun.taskId.equals(run.taskId) || run.dependencies.contains(activeRun.taskId))) {
+                return true;
+            }
+        }
+        for (QueuedRun queuedRun : queuedRuns) {
+            if (queuedRun == run || queuedRun.taskId == null) {
+                continue;
+            }
+            if (queuedRun.taskId.equals(run.taskId) && queuedRun.number < run.number) {
+                // Runs of the same task are serialized
+                return true;
+            }
+            if (run.dependencies.contains(queuedRun.taskId) && !dependsOn(queuedRun.taskId, run.taskId, new HashSet<>())) {
+                // Dependency is queued. Ignore cyclic dependencies to avoid dead lock.
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean dependsOn(String taskId, String dependencyId, Set<String> visited) {
+        if (dependencyId == null || !visited.add(taskId)) {
+            return false;
+        }
+        for (QueuedRun queuedRun : queuedRuns) {
+            if (taskId.equals(queuedRun.taskId)) {
+                for (String depId : queuedRun.dependencies) {
+                    if (depId.equals(dependencyId) || dependsOn(depId, dependencyId, visited)) {
+                        return true;
+                    }
+                }
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static QueuedRun findTaskRun(List<QueuedRun> runs, String taskId) {
+        for (QueuedRun run : runs) {
+            if (taskId.equals(run.taskId)) {
+                return run;
+            }
+        }
+        return null;
+    }
+
+    private static void notifyTaskUpdate(TaskImpl task) {
+        if (!task.isTemporary()) {
+            TaskRegistry.getInstance().notifyTaskListeners(new DBTTaskEvent(task, DBTTaskEvent.Action.TASK_UPDATE));
+        }
+    }
+
+    private static Map<String, Integer> getDataSourceLimits(TaskImpl task) {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        for (Map.Entry<String, DBPDataSourceContainer> ds : collectDataSources(task).entrySet()) {
+            limits.put(ds.getKey(), ds.getValue().getPreferenceStore().getInt(ModelPreferences.TASK_MAX_DATASOURCE_RUNS));
+        }
+        return limits;
+    }
+
+    /**
+     * Finds data sources referenced in task configuration.
+     * Task handlers keep data source references in different formats - either plain data source ID or
+     * object ID which starts with data source ID.
+     */
+    private static Map<String, DBPDataSourceContainer> collectDataSources(TaskImpl task) {
+        Map<String, DBPDataSourceContainer> result = new LinkedHashMap<>();
+        try {
+            DBPDataSourceRegistry registry = task.getProject().getDataSourceRegistry();
+            collectDataSources(registry, task.getProperties(), result);
+        } catch (Exception e) {
+            log.debug("Error detecting data sources of task '" + task.getName() + "'", e);
+        }
+        return result;
+    }
+
+    private static void collectDataSources(DBPDataSourceRegistry registry, Object value, Map<String, DBPDataSourceContainer> result) {
+        if (value instanceof Map) {
+            for (Object item : ((Map<?, ?>) value).values()) {
+                collectDataSources(registry, item, result);
+            }
+        } else if (value instanceof Collection) {
+            for (Object item : (Collection<?>) value) {
+                collectDataSources(registry, item, result);
+            }
+        } else if (value instanceof String) {
+            String strValue = (String) value;
+            int divPos = strValue.indexOf('/');
+            String dsId = divPos == -1 ? strValue : strValue.substring(0, divPos);
+            if (!CommonUtils.isEmpty(dsId) && !result.containsKey(dsId)) {
+                DBPDataSourceContainer dataSource = registry.getDataSource(dsId);
+                if (dataSource != null) {
+                    result.put(dsId, dataSource);
+                }
+            }
+        }
+    }
+
+}
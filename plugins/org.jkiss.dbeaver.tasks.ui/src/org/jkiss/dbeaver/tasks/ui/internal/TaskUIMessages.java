@@ -74,6 +74,8 @@ public class TaskUIMessages extends NLS {
 	public static String db_tasks_tree_column_controller_add_name_last_result;
 	public static String db_tasks_tree_column_controller_add_descr_last_result;
 	public static String db_tasks_tree_column_cell_text_success;
+	public static String db_tasks_tree_column_cell_text_queued;
+	public static String db_tasks_tree_column_cell_text_running;
 	public static String db_tasks_tree_column_controller_add_name_next_run;
 	public static String db_tasks_tree_column_controller_add_descr_next_run;
 	public static String db_tasks_tree_column_controller_add_name_description;
@@ -90,6 +92,8 @@ public class TaskUIMessages extends NLS {
 	public static String db_tasks_view_column_controller_add_descr_start_time;
 	public static String db_tasks_view_column_controller_add_name_duration;
 	public static String db_tasks_view_column_controller_add_descr_task_duration;
+	public static String db_tasks_view_column_controller_add_name_queue_wait;
+	public static String db_tasks_view_column_controller_add_descr_queue_wait;
 	public static String db_tasks_view_column_controller_add_name_result;
 	public static String db_tasks_view_column_controller_add_descr_task_result;
 	public static String db_tasks_view_cell_text_success;
@@ -35,6 +35,7 @@ import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.task.*;
 import org.jkiss.dbeaver.registry.task.TaskRegistry;
+import org.jkiss.dbeaver.registry.task.TaskRunScheduler;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.tasks.ui.internal.TaskUIMessages;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -158,7 +159,13 @@ public class DatabaseTasksTree {
             @Override
             protected String getCellText(Object element) {
                 if (element instanceof DBTTask) {
-                    DBTTaskRun lastRun = ((DBTTask) element).getLastRun();
+                    DBTTask task = (DBTTask) element;
+                    if (TaskRunScheduler.getInstance().isTaskRunning(task.getId())) {
+                        return TaskUIMessages.db_tasks_tree_column_cell_text_running;
+                    } else if (TaskRunScheduler.getInstance().isTaskQueued(task.getId())) {
+                        return TaskUIMessages.db_tasks_tree_column_cell_text_queued;
+                    }
+                    DBTTaskRun lastRun = task.getLastRun();
                     if (lastRun == null) {
                         return "N/A";
                     } else {
@@ -136,6 +136,18 @@ public class DatabaseTasksView extends ViewPart implements DBTTaskListener {
                 cell.setText(RuntimeUtils.formatExecutionTime(taskRun.getRunDuration()));
             }
         }, null);
+        taskRunColumnController.addColumn(TaskUIMessages.db_tasks_view_column_controller_add_name_queue_wait, TaskUIMessages.db_tasks_view_column_controller_add_descr_queue_wait, SWT.LEFT, false, false, true, null, new TaskRunLabelProviderEx() {
+            @Override
+            public String getText(Object element, boolean forUI) {
+                DBTTaskRun taskRun = (DBTTaskRun) element;
+                return forUI ? RuntimeUtils.formatExecutionTime(taskRun.getQueueWaitTime()) : String.valueOf(taskRun.getQueueWaitTime());
+            }
+
+            @Override
+            protected void update(ViewerCell cell, DBTTaskRun taskRun) {
+                cell.setText(RuntimeUtils.formatExecutionTime(taskRun.getQueueWaitTime()));
+            }
+        }, null);
         taskRunColumnController.addColumn(TaskUIMessages.db_tasks_view_column_controller_add_name_result, TaskUIMessages.db_tasks_view_column_controller_add_descr_task_result, SWT.LEFT, true, false, new TaskRunLabelProvider() {
             @Override
             protected void update(ViewerCell cell, DBTTaskRun taskRun) {
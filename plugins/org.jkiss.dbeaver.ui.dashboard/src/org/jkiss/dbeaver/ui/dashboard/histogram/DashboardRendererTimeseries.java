@@ -37,6 +37,7 @@ import org.jkiss.dbeaver.ui.dashboard.internal.UIDashboardMessages;
 import org.jkiss.dbeaver.ui.dashboard.model.*;
 import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDataset;
 import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDatasetRow;
+import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardTimeSeriesStore;
 
 import java.awt.*;
 import java.text.SimpleDateFormat;
@@ -50,6 +51,7 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
 
     private static final Font DEFAULT_TICK_LABEL_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 8);
     public static final int MAX_TIMESERIES_RANGE_LABELS = 25;
+    private static final int MAX_VALUE_DATA_POINTS = 200;
 
     @Override
     public DashboardChartComposite createDashboard(Composite composite, DashboardContainer container, DashboardViewContainer viewContainer, Point preferredSize) {
@@ -212,6 +214,11 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
         DashboardDatasetRow lastRow = (DashboardDatasetRow) chartComposite.getData("last_row");
 
         List<DashboardDatasetRow> rows = dataset.getRows();
+        List<DashboardDatasetRow> valueRows = rows;
+        if (container.getDashboardCalcType() == DashboardCalcType.value && isTooLongInterval(container, rows)) {
+            // Too big difference between start and end points. Downsample otherwise we'll flood chart with too many ticks
+            valueRows = DashboardTimeSeriesStore.downsample(dataset, MAX_VALUE_DATA_POINTS).getRows();
+        }
 
         String[] srcSeries = dataset.getColumnNames();
         for (int i = 0; i < srcSeries.length; i++) {
@@ -228,21 +235,7 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
 
             switch (container.getDashboardCalcType()) {
                 case value: {
-                    int maxDP = 200;
-                    Date startTime = null;
-
-                    for (DashboardDatasetRow row : rows) {
-                        if (startTime == null) {
-                            startTime = row.getTimestamp();
-                        } else {
-                            if (container.getDashboardInterval() == DashboardInterval.second || container.getDashboardInterval() == DashboardInterval.millisecond) {
-                                long diffSeconds = (row.getTimestamp().getTime() - startTime.getTime()) / 1000;
-                                if (diffSeconds > maxDP) {
-                                    // Too big difference between start and end points. Stop here otherwise we'll flood chart with too many ticks
-                                    break;
-                                }
-                            }
-                        }
+                    for (DashboardDatasetRow row : valueRows) {
                         Object value = row.getValues()[i];
                         if (value instanceof Number) {
                             series.addOrUpdate(makeDataItem(container, row), (Number) value);
@@ -281,6 +274,16 @@ public class DashboardRendererTimeseries extends DashboardRendererBase {
         }
     }
 
+    private static boolean isTooLongInterval(DashboardContainer container, List<DashboardDatasetRow> rows) {
+        if (rows.size() <= MAX_VALUE_DATA_POINTS ||
+            (container.getDashboardInterval() != DashboardInterval.second && container.getDashboardInterval() != DashboardInterval.millisecond))
+        {
+            return false;
+        }
+        long diffSeconds = (rows.get(rows.size() - 1).getTimestamp().getTime() - rows.get(0).getTimestamp().getTime()) / 1000;
+        return diffSeconds > MAX_VALUE_DATA_POINTS;
+    }
+
     private RegularTimePeriod makeDataItem(DashboardContainer container, DashboardDatasetRow row) {
         switch (container.getDashboardInterval()) {
             case second: return new FixedMillisecond(row.getTimestamp().getTime());
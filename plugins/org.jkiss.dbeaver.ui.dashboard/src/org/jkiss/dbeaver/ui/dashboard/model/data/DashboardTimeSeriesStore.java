@@ -0,0 +1,229 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.dashboard.model.data;
+
+import org.jkiss.code.NotNull;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Fixed size ring buffer of numeric dashboard samples.
+ * Timestamps and values are kept in primitive arrays, missing values are stored as NaN.
+ */
+public class DashboardTimeSeriesStore {
+
+    private final String[] seriesNames;
+    private final int capacity;
+    private final long[] timestamps;
+    // Row-major: values of sample i are at [i * seriesCount, (i + 1) * seriesCount)
+    private final double[] values;
+    private int head;
+    private int size;
+
+    public DashboardTimeSeriesStore(@NotNull String[] seriesNames, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Bad time series capacity: " + capacity);
+        }
+        this.seriesNames = seriesNames;
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity * seriesNames.length];
+    }
+
+    /**
+     * Makes store which holds all numeric values of specified dataset.
+     */
+    @NotNull
+    public static DashboardTimeSeriesStore fromDataset(@NotNull DashboardDataset dataset) {
+        DashboardTimeSeriesStore store = new DashboardTimeSeriesStore(
+            dataset.getColumnNames(), Math.max(1, dataset.getRows().size()));
+        store.addDataset(dataset);
+        return store;
+    }
+
+    @NotNull
+    public String[] getSeriesNames() {
+        return seriesNames;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds sample. Oldest sample is overwritten if store is full.
+     */
+    public synchronized void addSample(long timestamp, @NotNull double[] sampleValues) {
+        int pos;
+        if (size < capacity) {
+            pos = (head + size) % capacity;
+            size++;
+        } else {
+            pos = head;
+            head = (head + 1) % capacity;
+        }
+        timestamps[pos] = timestamp;
+        int seriesCount = seriesNames.length;
+        for (int i = 0; i < seriesCount; i++) {
+            values[pos * seriesCount + i] = i < sampleValues.length ? sampleValues[i] : Double.NaN;
+        }
+    }
+
+    /**
+     * Adds all dataset rows. Dataset columns must be the same as store series.
+     * Non-numeric values are stored as missing.
+     */
+    public synchronized void addDataset(@NotNull DashboardDataset dataset) {
+        double[] sample = new double[seriesNames.length];
+        for (DashboardDatasetRow row : dataset.getRows()) {
+            Object[] rowValues = row.getValues();
+            for (int i = 0; i < sample.length; i++) {
+                Object value = i < rowValues.length ? rowValues[i] : null;
+                sample[i] = value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+            }
+            addSample(row.getTimestamp() == null ? System.currentTimeMillis() : row.getTimestamp().getTime(), sample);
+        }
+    }
+
+    public synchronized long getTimestamp(int index) {
+        return timestamps[physicalIndex(index)];
+    }
+
+    public synchronized double getValue(int index, int series) {
+        return values[physicalIndex(index) * seriesNames.length + series];
+    }
+
+    /**
+     * Removes samples with timestamp less than specified one.
+     * Samples are expected to be added in chronological order.
+     */
+    public synchronized void removeOlderThan(long minTimestamp) {
+        while (size > 0 && timestamps[head] < minTimestamp) {
+            head = (head + 1) % capacity;
+            size--;
+        }
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns all samples as a dataset
+     */
+    @NotNull
+    public synchronized DashboardDataset toDataset() {
+        DashboardDataset dataset = new DashboardDataset(seriesNames);
+        int seriesCount = seriesNames.length;
+        for (int i = 0; i < size; i++) {
+            int pos = physicalIndex(i);
+            Object[] rowValues = new Object[seriesCount];
+            for (int k = 0; k < seriesCount; k++) {
+                rowValues[k] = toObject(values[pos * seriesCount + k]);
+            }
+            dataset.addRow(new DashboardDatasetRow(new Date(timestamps[pos]), rowValues));
+        }
+        return dataset;
+    }
+
+    /**
+     * Returns at most maxPoints samples. Time range of the store is split on equal buckets,
+     * each bucket is represented by average of its values and the timestamp of its last sample.
+     */
+    @NotNull
+    public synchronized DashboardDataset downsample(int maxPoints) {
+        if (maxPoints <= 0 || size <= maxPoints) {
+            return toDataset();
+        }
+        int seriesCount = seriesNames.length;
+        long startTime = timestamps[physicalIndex(0)];
+        long timeRange = timestamps[physicalIndex(size - 1)] - startTime + 1;
+
+        DashboardDataset dataset = new DashboardDataset(seriesNames);
+        double[] sums = new double[seriesCount];
+        int[] counts = new int[seriesCount];
+        int curBucket = -1;
+        long bucketTimestamp = 0;
+        for (int i = 0; i < size; i++) {
+            int pos = physicalIndex(i);
+            long timestamp = timestamps[pos];
+            int bucket = timeRange <= 0 ? 0 : (int) Math.min(maxPoints - 1, (timestamp - startTime) * maxPoints / timeRange);
+            if (bucket != curBucket) {
+                if (curBucket >= 0) {
+                    addBucketRow(dataset, bucketTimestamp, sums, counts);
+                }
+                curBucket = bucket;
+            }
+            bucketTimestamp = timestamp;
+            for (int k = 0; k < seriesCount; k++) {
+                double value = values[pos * seriesCount + k];
+                if (!Double.isNaN(value)) {
+                    sums[k] += value;
+                    counts[k]++;
+                }
+            }
+        }
+        if (curBucket >= 0) {
+            addBucketRow(dataset, bucketTimestamp, sums, counts);
+        }
+        return dataset;
+    }
+
+    /**
+     * Downsamples dataset rows. Returns the same dataset if it is small enough.
+     */
+    @NotNull
+    public static DashboardDataset downsample(@NotNull DashboardDataset dataset, int maxPoints) {
+        List<DashboardDatasetRow> rows = dataset.getRows();
+        if (maxPoints <= 0 || rows.size() <= maxPoints) {
+            return dataset;
+        }
+        return fromDataset(dataset).downsample(maxPoints);
+    }
+
+    private static void addBucketRow(DashboardDataset dataset, long timestamp, double[] sums, int[] counts) {
+        Object[] rowValues = new Object[sums.length];
+        for (int k = 0; k < sums.length; k++) {
+            rowValues[k] = counts[k] == 0 ? null : sums[k] / counts[k];
+            sums[k] = 0;
+            counts[k] = 0;
+        }
+        dataset.addRow(new DashboardDatasetRow(new Date(timestamp), rowValues));
+    }
+
+    private int physicalIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Sample index " + index + " is out of range [0.." + size + ")");
+        }
+        return (head + index) % capacity;
+    }
+
+    private static Double toObject(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+}
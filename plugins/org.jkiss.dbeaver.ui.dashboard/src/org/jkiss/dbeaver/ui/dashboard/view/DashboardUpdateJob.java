@@ -32,6 +32,9 @@ public class DashboardUpdateJob extends AbstractJob {
 
     private static final int JOB_DELAY = 1000;
 
+    // Keeps track of data source polling jobs between runs
+    private final DashboardUpdater updater = new DashboardUpdater();
+
     private DashboardUpdateJob() {
         super("Dashboard update");
     }
@@ -40,13 +43,15 @@ public class DashboardUpdateJob extends AbstractJob {
     protected IStatus run(DBRProgressMonitor monitor) {
 
         try {
-            new DashboardUpdater().updateDashboards(monitor);
+            updater.updateDashboards(monitor);
         } catch (Exception e) {
             log.error("Error running dashboard updater", e);
         }
 
         if (!DBWorkbench.getPlatform().isShuttingDown()) {
             schedule(JOB_DELAY);
+        } else {
+            updater.cancelUpdates();
         }
         return Status.OK_STATUS;
     }
@@ -17,12 +17,15 @@
 package org.jkiss.dbeaver.ui.dashboard.view;
 
 import org.apache.commons.jexl3.JexlContext;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.*;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.dashboard.control.DashboardListViewer;
@@ -36,10 +39,17 @@ import org.jkiss.utils.CommonUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
+/**
+ * Reads dashboards data.
+ * Each data source is polled by its own job. Data source which is still being polled is skipped by
+ * subsequent updates, so slow data sources do not delay dashboards of other data sources.
+ */
 public class DashboardUpdater {
 
     private static final Log log = Log.getLog(DashboardUpdater.class);
-    private Map<DBPDataSourceContainer, List<MapQueryInfo>> mapQueries = new HashMap<>();
+
+    // Active data source polling jobs
+    private final Map<DBPDataSourceContainer, AbstractJob> dataSourceJobs = new HashMap<>();
 
     private static class MapQueryInfo {
         private final DashboardViewContainer viewContainer;
@@ -53,49 +63,125 @@ public class DashboardUpdater {
         }
     }
 
+    /**
+     * Query result shared by all dashboards which use the same query
+     */
+    private static class QueryResult {
+        private String[] columnNames;
+        private Date timestamp;
+        private final List<Object[]> rows = new ArrayList<>();
+    }
+
+    /**
+     * Queries of one execution context
+     */
+    private static class ContextQueries {
+        private final Map<String, Integer> maxRows = new HashMap<>();
+        private final Map<String, QueryResult> results = new HashMap<>();
+    }
+
+    private class DataSourceUpdateJob extends AbstractJob {
+        private final DBPDataSourceContainer dsContainer;
+        private final List<DashboardContainer> dashboards;
+
+        DataSourceUpdateJob(DBPDataSourceContainer dsContainer, List<DashboardContainer> dashboards) {
+            super("Update '" + dsContainer.getName() + "' dashboards");
+            this.dsContainer = dsContainer;
+            this.dashboards = dashboards;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            monitor.beginTask("Update dashboards", dashboards.size());
+            try {
+                updateDataSourceDashboards(monitor, dsContainer, dashboards);
+            } catch (Exception e) {
+                log.debug("Error updating '" + dsContainer.getName() + "' dashboards", e);
+            } finally {
+                monitor.done();
+                synchronized (dataSourceJobs) {
+                    dataSourceJobs.remove(dsContainer, this);
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
     public DashboardUpdater() {
     }
 
     public void updateDashboards(DBRProgressMonitor monitor) {
+        if (monitor.isCanceled() || DBWorkbench.getPlatform().isShuttingDown()) {
+            cancelUpdates();
+            return;
+        }
         List<DashboardContainer> dashboards = getDashboardsToUpdate();
 
         updateDashboards(monitor, dashboards);
+    }
 
+    /**
+     * Cancels all active data source polling jobs
+     */
+    public void cancelUpdates() {
+        synchronized (dataSourceJobs) {
+            for (AbstractJob job : dataSourceJobs.values()) {
+                job.cancel();
+            }
+        }
     }
 
     private void updateDashboards(DBRProgressMonitor monitor, List<DashboardContainer> dashboards) {
-        monitor.beginTask("Update dashboards", dashboards.size());
-
-        // Get all map queries used by dashboards
+        Map<DBPDataSourceContainer, List<DashboardContainer>> dsDashboards = new LinkedHashMap<>();
         for (DashboardContainer dashboard : dashboards) {
-            DashboardMapQuery mapQuery = dashboard.getMapQuery();
-            if (mapQuery != null) {
-                List<MapQueryInfo> queryList = mapQueries.computeIfAbsent(
-                    dashboard.getDataSourceContainer(), k -> new ArrayList<>());
-                boolean found = false;
-                for (MapQueryInfo mqi : queryList) {
-                    if (mqi.mapQuery == mapQuery) {
-                        found = true;
-                        break;
+            dsDashboards.computeIfAbsent(dashboard.getDataSourceContainer(), k -> new ArrayList<>()).add(dashboard);
+        }
+
+        monitor.beginTask("Update dashboards", dsDashboards.size());
+        try {
+            for (Map.Entry<DBPDataSourceContainer, List<DashboardContainer>> entry : dsDashboards.entrySet()) {
+                DataSourceUpdateJob job;
+                synchronized (dataSourceJobs) {
+                    if (dataSourceJobs.containsKey(entry.getKey())) {
+                        // Previous update is still running. Its dashboards will be updated by next update.
+                        continue;
                     }
+                    job = new DataSourceUpdateJob(entry.getKey(), entry.getValue());
+                    dataSourceJobs.put(entry.getKey(), job);
                 }
-                if (!found) {
-                    queryList.add(new MapQueryInfo(dashboard.getGroup().getView(), mapQuery));
-                }
+                job.schedule();
+                monitor.worked(1);
             }
+        } finally {
+            monitor.done();
         }
+    }
 
-        for (Map.Entry<DBPDataSourceContainer, List<MapQueryInfo>> mqEntry : mapQueries.entrySet()) {
-            monitor.subTask("Read dashboard data");
-            DBPDataSourceContainer dsContainer = mqEntry.getKey();
-            DBPDataSource dataSource = dsContainer.getDataSource();
-            if (dataSource == null) {
-                continue;
+    private static List<MapQueryInfo> getMapQueries(List<DashboardContainer> dashboards) {
+        List<MapQueryInfo> queryList = new ArrayList<>();
+        for (DashboardContainer dashboard : dashboards) {
+            DashboardMapQuery mapQuery = dashboard.getMapQuery();
+            if (mapQuery != null && getMapQueryData(queryList, dashboard) == null) {
+                queryList.add(new MapQueryInfo(dashboard.getGroup().getView(), mapQuery));
             }
+        }
+        return queryList;
+    }
+
+    private void updateDataSourceDashboards(DBRProgressMonitor monitor, DBPDataSourceContainer dsContainer, List<DashboardContainer> dashboards) {
+        DBPDataSource dataSource = dsContainer.getDataSource();
+        if (dataSource == null) {
+            return;
+        }
+        List<MapQueryInfo> mapQueryList = getMapQueries(dashboards);
+        if (!mapQueryList.isEmpty()) {
+            monitor.subTask("Read dashboard data");
             try {
                 DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
                     try {
-                        for (MapQueryInfo mqi : mqEntry.getValue()) {
+                        for (MapQueryInfo mqi : mapQueryList) {
                             readMapQueryData(monitor, mqi);
                         }
                     } catch (Throwable e) {
@@ -107,15 +193,29 @@ public class DashboardUpdater {
             }
         }
 
+        // Dashboards of the same view share execution context. The same query is executed only once per context
+        Map<DBCExecutionContext, ContextQueries> contextQueries = new IdentityHashMap<>();
         for (DashboardContainer dashboard : dashboards) {
-            DBPDataSource dataSource = dashboard.getDataSourceContainer().getDataSource();
-            if (dataSource == null) {
+            if (dashboard.getMapQuery() != null) {
                 continue;
             }
+            DBCExecutionContext executionContext = dashboard.getGroup().getView().getExecutionContext();
+            if (executionContext != null) {
+                ContextQueries queries = contextQueries.computeIfAbsent(executionContext, k -> new ContextQueries());
+                for (DashboardQuery query : dashboard.getQueryList()) {
+                    queries.maxRows.merge(query.getQueryText(), dashboard.getDashboardMaxItems(), Math::max);
+                }
+            }
+        }
+
+        for (DashboardContainer dashboard : dashboards) {
+            if (monitor.isCanceled()) {
+                break;
+            }
             try {
                 DBExecUtils.tryExecuteRecover(dashboards, dataSource, param -> {
                     try {
-                        updateDashboard(monitor, dashboard);
+                        updateDashboard(monitor, dashboard, mapQueryList, contextQueries);
                     } catch (Throwable e) {
                         throw new InvocationTargetException(e);
                     }
@@ -125,7 +225,6 @@ public class DashboardUpdater {
             }
             monitor.worked(1);
         }
-        monitor.done();
     }
 
     private void readMapQueryData(DBRProgressMonitor monitor, MapQueryInfo mqInfo) throws DBCException {
@@ -153,13 +252,13 @@ public class DashboardUpdater {
         }
     }
 
-    private void updateDashboard(DBRProgressMonitor monitor, DashboardContainer dashboard) throws DBCException {
+    private void updateDashboard(DBRProgressMonitor monitor, DashboardContainer dashboard, List<MapQueryInfo> mapQueryList, Map<DBCExecutionContext, ContextQueries> contextQueries) throws DBCException {
         if (!dashboard.getDataSourceContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
             return;
         }
 
         if (dashboard.getMapQuery() != null) {
-            fetchDashboardMapData(monitor, dashboard);
+            fetchDashboardMapData(dashboard, mapQueryList);
             return;
         }
         List<? extends DashboardQuery> queries = dashboard.getQueryList();
@@ -171,25 +270,61 @@ public class DashboardUpdater {
         if (executionContext == null) {
             return;
         }
+        ContextQueries queryResults = contextQueries.computeIfAbsent(executionContext, k -> new ContextQueries());
         try (DBCSession session = executionContext.openSession(
             monitor, DBCExecutionPurpose.UTIL, "Read dashboard '" + dashboard.getDashboardTitle() + "' data")) {
             session.enableLogging(false);
             for (DashboardQuery query : queries) {
-                try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false)) {
-                    if (dbStat.executeStatement()) {
-                        try (DBCResultSet dbResults = dbStat.openResultSet()) {
-                            fetchDashboardData(dashboard, dbResults);
+                String queryText = query.getQueryText();
+                QueryResult result = queryResults.results.get(queryText);
+                if (result == null) {
+                    Integer maxRows = queryResults.maxRows.get(queryText);
+                    try {
+                        result = readQueryResult(session, queryText, maxRows == null ? dashboard.getDashboardMaxItems() : maxRows);
+                    } catch (Exception e) {
+                        throw new DBCException("Error updating dashboard " + dashboard.getDashboardId(), e, session.getExecutionContext());
+                    }
+                    queryResults.results.put(queryText, result);
+                }
+                if (result.columnNames != null) {
+                    fetchDashboardData(dashboard, result);
+                }
+            }
+        }
+    }
+
+    private QueryResult readQueryResult(DBCSession session, String queryText, int maxRows) throws DBCException {
+        QueryResult result = new QueryResult();
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, queryText, false, false, false)) {
+            if (dbStat.executeStatement()) {
+                try (DBCResultSet dbResults = dbStat.openResultSet()) {
+                    List<DBCAttributeMetaData> rsAttrs = dbResults.getMeta().getAttributes();
+                    String[] columnNames = new String[rsAttrs.size()];
+                    for (int i = 0; i < columnNames.length; i++) {
+                        DBCAttributeMetaData rsAttr = rsAttrs.get(i);
+                        String colName = rsAttr.getLabel();
+                        if (CommonUtils.isEmpty(colName)) {
+                            colName = rsAttr.getName();
+                        }
+                        columnNames[i] = colName;
+                    }
+                    result.columnNames = columnNames;
+                    result.timestamp = new Date();
+                    while (result.rows.size() < maxRows && dbResults.nextRow()) {
+                        Object[] values = new Object[columnNames.length];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = dbResults.getAttributeValue(i);
                         }
+                        result.rows.add(values);
                     }
-                } catch (Exception e) {
-                    throw new DBCException("Error updating dashboard " + dashboard.getDashboardId(), e, session.getExecutionContext());
                 }
             }
         }
+        return result;
     }
 
-    private void fetchDashboardMapData(DBRProgressMonitor monitor, DashboardContainer dashboard) {
-        MapQueryInfo mqi = getMapQueryData(dashboard);
+    private void fetchDashboardMapData(DashboardContainer dashboard, List<MapQueryInfo> mapQueryList) {
+        MapQueryInfo mqi = getMapQueryData(mapQueryList, dashboard);
         if (mqi == null) {
             return;
         }
@@ -263,34 +398,31 @@ public class DashboardUpdater {
         }
     }
 
-    private void fetchDashboardData(DashboardContainer dashboard, DBCResultSet dbResults) throws DBCException {
-        DBCResultSetMetaData meta = dbResults.getMeta();
-        List<DBCAttributeMetaData> rsAttrs = meta.getAttributes();
+    private void fetchDashboardData(DashboardContainer dashboard, QueryResult result) {
         List<String> colNames = new ArrayList<>();
-        String tsColName = null;
-        for (DBCAttributeMetaData rsAttr : rsAttrs) {
-            String colName = rsAttr.getLabel();
-            if (CommonUtils.isEmpty(colName)) {
-                colName = rsAttr.getName();
-            }
+        List<Integer> colIndexes = new ArrayList<>();
+        int tsColIndex = -1;
+        for (int i = 0; i < result.columnNames.length; i++) {
+            String colName = result.columnNames[i];
             if (DashboardConstants.RS_COL_TIMESTAMP.equalsIgnoreCase(colName)) {
-                tsColName = colName;
+                tsColIndex = i;
             } else {
                 colNames.add(colName);
+                colIndexes.add(i);
             }
         }
         DashboardDataset dataset = new DashboardDataset(colNames.toArray(new String[0]));
 
-        while (dbResults.nextRow()) {
+        for (Object[] resultRow : result.rows) {
             Object[] values = new Object[colNames.size()];
             Date timestamp;
-            if (tsColName != null) {
-                timestamp = (Date) dbResults.getAttributeValue(tsColName);
+            if (tsColIndex >= 0) {
+                timestamp = (Date) resultRow[tsColIndex];
             } else {
-                timestamp = new Date();
+                timestamp = result.timestamp;
             }
-            for (int i = 0; i < colNames.size(); i++) {
-                values[i] = dbResults.getAttributeValue(colNames.get(i));
+            for (int i = 0; i < values.length; i++) {
+                values[i] = resultRow[colIndexes.get(i)];
             }
             dataset.addRow(new DashboardDatasetRow(timestamp, values));
             if (dataset.getRows().size() >= dashboard.getDashboardMaxItems()) {
@@ -373,13 +505,10 @@ public class DashboardUpdater {
         }
     }
 
-    private MapQueryInfo getMapQueryData(DashboardContainer dashboard) {
-        List<MapQueryInfo> mapQueryInfos = mapQueries.get(dashboard.getDataSourceContainer());
-        if (mapQueryInfos != null) {
-            for (MapQueryInfo mqi : mapQueryInfos) {
-                if (mqi.mapQuery == dashboard.getMapQuery()) {
-                    return mqi;
-                }
+    private static MapQueryInfo getMapQueryData(List<MapQueryInfo> mapQueryList, DashboardContainer dashboard) {
+        for (MapQueryInfo mqi : mapQueryList) {
+            if (mqi.mapQuery == dashboard.getMapQuery()) {
+                return mqi;
             }
         }
         return null;
@@ -31,7 +31,9 @@ import org.jkiss.dbeaver.model.connection.DBPDriverDependencies;
 import org.jkiss.dbeaver.model.connection.DBPDriverLibrary;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DefaultProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
+import org.jkiss.dbeaver.registry.maven.MavenRegistry;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.RunnableContextDelegate;
 import org.jkiss.dbeaver.ui.UIConfirmation;
@@ -42,9 +44,15 @@ import org.jkiss.dbeaver.ui.internal.UIConnectionMessages;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 class DriverDownloadAutoPage extends DriverDownloadPage {
 
@@ -158,6 +166,9 @@ class DriverDownloadAutoPage extends DriverDownloadPage {
 
         boolean processUnsecure = false;
         List<DBPDriverDependencies.DependencyNode> nodes = getWizard().getDependencies().getLibraryList();
+        if (!getWizard().isForceDownload()) {
+            prefetchLibraryFiles(monitor, nodes);
+        }
         for (int i = 0, filesSize = nodes.size(); i < filesSize; ) {
             final DBPDriverLibrary lib = nodes.get(i).library;
             if (!processUnsecure && !lib.isSecureDownload(monitor)) {
@@ -215,6 +226,46 @@ class DriverDownloadAutoPage extends DriverDownloadPage {
         //DataSourceProviderRegistry.getInstance().saveDrivers();
     }
 
+    /**
+     * Downloads missing secure library files in parallel.
+     * Errors are ignored here - failed files are downloaded again (with error reporting) by the sequential loop.
+     */
+    private void prefetchLibraryFiles(final DBRProgressMonitor monitor, List<DBPDriverDependencies.DependencyNode> nodes) throws InterruptedException {
+        Map<File, DBPDriverLibrary> missingFiles = new LinkedHashMap<>();
+        for (DBPDriverDependencies.DependencyNode node : nodes) {
+            DBPDriverLibrary lib = node.library;
+            File localFile = lib.getLocalFile();
+            if (localFile != null && !localFile.exists() && lib.getType() != DBPDriverLibrary.FileType.license && lib.isSecureDownload(monitor)) {
+                missingFiles.putIfAbsent(localFile, lib);
+            }
+        }
+        if (missingFiles.size() <= 1) {
+            return;
+        }
+        monitor.subTask(NLS.bind(UIConnectionMessages.dialog_driver_download_auto_page_download_rate, 0, missingFiles.size()));
+        DBRProgressMonitor taskMonitor = new VoidProgressMonitor() {
+            @Override
+            public boolean isCanceled() {
+                return monitor.isCanceled();
+            }
+        };
+        List<Future<?>> downloads = new ArrayList<>();
+        for (DBPDriverLibrary lib : missingFiles.values()) {
+            downloads.add(MavenRegistry.getInstance().getResolveExecutor().submit(() -> {
+                lib.downloadLibraryFile(taskMonitor, false, lib.getDisplayName());
+                return null;
+            }));
+        }
+        for (int i = 0; i < downloads.size(); i++) {
+            try {
+                downloads.get(i).get();
+            } catch (ExecutionException e) {
+                // Will be reported during sequential download
+            }
+            monitor.subTask(NLS.bind(UIConnectionMessages.dialog_driver_download_auto_page_download_rate, i + 1, missingFiles.size()));
+        }
+    }
+
     private boolean acceptDriverLicenses() {
         // User must accept all licenses before actual drivers download
         DBPDriver driver = getWizard().getDriver();
@@ -74,7 +74,8 @@ class GridCellRenderer extends AbstractRenderer
             gc.fillRectangle(bounds.x, bounds.y, bounds.width, bounds.height);
         }
 
-        String text = grid.getCellText(col, row);
+        GridCellTextCache.Entry textEntry = grid.getCellTextEntry(col, row);
+        String text = textEntry.text;
         final int state = grid.getContentProvider().getCellState(col, row, text);
         int x = LEFT_MARGIN;
 
@@ -112,17 +113,20 @@ class GridCellRenderer extends AbstractRenderer
 
         // Get cell text
         if (text != null && !text.isEmpty()) {
-            // Get shortern version of string
-            text = UITextUtils.getShortString(grid.fontMetrics, text, width);
-            // Replace linefeeds with space
-            text = CommonUtils.getSingleLineString(text);
+            if (textEntry.paintText == null || textEntry.paintWidth != width) {
+                // Get shortern version of string and replace linefeeds with space
+                textEntry.paintText = CommonUtils.getSingleLineString(UITextUtils.getShortString(grid.fontMetrics, text, width));
+                textEntry.paintWidth = width;
+                textEntry.paintExtent = null;
+            }
+            text = textEntry.paintText;
 
             gc.setFont(grid.normalFont);
 
             switch (columnAlign) {
                 // Center
                 case IGridContentProvider.ALIGN_CENTER: {
-                    Point textSize = gc.textExtent(text);
+                    Point textSize = getPaintExtent(gc, textEntry);
                     gc.drawString(
                         text,
                         bounds.x + (bounds.width - textSize.x) / 2,
@@ -132,7 +136,7 @@ class GridCellRenderer extends AbstractRenderer
                 }
                 case IGridContentProvider.ALIGN_RIGHT: {
                     // Right (numbers, datetimes)
-                    Point textSize = gc.textExtent(text);
+                    Point textSize = getPaintExtent(gc, textEntry);
                     boolean useClipping = textSize.x > bounds.width;
 
                     int imageMargin = 0;
@@ -184,6 +188,13 @@ class GridCellRenderer extends AbstractRenderer
         }
     }
 
+    private static Point getPaintExtent(GC gc, GridCellTextCache.Entry textEntry) {
+        if (textEntry.paintExtent == null) {
+            textEntry.paintExtent = gc.textExtent(textEntry.paintText);
+        }
+        return textEntry.paintExtent;
+    }
+
     boolean isOverLink(GridColumn column, int row, int x, int y) {
         IGridContentProvider contentProvider = grid.getContentProvider();
         Object colElement = column.getElement();
@@ -0,0 +1,122 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.eclipse.swt.graphics.Point;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of cell display strings and text extents.
+ * Grid repaints all visible cells on each scroll, so the same values are formatted and measured again and again.
+ * Entry is valid while raw cell value is the same object. Whole cache is cleared on data refresh and font change.
+ */
+public class GridCellTextCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 20000;
+
+    public static class Entry {
+        final Object value;
+        final String text;
+        // Width of the full text. -1 if not measured yet
+        int textWidth = -1;
+        // Shortened single-line text for the last paint width and its extent
+        int paintWidth = -1;
+        String paintText;
+        Point paintExtent;
+
+        Entry(Object value, String text) {
+            this.value = value;
+            this.text = text;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    private static class CellKey {
+        private final Object col;
+        private final Object row;
+
+        CellKey(Object col, Object row) {
+            this.col = col;
+            this.row = row;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CellKey && ((CellKey) obj).col == col && ((CellKey) obj).row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(col) * 31 + System.identityHashCode(row);
+        }
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<CellKey, Entry> entries;
+
+    public GridCellTextCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<CellKey, Entry>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CellKey, Entry> eldest) {
+                return size() > GridCellTextCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns cached entry or null if there is no entry or cell value was changed.
+     */
+    public Entry get(Object col, Object row, Object value) {
+        Entry entry = entries.get(new CellKey(col, row));
+        if (entry != null && entry.value != value) {
+            return null;
+        }
+        return entry;
+    }
+
+    public Entry put(Object col, Object row, Object value, String text) {
+        Entry entry = new Entry(value, text);
+        entries.put(new CellKey(col, row), entry);
+        return entry;
+    }
+
+    /**
+     * Resets measured extents. Called when grid font changes.
+     */
+    public void clearExtents() {
+        for (Entry entry : entries.values()) {
+            entry.textWidth = -1;
+            entry.paintWidth = -1;
+            entry.paintText = null;
+            entry.paintExtent = null;
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
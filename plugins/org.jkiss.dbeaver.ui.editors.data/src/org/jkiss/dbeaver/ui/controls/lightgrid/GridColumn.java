@@ -47,6 +47,8 @@ class GridColumn {
     private static final int rightMargin = 6;
     private static final int imageSpacing = 3;
     private static final int insideMargin = 3;
+    // Max number of visible rows measured on column auto-size
+    private static final int MAX_PACK_SAMPLE_ROWS = 30;
 
 	private final LightGrid grid;
     private final Object element;
@@ -272,7 +274,9 @@ class GridColumn {
             int bottomIndex = grid.getBottomIndex();
             if (topIndex >= 0 && bottomIndex >= topIndex) {
                 int itemCount = grid.getItemCount();
-                for (int i = topIndex; i <= bottomIndex && i < itemCount; i++) {
+                int rowCount = Math.min(bottomIndex, itemCount - 1) - topIndex + 1;
+                int step = rowCount > MAX_PACK_SAMPLE_ROWS ? (rowCount + MAX_PACK_SAMPLE_ROWS - 1) / MAX_PACK_SAMPLE_ROWS : 1;
+                for (int i = topIndex; i <= bottomIndex && i < itemCount; i += step) {
                     newWidth = Math.max(newWidth, computeCellWidth(element, grid.getRowElement(i)));
                 }
             }
@@ -302,8 +306,8 @@ class GridColumn {
 
         x += leftMargin;
 
-        String cellText = grid.getCellText(col, row);
-        int state = grid.getContentProvider().getCellState(col, row, cellText);
+        GridCellTextCache.Entry textEntry = grid.getCellTextEntry(col, row);
+        int state = grid.getContentProvider().getCellState(col, row, textEntry.text);
         Rectangle imageBounds;
         if (GridCellRenderer.isLinkState(state)) {
             imageBounds = GridCellRenderer.LINK_IMAGE_BOUNDS;
@@ -315,7 +319,7 @@ class GridColumn {
             x += imageBounds.width + insideMargin;
         }
 
-        x += grid.sizingGC.textExtent(cellText).x + rightMargin;
+        x += grid.getCellTextWidth(textEntry) + rightMargin;
         return x;
     }
 
@@ -23,6 +23,8 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPImage;
 
+import java.util.List;
+
 public interface IGridContentProvider extends IContentProvider {
 
     enum ElementState {
@@ -44,6 +46,17 @@ public interface IGridContentProvider extends IContentProvider {
     @NotNull
     Object[] getElements(boolean horizontal);
 
+    /**
+     * Returns row elements. If rows have no children grid uses this list as is, without copying.
+     */
+    @NotNull
+    List<?> getRowElements();
+
+    /**
+     * Returns false if row elements never have children. Then grid doesn't check each row for nested elements.
+     */
+    boolean hasRowChildren();
+
     @Nullable
     Object[] getChildren(Object element);
 
@@ -160,8 +160,10 @@ public abstract class LightGrid extends Canvas {
     private final List<GridColumn> columns = new ArrayList<>();
     private int maxColumnDepth = 0;
     protected Object[] columnElements = new Object[0];
-    protected Object[] rowElements = new Object[0];
-    private GridNode[] parentNodes = new GridNode[0];
+    protected List<?> rowElements = Collections.emptyList();
+    // Parent node of each row. Null if rows have no children
+    @Nullable
+    private GridNode[] parentNodes;
     private final Map<Object, GridNode> rowNodes = new IdentityHashMap<>();
 
     private int maxColumnDefWidth = 1000;
@@ -260,6 +262,7 @@ public abstract class LightGrid extends Canvas {
     final GC sizingGC;
     FontMetrics fontMetrics;
     Font normalFont, boldFont;
+    private final GridCellTextCache cellTextCache = new GridCellTextCache(GridCellTextCache.DEFAULT_MAX_ENTRIES);
 
     @NotNull
     private Color lineColor;
@@ -464,6 +467,7 @@ public abstract class LightGrid extends Canvas {
      */
     public void refreshData(boolean refreshColumns, boolean keepState, boolean fitValue)
     {
+        cellTextCache.clear();
         GridPos savedFocus = keepState ? getFocusPos() : null;
         int savedHSB = keepState ? hScroll.getSelection() : -1;
         int savedVSB = keepState ? vScroll.getSelection() : -1;
@@ -628,15 +632,26 @@ public abstract class LightGrid extends Canvas {
 
     public void refreshRowsData() {
         // Prepare rows
-        Object[] initialElements = getContentProvider().getElements(false);
+        List<?> initialElements = getContentProvider().getRowElements();
         this.rowNodes.clear();
-        List<Object> realRows = new ArrayList<>(initialElements.length);
-        List<GridNode> parents = new ArrayList<>(initialElements.length);
-        collectRows(realRows, parents, null, initialElements, 0);
-        this.rowElements = realRows.toArray();
+        if (!getContentProvider().hasRowChildren()) {
+            // Flat rows. Do not copy them: result set rows may be lazy (spilled to disk)
+            this.rowElements = initialElements;
+            this.parentNodes = null;
+            return;
+        }
+        List<Object> realRows = new ArrayList<>(initialElements.size());
+        List<GridNode> parents = new ArrayList<>(initialElements.size());
+        collectRows(realRows, parents, null, initialElements.toArray(), 0);
+        this.rowElements = realRows;
         this.parentNodes = parents.toArray(new GridNode[0]);
     }
 
+    @Nullable
+    private GridNode getParentNode(int row) {
+        return parentNodes == null ? null : parentNodes[row];
+    }
+
     /**
      * Returns current or last client area.
      * If Grid controls are stacked then only the top is visible and has real client area.
@@ -671,14 +686,14 @@ public abstract class LightGrid extends Canvas {
         if (pos.col < 0 || pos.row < 0) {
             return null;
         }
-        return new GridCell(columnElements[pos.col], rowElements[pos.row]);
+        return new GridCell(columnElements[pos.col], rowElements.get(pos.row));
     }
 
     @NotNull
     public GridPos cellToPos(GridCell cell)
     {
         int colIndex = ArrayUtils.indexOf(columnElements, cell.col);
-        int rowIndex = ArrayUtils.indexOf(rowElements, cell.row);
+        int rowIndex = rowElements.indexOf(cell.row);
         return new GridPos(colIndex, rowIndex);
     }
 
@@ -697,7 +712,7 @@ public abstract class LightGrid extends Canvas {
     }
 
     public Object getRowElement(int row) {
-        return rowElements[row];
+        return rowElements.get(row);
     }
 
     @Override
@@ -979,7 +994,7 @@ public abstract class LightGrid extends Canvas {
      */
     public int getItemCount()
     {
-        return rowElements.length;
+        return rowElements.size();
     }
 
     /**
@@ -1414,7 +1429,8 @@ public abstract class LightGrid extends Canvas {
         topColumns.clear();
         columns.clear();
         columnElements = new Object[0];
-        rowElements = new Object[0];
+        rowElements = Collections.emptyList();
+        parentNodes = null;
     }
 
     /**
@@ -1877,13 +1893,21 @@ public abstract class LightGrid extends Canvas {
 
         // Row header width
         rowHeaderWidth = DEFAULT_ROW_HEADER_WIDTH;
-        for (int i = 0; i < rowElements.length; i++) {
-            Object row = rowElements[i];
-            GridNode parentNode = parentNodes[i];
-            GridNode nr = rowNodes.get(row);
-            int width = rowHeaderRenderer.computeHeaderWidth(
-                row, nr != null ? nr.level : parentNode == null ? 0 : parentNode.level + 1);
-            rowHeaderWidth = Math.max(rowHeaderWidth, width);
+        if (parentNodes == null) {
+            // Flat rows. Row headers are numbers, so the last one is the widest
+            if (!rowElements.isEmpty()) {
+                rowHeaderWidth = Math.max(rowHeaderWidth,
+                    rowHeaderRenderer.computeHeaderWidth(rowElements.get(rowElements.size() - 1), 0));
+            }
+        } else {
+            for (int i = 0; i < rowElements.size(); i++) {
+                Object row = rowElements.get(i);
+                GridNode parentNode = parentNodes[i];
+                GridNode nr = rowNodes.get(row);
+                int width = rowHeaderRenderer.computeHeaderWidth(
+                    row, nr != null ? nr.level : parentNode == null ? 0 : parentNode.level + 1);
+                rowHeaderWidth = Math.max(rowHeaderWidth, width);
+            }
         }
         if (rowHeaderWidth > MAX_ROW_HEADER_WIDTH) {
             rowHeaderWidth = MAX_ROW_HEADER_WIDTH;
@@ -2260,7 +2284,7 @@ public abstract class LightGrid extends Canvas {
                             selectedCells.contains(testPos),
                             focusItem == row && focusColumn == column,
                             column.getElement(),
-                            rowElements[row]);
+                            rowElements.get(row));
 
                         //gc.setClipping((Rectangle) null);
                     }
@@ -2274,8 +2298,8 @@ public abstract class LightGrid extends Canvas {
 
                 x = 0;
 
-                GridNode rowNode = this.rowNodes.get(rowElements[row]);
-                GridNode parentNode = this.parentNodes[row];
+                GridNode rowNode = this.rowNodes.get(rowElements.get(row));
+                GridNode parentNode = getParentNode(row);
                 if (rowHeaderVisible) {
 
                     if (y >= headerHeight) {
@@ -2292,7 +2316,7 @@ public abstract class LightGrid extends Canvas {
                                 cellInRowSelected,
                                 parentNode == null ? 0 : parentNode.level,
                                 rowNode == null ? IGridContentProvider.ElementState.NONE : rowNode.state,
-                                rowElements[row]);
+                                rowElements.get(row));
                         } finally {
                             gc.setClipping((Rectangle)null);
                         }
@@ -2324,7 +2348,7 @@ public abstract class LightGrid extends Canvas {
                                 selectedCells.contains(testPos),
                                 focusItem == row && focusColumn == pc,
                                 pc.getElement(),
-                                rowElements[row]);
+                                rowElements.get(row));
                         } finally {
                             gc.setClipping((Rectangle)null);
                         }
@@ -2429,6 +2453,23 @@ public abstract class LightGrid extends Canvas {
             gc.drawLine(rowHeaderWidth + pinnedColumnsWidth - 1, 0, rowHeaderWidth + pinnedColumnsWidth - 1, y);
             gc.drawLine(rowHeaderWidth + pinnedColumnsWidth, 0, rowHeaderWidth + pinnedColumnsWidth, y);
         }
+
+        int lastPaintedRow = Math.min(row, getItemCount()) - 1;
+        if (lastPaintedRow >= firstVisibleIndex) {
+            onRowsPainted(firstVisibleIndex, lastPaintedRow);
+        }
+    }
+
+    /**
+     * Called after each grid paint (including paint after scroll).
+     * Cell texts may be taken from the cache, so subclasses must not rely on content provider calls
+     * to track visible rows.
+     *
+     * @param firstRow first painted row index
+     * @param lastRow last painted row index
+     */
+    protected void onRowsPainted(int firstRow, int lastRow)
+    {
     }
 
     /**
@@ -2960,6 +3001,7 @@ public abstract class LightGrid extends Canvas {
 
         UIUtils.dispose(boldFont);
         UIUtils.dispose(sizingGC);
+        cellTextCache.clear();
     }
 
     /**
@@ -3078,8 +3120,8 @@ public abstract class LightGrid extends Canvas {
                 }
 
                 if (e.button == 1 && !shift && !ctrl) {
-                    GridNode node = rowNodes.get(rowElements[row]);
-                    GridNode parentNode = parentNodes[row];
+                    GridNode node = rowNodes.get(rowElements.get(row));
+                    GridNode parentNode = getParentNode(row);
                     if (node != null && node.state != IGridContentProvider.ElementState.NONE) {
                         if (GridRowRenderer.isOverExpander(e.x, parentNode == null ? 0 : parentNode.level))
                         {
@@ -3185,7 +3227,7 @@ public abstract class LightGrid extends Canvas {
         if (selectionEvent != null) {
             selectionEvent.stateMask = e.stateMask;
             selectionEvent.button = e.button;
-            selectionEvent.data = new GridCell(col == null ? null : col.getElement(), row < 0 ? null : rowElements[row]);
+            selectionEvent.data = new GridCell(col == null ? null : col.getElement(), row < 0 ? null : rowElements.get(row));
             selectionEvent.x = e.x;
             selectionEvent.y = e.y;
             notifyListeners(SWT.Selection, selectionEvent);
@@ -3195,20 +3237,23 @@ public abstract class LightGrid extends Canvas {
     }
 
     private void toggleRowState(int row) {
-        GridNode node = rowNodes.get(rowElements[row]);
-        if (node == null || node.state == IGridContentProvider.ElementState.NONE) {
+        GridNode node = rowNodes.get(rowElements.get(row));
+        if (node == null || node.state == IGridContentProvider.ElementState.NONE || parentNodes == null) {
             log.error("Row [" + row + "] state can't be toggled");
             return;
         }
+        // Rows with children are always copied into array list
+        @SuppressWarnings("unchecked")
+        List<Object> rows = (List<Object>) rowElements;
         if (node.state == IGridContentProvider.ElementState.EXPANDED) {
             // Collapse node. Remove all elements with different parent
             int deleteTo;
-            for (deleteTo = row + 1; deleteTo < rowElements.length; deleteTo++) {
+            for (deleteTo = row + 1; deleteTo < rows.size(); deleteTo++) {
                 if (!node.isParentOf(parentNodes[deleteTo])) {
                     break;
                 }
             }
-            rowElements = ArrayUtils.deleteArea(Object.class, rowElements, row + 1, deleteTo - 1);
+            rows.subList(row + 1, deleteTo).clear();
             parentNodes = ArrayUtils.deleteArea(GridNode.class, parentNodes, row + 1, deleteTo - 1);
             node.state = IGridContentProvider.ElementState.COLLAPSED;
         } else {
@@ -3216,7 +3261,7 @@ public abstract class LightGrid extends Canvas {
             List<Object> result = new ArrayList<>();
             List<GridNode> parents = new ArrayList<>();
             collectRows(result, parents, node, node.rows, node.level);
-            rowElements = ArrayUtils.insertArea(Object.class, rowElements, row + 1, result.toArray());
+            rows.addAll(row + 1, result);
             parentNodes = ArrayUtils.insertArea(GridNode.class, parentNodes, row + 1, parents.toArray());
             node.state = IGridContentProvider.ElementState.EXPANDED;
         }
@@ -3255,13 +3300,13 @@ public abstract class LightGrid extends Canvas {
                 if (col != null) {
                     if (isListening(SWT.DefaultSelection)) {
                         Event newEvent = new Event();
-                        newEvent.data = new GridCell(col.getElement(), rowElements[row]);
+                        newEvent.data = new GridCell(col.getElement(), rowElements.get(row));
 
                         notifyListeners(SWT.DefaultSelection, newEvent);
                     }
                 } else {
-                    GridNode node = rowNodes.get(rowElements[row]);
-                    GridNode parentNode = parentNodes[row];
+                    GridNode node = rowNodes.get(rowElements.get(row));
+                    GridNode parentNode = getParentNode(row);
                     if (node != null && node.state != IGridContentProvider.ElementState.NONE) {
                         if (!GridRowRenderer.isOverExpander(e.x, parentNode == null ? 0 : parentNode.level))
                         {
@@ -3287,7 +3332,7 @@ public abstract class LightGrid extends Canvas {
                 event.x = e.x;
                 event.y = e.y;
                 event.stateMask = e.stateMask;
-                event.data = new GridCell(focusColumn.getElement(), rowElements[focusItem]);
+                event.data = new GridCell(focusColumn.getElement(), rowElements.get(focusItem));
                 notifyListeners(Event_NavigateLink, event);
                 return;
             }
@@ -3346,7 +3391,7 @@ public abstract class LightGrid extends Canvas {
                 GridColumn column = getColumn(point);
                 int rowIndex = getRow(point);
                 if (column != null && rowIndex >= 0) {
-                    se.data = new GridCell(column.getElement(), rowElements[rowIndex]);
+                    se.data = new GridCell(column.getElement(), rowElements.get(rowIndex));
                 }
                 se.stateMask = e.stateMask;
                 se.x = e.x;
@@ -3516,7 +3561,7 @@ public abstract class LightGrid extends Canvas {
             GridColumn column = getColumn(point);
             int rowIndex = getRow(point);
             if (column != null && rowIndex >= 0) {
-                selectionEvent.data = new GridCell(column.getElement(), rowElements[rowIndex]);
+                selectionEvent.data = new GridCell(column.getElement(), rowElements.get(rowIndex));
             }
             selectionEvent.x = e.x;
             selectionEvent.y = e.y;
@@ -3620,9 +3665,9 @@ public abstract class LightGrid extends Canvas {
             focusColumn = getColumn(0);
         }
 
-        if (e.character == '\r' && focusItem >= 0 && focusItem < rowElements.length) {
+        if (e.character == '\r' && focusItem >= 0 && focusItem < rowElements.size()) {
             Event newEvent = new Event();
-            newEvent.data = new GridCell(focusColumn.getElement(), rowElements[focusItem]);
+            newEvent.data = new GridCell(focusColumn.getElement(), rowElements.get(focusItem));
 
             notifyListeners(SWT.DefaultSelection, newEvent);
             return;
@@ -3755,7 +3800,7 @@ public abstract class LightGrid extends Canvas {
             case SWT.KEYPAD_ADD:
             case SWT.KEYPAD_SUBTRACT:
                 if (focusItem >= 0) {
-                    GridNode node = rowNodes.get(rowElements[focusItem]);
+                    GridNode node = rowNodes.get(rowElements.get(focusItem));
                     if (node != null) {
                         boolean isPlus = (e.keyCode == '+' || e.keyCode == '=' || e.keyCode == SWT.KEYPAD_ADD);
                         if ((node.state == IGridContentProvider.ElementState.EXPANDED && !isPlus) ||
@@ -3767,7 +3812,7 @@ public abstract class LightGrid extends Canvas {
                 }
                 break;
             case ' ':
-                toggleCellValue(focusColumn.getElement(), rowElements[focusItem]);
+                toggleCellValue(focusColumn.getElement(), rowElements.get(focusItem));
             default:
                 break;
         }
@@ -3800,8 +3845,8 @@ public abstract class LightGrid extends Canvas {
             showItem(newSelection);
 
             GridCell newPos;
-            if (newSelection >= 0 && newSelection < rowElements.length) {
-                newPos = new GridCell(newColumnFocus.getElement(), rowElements[newSelection]);
+            if (newSelection >= 0 && newSelection < rowElements.size()) {
+                newPos = new GridCell(newColumnFocus.getElement(), rowElements.get(newSelection));
             } else {
                 newPos = null;
             }
@@ -3968,7 +4013,7 @@ public abstract class LightGrid extends Canvas {
             String newTip = null;
             if ((hoveringItem >= 0) && (hoveringColumn != null)) {
                 if (overLink) {
-                    newTip = getContentProvider().getCellLinkText(columnElements[col.getIndex()], rowElements[row]);
+                    newTip = getContentProvider().getCellLinkText(columnElements[col.getIndex()], rowElements.get(row));
                 }
                 if (CommonUtils.isEmpty(newTip)) {
                     // get cell specific tooltip
@@ -4056,10 +4101,10 @@ public abstract class LightGrid extends Canvas {
 
     @Nullable
     public Object getFocusRowElement() {
-        if (focusItem < 0 || focusItem >= rowElements.length) {
+        if (focusItem < 0 || focusItem >= rowElements.size()) {
             return null;
         }
-        return rowElements[focusItem];
+        return rowElements.get(focusItem);
     }
 
     @Nullable
@@ -4444,6 +4489,7 @@ public abstract class LightGrid extends Canvas {
         super.setFont(font);
         sizingGC.setFont(font);
         fontMetrics = sizingGC.getFontMetrics();
+        cellTextCache.clearExtents();
         normalFont = font;
         UIUtils.dispose(boldFont);
         boldFont = UIUtils.makeBoldFont(normalFont);
@@ -4455,22 +4501,43 @@ public abstract class LightGrid extends Canvas {
 
     public String getCellText(Object colElement, Object rowElement)
     {
-        String text = getContentProvider().getCellText(colElement, rowElement);
-        // Truncate too long texts (they are really bad for performance)
-        if (text.length() > MAX_TOOLTIP_LENGTH) {
-            text = text.substring(0, MAX_TOOLTIP_LENGTH) + " ...";
+        return getCellTextEntry(colElement, rowElement).text;
+    }
+
+    /**
+     * Returns cached cell text. Raw cell value is used to check that cached text is still valid.
+     */
+    GridCellTextCache.Entry getCellTextEntry(Object colElement, Object rowElement)
+    {
+        IGridContentProvider contentProvider = getContentProvider();
+        Object value = contentProvider.getCellValue(colElement, rowElement, false, true);
+        GridCellTextCache.Entry entry = cellTextCache.get(colElement, rowElement, value);
+        if (entry == null) {
+            String text = contentProvider.getCellText(colElement, rowElement);
+            // Truncate too long texts (they are really bad for performance)
+            if (text.length() > MAX_TOOLTIP_LENGTH) {
+                text = text.substring(0, MAX_TOOLTIP_LENGTH) + " ...";
+            }
+            entry = cellTextCache.put(colElement, rowElement, value, text);
         }
+        return entry;
+    }
 
-        return text;
+    int getCellTextWidth(GridCellTextCache.Entry entry)
+    {
+        if (entry.textWidth < 0) {
+            entry.textWidth = sizingGC.textExtent(entry.text).x;
+        }
+        return entry.textWidth;
     }
 
     @Nullable
     private String getCellToolTip(GridColumn col, int row)
     {
-        if (col == null || row < 0 || row >= rowElements.length) {
+        if (col == null || row < 0 || row >= rowElements.size()) {
             return null;
         }
-        String toolTip = getCellText(columnElements[col.getIndex()], rowElements[row]);
+        String toolTip = getCellText(columnElements[col.getIndex()], rowElements.get(row));
         if (toolTip == null) {
             return null;
         }
@@ -17,6 +17,8 @@
 
 package org.jkiss.dbeaver.ui.controls.resultset;
 
+import org.jkiss.code.Nullable;
+
 /**
  * Result set selection extension
  */
@@ -28,4 +30,10 @@ public interface IResultSetSelectionExt extends IResultSetSelection {
 
     int getSelectedCellCount();
 
+    /**
+     * Returns value of selected element. Unlike getElementRow doesn't materialize rows spilled to disk.
+     */
+    @Nullable
+    Object getElementValue(Object element);
+
 }
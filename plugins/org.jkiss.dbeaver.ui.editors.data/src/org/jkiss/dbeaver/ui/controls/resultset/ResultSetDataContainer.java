@@ -183,7 +183,9 @@ public class ResultSetDataContainer implements DBSDataContainer, DBPContextProvi
 
         private final DBCSession session;
         private final long flags;
-        private ResultSetRow curRow;
+        private int curRowIndex = -1;
+        // Current row values. Read directly from spill file (if any) to not wash out rows visible in viewer
+        private Object[] curValues;
 
         ModelResultSet(DBCSession session, long flags) {
             this.session = session;
@@ -202,7 +204,7 @@ public class ResultSetDataContainer implements DBSDataContainer, DBPContextProvi
 
         @Override
         public Object getAttributeValue(int index) throws DBCException {
-            return model.getCellValue(model.getVisibleAttribute(index), curRow);
+            return DBUtils.getAttributeValue(model.getVisibleAttribute(index), model.getAttributes(), getRowValues());
         }
 
         @Override
@@ -211,7 +213,14 @@ public class ResultSetDataContainer implements DBSDataContainer, DBPContextProvi
             if (attr == null) {
                 throw new DBCException("Attribute '" + name + "' not found");
             }
-            return model.getCellValue(attr, curRow);
+            return DBUtils.getAttributeValue(attr, model.getAttributes(), getRowValues());
+        }
+
+        private Object[] getRowValues() {
+            if (curValues == null) {
+                curValues = model.readRowData(curRowIndex);
+            }
+            return curValues;
         }
 
         @Override
@@ -226,17 +235,11 @@ public class ResultSetDataContainer implements DBSDataContainer, DBPContextProvi
 
         @Override
         public boolean nextRow() throws DBCException {
-            if (curRow == null) {
-                if (model.getRowCount() == 0) {
-                    return false;
-                }
-                curRow = model.getRow(0);
-            } else {
-                if (curRow.getVisualNumber() >= model.getRowCount() - 1) {
-                    return false;
-                }
-                curRow = model.getRow(curRow.getVisualNumber() + 1);
+            if (curRowIndex >= model.getRowCount() - 1) {
+                return false;
             }
+            curRowIndex++;
+            curValues = null;
             return true;
         }
 
@@ -245,7 +248,8 @@ public class ResultSetDataContainer implements DBSDataContainer, DBPContextProvi
             if (position >= model.getRowCount() - 1) {
                 return false;
             }
-            curRow = model.getRow(position);
+            curRowIndex = position;
+            curValues = null;
             return true;
         }
 
@@ -42,6 +42,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
     private static final Log log = Log.getLog(ResultSetDataReceiver.class);
 
+    // Rows block size pushed into the model during next segment read (so it can spill them to disk)
+    private static final int APPEND_BLOCK_SIZE = 10000;
+
     private ResultSetViewer resultSetViewer;
     private int columnsCount;
     private DBDAttributeBinding[] metaColumns;
@@ -50,6 +53,9 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     private boolean nextSegmentRead;
     private long offset;
     private long maxRows;
+    // Rows already pushed into the model during current fetch
+    private long appendedRows;
+    private boolean appendInBlocks;
 
     private boolean paused;
 
@@ -95,6 +101,8 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         this.rows.clear();
         this.offset = offset;
         this.maxRows = maxRows;
+        this.appendedRows = 0;
+        this.appendInBlocks = nextSegmentRead && resultSetViewer.getModel().isSpillEnabled();
 
         if (!nextSegmentRead) {
             // Get columns metadata
@@ -149,6 +157,13 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             }
         }
         rows.add(row);
+
+        if (appendInBlocks && rows.size() >= APPEND_BLOCK_SIZE) {
+            // Do not keep whole segment in receiver
+            resultSetViewer.getModel().appendData(rows, appendedRows == 0 && isResetOldRows());
+            appendedRows += rows.size();
+            rows = new ArrayList<>();
+        }
     }
 
     @Override
@@ -179,11 +194,10 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
             resultSetViewer.setData(tmpRows, focusRow);
         } else {
             monitor.subTask("Append data");
-            boolean resetOldRows = getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
-            resultSetViewer.appendData(tmpRows, resetOldRows);
+            resultSetViewer.appendData(tmpRows, appendedRows == 0 && isResetOldRows());
         }
         // Check for more data
-        hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
+        hasMoreData = maxRows > 0 && appendedRows + tmpRows.size() >= maxRows;
         monitor.done();
 
         UIUtils.asyncExec(() -> {
@@ -199,6 +213,10 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         });
     }
 
+    private boolean isResetOldRows() {
+        return getDataContainer().getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
+    }
+
     private DBSDataContainer getDataContainer() {
         return targetDataContainer != null ? targetDataContainer : resultSetViewer.getDataContainer();
     }
@@ -0,0 +1,514 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Client-side ordering and filtering of result set rows.
+ *
+ * Sort keys and filtered values are extracted once per row into typed arrays (numbers go to primitive arrays).
+ * Rows spilled to disk are read without materialization (see {@link ResultSetRowList#scanRows}).
+ * Ordering is the same as DBUtils.compareDataValues gives, rows with equal keys keep their original order.
+ * Large row sets are filtered in parallel and sorted with parallel merge sort.
+ *
+ * Filter conditions are evaluated the same way as the database does (SQL nulls never match a comparison).
+ * String and date comparisons depend on database collation and time zone, so only numeric and boolean
+ * comparisons, null checks and ILIKE can be evaluated locally (see {@link #isLocalCondition}).
+ */
+public class ResultSetLocalSorter {
+
+    static final int PARALLEL_THRESHOLD = 50000;
+    private static final int PARALLEL_CHUNK_SIZE = 8192;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final DBDAttributeBinding[] attributes;
+    private final List<DBDAttributeBinding> orderBindings;
+    private final List<Boolean> orderDescending;
+    private List<FilterPredicate> filters = Collections.emptyList();
+    private boolean matchAnyFilter;
+
+    private SortKey[] keys;
+    private int[] rowNumbers;
+
+    /**
+     * @param attributes      all result set attributes (row values layout)
+     * @param orderBindings   attributes to order by
+     * @param orderDescending descending flag for each order attribute
+     */
+    public ResultSetLocalSorter(@NotNull DBDAttributeBinding[] attributes, @NotNull List<DBDAttributeBinding> orderBindings, @NotNull List<Boolean> orderDescending) {
+        this.attributes = attributes;
+        this.orderBindings = orderBindings;
+        this.orderDescending = orderDescending;
+    }
+
+    /**
+     * Sets filter conditions. All conditions must be supported (see {@link #isLocalCondition}).
+     *
+     * @param filterBindings    attribute of each condition
+     * @param filterConstraints conditions
+     * @param matchAny          row matches if any condition matches (otherwise all conditions must match)
+     */
+    public void setFilter(@NotNull List<DBDAttributeBinding> filterBindings, @NotNull List<DBDAttributeConstraint> filterConstraints, boolean matchAny) {
+        List<FilterPredicate> predicates = new ArrayList<>(filterConstraints.size());
+        for (int i = 0; i < filterConstraints.size(); i++) {
+            predicates.add(new FilterPredicate(filterBindings.get(i), filterConstraints.get(i)));
+        }
+        this.filters = predicates;
+        this.matchAnyFilter = matchAny;
+    }
+
+    /**
+     * Checks whether constraint condition can be evaluated on the client side with the same result as on the server.
+     */
+    public static boolean isLocalCondition(@NotNull DBDAttributeBinding binding, @NotNull DBDAttributeConstraint constraint) {
+        DBCLogicalOperator operator = constraint.getOperator();
+        if (!CommonUtils.isEmpty(constraint.getCriteria()) || operator == null) {
+            return false;
+        }
+        Object value = constraint.getValue();
+        if (DBUtils.isNullValue(value)) {
+            // IS [NOT] NULL
+            return true;
+        }
+        switch (operator) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                return !constraint.isReverseOperator();
+            case EQUALS:
+            case NOT_EQUALS:
+            case GREATER:
+            case GREATER_EQUALS:
+            case LESS:
+            case LESS_EQUALS:
+                return isLocalArgument(binding, value);
+            case IN: {
+                Object[] arguments = getArguments(value);
+                for (Object argument : arguments) {
+                    if (DBUtils.isNullValue(argument) ? constraint.isReverseOperator() : !isLocalArgument(binding, argument)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case ILIKE:
+                // '*' and '?' are wildcards in SQLUtils.makeLikePattern, but not in SQL
+                return binding.getDataKind() == DBPDataKind.STRING && value instanceof String &&
+                    ((String) value).indexOf('*') == -1 && ((String) value).indexOf('?') == -1;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isLocalArgument(@NotNull DBDAttributeBinding binding, @NotNull Object value) {
+        switch (binding.getDataKind()) {
+            case NUMERIC:
+                return value instanceof Number;
+            case BOOLEAN:
+                return value instanceof Boolean;
+            default:
+                return false;
+        }
+    }
+
+    @NotNull
+    private static Object[] getArguments(@NotNull Object value) {
+        if (!value.getClass().isArray()) {
+            return new Object[] { value };
+        }
+        Object[] arguments = new Object[Array.getLength(value)];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = Array.get(value, i);
+        }
+        return arguments;
+    }
+
+    /**
+     * Returns indexes of rows which match filter, in sort order.
+     */
+    @NotNull
+    public int[] sort(@NotNull List<ResultSetRow> rows) {
+        final int rowCount = rows.size();
+        final boolean parallel = rowCount >= PARALLEL_THRESHOLD;
+
+        final int keyCount = orderBindings.size();
+        final int filterCount = filters.size();
+        final int[] numbers = new int[rowCount];
+        final Object[][] keyValues = new Object[keyCount][rowCount];
+        final Object[][] filterValues = new Object[filterCount][rowCount];
+        ResultSetRowList.RowVisitor visitor = (index, rowNumber, values) -> {
+            numbers[index] = rowNumber;
+            for (int k = 0; k < keyCount; k++) {
+                keyValues[k][index] = extractValue(orderBindings.get(k), values);
+            }
+            for (int f = 0; f < filterCount; f++) {
+                filterValues[f][index] = extractValue(filters.get(f).binding, values);
+            }
+        };
+        if (rows instanceof ResultSetRowList) {
+            ((ResultSetRowList) rows).scanRows(parallel, visitor);
+        } else {
+            IntStream range = IntStream.range(0, rowCount);
+            if (parallel) {
+                range = range.parallel();
+            }
+            range.forEach(i -> {
+                ResultSetRow row = rows.get(i);
+                visitor.visitRow(i, row.getRowNumber(), row.getValues());
+            });
+        }
+        rowNumbers = numbers;
+        keys = new SortKey[keyCount];
+        for (int k = 0; k < keyCount; k++) {
+            keys[k] = makeKey(keyValues[k], orderDescending.get(k));
+            keyValues[k] = null;
+        }
+
+        int[] indexes;
+        if (filterCount == 0) {
+            indexes = new int[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                indexes[i] = i;
+            }
+        } else {
+            IntStream range = IntStream.range(0, rowCount);
+            if (parallel) {
+                range = range.parallel();
+            }
+            indexes = range.filter(i -> matches(filterValues, i)).toArray();
+        }
+
+        int[] buffer = new int[indexes.length];
+        if (indexes.length >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new SortTask(indexes, buffer, 0, indexes.length));
+        } else {
+            mergeSort(indexes, buffer, 0, indexes.length);
+        }
+
+        keys = null;
+        rowNumbers = null;
+        return indexes;
+    }
+
+    @Nullable
+    private Object extractValue(@NotNull DBDAttributeBinding binding, @NotNull Object[] values) {
+        Object value = DBUtils.getAttributeValue(binding, attributes, values);
+        return DBUtils.isNullValue(value) ? null : value;
+    }
+
+    private boolean matches(Object[][] filterValues, int index) {
+        for (int f = 0; f < filterValues.length; f++) {
+            if (filters.get(f).matches(filterValues[f][index]) == matchAnyFilter) {
+                return matchAnyFilter;
+            }
+        }
+        return !matchAnyFilter;
+    }
+
+    private static SortKey makeKey(Object[] values, boolean descending) {
+        final int rowCount = values.length;
+        // Detect key type
+        boolean allNumbers = true;
+        Class<?> comparableClass = null;
+        boolean sameComparable = true;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            if (allNumbers && !(value instanceof Number)) {
+                allNumbers = false;
+            }
+            if (sameComparable) {
+                if (comparableClass == null) {
+                    comparableClass = value.getClass();
+                    sameComparable = value instanceof Comparable;
+                } else if (value.getClass() != comparableClass) {
+                    sameComparable = false;
+                }
+            }
+            if (!allNumbers && !sameComparable) {
+                break;
+            }
+        }
+
+        if (allNumbers) {
+            double[] numbers = new double[rowCount];
+            boolean[] nulls = new boolean[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                if (values[i] == null) {
+                    nulls[i] = true;
+                } else {
+                    numbers[i] = ((Number) values[i]).doubleValue();
+                }
+            }
+            return new NumericKey(descending, numbers, nulls);
+        } else if (sameComparable) {
+            return new ComparableKey(descending, values);
+        } else {
+            return new GenericKey(descending, values);
+        }
+    }
+
+    private int compare(int index1, int index2) {
+        for (SortKey key : keys) {
+            int result = key.compareValues(index1, index2);
+            if (result != 0) {
+                return key.descending ? -result : result;
+            }
+        }
+        return Integer.compare(rowNumbers[index1], rowNumbers[index2]);
+    }
+
+    private void mergeSort(int[] indexes, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(indexes, from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(indexes, buffer, from, mid);
+        mergeSort(indexes, buffer, mid, to);
+        merge(indexes, buffer, from, mid, to);
+    }
+
+    private void insertionSort(int[] indexes, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int index = indexes[i];
+            int j = i - 1;
+            while (j >= from && compare(indexes[j], index) > 0) {
+                indexes[j + 1] = indexes[j];
+                j--;
+            }
+            indexes[j + 1] = index;
+        }
+    }
+
+    private void merge(int[] indexes, int[] buffer, int from, int mid, int to) {
+        if (compare(indexes[mid - 1], indexes[mid]) <= 0) {
+            // Already in order
+            return;
+        }
+        System.arraycopy(indexes, from, buffer, from, mid - from);
+        int left = from, right = mid, pos = from;
+        while (left < mid && right < to) {
+            indexes[pos++] = compare(indexes[right], buffer[left]) < 0 ? indexes[right++] : buffer[left++];
+        }
+        while (left < mid) {
+            indexes[pos++] = buffer[left++];
+        }
+    }
+
+    private class SortTask extends RecursiveAction {
+        private final int[] indexes;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+
+        SortTask(int[] indexes, int[] buffer, int from, int to) {
+            this.indexes = indexes;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK_SIZE) {
+                mergeSort(indexes, buffer, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new SortTask(indexes, buffer, from, mid),
+                new SortTask(indexes, buffer, mid, to));
+            merge(indexes, buffer, from, mid, to);
+        }
+    }
+
+    /**
+     * Filter condition. Evaluated the same way as SQLUtils.getConstraintCondition renders it.
+     */
+    private static class FilterPredicate {
+        final DBDAttributeBinding binding;
+        private final DBCLogicalOperator operator;
+        private final boolean reverse;
+        // Null if condition is IS [NOT] NULL
+        @Nullable
+        private final Object[] arguments;
+        private final boolean hasNullArgument;
+        @Nullable
+        private final Pattern likePattern;
+
+        FilterPredicate(@NotNull DBDAttributeBinding binding, @NotNull DBDAttributeConstraint constraint) {
+            this.binding = binding;
+            this.operator = constraint.getOperator();
+            this.reverse = constraint.isReverseOperator();
+            Object value = constraint.getValue();
+            boolean hasNull = false;
+            if (DBUtils.isNullValue(value) || operator.getArgumentCount() == 0) {
+                this.arguments = null;
+            } else {
+                this.arguments = getArguments(value);
+                for (Object argument : arguments) {
+                    if (DBUtils.isNullValue(argument)) {
+                        hasNull = true;
+                        break;
+                    }
+                }
+            }
+            this.hasNullArgument = hasNull;
+            this.likePattern = operator == DBCLogicalOperator.ILIKE && arguments != null ?
+                Pattern.compile(SQLUtils.makeLikePattern(arguments[0].toString()), Pattern.CASE_INSENSITIVE | Pattern.MULTILINE) :
+                null;
+        }
+
+        boolean matches(@Nullable Object value) {
+            if (arguments == null) {
+                if (operator.getArgumentCount() == 0) {
+                    return operator == DBCLogicalOperator.IS_NULL ? value == null : value != null;
+                }
+                return reverse ? value != null : value == null;
+            }
+            if (value == null) {
+                // Comparison with null is unknown, only IS NULL part of IN matches
+                return operator == DBCLogicalOperator.IN && hasNullArgument;
+            }
+            boolean result;
+            switch (operator) {
+                case EQUALS:
+                    result = DBUtils.compareDataValues(value, arguments[0]) == 0;
+                    break;
+                case NOT_EQUALS:
+                    result = DBUtils.compareDataValues(value, arguments[0]) != 0;
+                    break;
+                case GREATER:
+                    result = DBUtils.compareDataValues(value, arguments[0]) > 0;
+                    break;
+                case GREATER_EQUALS:
+                    result = DBUtils.compareDataValues(value, arguments[0]) >= 0;
+                    break;
+                case LESS:
+                    result = DBUtils.compareDataValues(value, arguments[0]) < 0;
+                    break;
+                case LESS_EQUALS:
+                    result = DBUtils.compareDataValues(value, arguments[0]) <= 0;
+                    break;
+                case IN:
+                    result = false;
+                    for (Object argument : arguments) {
+                        if (!DBUtils.isNullValue(argument) && DBUtils.compareDataValues(value, argument) == 0) {
+                            result = true;
+                            break;
+                        }
+                    }
+                    break;
+                case ILIKE:
+                    result = likePattern.matcher(value.toString()).matches();
+                    break;
+                default:
+                    result = operator.evaluate(value, arguments);
+                    break;
+            }
+            return reverse != result;
+        }
+    }
+
+    /**
+     * Nulls are greater than any other value (see DBUtils.compareDataValues)
+     */
+    private static abstract class SortKey {
+        final boolean descending;
+
+        SortKey(boolean descending) {
+            this.descending = descending;
+        }
+
+        abstract int compareValues(int index1, int index2);
+    }
+
+    private static class NumericKey extends SortKey {
+        private final double[] values;
+        private final boolean[] nulls;
+
+        NumericKey(boolean descending, double[] values, boolean[] nulls) {
+            super(descending);
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        int compareValues(int index1, int index2) {
+            boolean null1 = nulls[index1], null2 = nulls[index2];
+            if (null1 || null2) {
+                return null1 == null2 ? 0 : (null1 ? 1 : -1);
+            }
+            // The same as CommonUtils.compareNumbers
+            double value1 = values[index1], value2 = values[index2];
+            return value1 < value2 ? -1 : (value1 > value2 ? 1 : 0);
+        }
+    }
+
+    private static class ComparableKey extends SortKey {
+        private final Object[] values;
+
+        ComparableKey(boolean descending, Object[] values) {
+            super(descending);
+            this.values = values;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        int compareValues(int index1, int index2) {
+            Object value1 = values[index1], value2 = values[index2];
+            if (value1 == null || value2 == null) {
+                return value1 == value2 ? 0 : (value1 == null ? 1 : -1);
+            }
+            return ((Comparable<Object>) value1).compareTo(value2);
+        }
+    }
+
+    private static class GenericKey extends SortKey {
+        private final Object[] values;
+
+        GenericKey(boolean descending, Object[] values) {
+            super(descending);
+            this.values = values;
+        }
+
+        @Override
+        int compareValues(int index1, int index2) {
+            return DBUtils.compareDataValues(values[index1], values[index2]);
+        }
+    }
+
+}
@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.trace.DBCTrace;
@@ -33,6 +34,7 @@ import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.virtual.DBVColorOverride;
 import org.jkiss.dbeaver.model.virtual.DBVEntity;
 import org.jkiss.dbeaver.model.virtual.DBVUtils;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
@@ -57,7 +59,10 @@ public class ResultSetModel {
     private DBCExecutionSource executionSource;
 
     // Data
-    private List<ResultSetRow> curRows = new ArrayList<>();
+    private ResultSetRowList curRows = new ResultSetRowList();
+    // Rows hidden by client-side filter
+    private List<ResultSetRow> filteredRows = new ArrayList<>();
+    private List<DBDAttributeConstraint> localFilter = null;
     private Long totalRowCount = null;
     private int changesCount = 0;
     private volatile boolean hasData = false;
@@ -179,7 +184,8 @@ public class ResultSetModel {
 
     public void refreshChangeCount() {
         changesCount = 0;
-        for (ResultSetRow row : curRows) {
+        // Changed rows are never spilled
+        for (ResultSetRow row : curRows.getResidentRows()) {
             if (row.getState() != ResultSetRow.STATE_NORMAL) {
                 changesCount++;
             } else if (row.changes != null) {
@@ -337,7 +343,7 @@ public class ResultSetModel {
 
     @NotNull
     public Object[] getRowData(int index) {
-        return curRows.get(index).values;
+        return curRows.get(index).getValues();
     }
 
     @NotNull
@@ -345,6 +351,30 @@ public class ResultSetModel {
         return curRows.get(index);
     }
 
+    /**
+     * Returns rows which are currently in memory. All edited rows are here.
+     */
+    @NotNull
+    List<ResultSetRow> getResidentRows() {
+        return curRows.getResidentRows();
+    }
+
+    /**
+     * Returns true if some rows were spilled to disk (see {@link ResultSetRowList})
+     */
+    public boolean hasSpilledRows() {
+        return curRows.hasSpilledBlocks();
+    }
+
+    /**
+     * Reads row values without materializing rows spilled to disk.
+     * Returned array must not be modified.
+     */
+    @NotNull
+    Object[] readRowData(int index) {
+        return curRows.readValues(index);
+    }
+
     public Long getTotalRowCount() {
         return totalRowCount;
     }
@@ -355,7 +385,16 @@ public class ResultSetModel {
 
     @Nullable
     public Object getCellValue(@NotNull DBDAttributeBinding attribute, @NotNull ResultSetRow row) {
-        return DBUtils.getAttributeValue(attribute, attributes, row.values);
+        return DBUtils.getAttributeValue(attribute, attributes, row.getValues());
+    }
+
+    /**
+     * Reads cell value without materializing row if it was spilled to disk.
+     * Used for large selections (copy, aggregation).
+     */
+    @Nullable
+    public Object readCellValue(@NotNull DBDAttributeBinding attribute, int rowIndex) {
+        return DBUtils.getAttributeValue(attribute, attributes, curRows.readValues(rowIndex));
     }
 
     /**
@@ -378,7 +417,8 @@ public class ResultSetModel {
         } else {
             rootIndex = attr.getTopParent().getOrdinalPosition();
         }
-        Object rootValue = row.values[rootIndex];
+        curRows.pinRow(row);
+        Object rootValue = row.getValues()[rootIndex];
         Object ownerValue = depth > 0 ? rootValue : null;
         {
             // Obtain owner value and create all intermediate values
@@ -484,7 +524,7 @@ public class ResultSetModel {
                     e.printStackTrace();
                 }
             } else {
-                row.values[rootIndex] = value;
+                row.setValue(rootIndex, value);
             }
             return true;
         }
@@ -695,7 +735,9 @@ public class ResultSetModel {
             }
         }
         if (reset) {
-            updateRowColors(true, curRows);
+            // Spilled rows are colored on load
+            updateRowColors(true, curRows.getResidentRows());
+            updateRowColors(true, filteredRows);
         }
     }
 
@@ -783,23 +825,65 @@ public class ResultSetModel {
 
     void appendData(@NotNull List<Object[]> rows, boolean resetOldRows) {
         if (resetOldRows) {
-            curRows.clear();
+            resetRows();
         }
         int rowCount = rows.size();
-        int firstRowNum = curRows.size();
+        int firstRowNum = curRows.size() + filteredRows.size();
+        int firstVisualNum = curRows.size();
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
         for (int i = 0; i < rowCount; i++) {
-            newRows.add(
-                new ResultSetRow(firstRowNum + i, rows.get(i)));
+            ResultSetRow row = new ResultSetRow(firstRowNum + i, rows.get(i));
+            row.setVisualNumber(firstVisualNum + i);
+            newRows.add(row);
         }
+        updateRowColors(resetOldRows, newRows);
+
         curRows.addAll(newRows);
+    }
 
-        updateRowColors(resetOldRows, newRows);
+    boolean isSpillEnabled() {
+        return getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_MEMORY_SPILL_ENABLED);
+    }
+
+    @Nullable
+    private ResultSetSpillStore createSpillStore() {
+        if (!isSpillEnabled()) {
+            return null;
+        }
+        // Budget is shared by all result sets
+        ResultSetSpillStore.setMemoryBudget(
+            DBWorkbench.getPlatform().getPreferenceStore().getLong(ResultSetPreferences.RESULT_SET_MEMORY_BUDGET) * 1024 * 1024);
+        return new ResultSetSpillStore();
+    }
+
+    private void setRows(@NotNull ResultSetRowList rows) {
+        ResultSetSpillStore oldStore = curRows.getSpillStore();
+        rows.setLoadListener(loadedRows -> updateRowColors(true, loadedRows));
+        curRows = rows;
+        if (oldStore != null && oldStore != rows.getSpillStore()) {
+            // Rows which are still referenced by UI may read its records after close
+            oldStore.close();
+        }
+    }
+
+    private void resetRows() {
+        setRows(new ResultSetRowList(createSpillStore()));
+        this.filteredRows = new ArrayList<>();
+        this.localFilter = null;
+    }
+
+    @NotNull
+    private DBPPreferenceStore getPreferenceStore() {
+        DBSDataContainer dataContainer = getDataContainer();
+        if (dataContainer != null && dataContainer.getDataSource() != null) {
+            return dataContainer.getDataSource().getContainer().getPreferenceStore();
+        }
+        return DBWorkbench.getPlatform().getPreferenceStore();
     }
 
     void clearData() {
         // Refresh all rows
-        this.curRows = new ArrayList<>();
+        resetRows();
         this.totalRowCount = null;
         this.singleSourceEntity = null;
 
@@ -828,10 +912,10 @@ public class ResultSetModel {
 
     @NotNull
     ResultSetRow addNewRow(int rowNum, @NotNull Object[] data) {
-        ResultSetRow newRow = new ResultSetRow(curRows.size(), data);
+        ResultSetRow newRow = new ResultSetRow(curRows.size() + filteredRows.size(), data);
         newRow.setVisualNumber(rowNum);
         newRow.setState(ResultSetRow.STATE_ADDED);
-        shiftRows(newRow, 1);
+        curRows.shiftRowNumbers(newRow.getRowNumber(), 1);
         curRows.add(rowNum, newRow);
         changesCount++;
         return newRow;
@@ -850,6 +934,7 @@ public class ResultSetModel {
             return true;
         } else {
             // Mark row as deleted
+            curRows.pinRow(row);
             row.setState(ResultSetRow.STATE_REMOVED);
             changesCount++;
             return false;
@@ -859,7 +944,12 @@ public class ResultSetModel {
     void cleanupRow(@NotNull ResultSetRow row) {
         row.release();
         this.curRows.remove(row.getVisualNumber());
-        this.shiftRows(row, -1);
+        this.curRows.shiftRowNumbers(row.getRowNumber(), -1);
+        for (ResultSetRow filteredRow : filteredRows) {
+            if (filteredRow.getRowNumber() >= row.getRowNumber()) {
+                filteredRow.setRowNumber(filteredRow.getRowNumber() - 1);
+            }
+        }
     }
 
     boolean cleanupRows(Collection<ResultSetRow> rows) {
@@ -876,19 +966,10 @@ public class ResultSetModel {
         }
     }
 
-    private void shiftRows(@NotNull ResultSetRow relative, int delta) {
-        for (ResultSetRow row : curRows) {
-            if (row.getVisualNumber() >= relative.getVisualNumber()) {
-                row.setVisualNumber(row.getVisualNumber() + delta);
-            }
-            if (row.getRowNumber() >= relative.getRowNumber()) {
-                row.setRowNumber(row.getRowNumber() + delta);
-            }
-        }
-    }
-
     void releaseAllData() {
-        final List<ResultSetRow> oldRows = curRows;
+        // Spilled rows contain only simple values, they don't need release
+        final List<ResultSetRow> oldRows = new ArrayList<>(curRows.getResidentRows());
+        oldRows.addAll(filteredRows);
         // Cleanup in separate job.
         // Sometimes model cleanup takes much time (e.g. freeing LOB values)
         // So let's do it in separate job to avoid UI locking
@@ -1018,38 +1099,85 @@ public class ResultSetModel {
         this.dataFilter.setAnyConstraint(filter.isAnyConstraint());
     }
 
+    /**
+     * Sorts and filters rows on the client side, according to data filter ordering and local filter.
+     * Resident rows objects are not recreated, only their visual order changes.
+     * Spilled rows are copied into a new spill store.
+     * Local filter is applied to resident rows only, rows hidden by it are kept aside and restored on the next reset.
+     */
     public void resetOrdering() {
-        final boolean hasOrdering = dataFilter.hasOrdering();
-
-        // First sort in original order to reset multi-column orderings
-        curRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
-
-        if (hasOrdering) {
-            // Sort locally
-            final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-            curRows.sort((row1, row2) -> {
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(binding, row1);
-                    Object cell2 = getCellValue(binding, row2);
-                    result = DBUtils.compareDataValues(cell1, cell2);
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
+        List<DBDAttributeBinding> orderBindings = new ArrayList<>();
+        List<Boolean> orderDescending = new ArrayList<>();
+        if (dataFilter.hasOrdering()) {
+            for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+                DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    orderBindings.add(binding);
+                    orderDescending.add(co.isOrderDescending());
+                }
+            }
+        }
+        ResultSetLocalSorter sorter = new ResultSetLocalSorter(attributes, orderBindings, orderDescending);
+
+        List<DBDAttributeBinding> filterBindings = new ArrayList<>();
+        List<DBDAttributeConstraint> filterConstraints = new ArrayList<>();
+        if (localFilter != null) {
+            for (DBDAttributeConstraint co : localFilter) {
+                DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+                if (binding != null && ResultSetLocalSorter.isLocalCondition(binding, co)) {
+                    filterBindings.add(binding);
+                    filterConstraints.add(co);
+                } else {
+                    log.debug("Condition on '" + co.getAttributeName() + "' can't be evaluated locally. Skip it.");
                 }
-                return result;
-            });
+            }
         }
-        for (int i = 0; i < curRows.size(); i++) {
-            curRows.get(i).setVisualNumber(i);
+        if (filterConstraints.isEmpty() && filteredRows.isEmpty()) {
+            int[] order = sorter.sort(curRows);
+            setRows(curRows.reorder(order, curRows.getSpillStore() == null ? null : createSpillStore()));
+            return;
         }
+        sorter.setFilter(filterBindings, filterConstraints, dataFilter.isAnyConstraint());
+
+        List<ResultSetRow> allRows = new ArrayList<>(curRows.size() + filteredRows.size());
+        allRows.addAll(curRows);
+        allRows.addAll(filteredRows);
+        int[] order = sorter.sort(allRows);
+
+        ResultSetRowList newRows = new ResultSetRowList();
+        boolean[] visible = new boolean[allRows.size()];
+        for (int index : order) {
+            visible[index] = true;
+            newRows.add(allRows.get(index));
+        }
+        List<ResultSetRow> newFilteredRows = new ArrayList<>(allRows.size() - order.length);
+        for (int i = 0; i < visible.length; i++) {
+            if (!visible[i]) {
+                newFilteredRows.add(allRows.get(i));
+            }
+        }
+        setRows(newRows);
+        this.filteredRows = newFilteredRows;
+    }
+
+    /**
+     * Constraints evaluated on the client side by {@link #resetOrdering()}.
+     * Only operator-based conditions are supported (see {@link ResultSetLocalSorter#isLocalCondition}).
+     */
+    @Nullable
+    public List<DBDAttributeConstraint> getLocalFilter() {
+        return localFilter;
+    }
+
+    public void setLocalFilter(@Nullable List<DBDAttributeConstraint> localFilter) {
+        this.localFilter = CommonUtils.isEmpty(localFilter) ? null : new ArrayList<>(localFilter);
+    }
+
+    /**
+     * Number of rows hidden by local filter
+     */
+    public int getFilteredRowCount() {
+        return filteredRows.size();
     }
 
     private void fillVisibleAttributes() {
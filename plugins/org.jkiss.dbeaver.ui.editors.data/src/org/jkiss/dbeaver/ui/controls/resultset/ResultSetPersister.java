@@ -43,6 +43,8 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
 import java.util.*;
 
 /**
@@ -238,7 +240,8 @@ class ResultSetPersister {
         deletedRows.clear();
         addedRows.clear();
         changedRows.clear();
-        for (ResultSetRow row : model.getAllRows()) {
+        // Changed rows are never spilled
+        for (ResultSetRow row : model.getResidentRows()) {
             switch (row.getState()) {
                 case ResultSetRow.STATE_NORMAL:
                     if (row.isChanged()) {
@@ -513,8 +516,8 @@ class ResultSetPersister {
         if (!stat.updatedCells.isEmpty()) {
             for (Map.Entry<Integer, Object> entry : stat.updatedCells.entrySet()) {
                 ResultSetRow row = stat.row;
-                DBUtils.releaseValue(row.values[entry.getKey()]);
-                row.values[entry.getKey()] = entry.getValue();
+                DBUtils.releaseValue(row.getValues()[entry.getKey()]);
+                row.setValue(entry.getKey(), entry.getValue());
             }
         }
     }
@@ -700,6 +703,7 @@ class ResultSetPersister {
         private Throwable executeStatements(DBCSession session) {
             Map<String, Object> options = new LinkedHashMap<>();
             options.put(DBPScriptObject.OPTION_FULLY_QUALIFIED_NAMES, settings.isUseFullyQualifiedNames());
+            options.put(DBSDataManipulatorExt2.OPTION_BULK_CHUNK_SIZE, settings.getBulkChunkSize());
 
             DBRProgressMonitor monitor = session.getProgressMonitor();
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(getExecutionContext());
@@ -724,114 +728,202 @@ class ResultSetPersister {
                 }
             }
             try {
-                for (DataStatementInfo statement : ResultSetPersister.this.deleteStatements) {
-                    if (monitor.isCanceled()) break;
+                Throwable error = executeStatementGroups(session, groupStatements(ResultSetPersister.this.deleteStatements), deleteStats, options);
+                if (error == null) {
+                    error = executeStatementGroups(session, groupStatements(ResultSetPersister.this.insertStatements), insertStats, options);
+                }
+                if (error == null) {
+                    error = executeStatementGroups(session, groupStatements(ResultSetPersister.this.updateStatements), updateStats, options);
+                }
+                return error;
+            } finally {
+                if (!generateScript && txnManager != null && this.savepoint != null) {
                     try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.deleteData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            new ExecutionSource(dataContainer))) {
-                            batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                deleteStats.accumulate(bs);
-                            }
-                        }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
+                        txnManager.releaseSavepoint(monitor, this.savepoint);
+                    } catch (Throwable e) {
+                        // Maybe savepoints not supported
+                        log.debug("Can't release savepoint", e);
                     }
-                    monitor.worked(1);
                 }
-                for (DataStatementInfo statement : ResultSetPersister.this.insertStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.insertData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            statement.needKeys() ? new KeyDataReceiver(statement) : null,
-                            new ExecutionSource(dataContainer))) {
-                            batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                insertStats.accumulate(bs);
-                            }
+            }
+        }
+
+        /**
+         * Groups statements which may be executed by a single batch.
+         * Statements are grouped by target entity and attribute sets, groups keep the order of their first statement
+         * (so cascade deletes still precede deletes of referenced rows).
+         */
+        private Collection<List<DataStatementInfo>> groupStatements(List<DataStatementInfo> statements) {
+            Map<List<Object>, List<DataStatementInfo>> groups = new LinkedHashMap<>();
+            for (DataStatementInfo statement : statements) {
+                List<Object> groupKey = new ArrayList<>();
+                groupKey.add(statement.type);
+                groupKey.add(statement.entity);
+                groupKey.add(Arrays.asList(DBDAttributeValue.getAttributes(statement.keyAttributes)));
+                groupKey.add(Arrays.asList(DBDAttributeValue.getAttributes(statement.updateAttributes)));
+                if (!settings.isUseBulkStatements() || (statement.type == DBSManipulationType.INSERT && statement.needKeys())) {
+                    // Statement per row (generated keys can be read only for single row)
+                    groupKey.add(statement);
+                }
+                groups.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(statement);
+            }
+            return groups.values();
+        }
+
+        private Throwable executeStatementGroups(DBCSession session, Collection<List<DataStatementInfo>> groups, DBCStatistics statistics, Map<String, Object> options) {
+            DBRProgressMonitor monitor = session.getProgressMonitor();
+            for (List<DataStatementInfo> group : groups) {
+                if (monitor.isCanceled()) break;
+                try {
+                    executeStatementGroup(session, group, statistics, options);
+                } catch (DBException e) {
+                    if (generateScript || !autocommit || group.size() == 1 || group.get(0).type == DBSManipulationType.INSERT) {
+                        // Transaction is rolled back (or partially applied batch can't be safely re-executed)
+                        for (DataStatementInfo statement : group) {
+                            statement.executed = false;
                         }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
+                        DataStatementInfo failedStatement = getFailedStatement(group, e);
+                        if (failedStatement != null) {
+                            return processRowError(failedStatement, session, e);
+                        }
+                        processStatementError(group.get(0), session);
                         return e;
                     }
-                    monitor.worked(1);
-                }
-                for (DataStatementInfo statement : ResultSetPersister.this.updateStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.updateData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.updateAttributes),
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            null,
-                            new ExecutionSource(dataContainer))) {
-                            // Make single array of values
-                            Object[] attributes = new Object[statement.updateAttributes.size() + statement.keyAttributes.size()];
-                            for (int i = 0; i < statement.updateAttributes.size(); i++) {
-                                attributes[i] = statement.updateAttributes.get(i).getValue();
-                            }
-                            for (int i = 0; i < statement.keyAttributes.size(); i++) {
-                                attributes[statement.updateAttributes.size() + i] = statement.keyAttributes.get(i).getValue();
-                            }
-                            // Execute
-                            batch.add(attributes);
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script, options);
-                            } else {
-                                DBCStatistics bs = batch.execute(session, options);
-                                // Notify rsv container about statement execute
-                                this.notifyContainer(bs);
-
-                                updateStats.accumulate(bs);
-                            }
+                    // Auto-commit mode: re-execute rows one by one to find out which of them actually failed
+                    log.debug("Batch of " + group.size() + " statements failed, retry row by row", e);
+                    for (DataStatementInfo statement : group) {
+                        if (monitor.isCanceled()) break;
+                        try {
+                            executeStatementGroup(session, Collections.singletonList(statement), statistics, options);
+                        } catch (DBException rowError) {
+                            return processRowError(statement, session, rowError);
                         }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
                     }
-                    monitor.worked(1);
                 }
+            }
+            return null;
+        }
 
-                return null;
-            } finally {
-                if (!generateScript && txnManager != null && this.savepoint != null) {
-                    try {
-                        txnManager.releaseSavepoint(monitor, this.savepoint);
-                    } catch (Throwable e) {
-                        // Maybe savepoints not supported
-                        log.debug("Can't release savepoint", e);
+        private void executeStatementGroup(DBCSession session, List<DataStatementInfo> group, DBCStatistics statistics, Map<String, Object> options) throws DBException {
+            DataStatementInfo firstStatement = group.get(0);
+            DBSDataManipulator dataContainer = getDataManipulator(firstStatement.entity);
+            try (DBSDataManipulator.ExecuteBatch batch = openStatementBatch(session, dataContainer, group)) {
+                for (DataStatementInfo statement : group) {
+                    batch.add(getStatementValues(statement));
+                }
+                if (generateScript) {
+                    batch.generatePersistActions(session, script, options);
+                } else {
+                    DBCStatistics bs = batch.execute(session, options);
+                    // Notify rsv container about statement execute
+                    this.notifyContainer(bs);
+
+                    statistics.accumulate(bs);
+                }
+            }
+            for (DataStatementInfo statement : group) {
+                processStatementChanges(statement);
+            }
+            session.getProgressMonitor().worked(group.size());
+        }
+
+        @NotNull
+        private DBSDataManipulator.ExecuteBatch openStatementBatch(DBCSession session, DBSDataManipulator dataContainer, List<DataStatementInfo> group) throws DBException {
+            DataStatementInfo firstStatement = group.get(0);
+            DBSAttributeBase[] keyAttributes = DBDAttributeValue.getAttributes(firstStatement.keyAttributes);
+            if (firstStatement.type == DBSManipulationType.DELETE) {
+                if (group.size() > 1 && keyAttributes.length == 1 && dataContainer instanceof DBSDataManipulatorExt2 && !hasNullKeys(group)) {
+                    return ((DBSDataManipulatorExt2) dataContainer).deleteDataBulk(
+                        session,
+                        keyAttributes[0],
+                        new ExecutionSource(dataContainer));
+                }
+                return dataContainer.deleteData(
+                    session,
+                    keyAttributes,
+                    new ExecutionSource(dataContainer));
+            } else if (firstStatement.type == DBSManipulationType.INSERT) {
+                return dataContainer.insertData(
+                    session,
+                    keyAttributes,
+                    group.size() == 1 && firstStatement.needKeys() ? new KeyDataReceiver(firstStatement) : null,
+                    new ExecutionSource(dataContainer));
+            } else {
+                return dataContainer.updateData(
+                    session,
+                    DBDAttributeValue.getAttributes(firstStatement.updateAttributes),
+                    keyAttributes,
+                    null,
+                    new ExecutionSource(dataContainer));
+            }
+        }
+
+        private boolean hasNullKeys(List<DataStatementInfo> group) {
+            for (DataStatementInfo statement : group) {
+                for (DBDAttributeValue keyValue : statement.keyAttributes) {
+                    if (DBUtils.isNullValue(keyValue.getValue())) {
+                        return true;
                     }
                 }
             }
+            return false;
+        }
+
+        private Object[] getStatementValues(DataStatementInfo statement) {
+            if (statement.type != DBSManipulationType.UPDATE) {
+                return DBDAttributeValue.getValues(statement.keyAttributes);
+            }
+            // Make single array of values
+            Object[] attributes = new Object[statement.updateAttributes.size() + statement.keyAttributes.size()];
+            for (int i = 0; i < statement.updateAttributes.size(); i++) {
+                attributes[i] = statement.updateAttributes.get(i).getValue();
+            }
+            for (int i = 0; i < statement.keyAttributes.size(); i++) {
+                attributes[statement.updateAttributes.size() + i] = statement.keyAttributes.get(i).getValue();
+            }
+            return attributes;
         }
 
         private void processStatementChanges(DataStatementInfo statement) {
             statement.executed = true;
         }
 
+        /**
+         * Finds failed statement of the group by batch update counts.
+         * Update counts contain results of the statements executed before the failed one, or
+         * (if driver continues batch processing after an error) EXECUTE_FAILED for the failed statement.
+         */
+        @Nullable
+        private DataStatementInfo getFailedStatement(List<DataStatementInfo> group, DBException error) {
+            if (group.size() == 1) {
+                return group.get(0);
+            }
+            for (Throwable cause = error; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+                if (cause instanceof BatchUpdateException) {
+                    int[] updateCounts = ((BatchUpdateException) cause).getUpdateCounts();
+                    if (updateCounts == null) {
+                        return null;
+                    }
+                    int failedIndex = updateCounts.length;
+                    for (int i = 0; i < updateCounts.length; i++) {
+                        if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                            failedIndex = i;
+                            break;
+                        }
+                    }
+                    return failedIndex < group.size() ? group.get(failedIndex) : null;
+                }
+            }
+            return null;
+        }
+
+        private Throwable processRowError(DataStatementInfo statement, DBCSession session, DBException error) {
+            processStatementError(statement, session);
+            return new DBException(
+                "Error saving row " + (statement.row.getVisualNumber() + 1) + " (" + statement.type.getName().toLowerCase(Locale.ENGLISH) + "): " + GeneralUtils.getFirstMessage(error),
+                error);
+        }
+
         private void processStatementError(DataStatementInfo statement, DBCSession session) {
             statement.executed = false;
             if (!generateScript) {
@@ -1068,7 +1160,7 @@ class ResultSetPersister {
                     if (!viewer.getControl().isDisposed() && viewer.getModel().getAttributes() == curAttributes) {
                         for (int i = 0; i < rows.size(); i++) {
                             if (refreshValues[i] != null) {
-                                rows.get(i).values = refreshValues[i];
+                                rows.get(i).setValues(refreshValues[i]);
                             }
                         }
                         viewer.redrawData(false, true);
@@ -61,6 +61,8 @@ public final class ResultSetPreferences {
     public static final String RESULT_SET_AUTO_SWITCH_MODE = "resultset.behavior.autoSwitchMode"; //$NON-NLS-1$
     public static final String RESULT_SET_DOUBLE_CLICK = "resultset.behavior.doubleClick"; //$NON-NLS-1$
     public static final String RESULT_SET_ROW_BATCH_SIZE = "resultset.show.row.batch.size"; //$NON-NLS-1$
+    public static final String RESULT_SET_MEMORY_SPILL_ENABLED = "resultset.memory.spill.enabled"; //$NON-NLS-1$
+    public static final String RESULT_SET_MEMORY_BUDGET = "resultset.memory.budget"; //$NON-NLS-1$
     
     public static final String RESULT_SET_FILTER_AUTO_COMPLETE_PROPOSIAL = "resultset.behavior.autoCompleteProposial"; //$NON-NLS-1$
 
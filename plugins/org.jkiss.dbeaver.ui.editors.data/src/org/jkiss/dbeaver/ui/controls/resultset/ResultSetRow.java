@@ -54,7 +54,12 @@ public class ResultSetRow {
     private int visualNumber;
     // Column values
     @NotNull
-    public Object[] values;
+    private Object[] values;
+    // Rows block which owns this row (see ResultSetRowList)
+    @Nullable
+    ResultSetRowList.Chunk chunk;
+    // Row values or number were changed after the row was serialized to spill file
+    private boolean modified;
     @Nullable
     public Map<DBDAttributeBinding, Object> changes;
     // Row state
@@ -64,7 +69,7 @@ public class ResultSetRow {
     @Nullable
     public ColorInfo colorInfo;
 
-    ResultSetRow(int rowNumber, @NotNull Object[] values) {
+    public ResultSetRow(int rowNumber, @NotNull Object[] values) {
         this.rowNumber = rowNumber;
         this.visualNumber = rowNumber;
         this.values = values;
@@ -76,6 +81,24 @@ public class ResultSetRow {
         return values;
     }
 
+    void setValue(int index, @Nullable Object value) {
+        values[index] = value;
+        modified = true;
+    }
+
+    void setValues(@NotNull Object[] values) {
+        this.values = values;
+        modified = true;
+    }
+
+    boolean isModified() {
+        return modified;
+    }
+
+    void resetModified() {
+        modified = false;
+    }
+
     public boolean isChanged() {
         return changes != null && !changes.isEmpty();
     }
@@ -86,6 +109,7 @@ public class ResultSetRow {
 
     public void setRowNumber(int rowNumber) {
         this.rowNumber = rowNumber;
+        this.modified = true;
     }
 
     public int getVisualNumber() {
@@ -0,0 +1,798 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.*;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Result set rows.
+ *
+ * Rows are kept in blocks of {@link #BLOCK_SIZE} rows. When resident rows of all result sets exceed
+ * the global memory budget (see {@link ResultSetSpillStore}) least recently used blocks of this list are serialized
+ * into the spill store as a single record. Spilled block keeps only record offset and row numbers range on heap,
+ * its rows are materialized again on access.
+ * Blocks with edited rows or with values which can't be serialized (LOBs, documents, collections) are never spilled.
+ *
+ * Full scans (sorting, export, copy) read spilled blocks with {@link #readValues(int)} and {@link #scanRows(boolean, RowVisitor)}
+ * which do not materialize rows.
+ */
+public class ResultSetRowList extends AbstractList<ResultSetRow> implements RandomAccess {
+
+    private static final Log log = Log.getLog(ResultSetRowList.class);
+
+    public static final int BLOCK_SIZE = 1024;
+
+    // Approximate heap size of ResultSetRow object
+    private static final int ROW_OVERHEAD = 48;
+
+    /**
+     * Row values visitor. Values array must not be modified.
+     */
+    public interface RowVisitor {
+        void visitRow(int index, int rowNumber, @NotNull Object[] values);
+    }
+
+    /**
+     * Block rows. Rows refer to their chunk, so rows still referenced from UI keep it alive
+     * and are reused when spilled block is materialized again.
+     */
+    static final class Chunk {
+        ResultSetRow[] rows;
+
+        Chunk(ResultSetRow[] rows) {
+            this.rows = rows;
+        }
+    }
+
+    private static final class Block {
+        int count;
+        // Resident rows. Null if block is spilled
+        @Nullable
+        Chunk chunk;
+        @Nullable
+        WeakReference<Chunk> spilledChunk;
+        // Block record offset in spill store. -1 if block wasn't serialized yet
+        long spillOffset = -1;
+        // Added to spilled row numbers on load
+        int rowNumberDelta;
+        // Spilled row numbers range
+        int minRowNumber;
+        int maxRowNumber;
+        // Accounted memory. Only tracked blocks may be spilled
+        long residentSize;
+        boolean tracked;
+        // Block contains edited rows
+        boolean pinned;
+        // Clock reference bit
+        boolean referenced;
+    }
+
+    /**
+     * Serialized block: row count, row numbers, row data offsets and row values.
+     */
+    private static final class BlockRecord {
+        private final byte[] data;
+        private final ByteBuffer buffer;
+        private final int count;
+
+        BlockRecord(byte[] data) {
+            this.data = data;
+            this.buffer = ByteBuffer.wrap(data);
+            this.count = buffer.getInt(0);
+        }
+
+        int getRowNumber(int index) {
+            return buffer.getInt(4 + 4 * index);
+        }
+
+        @NotNull
+        Object[] readRow(int index) {
+            int offset = 4 + 8 * count + buffer.getInt(4 + 4 * count + 4 * index);
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, data.length - offset));
+                Object[] values = new Object[in.readInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = ResultSetSpillStore.readValue(in);
+                }
+                return values;
+            } catch (IOException e) {
+                // Can't happen - we read from memory
+                throw new IllegalStateException("Corrupted result set spill record", e);
+            }
+        }
+    }
+
+    @Nullable
+    private final ResultSetSpillStore store;
+    private final List<Block> blocks = new ArrayList<>();
+    // First row index of each block
+    private int[] blockStarts = new int[16];
+    private boolean blockStartsValid = true;
+    private int lastBlockIndex;
+    private int size;
+    private int clockHand;
+    // The most recently loaded block is never spilled, otherwise sequential access may thrash
+    @Nullable
+    private Block lastLoaded;
+    // Budget was released (list is being reordered). Blocks are not tracked anymore
+    private boolean detached;
+    private long estimatedBytes;
+    private long estimatedRows;
+    @Nullable
+    private Consumer<List<ResultSetRow>> loadListener;
+
+    // The last spilled block which was read without materialization
+    @Nullable
+    private Block readBlock;
+    @Nullable
+    private BlockRecord readRecord;
+    private int readRowIndex = -1;
+    @Nullable
+    private Object[] readRowValues;
+
+    public ResultSetRowList() {
+        this(null);
+    }
+
+    /**
+     * @param store spill store. Rows are never spilled if store is null
+     */
+    public ResultSetRowList(@Nullable ResultSetSpillStore store) {
+        this.store = store;
+    }
+
+    @Nullable
+    public ResultSetSpillStore getSpillStore() {
+        return store;
+    }
+
+    /**
+     * Sets listener which is called for rows materialized from spill store.
+     */
+    public synchronized void setLoadListener(@Nullable Consumer<List<ResultSetRow>> loadListener) {
+        this.loadListener = loadListener;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized ResultSetRow get(int index) {
+        checkIndex(index);
+        int blockIndex = findBlock(index);
+        return loadBlock(blockIndex).rows[index - blockStarts[blockIndex]];
+    }
+
+    @Override
+    public synchronized boolean add(ResultSetRow row) {
+        appendRow(row);
+        trim();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends ResultSetRow> rows) {
+        for (ResultSetRow row : rows) {
+            appendRow(row);
+        }
+        trim();
+        return !rows.isEmpty();
+    }
+
+    @Override
+    public synchronized void add(int index, ResultSetRow row) {
+        if (index == size) {
+            add(row);
+            return;
+        }
+        checkIndex(index);
+        int blockIndex = findBlock(index);
+        Block block = blocks.get(blockIndex);
+        Chunk chunk = loadBlock(blockIndex);
+        int pos = index - blockStarts[blockIndex];
+        if (chunk.rows.length == block.count) {
+            chunk.rows = Arrays.copyOf(chunk.rows, block.count + BLOCK_SIZE / 4);
+        }
+        System.arraycopy(chunk.rows, pos, chunk.rows, pos + 1, block.count - pos);
+        chunk.rows[pos] = row;
+        row.chunk = chunk;
+        block.count++;
+        size++;
+        changeBlock(block);
+        blockStartsValid = false;
+        updateVisualNumbers(index);
+        trim();
+    }
+
+    @Override
+    public synchronized ResultSetRow remove(int index) {
+        checkIndex(index);
+        int blockIndex = findBlock(index);
+        Block block = blocks.get(blockIndex);
+        Chunk chunk = loadBlock(blockIndex);
+        int pos = index - blockStarts[blockIndex];
+        ResultSetRow row = chunk.rows[pos];
+        System.arraycopy(chunk.rows, pos + 1, chunk.rows, pos, block.count - pos - 1);
+        block.count--;
+        chunk.rows[block.count] = null;
+        size--;
+        if (block.count == 0) {
+            untrack(block);
+            blocks.remove(blockIndex);
+            if (lastLoaded == block) {
+                lastLoaded = null;
+            }
+        } else {
+            changeBlock(block);
+        }
+        blockStartsValid = false;
+        updateVisualNumbers(index);
+        return row;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (Block block : blocks) {
+            untrack(block);
+        }
+        blocks.clear();
+        size = 0;
+        blockStartsValid = true;
+        lastBlockIndex = 0;
+        clockHand = 0;
+        lastLoaded = null;
+        resetReadCache();
+    }
+
+    /**
+     * Finds row by its visual number. Doesn't scan spilled rows.
+     */
+    @Override
+    public synchronized int indexOf(Object o) {
+        if (o instanceof ResultSetRow) {
+            int index = ((ResultSetRow) o).getVisualNumber();
+            if (index >= 0 && index < size && get(index) == o) {
+                return index;
+            }
+        }
+        return hasSpilledBlocks() ? -1 : super.indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns row values without materializing spilled rows.
+     * Returned array must not be modified.
+     */
+    @NotNull
+    public synchronized Object[] readValues(int index) {
+        checkIndex(index);
+        int blockIndex = findBlock(index);
+        Block block = blocks.get(blockIndex);
+        int pos = index - blockStarts[blockIndex];
+        Chunk chunk = getAvailableChunk(block);
+        if (chunk != null) {
+            return chunk.rows[pos].getValues();
+        }
+        if (readBlock != block) {
+            resetReadCache();
+            readRecord = new BlockRecord(store.readRecord(block.spillOffset));
+            readBlock = block;
+        }
+        if (readRowIndex != pos) {
+            readRowValues = readRecord.readRow(pos);
+            readRowIndex = pos;
+        }
+        return readRowValues;
+    }
+
+    /**
+     * Visits all rows without materializing spilled rows.
+     * Blocks may be visited in parallel, visitor must be thread-safe.
+     */
+    public void scanRows(boolean parallel, @NotNull RowVisitor visitor) {
+        final int blockCount;
+        final int[] starts;
+        final ResultSetRow[][] blockRows;
+        final long[] offsets;
+        final int[] deltas;
+        synchronized (this) {
+            validateBlockStarts();
+            blockCount = blocks.size();
+            starts = Arrays.copyOf(blockStarts, blockCount);
+            blockRows = new ResultSetRow[blockCount][];
+            offsets = new long[blockCount];
+            deltas = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                Block block = blocks.get(i);
+                Chunk chunk = getAvailableChunk(block);
+                if (chunk != null) {
+                    blockRows[i] = Arrays.copyOf(chunk.rows, block.count);
+                }
+                offsets[i] = block.spillOffset;
+                deltas[i] = block.chunk == null ? block.rowNumberDelta : 0;
+            }
+        }
+        IntStream range = IntStream.range(0, blockCount);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(b -> {
+            ResultSetRow[] rows = blockRows[b];
+            if (rows != null) {
+                for (int i = 0; i < rows.length; i++) {
+                    visitor.visitRow(starts[b] + i, rows[i].getRowNumber() + deltas[b], rows[i].getValues());
+                }
+            } else {
+                BlockRecord record = new BlockRecord(store.readRecord(offsets[b]));
+                for (int i = 0; i < record.count; i++) {
+                    visitor.visitRow(starts[b] + i, record.getRowNumber(i) + deltas[b], record.readRow(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns rows of resident blocks. Edited rows are never spilled so all of them are in this list.
+     */
+    @NotNull
+    public synchronized List<ResultSetRow> getResidentRows() {
+        List<ResultSetRow> result = new ArrayList<>();
+        for (Block block : blocks) {
+            if (block.chunk != null) {
+                result.addAll(Arrays.asList(block.chunk.rows).subList(0, block.count));
+            }
+        }
+        return result;
+    }
+
+    public synchronized boolean hasSpilledBlocks() {
+        for (Block block : blocks) {
+            if (block.chunk == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int getSpilledRowCount() {
+        int count = 0;
+        for (Block block : blocks) {
+            if (block.chunk == null) {
+                count += block.count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Materializes row block and excludes it from spilling.
+     * Must be called before row modification.
+     */
+    public synchronized void pinRow(@NotNull ResultSetRow row) {
+        int index = row.getVisualNumber();
+        if (index < 0 || index >= size) {
+            return;
+        }
+        int blockIndex = findBlock(index);
+        Block block = blocks.get(blockIndex);
+        Chunk chunk = loadBlock(blockIndex);
+        if (chunk.rows[index - blockStarts[blockIndex]] == row) {
+            block.pinned = true;
+            untrack(block);
+        }
+    }
+
+    /**
+     * Adds delta to numbers of rows with row number greater or equal to the specified one.
+     * Spilled blocks are shifted without materialization when possible.
+     */
+    public synchronized void shiftRowNumbers(int fromRowNumber, int delta) {
+        for (int i = 0; i < blocks.size(); i++) {
+            Block block = blocks.get(i);
+            if (block.chunk == null) {
+                if (block.minRowNumber + block.rowNumberDelta >= fromRowNumber) {
+                    block.rowNumberDelta += delta;
+                    continue;
+                } else if (block.maxRowNumber + block.rowNumberDelta < fromRowNumber) {
+                    continue;
+                }
+                loadBlock(i);
+            }
+            for (int k = 0; k < block.count; k++) {
+                ResultSetRow row = block.chunk.rows[k];
+                if (row.getRowNumber() >= fromRowNumber) {
+                    row.setRowNumber(row.getRowNumber() + delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates new list with rows in the specified order.
+     * Spilled rows are copied in several passes, each pass materializes rows which fit in memory budget.
+     * This list releases its memory budget and must not be used after reorder.
+     *
+     * @param order    new order (indexes of rows in this list)
+     * @param newStore spill store of new list
+     */
+    @NotNull
+    public synchronized ResultSetRowList reorder(@NotNull int[] order, @Nullable ResultSetSpillStore newStore) {
+        detach();
+        ResultSetRowList result = new ResultSetRowList(newStore);
+        result.loadListener = loadListener;
+
+        int window = size;
+        if (hasSpilledBlocks() && estimatedRows > 0) {
+            long rowSize = Math.max(1, estimatedBytes / estimatedRows);
+            window = (int) Math.max(BLOCK_SIZE, Math.min(size, ResultSetSpillStore.getMemoryBudget() / 2 / rowSize));
+        }
+        validateBlockStarts();
+        for (int from = 0; from < order.length; from += window) {
+            int to = Math.min(order.length, from + window);
+            // Read source rows in block order
+            long[] positions = new long[to - from];
+            for (int i = from; i < to; i++) {
+                positions[i - from] = ((long) order[i] << 32) | (i - from);
+            }
+            Arrays.sort(positions);
+            ResultSetRow[] windowRows = new ResultSetRow[to - from];
+            List<ResultSetRow> decodedRows = new ArrayList<>();
+            int curBlockIndex = -1;
+            Chunk curChunk = null;
+            BlockRecord curRecord = null;
+            for (long position : positions) {
+                int index = (int) (position >>> 32);
+                int blockIndex = findBlock(index);
+                Block block = blocks.get(blockIndex);
+                if (blockIndex != curBlockIndex) {
+                    curBlockIndex = blockIndex;
+                    curChunk = getAvailableChunk(block) == null ? null : loadBlock(blockIndex);
+                    curRecord = curChunk == null ? new BlockRecord(store.readRecord(block.spillOffset)) : null;
+                }
+                int pos = index - blockStarts[blockIndex];
+                ResultSetRow row;
+                if (curChunk != null) {
+                    row = curChunk.rows[pos];
+                } else {
+                    row = new ResultSetRow(curRecord.getRowNumber(pos) + block.rowNumberDelta, curRecord.readRow(pos));
+                    decodedRows.add(row);
+                }
+                windowRows[(int) position] = row;
+            }
+            if (loadListener != null && !decodedRows.isEmpty()) {
+                loadListener.accept(decodedRows);
+            }
+            result.addAll(Arrays.asList(windowRows));
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void appendRow(ResultSetRow row) {
+        Block block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (block == null || block.chunk == null || block.count >= BLOCK_SIZE) {
+            validateBlockStarts();
+            block = new Block();
+            block.chunk = new Chunk(new ResultSetRow[BLOCK_SIZE]);
+            if (blockStarts.length <= blocks.size()) {
+                blockStarts = Arrays.copyOf(blockStarts, blockStarts.length * 2);
+            }
+            blockStarts[blocks.size()] = size;
+            blocks.add(block);
+            lastLoaded = block;
+        }
+        Chunk chunk = block.chunk;
+        if (chunk.rows.length == block.count) {
+            chunk.rows = Arrays.copyOf(chunk.rows, block.count + BLOCK_SIZE / 4);
+        }
+        chunk.rows[block.count++] = row;
+        row.chunk = chunk;
+        row.setVisualNumber(size);
+        size++;
+        block.spillOffset = -1;
+        if (block.count == 1) {
+            track(block);
+        } else if (block.tracked) {
+            long rowSize = estimateRowSize(row);
+            if (rowSize < 0) {
+                untrack(block);
+            } else {
+                estimatedBytes += rowSize;
+                estimatedRows++;
+                allocate(block, rowSize);
+            }
+        }
+    }
+
+    private void validateBlockStarts() {
+        if (blockStartsValid) {
+            return;
+        }
+        if (blockStarts.length < blocks.size()) {
+            blockStarts = new int[blocks.size() * 2];
+        }
+        int start = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            blockStarts[i] = start;
+            start += blocks.get(i).count;
+        }
+        blockStartsValid = true;
+    }
+
+    private int findBlock(int index) {
+        validateBlockStarts();
+        int blockCount = blocks.size();
+        int last = lastBlockIndex;
+        if (last < blockCount && index >= blockStarts[last] && index < blockStarts[last] + blocks.get(last).count) {
+            return last;
+        }
+        int low = 0, high = blockCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blockStarts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastBlockIndex = low;
+        return low;
+    }
+
+    @Nullable
+    private static Chunk getAvailableChunk(Block block) {
+        if (block.chunk != null) {
+            return block.chunk;
+        }
+        return block.spilledChunk == null ? null : block.spilledChunk.get();
+    }
+
+    @NotNull
+    private Chunk loadBlock(int blockIndex) {
+        Block block = blocks.get(blockIndex);
+        if (block.chunk != null) {
+            block.referenced = true;
+            return block.chunk;
+        }
+        Chunk chunk = block.spilledChunk == null ? null : block.spilledChunk.get();
+        if (chunk == null) {
+            BlockRecord record = new BlockRecord(store.readRecord(block.spillOffset));
+            ResultSetRow[] rows = new ResultSetRow[record.count];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = new ResultSetRow(record.getRowNumber(i), record.readRow(i));
+            }
+            chunk = new Chunk(rows);
+        }
+        block.spilledChunk = null;
+        block.chunk = chunk;
+        if (readBlock == block) {
+            resetReadCache();
+        }
+        validateBlockStarts();
+        int start = blockStarts[blockIndex];
+        for (int i = 0; i < block.count; i++) {
+            ResultSetRow row = chunk.rows[i];
+            row.chunk = chunk;
+            row.setVisualNumber(start + i);
+            if (block.rowNumberDelta != 0) {
+                row.setRowNumber(row.getRowNumber() + block.rowNumberDelta);
+            }
+        }
+        block.rowNumberDelta = 0;
+        block.referenced = true;
+        lastLoaded = block;
+        track(block);
+        if (loadListener != null) {
+            loadListener.accept(Arrays.asList(chunk.rows).subList(0, block.count));
+        }
+        trim();
+        return chunk;
+    }
+
+    private void updateVisualNumbers(int fromIndex) {
+        validateBlockStarts();
+        for (int i = findBlock(Math.min(fromIndex, Math.max(size - 1, 0))); i < blocks.size(); i++) {
+            Block block = blocks.get(i);
+            if (block.chunk != null) {
+                for (int k = 0; k < block.count; k++) {
+                    block.chunk.rows[k].setVisualNumber(blockStarts[i] + k);
+                }
+            }
+        }
+    }
+
+    // Block content was changed. Its record is not valid anymore.
+    private void changeBlock(Block block) {
+        block.spillOffset = -1;
+        untrack(block);
+        track(block);
+    }
+
+    private void track(Block block) {
+        if (store == null || detached || block.pinned || block.tracked || block.chunk == null) {
+            return;
+        }
+        long blockSize = 0;
+        for (int i = 0; i < block.count; i++) {
+            long rowSize = estimateRowSize(block.chunk.rows[i]);
+            if (rowSize < 0) {
+                return;
+            }
+            blockSize += rowSize;
+        }
+        block.tracked = true;
+        estimatedBytes += blockSize;
+        estimatedRows += block.count;
+        allocate(block, blockSize);
+    }
+
+    private void allocate(Block block, long bytes) {
+        block.residentSize += bytes;
+        store.allocate(bytes);
+    }
+
+    private void untrack(Block block) {
+        if (block.tracked) {
+            store.release(block.residentSize);
+            block.residentSize = 0;
+            block.tracked = false;
+        }
+    }
+
+    /**
+     * Releases memory budget. Rows are not spilled anymore.
+     */
+    private void detach() {
+        for (Block block : blocks) {
+            untrack(block);
+        }
+        detached = true;
+    }
+
+    private static long estimateRowSize(ResultSetRow row) {
+        if (row.getState() != ResultSetRow.STATE_NORMAL || row.isChanged() || row.collections != null) {
+            return -1;
+        }
+        long valuesSize = ResultSetSpillStore.estimateSize(row.getValues());
+        return valuesSize < 0 ? -1 : ROW_OVERHEAD + valuesSize;
+    }
+
+    /**
+     * Spills least recently used blocks of this list while all result sets exceed memory budget (clock algorithm).
+     */
+    private void trim() {
+        if (store == null || detached) {
+            return;
+        }
+        for (int scanned = 0, blockCount = blocks.size(); scanned < blockCount * 2 && ResultSetSpillStore.isOverBudget(); scanned++) {
+            if (clockHand >= blockCount) {
+                clockHand = 0;
+            }
+            Block block = blocks.get(clockHand++);
+            if (!block.tracked || block.chunk == null || block == lastLoaded) {
+                continue;
+            }
+            if (block.referenced) {
+                block.referenced = false;
+                continue;
+            }
+            spillBlock(block);
+        }
+    }
+
+    private void spillBlock(Block block) {
+        Chunk chunk = block.chunk;
+        boolean write = block.spillOffset < 0;
+        for (int i = 0; i < block.count; i++) {
+            ResultSetRow row = chunk.rows[i];
+            if (estimateRowSize(row) < 0) {
+                // Row was edited
+                untrack(block);
+                return;
+            }
+            if (row.isModified()) {
+                write = true;
+            }
+        }
+        if (write) {
+            long offset = writeBlock(chunk.rows, block.count);
+            if (offset < 0) {
+                // Block is too big or spill file is not available
+                untrack(block);
+                return;
+            }
+            int minRowNumber = Integer.MAX_VALUE, maxRowNumber = Integer.MIN_VALUE;
+            for (int i = 0; i < block.count; i++) {
+                ResultSetRow row = chunk.rows[i];
+                row.resetModified();
+                minRowNumber = Math.min(minRowNumber, row.getRowNumber());
+                maxRowNumber = Math.max(maxRowNumber, row.getRowNumber());
+            }
+            block.spillOffset = offset;
+            block.minRowNumber = minRowNumber;
+            block.maxRowNumber = maxRowNumber;
+        }
+        untrack(block);
+        if (readBlock == block) {
+            resetReadCache();
+        }
+        block.rowNumberDelta = 0;
+        block.spilledChunk = new WeakReference<>(chunk);
+        block.chunk = null;
+    }
+
+    private long writeBlock(ResultSetRow[] rows, int count) {
+        try {
+            ByteArrayOutputStream rowsBuffer = new ByteArrayOutputStream(count * 64);
+            DataOutputStream rowsOut = new DataOutputStream(rowsBuffer);
+            int[] rowOffsets = new int[count];
+            for (int i = 0; i < count; i++) {
+                rowOffsets[i] = rowsOut.size();
+                Object[] values = rows[i].getValues();
+                rowsOut.writeInt(values.length);
+                for (Object value : values) {
+                    ResultSetSpillStore.writeValue(rowsOut, value);
+                }
+            }
+            rowsOut.flush();
+
+            ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(4 + 8 * count + rowsBuffer.size());
+            DataOutputStream out = new DataOutputStream(recordBuffer);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeInt(rows[i].getRowNumber());
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeInt(rowOffsets[i]);
+            }
+            rowsBuffer.writeTo(out);
+            out.flush();
+            return store.writeRecord(recordBuffer.toByteArray());
+        } catch (IOException e) {
+            log.debug("Error serializing rows block", e);
+            return -1;
+        }
+    }
+
+    private void resetReadCache() {
+        readBlock = null;
+        readRecord = null;
+        readRowIndex = -1;
+        readRowValues = null;
+    }
+
+}
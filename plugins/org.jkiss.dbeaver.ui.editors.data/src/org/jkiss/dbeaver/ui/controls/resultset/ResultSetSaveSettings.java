@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.ui.controls.resultset;
 
+import org.jkiss.dbeaver.model.struct.DBSDataManipulatorExt2;
+
 /**
  * Save settings
  */
@@ -23,6 +25,8 @@ public class ResultSetSaveSettings {
     private boolean deleteCascade;
     private boolean deepCascade;
     private boolean useFullyQualifiedNames = true;
+    private boolean useBulkStatements = true;
+    private int bulkChunkSize = DBSDataManipulatorExt2.DEFAULT_BULK_CHUNK_SIZE;
 
     public boolean isDeleteCascade() {
         return deleteCascade;
@@ -47,4 +51,24 @@ public class ResultSetSaveSettings {
     public void setUseFullyQualifiedNames(boolean useFullyQualifiedNames) {
         this.useFullyQualifiedNames = useFullyQualifiedNames;
     }
+
+    /**
+     * Group rows with the same set of changed attributes in batches
+     * and delete rows by single key with set-based statements.
+     */
+    public boolean isUseBulkStatements() {
+        return useBulkStatements;
+    }
+
+    public void setUseBulkStatements(boolean useBulkStatements) {
+        this.useBulkStatements = useBulkStatements;
+    }
+
+    public int getBulkChunkSize() {
+        return bulkChunkSize;
+    }
+
+    public void setBulkChunkSize(int bulkChunkSize) {
+        this.bulkChunkSize = bulkChunkSize;
+    }
 }
@@ -0,0 +1,398 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory-mapped temporary file which keeps serialized result set row blocks (see {@link ResultSetRowList}).
+ *
+ * Records are appended into fixed size mapped segments and never cross segment boundary.
+ * Store also accounts heap memory used by resident rows. Memory budget is global: it is shared by all stores
+ * (i.e. by all open result sets).
+ * Only simple values (strings, numbers, dates, binaries) may be serialized,
+ * anything else (LOBs, documents, composites) always stays on heap.
+ */
+public class ResultSetSpillStore {
+
+    private static final Log log = Log.getLog(ResultSetSpillStore.class);
+
+    private static final String SPILL_FOLDER = "resultset-spill"; //$NON-NLS-1$
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int ARRAY_OVERHEAD = 16;
+    private static final int VALUE_OVERHEAD = 16;
+
+    static final byte TYPE_NULL = 0;
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_INTEGER = 2;
+    static final byte TYPE_LONG = 3;
+    static final byte TYPE_DOUBLE = 4;
+    static final byte TYPE_FLOAT = 5;
+    static final byte TYPE_SHORT = 6;
+    static final byte TYPE_BYTE = 7;
+    static final byte TYPE_BOOLEAN = 8;
+    static final byte TYPE_BIG_DECIMAL = 9;
+    static final byte TYPE_BIG_INTEGER = 10;
+    static final byte TYPE_TIMESTAMP = 11;
+    static final byte TYPE_SQL_DATE = 12;
+    static final byte TYPE_SQL_TIME = 13;
+    static final byte TYPE_DATE = 14;
+    static final byte TYPE_BINARY = 15;
+
+    private static volatile long memoryBudget = Runtime.getRuntime().maxMemory() / 4;
+    private static final AtomicLong totalResidentBytes = new AtomicLong();
+
+    @Nullable
+    private final File folder;
+    private final int segmentSize;
+    // Resident memory accounted by this store
+    private long residentBytes;
+
+    private File spillFile;
+    private RandomAccessFile spillAccess;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long writePosition;
+    private boolean failed;
+    private boolean closed;
+
+    public ResultSetSpillStore() {
+        this(null, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param folder      folder for spill file. Platform temp folder is used if null
+     * @param segmentSize size of mapped file segments
+     */
+    public ResultSetSpillStore(@Nullable File folder, int segmentSize) {
+        this.folder = folder;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Sets global memory budget of all result sets.
+     * @param budget budget in bytes. Non-positive value means a quarter of max heap size.
+     */
+    public static void setMemoryBudget(long budget) {
+        memoryBudget = budget > 0 ? budget : Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    public static long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Estimated heap size of resident rows of all result sets
+     */
+    public static long getTotalResidentBytes() {
+        return totalResidentBytes.get();
+    }
+
+    public static boolean isOverBudget() {
+        return totalResidentBytes.get() > memoryBudget;
+    }
+
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Size of spill file data
+     */
+    public synchronized long getSpilledBytes() {
+        return writePosition;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized void allocate(long bytes) {
+        if (!closed) {
+            residentBytes += bytes;
+            totalResidentBytes.addAndGet(bytes);
+        }
+    }
+
+    synchronized void release(long bytes) {
+        if (!closed) {
+            residentBytes -= bytes;
+            totalResidentBytes.addAndGet(-bytes);
+        }
+    }
+
+    /**
+     * Appends record to the spill file.
+     * @return record offset or -1 if record can't be written (it is bigger than segment or store is closed or failed)
+     */
+    public synchronized long writeRecord(@NotNull byte[] data) {
+        if (closed || failed) {
+            return -1;
+        }
+        int recordSize = data.length + 4;
+        if (recordSize > segmentSize) {
+            return -1;
+        }
+        try {
+            int segmentOffset = (int) (writePosition % segmentSize);
+            if (segmentOffset + recordSize > segmentSize) {
+                // Records never cross segment boundary
+                writePosition += segmentSize - segmentOffset;
+                segmentOffset = 0;
+            }
+            ByteBuffer segment = getSegment((int) (writePosition / segmentSize)).duplicate();
+            segment.position(segmentOffset);
+            segment.putInt(data.length);
+            segment.put(data);
+
+            long offset = writePosition;
+            writePosition += recordSize;
+            return offset;
+        } catch (IOException e) {
+            log.error("Error writing result set spill file. Rows will be kept in memory.", e);
+            failed = true;
+            return -1;
+        }
+    }
+
+    /**
+     * Reads record data. Records remain readable after store close.
+     */
+    @NotNull
+    public synchronized byte[] readRecord(long offset) {
+        if (offset < 0 || offset >= writePosition) {
+            throw new IllegalArgumentException("Bad spill record offset: " + offset);
+        }
+        ByteBuffer segment = segments.get((int) (offset / segmentSize)).duplicate();
+        segment.position((int) (offset % segmentSize));
+        byte[] data = new byte[segment.getInt()];
+        segment.get(data);
+        return data;
+    }
+
+    /**
+     * Releases accounted memory and deletes spill file.
+     * Mapped segments are kept: rows which are still referenced by UI may read them.
+     * Mapping is released with the store.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        totalResidentBytes.addAndGet(-residentBytes);
+        residentBytes = 0;
+        closed = true;
+        if (spillAccess != null) {
+            try {
+                spillAccess.close();
+            } catch (IOException e) {
+                log.debug("Error closing spill file", e);
+            }
+            spillAccess = null;
+        }
+        if (spillFile != null) {
+            if (!spillFile.delete()) {
+                // Mapped files can't be deleted on some platforms
+                spillFile.deleteOnExit();
+            }
+        }
+    }
+
+    private MappedByteBuffer getSegment(int index) throws IOException {
+        if (spillAccess == null) {
+            File spillFolder = folder != null ? folder : DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), SPILL_FOLDER);
+            spillFile = File.createTempFile("rows", ".spill", spillFolder); //$NON-NLS-1$ //$NON-NLS-2$
+            spillAccess = new RandomAccessFile(spillFile, "rw"); //$NON-NLS-1$
+            log.debug("Result sets exceed memory budget (" + memoryBudget + " bytes). Spill rows to " + spillFile.getAbsolutePath());
+        }
+        while (segments.size() <= index) {
+            segments.add(spillAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * segmentSize, segmentSize));
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * Estimates heap size of row values.
+     * Returns -1 if row contains values which can't be spilled.
+     */
+    public static long estimateSize(@NotNull Object[] values) {
+        long size = ARRAY_OVERHEAD + 8L * values.length;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            Class<?> valueClass = value.getClass();
+            if (valueClass == String.class) {
+                size += VALUE_OVERHEAD + 24 + 2L * ((String) value).length();
+            } else if (valueClass == byte[].class) {
+                size += VALUE_OVERHEAD + ((byte[]) value).length;
+            } else if (valueClass == BigDecimal.class || valueClass == BigInteger.class) {
+                size += VALUE_OVERHEAD + 48;
+            } else if (isSimpleType(valueClass)) {
+                size += VALUE_OVERHEAD + 16;
+            } else {
+                return -1;
+            }
+        }
+        return size;
+    }
+
+    private static boolean isSimpleType(Class<?> valueClass) {
+        return valueClass == Integer.class || valueClass == Long.class || valueClass == Double.class ||
+            valueClass == Float.class || valueClass == Short.class || valueClass == Byte.class ||
+            valueClass == Boolean.class || valueClass == Timestamp.class || valueClass == java.sql.Date.class ||
+            valueClass == Time.class || valueClass == java.util.Date.class;
+    }
+
+    /**
+     * Serializes single value.
+     * Exact class checks: subclasses (e.g. driver-specific timestamps) may carry extra state and are never spilled.
+     */
+    public static void writeValue(@NotNull DataOutput out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+            return;
+        }
+        Class<?> valueClass = value.getClass();
+        if (valueClass == String.class) {
+            out.writeByte(TYPE_STRING);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (valueClass == Integer.class) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (valueClass == Long.class) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (valueClass == Double.class) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (valueClass == Float.class) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (valueClass == Short.class) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort((Short) value);
+        } else if (valueClass == Byte.class) {
+            out.writeByte(TYPE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (valueClass == Boolean.class) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (valueClass == BigDecimal.class) {
+            out.writeByte(TYPE_BIG_DECIMAL);
+            out.writeInt(((BigDecimal) value).scale());
+            writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+        } else if (valueClass == BigInteger.class) {
+            out.writeByte(TYPE_BIG_INTEGER);
+            writeBytes(out, ((BigInteger) value).toByteArray());
+        } else if (valueClass == Timestamp.class) {
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (valueClass == java.sql.Date.class) {
+            out.writeByte(TYPE_SQL_DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (valueClass == Time.class) {
+            out.writeByte(TYPE_SQL_TIME);
+            out.writeLong(((Time) value).getTime());
+        } else if (valueClass == java.util.Date.class) {
+            out.writeByte(TYPE_DATE);
+            out.writeLong(((java.util.Date) value).getTime());
+        } else if (valueClass == byte[].class) {
+            out.writeByte(TYPE_BINARY);
+            writeBytes(out, (byte[]) value);
+        } else {
+            throw new IOException("Value type " + valueClass.getName() + " can't be spilled");
+        }
+    }
+
+    @Nullable
+    public static Object readValue(@NotNull DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_FLOAT:
+                return in.readFloat();
+            case TYPE_SHORT:
+                return in.readShort();
+            case TYPE_BYTE:
+                return in.readByte();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_BIG_DECIMAL: {
+                int scale = in.readInt();
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            }
+            case TYPE_BIG_INTEGER:
+                return new BigInteger(readBytes(in));
+            case TYPE_TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            }
+            case TYPE_SQL_DATE:
+                return new java.sql.Date(in.readLong());
+            case TYPE_SQL_TIME:
+                return new Time(in.readLong());
+            case TYPE_DATE:
+                return new java.util.Date(in.readLong());
+            case TYPE_BINARY:
+                return readBytes(in);
+            default:
+                throw new IOException("Bad value type: " + type);
+        }
+    }
+
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+}
@@ -2084,7 +2084,8 @@ public class ResultSetViewer extends Viewer
 
         switch (orderingMode) {
             case SMART:
-                if (this.isHasMoreData()) {
+                if (this.isHasMoreData() || model.hasSpilledRows()) {
+                    // Server ordering is cheaper than reordering rows spilled to disk
                     this.refreshData(null);
                 } else {
                     this.reorderLocally();
@@ -3460,6 +3461,15 @@ public class ResultSetViewer extends Viewer
             return;
         }
 
+        List<DBDAttributeConstraint> localConditions = getLocalFilterConditions(filter);
+        if (localConditions != null) {
+            // All rows are in memory, filter them without query
+            model.setDataFilter(filter);
+            model.setLocalFilter(localConditions);
+            reorderLocally();
+            return;
+        }
+
         DBSDataContainer dataContainer = getDataContainer();
         if (dataContainer != null) {
             dataReceiver.setNextSegmentRead(false);
@@ -3476,6 +3486,33 @@ public class ResultSetViewer extends Viewer
         }
     }
 
+    /**
+     * Returns filter conditions if they can be applied to already fetched rows.
+     * It is possible if all rows were fetched without filter (or with local filter only) and kept in memory.
+     */
+    @Nullable
+    private List<DBDAttributeConstraint> getLocalFilterConditions(@NotNull DBDDataFilter filter) {
+        if (ResultSetUtils.getOrderingMode(this) == ResultSetUtils.OrderingMode.SERVER_SIDE ||
+            !model.hasData() || isHasMoreData() || model.hasSpilledRows() ||
+            (model.getLocalFilter() == null && model.getDataFilter().hasConditions()) ||
+            CommonUtils.isNotEmpty(filter.getWhere()) || CommonUtils.isNotEmpty(filter.getOrder()))
+        {
+            return null;
+        }
+        List<DBDAttributeConstraint> conditions = new ArrayList<>();
+        for (DBDAttributeConstraint co : filter.getConstraints()) {
+            if (!co.hasCondition()) {
+                continue;
+            }
+            DBDAttributeBinding binding = model.getAttributeBinding(co.getAttribute());
+            if (binding == null || !ResultSetLocalSorter.isLocalCondition(binding, co)) {
+                return null;
+            }
+            conditions.add(co);
+        }
+        return conditions;
+    }
+
     @Override
     public boolean refreshData(@Nullable Runnable onSuccess) {
         if (!checkForChanges()) {
@@ -3914,7 +3951,7 @@ public class ResultSetViewer extends Viewer
 //        }
         boolean needPK = false;
         if (!skipKeySearch) {
-            for (ResultSetRow row : model.getAllRows()) {
+            for (ResultSetRow row : model.getResidentRows()) {
                 if (row.getState() == ResultSetRow.STATE_REMOVED || (row.getState() == ResultSetRow.STATE_NORMAL && row.isChanged())) {
                     needPK = true;
                     break;
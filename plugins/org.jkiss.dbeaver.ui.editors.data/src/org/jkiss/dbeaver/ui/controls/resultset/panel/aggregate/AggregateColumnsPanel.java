@@ -216,13 +216,11 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     }
 
     private void aggregateSelection(IResultSetSelection selection) {
-        ResultSetModel model = presentation.getController().getModel();
         if (groupByColumns) {
             Map<DBDAttributeBinding, List<Object>> attrValues = new LinkedHashMap<>();
             for (Object element : selection.toList()) {
                 DBDAttributeBinding attr = selection.getElementAttribute(element);
-                ResultSetRow row = selection.getElementRow(element);
-                Object cellValue = model.getCellValue(attr, row);
+                Object cellValue = getElementValue(selection, element);
                 List<Object> values = attrValues.computeIfAbsent(attr, k -> new ArrayList<>());
                 values.add(cellValue);
             }
@@ -237,15 +235,22 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         } else {
             List<Object> allValues = new ArrayList<>(selection.size());
             for (Object element : selection.toList()) {
-                DBDAttributeBinding attr = selection.getElementAttribute(element);
-                ResultSetRow row = selection.getElementRow(element);
-                Object cellValue = model.getCellValue(attr, row);
-                allValues.add(cellValue);
+                allValues.add(getElementValue(selection, element));
             }
             aggregateValues(null, allValues);
         }
     }
 
+    private Object getElementValue(IResultSetSelection selection, Object element) {
+        if (selection instanceof IResultSetSelectionExt) {
+            // Doesn't materialize rows spilled to disk
+            return ((IResultSetSelectionExt) selection).getElementValue(element);
+        }
+        DBDAttributeBinding attr = selection.getElementAttribute(element);
+        ResultSetRow row = selection.getElementRow(element);
+        return presentation.getController().getModel().getCellValue(attr, row);
+    }
+
     private void aggregateValues(TreeItem parentItem, Collection<Object> values) {
         List<AggregateFunctionDescriptor> functions = enabledFunctions;
         Map<IAggregateFunction, TreeItem> funcMap = new IdentityHashMap<>();
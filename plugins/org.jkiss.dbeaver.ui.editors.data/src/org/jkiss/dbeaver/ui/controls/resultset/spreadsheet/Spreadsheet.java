@@ -366,6 +366,11 @@ public class Spreadsheet extends LightGrid implements Listener {
         super.redraw();
     }
 
+    @Override
+    protected void onRowsPainted(int firstRow, int lastRow) {
+        presentation.checkAutoFetch(getRowElement(lastRow));
+    }
+
     @Override
     protected void toggleCellValue(Object column, Object row) {
         presentation.toggleCellValue(column, row);
@@ -382,7 +387,7 @@ public class Spreadsheet extends LightGrid implements Listener {
             presentation.fillContextMenu(
                 manager,
                 isHoveringOnRowHeader() ? null : focusPos.col >= 0 && focusPos.col < columnElements.length ? columnElements[focusPos.col] : null,
-                isHoveringOnHeader() ? null : (focusPos.row >= 0 && focusPos.row < rowElements.length ? rowElements[focusPos.row] : null)
+                isHoveringOnHeader() ? null : (focusPos.row >= 0 && focusPos.row < rowElements.size() ? rowElements.get(focusPos.row) : null)
             );
         });
         menuMgr.setRemoveAllWhenShown(true);
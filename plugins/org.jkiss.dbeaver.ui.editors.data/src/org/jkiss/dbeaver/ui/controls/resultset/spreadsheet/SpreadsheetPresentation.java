@@ -507,36 +507,40 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
 
         if (copyHTML) html.append("<tbody>");
 
-        List<GridCell> selectedCells = spreadsheet.getCellSelection();
+        // Iterate over grid positions: rows are not materialized if they were spilled to disk
+        Collection<GridPos> selectedCells = spreadsheet.getSelection();
         boolean quoteCells = settings.isQuoteCells() && selectedCells.size() > 1;
         boolean forceQuotes = settings.isForceQuotes();
+        boolean recordMode = controller.isRecordMode();
+        ResultSetModel model = controller.getModel();
 
-        GridCell prevCell = null;
-        for (GridCell cell : selectedCells) {
-            if (prevCell == null || cell.row != prevCell.row) {
+        GridPos prevPos = null;
+        for (GridPos pos : selectedCells) {
+            Object colElement = spreadsheet.getColumnElement(pos.col);
+            if (prevPos == null || pos.row != prevPos.row) {
                 // Next row
-                if (prevCell != null && prevCell.col != cell.col) {
+                if (prevPos != null && prevPos.col != pos.col) {
                     // Fill empty row tail
-                    int prevColIndex = selectedColumns.indexOf(prevCell.col);
+                    int prevColIndex = selectedColumns.indexOf(spreadsheet.getColumnElement(prevPos.col));
                     for (int i = prevColIndex; i < selectedColumns.size() - 1; i++) {
                         tdt.append(columnDelimiter);
                         if (copyHTML) html.append("<td></td>");
                     }
                 }
-                if (prevCell != null) {
+                if (prevPos != null) {
                     tdt.append(rowDelimiter);
                     if (copyHTML) html.append("</tr>").append(rowDelimiter);
                 }
                 if (settings.isCopyRowNumbers()) {
-                    String rowNumber = labelProvider.getText(cell.row);
+                    String rowNumber = recordMode ? labelProvider.getText(spreadsheet.getRowElement(pos.row)) : String.valueOf(pos.row + 1);
                     tdt.append(rowNumber).append(columnDelimiter);
                     if (copyHTML) html.append("<td>").append(rowNumber).append("</td>");
                 }
                 if (copyHTML) html.append("<tr>");
             }
-            if (prevCell != null && prevCell.col != cell.col) {
-                int prevColIndex = selectedColumns.indexOf(prevCell.col);
-                int curColIndex = selectedColumns.indexOf(cell.col);
+            if (prevPos != null && prevPos.col != pos.col) {
+                int prevColIndex = selectedColumns.indexOf(spreadsheet.getColumnElement(prevPos.col));
+                int curColIndex = selectedColumns.indexOf(colElement);
                 for (int i = prevColIndex; i < curColIndex; i++) {
                     tdt.append(columnDelimiter);
                     if (i != prevColIndex) {
@@ -545,10 +549,18 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 }
             }
 
-            boolean recordMode = controller.isRecordMode();
-            DBDAttributeBinding column = (DBDAttributeBinding)(!recordMode ?  cell.col : cell.row);
-            ResultSetRow row = (ResultSetRow) (!recordMode ?  cell.row : cell.col);
-            Object value = controller.getModel().getCellValue(column, row);
+            DBDAttributeBinding column;
+            ResultSetRow row;
+            Object value;
+            if (!recordMode) {
+                column = (DBDAttributeBinding) colElement;
+                row = null;
+                value = model.readCellValue(column, pos.row);
+            } else {
+                column = (DBDAttributeBinding) spreadsheet.getRowElement(pos.row);
+                row = (ResultSetRow) colElement;
+                value = model.getCellValue(column, row);
+            }
             if (binaryData == null && (column.getDataKind() == DBPDataKind.BINARY || column.getDataKind() == DBPDataKind.CONTENT)) {
                 if (value instanceof byte[]) {
                     binaryData = (byte[]) value;
@@ -573,6 +585,9 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
             if (copyHTML) html.append("<td>").append(XMLUtils.escapeXml(cellText)).append("</td> ");
 
             if (settings.isCut()) {
+                if (row == null) {
+                    row = model.getRow(pos.row);
+                }
                 IValueController valueController = new SpreadsheetValueController(
                     controller, column, row, IValueController.EditType.NONE, null);
                 if (!valueController.isReadOnly()) {
@@ -580,7 +595,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 }
             }
 
-            prevCell = cell;
+            prevPos = pos;
         }
         if (copyHTML) {
             html.append("</tbody>").append(rowDelimiter);
@@ -1614,6 +1629,18 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
         public int getSelectedCellCount() {
             return spreadsheet.getCellSelectionSize();
         }
+
+        @Nullable
+        @Override
+        public Object getElementValue(Object element) {
+            GridPos pos = (GridPos) element;
+            DBDAttributeBinding attr = getElementAttribute(element);
+            if (controller.isRecordMode()) {
+                ResultSetRow curRow = controller.getCurrentRow();
+                return curRow == null ? null : controller.getModel().getCellValue(attr, curRow);
+            }
+            return controller.getModel().readCellValue(attr, pos.row);
+        }
     }
 
     private class ContentProvider implements IGridContentProvider {
@@ -1633,18 +1660,32 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 }
             } else {
                 // rows
-                if (!recordMode) {
-                    return model.getAllRows().toArray();
-                } else {
-                    DBDAttributeBinding[] columns = model.getVisibleAttributes().toArray(new DBDAttributeBinding[model.getVisibleAttributeCount()]);
-                    if (columnOrder != SWT.NONE && columnOrder != SWT.DEFAULT) {
-                        Arrays.sort(columns, (o1, o2) -> o1.getName().compareTo(o2.getName()) * (columnOrder == SWT.UP ? 1 : -1));
-                    }
-                    return columns;
+                return getRowElements().toArray();
+            }
+        }
+
+        @NotNull
+        @Override
+        public List<?> getRowElements() {
+            ResultSetModel model = controller.getModel();
+            if (!controller.isRecordMode()) {
+                // Rows list is used by grid as is. It may contain rows spilled to disk
+                return model.getAllRows();
+            } else {
+                DBDAttributeBinding[] columns = model.getVisibleAttributes().toArray(new DBDAttributeBinding[model.getVisibleAttributeCount()]);
+                if (columnOrder != SWT.NONE && columnOrder != SWT.DEFAULT) {
+                    Arrays.sort(columns, (o1, o2) -> o1.getName().compareTo(o2.getName()) * (columnOrder == SWT.UP ? 1 : -1));
                 }
+                return Arrays.asList(columns);
             }
         }
 
+        @Override
+        public boolean hasRowChildren() {
+            // Result set rows have no children, only attributes (record mode) have
+            return controller.isRecordMode();
+        }
+
         @Nullable
         @Override
         public Object[] getChildren(Object element) {
@@ -1832,7 +1873,6 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
         {
             DBDAttributeBinding attr = (DBDAttributeBinding)(rowElement instanceof DBDAttributeBinding ? rowElement : colElement);
             ResultSetRow row = (ResultSetRow)(colElement instanceof ResultSetRow ? colElement : rowElement);
-            int rowNum = row.getVisualNumber();
             Object value = controller.getModel().getCellValue(attr, row);
             if (formatString && DBUtils.isNullValue(value) && row.getState() == ResultSetRow.STATE_ADDED) {
                 // New row and no value. Let's try to show default value
@@ -1845,16 +1885,6 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 }
             }
 
-            boolean recordMode = controller.isRecordMode();
-            if (!lockData &&
-                rowNum > 0 &&
-                rowNum == controller.getModel().getRowCount() - 1 &&
-                autoFetchSegments &&
-                (recordMode || spreadsheet.isRowVisible(rowNum)) && controller.isHasMoreData())
-            {
-                controller.readNextSegment();
-            }
-
             if (value instanceof DBDValueError) {
                 return ((DBDValueError) value).getErrorTitle();
             }
@@ -1875,7 +1905,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
             }
 
             if (formatString) {
-                if (recordMode) {
+                if (controller.isRecordMode()) {
                     if (attr.getDataKind() == DBPDataKind.ARRAY && value instanceof DBDCollection) {
                         return "[" + ((DBDCollection) value).getItemCount() + "]";
                     } else if (attr.getDataKind() == DBPDataKind.STRUCT && value instanceof DBDComposite) {
@@ -2068,6 +2098,32 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
         return DBDDisplayFormat.UI;
     }
 
+    /**
+     * Reads next segment when the last row becomes visible.
+     * Called after each grid paint, so it works for cached cell texts too. If the last row was painted
+     * while previous update was in progress then the next paint after update triggers fetch.
+     *
+     * @param lastVisibleRow last painted grid row element
+     */
+    void checkAutoFetch(@Nullable Object lastVisibleRow) {
+        if (!autoFetchSegments || !controller.isHasMoreData() || controller.getModel().isUpdateInProgress()) {
+            return;
+        }
+        ResultSetRow row;
+        if (controller.isRecordMode()) {
+            row = controller.getCurrentRow();
+        } else {
+            row = lastVisibleRow instanceof ResultSetRow ? (ResultSetRow) lastVisibleRow : null;
+        }
+        if (row == null) {
+            return;
+        }
+        int rowNum = row.getVisualNumber();
+        if (rowNum > 0 && rowNum == controller.getModel().getRowCount() - 1) {
+            controller.readNextSegment();
+        }
+    }
+
     private boolean isShowAsCheckbox(DBDAttributeBinding attr) {
         return showBooleanAsCheckbox && attr.getPresentationAttribute().getDataKind() == DBPDataKind.BOOLEAN;
     }
@@ -0,0 +1,141 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.views.session;
+
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionHistory;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.dbeaver.ui.views.session.internal.SessionEditorMessages;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Shows sessions which were active at the selected time (read from the session history).
+ */
+public class SessionHistoryDialog extends BaseDialog {
+
+    private static final Log log = Log.getLog(SessionHistoryDialog.class);
+
+    private static final String DIALOG_ID = "DBeaver.SessionHistoryDialog";//$NON-NLS-1$
+
+    private final DBAServerSessionHistory history;
+
+    private DateTime dateControl;
+    private DateTime timeControl;
+    private Label sampleLabel;
+    private Table sessionsTable;
+
+    public SessionHistoryDialog(Shell parentShell, @NotNull DBAServerSessionHistory history) {
+        super(parentShell, SessionEditorMessages.dialog_session_history_title, UIIcon.CLOCK_START);
+        this.history = history;
+    }
+
+    @Override
+    protected IDialogSettings getDialogBoundsSettings() {
+        return UIUtils.getDialogSettings(DIALOG_ID);
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent) {
+        Composite composite = super.createDialogArea(parent);
+
+        Composite timePanel = UIUtils.createComposite(composite, 4);
+        timePanel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+        UIUtils.createControlLabel(timePanel, SessionEditorMessages.dialog_session_history_label_time);
+        dateControl = new DateTime(timePanel, SWT.DATE | SWT.DROP_DOWN | SWT.BORDER);
+        timeControl = new DateTime(timePanel, SWT.TIME | SWT.BORDER);
+        UIUtils.createDialogButton(timePanel, SessionEditorMessages.dialog_session_history_button_show, new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                loadSessions();
+            }
+        });
+
+        sampleLabel = new Label(composite, SWT.NONE);
+        sampleLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        sessionsTable = new Table(composite, SWT.BORDER | SWT.FULL_SELECTION);
+        sessionsTable.setHeaderVisible(true);
+        sessionsTable.setLinesVisible(true);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 600;
+        gd.heightHint = 300;
+        sessionsTable.setLayoutData(gd);
+        UIUtils.createTableColumn(sessionsTable, SWT.LEFT, SessionEditorMessages.dialog_session_history_column_session);
+        UIUtils.createTableColumn(sessionsTable, SWT.LEFT, SessionEditorMessages.dialog_session_history_column_query);
+
+        loadSessions();
+
+        return composite;
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId) {
+        super.okPressed();
+    }
+
+    private void loadSessions() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(
+            dateControl.getYear(), dateControl.getMonth(), dateControl.getDay(),
+            timeControl.getHours(), timeControl.getMinutes(), timeControl.getSeconds());
+        calendar.set(Calendar.MILLISECOND, 999);
+
+        sessionsTable.removeAll();
+        List<DBAServerSessionHistory.Sample> samples;
+        try {
+            samples = history.getActiveSessions(calendar.getTimeInMillis());
+        } catch (IOException e) {
+            log.debug("Error reading session history", e);
+            sampleLabel.setText(CommonUtils.notEmpty(e.getMessage()));
+            return;
+        }
+        if (samples.isEmpty()) {
+            sampleLabel.setText(SessionEditorMessages.dialog_session_history_label_no_samples);
+        } else {
+            sampleLabel.setText(SessionEditorMessages.dialog_session_history_label_sample_time + " " +
+                DateFormat.getDateTimeInstance().format(new Date(samples.get(0).getTimestamp())));
+            for (DBAServerSessionHistory.Sample sample : samples) {
+                TableItem item = new TableItem(sessionsTable, SWT.NONE);
+                item.setText(0, CommonUtils.notEmpty(sample.getSessionId()));
+                item.setText(1, CommonUtils.notEmpty(sample.getQuery()));
+            }
+        }
+        UIUtils.packColumns(sessionsTable, true);
+    }
+
+}
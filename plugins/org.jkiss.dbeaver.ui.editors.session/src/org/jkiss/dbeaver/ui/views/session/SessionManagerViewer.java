@@ -46,6 +46,7 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionDetails;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionDetailsProvider;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionHistory;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
@@ -387,8 +388,8 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
 
     public void refreshSessions()
     {
+        // Only changed sessions are updated, so current selection remains
         sessionTable.loadData();
-        onSessionSelect(null);
 
         refreshControl.scheduleAutoRefresh(false);
     }
@@ -473,6 +474,15 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
                     refreshSessions();
                 }
             });
+            contributionManager.add(new Action(SessionEditorMessages.viewer_action_session_history, DBeaverIcons.getImageDescriptor(UIIcon.CLOCK_START)) {
+                @Override
+                public void run()
+                {
+                    new SessionHistoryDialog(
+                        getShell(),
+                        DBAServerSessionHistory.getHistory(sessionManager.getDataSource().getContainer())).open();
+                }
+            });
         }
 
         @Override
@@ -23,10 +23,14 @@ import org.eclipse.ui.IWorkbenchSite;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionDelta;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionHistory;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionSampler;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPool;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.ui.LoadingJob;
@@ -45,11 +49,12 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     private static final Log log = Log.getLog(SessionTable.class);
 
     private DBAServerSessionManager<SESSION_TYPE> sessionManager;
+    private DBAServerSessionSampler<SESSION_TYPE> sessionSampler;
 
     SessionTable(Composite parent, int style, IWorkbenchSite site, DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
         super(parent, style, site, CONTENT_PROVIDER);
-        this.sessionManager = sessionManager;
+        init(sessionManager);
         //setFitWidth(true);
     }
 
@@ -63,12 +68,17 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
         return "Sessions/" + sessionManager.getDataSource().getContainer().getDriver().getId();
     }
 
+    public DBAServerSessionSampler<SESSION_TYPE> getSessionSampler() {
+        return sessionSampler;
+    }
+
     @Override
     protected LoadingJob<Collection<SESSION_TYPE>> createLoadService()
     {
+        LoadSessionsService loadService = new LoadSessionsService();
         return LoadingJob.createService(
-            new LoadSessionsService(),
-            new ObjectsLoadVisualizer());
+            loadService,
+            new SessionsLoadVisualizer(loadService));
     }
 
     LoadingJob<Void> createAlterService(List<SESSION_TYPE> sessions, Map<String, Object> options)
@@ -81,6 +91,9 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     public void init(DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
         this.sessionManager = sessionManager;
+        this.sessionSampler = new DBAServerSessionSampler<>(
+            sessionManager,
+            DBAServerSessionHistory.getHistory(sessionManager.getDataSource().getContainer()));
     }
 
     protected Map<String, Object> getSessionOptions() {
@@ -111,6 +124,8 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
 
     private class LoadSessionsService extends DatabaseLoadService<Collection<SESSION_TYPE>> {
 
+        private DBAServerSessionDelta<SESSION_TYPE> delta;
+
         LoadSessionsService()
         {
             super("Load sessions", sessionManager.getDataSource());
@@ -121,17 +136,39 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
             throws InvocationTargetException, InterruptedException
         {
             try {
-                try (DBCExecutionContext isolatedContext = sessionManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View sessions", null)) {
-                    try (DBCSession session = isolatedContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server sessions")) {
-                        return sessionManager.getSessions(session, getSessionOptions());
-                    }
-                }
+                delta = sessionSampler.collectSessions(monitor, getSessionOptions());
+                return delta.getSessions();
             } catch (Throwable ex) {
                 throw new InvocationTargetException(ex);
             }
         }
     }
 
+    private class SessionsLoadVisualizer extends ProgressVisualizer<Collection<SESSION_TYPE>> {
+
+        private final LoadSessionsService loadService;
+
+        SessionsLoadVisualizer(LoadSessionsService loadService) {
+            this.loadService = loadService;
+        }
+
+        @Override
+        public void completeLoading(Collection<SESSION_TYPE> items) {
+            super.completeLoading(items);
+            DBAServerSessionDelta<SESSION_TYPE> delta = loadService.delta;
+            if (delta == null || delta.isFullReload()) {
+                setListData(items, false);
+            } else if (!delta.isEmpty()) {
+                // Update only changed sessions. Sampler creates new session objects on each refresh, match them by id
+                updateListData(
+                    DBAServerSession::getSessionId,
+                    delta.getRemovedSessions(),
+                    delta.getChangedSessions().values(),
+                    delta.getAddedSessions());
+            }
+        }
+    }
+
     private class KillSessionsService extends DatabaseLoadService<Void> {
         private final List<SESSION_TYPE> sessions;
         private final Map<String, Object> options;
@@ -148,7 +185,8 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
             throws InvocationTargetException, InterruptedException
         {
             try {
-                try (DBCExecutionContext isolatedContext = sessionManager.getDataSource().getDefaultInstance().openIsolatedContext(monitor, "View sessions", null)) {
+                try (ExecutionContextPool.PooledContext pooledContext = ExecutionContextPool.borrowMonitorContext(monitor, sessionManager.getDataSource().getDefaultInstance(), "View sessions")) {
+                    DBCExecutionContext isolatedContext = pooledContext.getContext();
                     try (DBCSession session = isolatedContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Kill server session")) {
                         Throwable lastError = null;
                         for (SESSION_TYPE dbaSession : this.sessions) {
@@ -27,6 +27,15 @@ public class SessionEditorMessages extends NLS {
     public static String viewer_details_item_session_details;
     public static String viewer_sql_plan_item_execution_plan;
     public static String viewer_view_item_sql;
+    public static String viewer_action_session_history;
+
+    public static String dialog_session_history_title;
+    public static String dialog_session_history_label_time;
+    public static String dialog_session_history_button_show;
+    public static String dialog_session_history_label_sample_time;
+    public static String dialog_session_history_label_no_samples;
+    public static String dialog_session_history_column_session;
+    public static String dialog_session_history_column_query;
 
     static {
         // initialize resource bundle
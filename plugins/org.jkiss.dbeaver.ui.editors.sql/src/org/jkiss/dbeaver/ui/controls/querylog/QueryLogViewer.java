@@ -187,6 +187,8 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
                     default:
                         return "?"; //$NON-NLS-1$
                 }
+            } else if (object instanceof QMMContextPoolInfo) {
+                return object.getText();
             }
             return ""; //$NON-NLS-1$
         }
@@ -225,6 +227,9 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
                 } else {
                     return ""; //$NON-NLS-1$
                 }
+            } else if (object instanceof QMMContextPoolInfo) {
+                QMMContextPoolInfo poolInfo = (QMMContextPoolInfo) object;
+                return poolInfo.isBorrow() ? String.valueOf(poolInfo.getWaitTime()) : ""; //$NON-NLS-1$
             }
             return ""; //$NON-NLS-1$
         }
@@ -281,6 +286,8 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             String containerName = null;
             if (object instanceof QMMSessionInfo) {
                 containerName = ((QMMSessionInfo) object).getContainerName();
+            } else if (object instanceof QMMContextPoolInfo) {
+                containerName = ((QMMContextPoolInfo) object).getSession().getContainerName();
             } else if (object instanceof QMMTransactionInfo) {
                 containerName = ((QMMTransactionInfo) object).getSession().getContainerName();
             } else if (object instanceof QMMTransactionSavepointInfo) {
@@ -300,6 +307,8 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             String contextName = null;
             if (object instanceof QMMSessionInfo) {
                 contextName = ((QMMSessionInfo) object).getContextName();
+            } else if (object instanceof QMMContextPoolInfo) {
+                contextName = ((QMMContextPoolInfo) object).getSession().getContextName();
             } else if (object instanceof QMMTransactionInfo) {
                 contextName = ((QMMTransactionInfo) object).getSession().getContextName();
             } else if (object instanceof QMMTransactionSavepointInfo) {
@@ -710,6 +719,9 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
                         TableItem item = new TableItem(logTable, SWT.NONE, itemIndex++);
                         updateItem(event, item);
                     }
+                } else if (object instanceof QMMContextPoolInfo) {
+                    TableItem item = new TableItem(logTable, SWT.NONE, itemIndex++);
+                    updateItem(event, item);
                 }
             }
             int itemCount = logTable.getItemCount();
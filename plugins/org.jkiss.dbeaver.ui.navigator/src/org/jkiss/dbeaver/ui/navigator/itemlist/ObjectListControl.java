@@ -64,6 +64,7 @@ import org.jkiss.utils.CommonUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -534,6 +535,103 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         setListData(items, true);
     }
 
+    /**
+     * Applies list changes without full list reload. Only affected rows are updated, selection is preserved.
+     * Objects are matched by key, so changes may refer to other instances of the objects shown in the list.
+     * Falls back to full list update if list wasn't loaded yet.
+     *
+     * @param keyExtractor returns stable object key (e.g. object id)
+     * @param changed      new versions of changed objects
+     */
+    public void updateListData(
+        @NotNull Function<OBJECT_TYPE, Object> keyExtractor,
+        @NotNull Collection<OBJECT_TYPE> removed,
+        @NotNull Collection<OBJECT_TYPE> changed,
+        @NotNull Collection<OBJECT_TYPE> added)
+    {
+        final Control itemsControl = itemsViewer.getControl();
+        if (itemsControl.isDisposed()) {
+            return;
+        }
+        // Current objects by key
+        Map<Object, OBJECT_TYPE> currentObjects = new HashMap<>();
+        if (objectList != null) {
+            for (OBJECT_TYPE object : objectList) {
+                currentObjects.put(keyExtractor.apply(object), object);
+            }
+        }
+        Set<OBJECT_TYPE> removedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OBJECT_TYPE object : removed) {
+            OBJECT_TYPE curObject = currentObjects.remove(keyExtractor.apply(object));
+            if (curObject != null) {
+                removedObjects.add(curObject);
+            }
+        }
+        Map<OBJECT_TYPE, OBJECT_TYPE> replacedObjects = new IdentityHashMap<>();
+        List<OBJECT_TYPE> addedObjects = new ArrayList<>();
+        for (Collection<OBJECT_TYPE> objects : Arrays.asList(changed, added)) {
+            for (OBJECT_TYPE object : objects) {
+                OBJECT_TYPE curObject = currentObjects.put(keyExtractor.apply(object), object);
+                if (curObject == null) {
+                    addedObjects.add(object);
+                } else if (curObject != object) {
+                    replacedObjects.put(curObject, object);
+                }
+            }
+        }
+
+        if (CommonUtils.isEmpty(objectList) || columnController == null || !(itemsViewer instanceof TableViewer)) {
+            List<OBJECT_TYPE> newList = objectList == null ? new ArrayList<>() : new ArrayList<>(objectList);
+            newList.removeIf(removedObjects::contains);
+            newList.replaceAll(item -> replacedObjects.getOrDefault(item, item));
+            newList.addAll(addedObjects);
+            setListData(newList, false);
+            return;
+        }
+        if (removedObjects.isEmpty() && replacedObjects.isEmpty() && addedObjects.isEmpty()) {
+            return;
+        }
+        final TableViewer tableViewer = (TableViewer) itemsViewer;
+        List<Object> selection = new ArrayList<>(tableViewer.getStructuredSelection().toList());
+
+        itemsControl.setRedraw(false);
+        try {
+            if (!removedObjects.isEmpty()) {
+                objectList.removeIf(removedObjects::contains);
+                tableViewer.remove(removedObjects.toArray());
+                selection.removeIf(removedObjects::contains);
+            }
+            if (!replacedObjects.isEmpty()) {
+                objectList.replaceAll(item -> replacedObjects.getOrDefault(item, item));
+                Map<Object, Integer> rowIndexes = new IdentityHashMap<>();
+                TableItem[] tableItems = getTable().getItems();
+                for (int i = 0; i < tableItems.length; i++) {
+                    if (replacedObjects.containsKey(tableItems[i].getData())) {
+                        rowIndexes.put(tableItems[i].getData(), i);
+                    }
+                }
+                for (Map.Entry<OBJECT_TYPE, OBJECT_TYPE> entry : replacedObjects.entrySet()) {
+                    Integer rowIndex = rowIndexes.get(entry.getKey());
+                    tableViewer.remove(entry.getKey());
+                    // Position is ignored if viewer is sorted
+                    tableViewer.insert(entry.getValue(), rowIndex == null ? -1 : rowIndex);
+                }
+                selection.replaceAll(item -> {
+                    OBJECT_TYPE newObject = replacedObjects.get(item);
+                    return newObject == null ? item : newObject;
+                });
+            }
+            if (!addedObjects.isEmpty()) {
+                objectList.addAll(addedObjects);
+                tableViewer.add(addedObjects.toArray());
+            }
+            tableViewer.setSelection(new StructuredSelection(selection));
+        } finally {
+            itemsControl.setRedraw(true);
+        }
+        setInfo(getItemsLoadMessage(objectList.size()));
+    }
+
     public void repackColumns() {
         if (columnController != null) {
             columnController.repackColumns();
@@ -56,6 +56,8 @@ public class SearchDataPage extends AbstractSearchPage {
     private static final String PROP_SEARCH_NUMBERS = "search.data.search-numbers"; //$NON-NLS-1$
     private static final String PROP_SEARCH_LOBS = "search.data.search-lobs"; //$NON-NLS-1$
     private static final String PROP_SEARCH_FOREIGN = "search.data.search-foreign"; //$NON-NLS-1$
+    private static final String PROP_USE_FULL_TEXT = "search.data.use-full-text"; //$NON-NLS-1$
+    private static final String PROP_USE_VALUE_FILTERS = "search.data.use-value-filters"; //$NON-NLS-1$
     private static final String PROP_HISTORY = "search.data.history"; //$NON-NLS-1$
 
     private Combo searchText;
@@ -179,6 +181,22 @@ public class SearchDataPage extends AbstractSearchPage {
                     params.searchForeignObjects = searchForeignCheckbox.getSelection();
                 }
             });
+
+            final Button useFullTextCheckbox = UIUtils.createCheckbox(optionsGroup2, UISearchMessages.dialog_search_data_use_full_text, UISearchMessages.dialog_search_data_use_full_text_tip, params.useFullText, 2);
+            useFullTextCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    params.useFullText = useFullTextCheckbox.getSelection();
+                }
+            });
+
+            final Button useValueFiltersCheckbox = UIUtils.createCheckbox(optionsGroup2, UISearchMessages.dialog_search_data_use_value_filters, UISearchMessages.dialog_search_data_use_value_filters_tip, params.useValueFilters, 2);
+            useValueFiltersCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    params.useValueFilters = useValueFiltersCheckbox.getSelection();
+                }
+            });
         }
         UIUtils.asyncExec(this::restoreCheckedNodes);
 
@@ -211,6 +229,8 @@ public class SearchDataPage extends AbstractSearchPage {
         params.searchNumbers = store.getString(PROP_SEARCH_NUMBERS) == null || store.getBoolean(PROP_SEARCH_NUMBERS);
         params.searchLOBs = store.getBoolean(PROP_SEARCH_LOBS);
         params.searchForeignObjects = store.getBoolean(PROP_SEARCH_FOREIGN);
+        params.useFullText = store.getBoolean(PROP_USE_FULL_TEXT);
+        params.useValueFilters = store.getBoolean(PROP_USE_VALUE_FILTERS);
         params.maxResults = store.getInt(PROP_SAMPLE_ROWS);
         for (int i = 0; ; i++) {
             String history = store.getString(PROP_HISTORY + "." + i); //$NON-NLS-1$
@@ -240,6 +260,8 @@ public class SearchDataPage extends AbstractSearchPage {
         store.setValue(PROP_SEARCH_NUMBERS, params.searchNumbers);
         store.setValue(PROP_SEARCH_LOBS, params.searchLOBs);
         store.setValue(PROP_SEARCH_FOREIGN, params.searchForeignObjects);
+        store.setValue(PROP_USE_FULL_TEXT, params.useFullText);
+        store.setValue(PROP_USE_VALUE_FILTERS, params.useValueFilters);
         saveTreeState();
 
         {
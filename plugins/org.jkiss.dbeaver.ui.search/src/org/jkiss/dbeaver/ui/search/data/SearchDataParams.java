@@ -34,6 +34,8 @@ public class SearchDataParams {
     boolean searchNumbers;
     boolean searchLOBs;
     boolean searchForeignObjects;
+    boolean useFullText;
+    boolean useValueFilters;
     int maxResults;
     List<DBNNode> selectedNodes = new ArrayList<>();
 
@@ -97,6 +99,22 @@ public class SearchDataParams {
         this.searchForeignObjects = searchForeignObjects;
     }
 
+    public boolean isUseFullText() {
+        return useFullText;
+    }
+
+    public void setUseFullText(boolean useFullText) {
+        this.useFullText = useFullText;
+    }
+
+    public boolean isUseValueFilters() {
+        return useValueFilters;
+    }
+
+    public void setUseValueFilters(boolean useValueFilters) {
+        this.useValueFilters = useValueFilters;
+    }
+
     public int getMaxResults() {
         return maxResults;
     }
@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
@@ -30,12 +31,18 @@ import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.ExecutionContextPool;
+import org.jkiss.dbeaver.model.impl.sql.FullTextSQLDialect;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DefaultProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
@@ -46,6 +53,7 @@ import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.*;
 
 public class SearchDataQuery implements ISearchQuery {
@@ -141,7 +149,22 @@ public class SearchDataQuery implements ISearchQuery {
         monitor.subTask("Search in '" + objectName + "'");
         log.debug("Search in '" + objectName + "'");
         SearchTableMonitor searchMonitor = new SearchTableMonitor(monitor);
-        try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName)) {
+        ExecutionContextPool.PooledContext pooledContext = null;
+        DBCSession session;
+        try {
+            if (dataContainer.getDataSource().getContainer().getDriver().isEmbedded()) {
+                // Embedded databases may not allow additional connections
+                session = DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName);
+            } else {
+                // Do not occupy the main context of the database with long search queries
+                pooledContext = ExecutionContextPool.borrowContext(searchMonitor, DBUtils.getObjectOwnerInstance(dataContainer), "Search data");
+                session = pooledContext.getContext().openSession(searchMonitor, DBCExecutionPurpose.UTIL, "Search rows in " + objectName);
+            }
+        } catch (DBException e) {
+            log.debug("Can't open search context for '" + objectName + "'", e);
+            return false;
+        }
+        try {
             TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
             try {
                 findRows(session, dataContainer, dataReceiver);
@@ -157,6 +180,11 @@ public class SearchDataQuery implements ISearchQuery {
                 return true;
             }
             return false;
+        } finally {
+            session.close();
+            if (pooledContext != null) {
+                pooledContext.close();
+            }
         }
     }
 
@@ -173,111 +201,208 @@ public class SearchDataQuery implements ISearchQuery {
             return null;
         }
         try {
+            DBRProgressMonitor monitor = session.getProgressMonitor();
+            FullTextSQLDialect fullTextDialect = null;
+            Map<DBSEntityAttribute, String> fullTextConditions = Collections.emptyMap();
+            if (params.useFullText && session instanceof JDBCSession && session.getDataSource().getSQLDialect() instanceof FullTextSQLDialect) {
+                fullTextDialect = (FullTextSQLDialect) session.getDataSource().getSQLDialect();
+                try {
+                    fullTextConditions = fullTextDialect.getFullTextConditions(monitor, entity);
+                } catch (DBException e) {
+                    // Fallback to regular search
+                    log.debug("Error reading full-text indexes of '" + entity.getName() + "'", e);
+                }
+            }
 
-            List<DBDAttributeConstraint> constraints = new ArrayList<>();
-            for (DBSEntityAttribute attribute : CommonUtils.safeCollection(entity.getAttributes(session.getProgressMonitor()))) {
+            DBCExecutionSource searchSource = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this);
+            SearchValueFilter valueFilter = null;
+            if (params.useValueFilters) {
+                valueFilter = SearchValueFilter.getFilter(session, dataContainer, searchSource);
+            }
+
+            // Regular constraints are used both for search and to show found rows
+            List<DBDAttributeConstraint> searchConstraints = new ArrayList<>();
+            List<DBDAttributeConstraint> displayConstraints = new ArrayList<>();
+            List<String> fullTextPredicates = new ArrayList<>();
+            for (DBSEntityAttribute attribute : CommonUtils.safeCollection(entity.getAttributes(monitor))) {
+                if (DBUtils.isPseudoAttribute(attribute) || DBUtils.isHiddenObject(attribute)) {
+                    continue;
+                }
+                String fullTextCondition = fullTextConditions.get(attribute);
+                if (fullTextCondition != null) {
+                    fullTextPredicates.add("(" + fullTextCondition + ")");
+                    DBDAttributeConstraint constraint = makeConstraint(attribute, displayConstraints.size());
+                    if (constraint != null) {
+                        displayConstraints.add(constraint);
+                    }
+                    continue;
+                }
                 if (params.fastSearch) {
-                    if (DBUtils.findAttributeIndex(session.getProgressMonitor(), attribute) == null) {
+                    if (DBUtils.findAttributeIndex(monitor, attribute) == null) {
                         continue;
                     }
                 }
-                if (DBUtils.isPseudoAttribute(attribute) || DBUtils.isHiddenObject(attribute)) {
+                if (valueFilter != null && attribute.getDataKind() == DBPDataKind.STRING &&
+                    !valueFilter.mightContain(attribute.getName(), params.searchString))
+                {
+                    // Column can't contain search string
                     continue;
                 }
-                DBCLogicalOperator[] supportedOperators = DBUtils.getAttributeOperators(attribute);
-                DBCLogicalOperator operator;
-                Object value;
-                switch (attribute.getDataKind()) {
-                    case BOOLEAN:
-                        continue;
-                    case NUMERIC:
-                        if (!params.searchNumbers) {
-                            continue;
-                        }
-                        if (!ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
-                            continue;
-                        }
-                        operator = DBCLogicalOperator.EQUALS;
+                DBDAttributeConstraint constraint = makeConstraint(attribute, displayConstraints.size());
+                if (constraint != null) {
+                    searchConstraints.add(constraint);
+                    displayConstraints.add(constraint);
+                }
+            }
+            if (searchConstraints.isEmpty() && fullTextPredicates.isEmpty()) {
+                return null;
+            }
+            dataReceiver.filter = new DBDDataFilter(displayConstraints);
+            dataReceiver.filter.setAnyConstraint(true);
+            if (!fullTextPredicates.isEmpty()) {
+                DBDDataFilter searchFilter = new DBDDataFilter(searchConstraints);
+                searchFilter.setAnyConstraint(true);
+                return findFullTextRows((JDBCSession) session, dataContainer, dataReceiver, searchFilter, fullTextPredicates,
+                    fullTextDialect.getFullTextSearchValue(params.searchString));
+            }
+            return dataContainer.readData(searchSource, session, dataReceiver, dataReceiver.filter, -1, -1, 0, 0);
+        } catch (DBException e) {
+            throw new DBCException("Error finding rows", e);
+        }
+    }
+
+    private DBCStatistics findFullTextRows(
+        @NotNull JDBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull TestDataReceiver dataReceiver,
+        @NotNull DBDDataFilter searchFilter,
+        @NotNull List<String> fullTextPredicates,
+        @NotNull String searchValue) throws DBCException
+    {
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT * FROM ").append(DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML)).append(" WHERE ");
+        if (searchFilter.hasConditions()) {
+            SQLUtils.appendConditionString(searchFilter, session.getDataSource(), null, query, true);
+            query.append(" OR ");
+        }
+        // Full-text predicates are bound so search string doesn't need dialect-specific escaping
+        query.append(String.join(" OR ", fullTextPredicates));
+
+        DBCStatistics statistics = new DBCStatistics();
+        statistics.setQueryText(query.toString());
+        long startTime = System.currentTimeMillis();
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(query.toString())) {
+            for (int i = 0; i < fullTextPredicates.size(); i++) {
+                dbStat.setString(i + 1, searchValue);
+            }
+            if (params.maxResults > 0) {
+                dbStat.setMaxRows(params.maxResults);
+            }
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                dataReceiver.fetchStart(session, dbResult, 0, params.maxResults);
+                try {
+                    long rowCount = 0;
+                    while (!session.getProgressMonitor().isCanceled() && dbResult.next()) {
+                        dataReceiver.fetchRow(session, dbResult);
+                        rowCount++;
+                    }
+                    statistics.setRowsFetched(rowCount);
+                } finally {
+                    dataReceiver.fetchEnd(session, dbResult);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+        return statistics;
+    }
+
+    @Nullable
+    private DBDAttributeConstraint makeConstraint(@NotNull DBSEntityAttribute attribute, int index) {
+        DBCLogicalOperator[] supportedOperators = DBUtils.getAttributeOperators(attribute);
+        DBCLogicalOperator operator;
+        Object value;
+        switch (attribute.getDataKind()) {
+            case BOOLEAN:
+                return null;
+            case NUMERIC:
+                if (!params.searchNumbers) {
+                    return null;
+                }
+                if (!ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
+                    return null;
+                }
+                operator = DBCLogicalOperator.EQUALS;
+                try {
+                    value = Integer.valueOf(params.searchString);
+                } catch (NumberFormatException e) {
+                    try {
+                        value = Long.valueOf(params.searchString);
+                    } catch (NumberFormatException e1) {
                         try {
-                            value = Integer.valueOf(params.searchString);
-                        } catch (NumberFormatException e) {
+                            value = Double.valueOf(params.searchString);
+                        } catch (NumberFormatException e2) {
                             try {
-                                value = Long.valueOf(params.searchString);
-                            } catch (NumberFormatException e1) {
-                                try {
-                                    value = Double.valueOf(params.searchString);
-                                } catch (NumberFormatException e2) {
-                                    try {
-                                        value = new BigDecimal(params.searchString);
-                                    } catch (Exception e3) {
-                                        // Not a number
-                                        continue;
-                                    }
-                                }
+                                value = new BigDecimal(params.searchString);
+                            } catch (Exception e3) {
+                                // Not a number
+                                return null;
                             }
                         }
-                        break;
-                    case CONTENT:
-                    case BINARY:
-                        if (!params.searchLOBs) {
-                            continue;
-                        }
-                    case STRING:
-                        // Do not check value length. Some columns may be compressed/compacted/have special data type and thus have length < than value length.
+                    }
+                }
+                break;
+            case CONTENT:
+            case BINARY:
+                if (!params.searchLOBs) {
+                    return null;
+                }
+            case STRING:
+                // Do not check value length. Some columns may be compressed/compacted/have special data type and thus have length < than value length.
 //                        if (attribute.getMaxLength() > 0 && attribute.getMaxLength() < params.searchString.length()) {
-//                            continue;
+//                            return null;
 //                        }
 
-                        if (!params.isCaseSensitive() && ArrayUtils.contains(supportedOperators, DBCLogicalOperator.ILIKE)) {
-                            operator = DBCLogicalOperator.ILIKE;
-                            value = "%" + params.searchString + "%";
-                        } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.LIKE)) {
-                            operator = DBCLogicalOperator.LIKE;
-                            value = "%" + params.searchString + "%";
-                        } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
-                            operator = DBCLogicalOperator.EQUALS;
-                            value = params.searchString;
-                        } else {
-                            continue;
-                        }
-                        break;
-                    default: {
-                        // Try to convert string to attribute type
-                        // On success search by exact match
-                        if (!ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
-                            continue;
-                        }
-                        String typeName = attribute.getTypeName();
-                        if (typeName.equals(DBConstants.TYPE_NAME_UUID) || typeName.equals(DBConstants.TYPE_NAME_UUID2)) {
-                            try {
-                                UUID uuid = UUID.fromString(params.searchString);
-                                operator = DBCLogicalOperator.EQUALS;
-                                value = uuid.toString();
-                            } catch (Exception e) {
-                                // No a UUID
-                                continue;
-                            }
-                        } else {
-                            continue;
-                        }
+                if (!params.isCaseSensitive() && ArrayUtils.contains(supportedOperators, DBCLogicalOperator.ILIKE)) {
+                    operator = DBCLogicalOperator.ILIKE;
+                    value = "%" + params.searchString + "%";
+                } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.LIKE)) {
+                    operator = DBCLogicalOperator.LIKE;
+                    value = "%" + params.searchString + "%";
+                } else if (ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
+                    operator = DBCLogicalOperator.EQUALS;
+                    value = params.searchString;
+                } else {
+                    return null;
+                }
+                break;
+            default: {
+                // Try to convert string to attribute type
+                // On success search by exact match
+                if (!ArrayUtils.contains(supportedOperators, DBCLogicalOperator.EQUALS)) {
+                    return null;
+                }
+                String typeName = attribute.getTypeName();
+                if (typeName.equals(DBConstants.TYPE_NAME_UUID) || typeName.equals(DBConstants.TYPE_NAME_UUID2)) {
+                    try {
+                        UUID uuid = UUID.fromString(params.searchString);
+                        operator = DBCLogicalOperator.EQUALS;
+                        value = uuid.toString();
+                    } catch (Exception e) {
+                        // No a UUID
+                        return null;
                     }
+                } else {
+                    return null;
                 }
-                DBDAttributeConstraint constraint = new DBDAttributeConstraint(attribute, constraints.size());
-                constraint.setOperator(operator);
-                constraint.setValue(value);
-                constraint.setVisible(true);
-                constraints.add(constraint);
-            }
-            if (constraints.isEmpty()) {
-                return null;
             }
-            dataReceiver.filter = new DBDDataFilter(constraints);
-            dataReceiver.filter.setAnyConstraint(true);
-            DBCExecutionSource searchSource = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this);
-            return dataContainer.readData(searchSource, session, dataReceiver, dataReceiver.filter, -1, -1, 0, 0);
-        } catch (DBException e) {
-            throw new DBCException("Error finding rows", e);
         }
+        DBDAttributeConstraint constraint = new DBDAttributeConstraint(attribute, index);
+        constraint.setOperator(operator);
+        constraint.setValue(value);
+        constraint.setVisible(true);
+        return constraint;
     }
 
     public static SearchDataQuery createQuery(SearchDataParams params)
@@ -0,0 +1,353 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.search.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Per-column bloom filters of case-insensitive character trigrams of string values of one table.
+ * If filter says that a column doesn't contain a substring then it really doesn't
+ * (at the moment of filter build). Positive answers may be false.
+ *
+ * Filters are built once by a scan limited to SCAN_ROW_LIMIT rows. Tables with more rows can't be filtered
+ * (a partial scan can't prove that a value is absent), the scan result is remembered so they are not scanned again.
+ * Filters are saved in the workspace and are rebuilt after FILTER_TTL_MS.
+ */
+public class SearchValueFilter {
+
+    private static final Log log = Log.getLog(SearchValueFilter.class);
+
+    private static final int FILE_FORMAT_VERSION = 1;
+    private static final String FILTERS_FOLDER = "search-filters"; //$NON-NLS-1$
+    private static final String FILTER_FILE_EXT = ".bloom"; //$NON-NLS-1$
+
+    static final int SCAN_ROW_LIMIT = 100_000;
+    // Columns with more distinct trigrams are not filtered (filter would be too big and mostly positive)
+    static final int MAX_COLUMN_TRIGRAMS = 200_000;
+    private static final int BITS_PER_TRIGRAM = 10;
+    private static final int HASH_COUNT = 7;
+
+    private static final long FILTER_TTL_MS = 24 * 60 * 60 * 1000L;
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+
+    private static final Map<String, SearchValueFilter> filterCache = new LinkedHashMap<>(64, 0.75f, true);
+    private static long cacheBytes;
+
+    private final long createTime;
+    // False if table has more rows than scan limit. Such filter never excludes anything
+    private final boolean complete;
+    // Column name -> filter bits. Columns missing here are not filtered
+    private final Map<String, long[]> columnBits;
+
+    private SearchValueFilter(long createTime, boolean complete, @NotNull Map<String, long[]> columnBits) {
+        this.createTime = createTime;
+        this.complete = complete;
+        this.columnBits = columnBits;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns false if column definitely doesn't contain values with specified substring.
+     */
+    public boolean mightContain(@NotNull String columnName, @NotNull String searchString) {
+        if (!complete || !isFilterable(searchString)) {
+            return true;
+        }
+        long[] bits = columnBits.get(columnName);
+        if (bits == null) {
+            return true;
+        }
+        long bitCount = (long) bits.length * 64;
+        for (int i = 0; i + 2 < searchString.length(); i++) {
+            long trigram = makeTrigram(searchString.charAt(i), searchString.charAt(i + 1), searchString.charAt(i + 2));
+            long hash1 = mixHash(trigram);
+            long hash2 = mixHash(hash1) | 1;
+            for (int k = 0; k < HASH_COUNT; k++) {
+                long bit = Long.remainderUnsigned(hash1 + k * hash2, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Short strings have no trigrams. LIKE wildcards in the search string match unknown characters.
+     */
+    private static boolean isFilterable(@NotNull String searchString) {
+        return searchString.length() >= 3 && searchString.indexOf('%') == -1 && searchString.indexOf('_') == -1;
+    }
+
+    private boolean isExpired() {
+        return System.currentTimeMillis() - createTime > FILTER_TTL_MS;
+    }
+
+    private long getByteSize() {
+        long size = 0;
+        for (long[] bits : columnBits.values()) {
+            size += bits.length * 8L;
+        }
+        return size;
+    }
+
+    public void save(@NotNull File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_FORMAT_VERSION);
+            out.writeLong(createTime);
+            out.writeBoolean(complete);
+            out.writeInt(columnBits.size());
+            for (Map.Entry<String, long[]> entry : columnBits.entrySet()) {
+                out.writeUTF(entry.getKey());
+                long[] bits = entry.getValue();
+                out.writeInt(bits.length);
+                for (long word : bits) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads filter saved by {@link #save(File)}. Returns null if file has unknown format.
+     */
+    @Nullable
+    public static SearchValueFilter load(@NotNull File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_FORMAT_VERSION) {
+                return null;
+            }
+            long createTime = in.readLong();
+            boolean complete = in.readBoolean();
+            int columnCount = in.readInt();
+            Map<String, long[]> columnBits = new HashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                String columnName = in.readUTF();
+                long[] bits = new long[in.readInt()];
+                for (int k = 0; k < bits.length; k++) {
+                    bits[k] = in.readLong();
+                }
+                columnBits.put(columnName, bits);
+            }
+            return new SearchValueFilter(createTime, complete, columnBits);
+        }
+    }
+
+    /**
+     * Returns cached (in memory or in workspace) filter or builds a new one.
+     * Returns null if build was canceled or failed.
+     */
+    @Nullable
+    static SearchValueFilter getFilter(@NotNull DBCSession session, @NotNull DBSDataContainer dataContainer, @NotNull DBCExecutionSource source) {
+        String dataSourceId = dataContainer.getDataSource().getContainer().getId();
+        String tableName = DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
+        String cacheKey = dataSourceId + "/" + tableName;
+        synchronized (filterCache) {
+            SearchValueFilter filter = filterCache.get(cacheKey);
+            if (filter != null) {
+                if (!filter.isExpired()) {
+                    return filter;
+                }
+                removeFromCache(cacheKey);
+            }
+        }
+
+        File filterFile = new File(
+            new File(new File(DBWorkbench.getPlatform().getWorkspace().getMetadataFolder(), FILTERS_FOLDER), CommonUtils.escapeFileName(dataSourceId)),
+            CommonUtils.escapeFileName(tableName) + FILTER_FILE_EXT);
+        SearchValueFilter filter = null;
+        if (filterFile.exists()) {
+            try {
+                filter = load(filterFile);
+            } catch (IOException e) {
+                log.debug("Error reading value filter of '" + tableName + "': " + e.getMessage());
+            }
+            if (filter != null && filter.isExpired()) {
+                filter = null;
+            }
+        }
+        if (filter == null) {
+            session.getProgressMonitor().subTask("Build value filter for '" + dataContainer.getName() + "'");
+            Builder builder = new Builder();
+            try {
+                dataContainer.readData(source, session, builder, null, 0, SCAN_ROW_LIMIT + 1, 0, 0);
+            } catch (Exception e) {
+                log.debug("Error building value filter for '" + dataContainer.getName() + "'", e);
+                return null;
+            }
+            if (session.getProgressMonitor().isCanceled()) {
+                return null;
+            }
+            filter = builder.build();
+            try {
+                if (!filterFile.getParentFile().exists() && !filterFile.getParentFile().mkdirs()) {
+                    throw new IOException("Can't create folder '" + filterFile.getParentFile().getAbsolutePath() + "'");
+                }
+                filter.save(filterFile);
+            } catch (IOException e) {
+                log.debug("Error saving value filter of '" + tableName + "': " + e.getMessage());
+            }
+        }
+        synchronized (filterCache) {
+            removeFromCache(cacheKey);
+            filterCache.put(cacheKey, filter);
+            cacheBytes += filter.getByteSize();
+            for (Iterator<SearchValueFilter> iter = filterCache.values().iterator(); cacheBytes > MAX_CACHE_BYTES && iter.hasNext(); ) {
+                SearchValueFilter evicted = iter.next();
+                if (evicted != filter) {
+                    cacheBytes -= evicted.getByteSize();
+                    iter.remove();
+                }
+            }
+        }
+        return filter;
+    }
+
+    private static void removeFromCache(String cacheKey) {
+        SearchValueFilter oldFilter = filterCache.remove(cacheKey);
+        if (oldFilter != null) {
+            cacheBytes -= oldFilter.getByteSize();
+        }
+    }
+
+    private static long makeTrigram(char c1, char c2, char c3) {
+        return ((long) foldCase(c1) << 32) | ((long) foldCase(c2) << 16) | foldCase(c3);
+    }
+
+    private static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static long mixHash(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Collects trigrams of scanned rows
+     */
+    public static class Builder implements DBDDataReceiver {
+
+        private final Map<String, Set<Long>> columnTrigrams = new LinkedHashMap<>();
+        // Columns with non-string values or too many trigrams
+        private final Set<String> unfilteredColumns = new HashSet<>();
+        private String[] columnNames;
+        private long rowCount;
+
+        public void addValue(@NotNull String columnName, @Nullable Object value) {
+            if (unfilteredColumns.contains(columnName)) {
+                return;
+            }
+            Set<Long> trigrams = columnTrigrams.computeIfAbsent(columnName, name -> new HashSet<>());
+            if (value == null) {
+                return;
+            }
+            if (!(value instanceof String)) {
+                // Search compares string representation of such values (e.g. LOBs), we can't predict it
+                columnTrigrams.remove(columnName);
+                unfilteredColumns.add(columnName);
+                return;
+            }
+            String str = (String) value;
+            for (int k = 0; k + 2 < str.length(); k++) {
+                trigrams.add(makeTrigram(str.charAt(k), str.charAt(k + 1), str.charAt(k + 2)));
+            }
+            if (trigrams.size() > MAX_COLUMN_TRIGRAMS) {
+                columnTrigrams.remove(columnName);
+                unfilteredColumns.add(columnName);
+            }
+        }
+
+        public void addRow() {
+            rowCount++;
+        }
+
+        @NotNull
+        public SearchValueFilter build() {
+            long createTime = System.currentTimeMillis();
+            if (rowCount > SCAN_ROW_LIMIT) {
+                return new SearchValueFilter(createTime, false, Collections.emptyMap());
+            }
+            Map<String, long[]> columnBits = new HashMap<>();
+            for (Map.Entry<String, Set<Long>> entry : columnTrigrams.entrySet()) {
+                Set<Long> trigrams = entry.getValue();
+                long size = Math.max(64, (long) trigrams.size() * BITS_PER_TRIGRAM);
+                long[] bits = new long[(int) ((size + 63) / 64)];
+                long bitCount = (long) bits.length * 64;
+                for (Long trigram : trigrams) {
+                    long hash1 = mixHash(trigram);
+                    long hash2 = mixHash(hash1) | 1;
+                    for (int i = 0; i < HASH_COUNT; i++) {
+                        long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+                        bits[(int) (bit >>> 6)] |= 1L << bit;
+                    }
+                }
+                columnBits.put(entry.getKey(), bits);
+            }
+            return new SearchValueFilter(createTime, true, columnBits);
+        }
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            List<? extends DBCAttributeMetaData> attributes = resultSet.getMeta().getAttributes();
+            columnNames = new String[attributes.size()];
+            for (int i = 0; i < columnNames.length; i++) {
+                columnNames[i] = attributes.get(i).getName();
+            }
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            addRow();
+            if (rowCount > SCAN_ROW_LIMIT) {
+                return;
+            }
+            for (int i = 0; i < columnNames.length; i++) {
+                addValue(columnNames[i], resultSet.getAttributeValue(i));
+            }
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
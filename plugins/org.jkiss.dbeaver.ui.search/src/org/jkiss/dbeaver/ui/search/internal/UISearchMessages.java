@@ -40,6 +40,11 @@ public class UISearchMessages extends NLS {
     public static String dialog_search_objects_case_sensitive;
 	public static String dialog_search_objects_title;
 
+	public static String dialog_search_data_use_full_text;
+	public static String dialog_search_data_use_full_text_tip;
+	public static String dialog_search_data_use_value_filters;
+	public static String dialog_search_data_use_value_filters_tip;
+
     static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, UISearchMessages.class);
@@ -0,0 +1,117 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPNamedObject;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Exporter site which encodes output and discards it
+ */
+class BenchmarkExporterSite implements IStreamDataExporterSite {
+
+    private static final OutputStream NULL_STREAM = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) {
+        }
+    };
+
+    private final DBDAttributeBinding[] attributes;
+    private final Map<String, Object> properties;
+    private final StreamTransferWriter textWriter;
+    private final PrintWriter writer;
+
+    BenchmarkExporterSite(DBDAttributeBinding[] attributes, Map<String, Object> properties) {
+        this.attributes = attributes;
+        this.properties = properties;
+        this.textWriter = new StreamTransferWriter(NULL_STREAM, StandardCharsets.UTF_8);
+        this.writer = new PrintWriter(textWriter);
+    }
+
+    long getBytesWritten() {
+        return textWriter.getBytesWritten();
+    }
+
+    @Override
+    public DBPNamedObject getSource() {
+        return () -> "benchmark";
+    }
+
+    @Override
+    public DBDDisplayFormat getExportFormat() {
+        return DBDDisplayFormat.UI;
+    }
+
+    @Override
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public DBDAttributeBinding[] getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return NULL_STREAM;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        return writer;
+    }
+
+    @Nullable
+    @Override
+    public StreamTransferWriter getTextWriter() {
+        return textWriter;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException {
+        // Benchmark data has no binary content
+    }
+
+    @NotNull
+    @Override
+    public String getOutputEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import com.google.gson.Gson;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compares two JMH JSON result files (baseline and current run).
+ *
+ * Usage outside of the test runtime:
+ *     java -cp ... org.jkiss.dbeaver.test.benchmark.BenchmarkReport baseline.json current.json [threshold]
+ */
+public class BenchmarkReport {
+
+    public static class Score {
+        final String benchmark;
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Score(String benchmark, String mode, double score, double error, String unit) {
+            this.benchmark = benchmark;
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        /**
+         * Throughput modes are "higher is better", time modes are "lower is better"
+         */
+        boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static class Comparison {
+        final Score baseline;
+        final Score current;
+
+        Comparison(Score baseline, Score current) {
+            this.baseline = baseline;
+            this.current = current;
+        }
+
+        /**
+         * Change in percents. Positive value means improvement regardless of benchmark mode.
+         */
+        public double getChange() {
+            if (baseline.score == 0) {
+                return 0;
+            }
+            double change = (current.score - baseline.score) / baseline.score * 100;
+            return current.isHigherBetter() ? change : -change;
+        }
+
+        /**
+         * Difference is significant if it exceeds the sum of score errors
+         */
+        public boolean isSignificant() {
+            double errors = (Double.isNaN(baseline.error) ? 0 : baseline.error) + (Double.isNaN(current.error) ? 0 : current.error);
+            return Math.abs(current.score - baseline.score) > errors;
+        }
+    }
+
+    private final List<Comparison> comparisons = new ArrayList<>();
+    private final List<Score> newScores = new ArrayList<>();
+    private final List<Score> missingScores = new ArrayList<>();
+
+    public BenchmarkReport(@NotNull Map<String, Score> baseline, @NotNull Map<String, Score> current) {
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score baseScore = baseline.get(entry.getKey());
+            if (baseScore == null) {
+                newScores.add(entry.getValue());
+            } else {
+                comparisons.add(new Comparison(baseScore, entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, Score> entry : baseline.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                missingScores.add(entry.getValue());
+            }
+        }
+    }
+
+    @NotNull
+    public List<Comparison> getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Returns significant regressions which are worse than threshold (in percents)
+     */
+    @NotNull
+    public List<Comparison> getRegressions(double threshold) {
+        List<Comparison> result = new ArrayList<>();
+        for (Comparison comparison : comparisons) {
+            if (comparison.isSignificant() && comparison.getChange() < -threshold) {
+                result.add(comparison);
+            }
+        }
+        return result;
+    }
+
+    public void write(@NotNull PrintWriter out, double threshold) {
+        out.println(String.format(Locale.ENGLISH, "%-70s %6s %14s %14s %9s", "Benchmark", "Mode", "Baseline", "Current", "Change"));
+        for (Comparison comparison : comparisons) {
+            String mark = "";
+            if (comparison.isSignificant()) {
+                if (comparison.getChange() < -threshold) {
+                    mark = "  REGRESSION";
+                } else if (comparison.getChange() > threshold) {
+                    mark = "  improved";
+                }
+            }
+            out.println(String.format(Locale.ENGLISH, "%-70s %6s %14.3f %14.3f %+8.1f%% %s%s",
+                comparison.current.benchmark,
+                comparison.current.mode,
+                comparison.baseline.score,
+                comparison.current.score,
+                comparison.getChange(),
+                comparison.current.unit,
+                mark));
+        }
+        for (Score score : newScores) {
+            out.println(String.format(Locale.ENGLISH, "%-70s %6s %14s %14.3f %9s %s", score.benchmark, score.mode, "-", score.score, "new", score.unit));
+        }
+        for (Score score : missingScores) {
+            out.println(String.format(Locale.ENGLISH, "%-70s %6s %14.3f %14s %9s %s", score.benchmark, score.mode, score.score, "-", "removed", score.unit));
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads JMH result file. Results are keyed by benchmark name, mode and parameters.
+     */
+    @NotNull
+    public static Map<String, Score> readResults(@NotNull File file) throws IOException {
+        Map<String, Score> result = new LinkedHashMap<>();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            List<?> runs = new Gson().fromJson(reader, List.class);
+            if (runs == null) {
+                return result;
+            }
+            for (Object item : runs) {
+                if (!(item instanceof Map)) {
+                    continue;
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> run = (Map<String, Object>) item;
+                String benchmark = JSONUtils.getString(run, "benchmark");
+                String mode = JSONUtils.getString(run, "mode");
+                Map<String, Object> params = JSONUtils.getObjectOrNull(run, "params");
+                if (params != null && !params.isEmpty()) {
+                    StringBuilder name = new StringBuilder(benchmark).append(':');
+                    for (Map.Entry<String, Object> param : new TreeMap<>(params).entrySet()) {
+                        name.append(param.getKey()).append('=').append(param.getValue()).append(';');
+                    }
+                    benchmark = name.substring(0, name.length() - 1);
+                }
+                Map<String, Object> metric = JSONUtils.getObject(run, "primaryMetric");
+                Score score = new Score(
+                    benchmark,
+                    mode,
+                    CommonUtils.toDouble(metric.get("score")),
+                    CommonUtils.toDouble(metric.get("scoreError"), Double.NaN),
+                    JSONUtils.getString(metric, "scoreUnit"));
+                result.put(benchmark + "/" + mode, score);
+            }
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkReport <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        BenchmarkReport report = new BenchmarkReport(readResults(new File(args[0])), readResults(new File(args[1])));
+        report.write(new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), threshold);
+        System.exit(report.getRegressions(threshold).isEmpty() ? 0 : 1);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.utils.CommonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Runs JMH benchmarks inside the test runtime.
+ *
+ * Benchmarks are executed in the same JVM (no forks) because they need initialized platform and OSGi bundles.
+ * Results are saved in JSON format and optionally compared with baseline results.
+ */
+public class BenchmarkRunnerTest {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        File resultDir = new File(System.getProperty("benchmark.resultDir", "target"));
+        if (!resultDir.exists() && !resultDir.mkdirs()) {
+            Assert.fail("Can't create benchmark result folder " + resultDir.getAbsolutePath());
+        }
+        File resultFile = new File(resultDir, "jmh-result.json");
+
+        Options options = new OptionsBuilder()
+            .include(CommonUtils.toString(System.getProperty("benchmark.include"), ".*"))
+            .forks(0)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(2))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(2))
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile.getAbsolutePath())
+            .build();
+        new Runner(options).run();
+
+        String baseline = System.getProperty("benchmark.baseline");
+        if (CommonUtils.isEmpty(baseline)) {
+            return;
+        }
+        File baselineFile = new File(baseline);
+        if (!baselineFile.exists()) {
+            Assert.fail("Benchmark baseline " + baselineFile.getAbsolutePath() + " doesn't exist");
+        }
+        double threshold = CommonUtils.toDouble(System.getProperty("benchmark.threshold"), 10);
+        BenchmarkReport report = new BenchmarkReport(
+            BenchmarkReport.readResults(baselineFile),
+            BenchmarkReport.readResults(resultFile));
+        try (PrintWriter out = new PrintWriter(new File(resultDir, "benchmark-report.txt"), StandardCharsets.UTF_8.name())) {
+            report.write(out, threshold);
+        }
+        report.write(new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), threshold);
+
+        List<BenchmarkReport.Comparison> regressions = report.getRegressions(threshold);
+        if (!regressions.isEmpty() && CommonUtils.toBoolean(System.getProperty("benchmark.failOnRegression"))) {
+            Assert.fail(regressions.size() + " benchmark(s) regressed more than " + threshold + "%");
+        }
+    }
+
+}
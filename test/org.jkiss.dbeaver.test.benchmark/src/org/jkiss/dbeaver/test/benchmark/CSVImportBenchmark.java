@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataImporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataImporterColumnInfo;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamEntityMapping;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamProducerSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.DataImporterCSV;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads CSV file and passes all rows to the consumer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CSVImportBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private final Map<String, Object> properties = new HashMap<>();
+    private StreamEntityMapping entityMapping;
+    private IStreamDataImporterSite site;
+    private DBPDataSource streamDataSource;
+    private IDataTransferConsumer consumer;
+    private byte[] data;
+    private long valueCount;
+
+    @Setup
+    public void setup() throws Exception {
+        data = generateCSV(rows).getBytes(StandardCharsets.UTF_8);
+        properties.put("header", DataImporterCSV.HeaderPosition.top);
+
+        entityMapping = new StreamEntityMapping(new File("benchmark.csv"));
+        StreamProducerSettings settings = Mockito.mock(StreamProducerSettings.class);
+        site = Mockito.mock(IStreamDataImporterSite.class);
+        Mockito.when(site.getProcessorProperties()).thenReturn(properties);
+        Mockito.when(site.getSourceObject()).thenReturn(entityMapping);
+        Mockito.when(site.getSettings()).thenReturn(settings);
+
+        DataImporterCSV importer = new DataImporterCSV();
+        importer.init(site);
+        try (InputStream is = new ByteArrayInputStream(data)) {
+            List<StreamDataImporterColumnInfo> columns = importer.readColumnsInfo(entityMapping, is);
+            entityMapping.getStreamColumns().addAll(columns);
+        }
+
+        streamDataSource = Mockito.mock(DBPDataSource.class, Mockito.RETURNS_DEEP_STUBS);
+        // Consumer reads all values like database consumer does
+        consumer = Mockito.mock(IDataTransferConsumer.class);
+        Mockito.doAnswer(invocation -> {
+            DBCResultSet resultSet = (DBCResultSet) invocation.getArguments()[1];
+            for (int i = 0; i < entityMapping.getStreamColumns().size(); i++) {
+                if (resultSet.getAttributeValue(i) != null) {
+                    valueCount++;
+                }
+            }
+            return null;
+        }).when(consumer).fetchRow(Mockito.any(DBCSession.class), Mockito.any(DBCResultSet.class));
+    }
+
+    @Benchmark
+    public long runImport() throws Exception {
+        valueCount = 0;
+        DataImporterCSV importer = new DataImporterCSV();
+        importer.init(site);
+        try (InputStream is = new ByteArrayInputStream(data)) {
+            importer.runImport(new VoidProgressMonitor(), streamDataSource, is, consumer);
+        }
+        return valueCount;
+    }
+
+    private static String generateCSV(int rows) {
+        Random random = new Random(rows);
+        StringBuilder csv = new StringBuilder("id,name,amount,created,comment\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(',')
+                .append("Name ").append(random.nextInt(10000)).append(',')
+                .append(random.nextInt(100000) / 100.0).append(',')
+                .append("2020-0").append(1 + random.nextInt(9)).append("-1").append(random.nextInt(10)).append(" 12:00:00,")
+                .append(i % 10 == 0 ? "'quoted, value'" : "").append('\n');
+        }
+        return csv.toString();
+    }
+
+}
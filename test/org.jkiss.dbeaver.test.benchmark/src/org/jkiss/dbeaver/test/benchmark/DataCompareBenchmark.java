@@ -0,0 +1,122 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSetColumn;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetLocalSorter;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRowList;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts result set rows on the client side the same way as result set model does (local sorter and rows reorder).
+ * Sorting with generic value comparator is kept as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DataCompareBenchmark {
+
+    // Sorter switches to parallel sort on large result sets
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private DBDAttributeBinding[] attributes;
+    private List<ResultSetRow> data;
+    private ResultSetRowList rowList;
+
+    // Order constraints: category, created desc, id
+    private List<DBDAttributeBinding> orderBindings;
+    private final List<Boolean> orderDescending = Arrays.asList(false, true, false);
+
+    @Setup
+    public void setup() {
+        DBCSession session = Mockito.mock(DBCSession.class);
+        DBSDataContainer dataContainer = Mockito.mock(DBSDataContainer.class);
+        String[] names = {"id", "category", "amount", "created"};
+        DBPDataKind[] kinds = {DBPDataKind.NUMERIC, DBPDataKind.STRING, DBPDataKind.NUMERIC, DBPDataKind.DATETIME};
+        attributes = new DBDAttributeBinding[names.length];
+        for (int i = 0; i < names.length; i++) {
+            attributes[i] = new DBDAttributeBindingMeta(dataContainer, session, new LocalResultSetColumn(null, i, names[i], kinds[i]));
+        }
+        orderBindings = Arrays.asList(attributes[1], attributes[3], attributes[0]);
+
+        Random random = new Random(rows);
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(new ResultSetRow(i, new Object[]{
+                i,
+                i % 50 == 0 ? null : "Category " + random.nextInt(100),
+                new BigDecimal(random.nextInt(1000000)).movePointLeft(2),
+                new Timestamp(1500000000000L + random.nextInt(1000) * 1000L)
+            }));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fillRowList() {
+        // Reordered list must not be reused
+        rowList = new ResultSetRowList();
+        rowList.addAll(data);
+    }
+
+    @Benchmark
+    public ResultSetRowList sortRows() {
+        int[] order = new ResultSetLocalSorter(attributes, orderBindings, orderDescending).sort(rowList);
+        return rowList.reorder(order, null);
+    }
+
+    @Benchmark
+    public ResultSetRowList sortRowsByAmount() {
+        int[] order = new ResultSetLocalSorter(attributes, Collections.singletonList(attributes[2]), Collections.singletonList(false)).sort(rowList);
+        return rowList.reorder(order, null);
+    }
+
+    @Benchmark
+    public List<ResultSetRow> sortRowsGenericComparator() {
+        List<ResultSetRow> sorted = new ArrayList<>(rowList);
+        sorted.sort((row1, row2) -> {
+            int result = 0;
+            for (int i = 0; i < orderBindings.size(); i++) {
+                result = DBUtils.compareDataValues(
+                    DBUtils.getAttributeValue(orderBindings.get(i), attributes, row1.getValues()),
+                    DBUtils.getAttributeValue(orderBindings.get(i), attributes, row2.getValues()));
+                if (orderDescending.get(i)) {
+                    result = -result;
+                }
+                if (result != 0) {
+                    break;
+                }
+            }
+            return result;
+        });
+        return sorted;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.data.DefaultValueHandler;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSetColumn;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterJSON;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports rows with stream exporters. Output is encoded and discarded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DataExportBenchmark {
+
+    @Param({"csv", "json"})
+    public String format;
+
+    @Param({"100000"})
+    public int rows;
+
+    private final Map<String, Object> properties = new HashMap<>();
+    private DBCSession session;
+    private DBDAttributeBinding[] attributes;
+    private Object[][] data;
+
+    @Setup
+    public void setup() {
+        session = Mockito.mock(DBCSession.class);
+        Mockito.when(session.getDefaultValueHandler()).thenReturn(DefaultValueHandler.INSTANCE);
+        Mockito.when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+        DBSDataContainer dataContainer = Mockito.mock(DBSDataContainer.class);
+
+        String[] names = {"id", "name", "amount", "created", "active"};
+        DBPDataKind[] kinds = {DBPDataKind.NUMERIC, DBPDataKind.STRING, DBPDataKind.NUMERIC, DBPDataKind.DATETIME, DBPDataKind.BOOLEAN};
+        attributes = new DBDAttributeBinding[names.length];
+        for (int i = 0; i < names.length; i++) {
+            attributes[i] = new DBDAttributeBindingMeta(dataContainer, session, new LocalResultSetColumn(null, i, names[i], kinds[i]));
+        }
+
+        Random random = new Random(rows);
+        data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new Object[]{
+                (long) i,
+                i % 20 == 0 ? null : "Name \"" + random.nextInt(10000) + "\", " + i,
+                random.nextInt(100000) / 100.0,
+                new Timestamp(1500000000000L + random.nextInt(Integer.MAX_VALUE) * 100L),
+                random.nextBoolean()
+            };
+        }
+    }
+
+    @Benchmark
+    public long exportRows() throws Exception {
+        IStreamDataExporter exporter = "json".equals(format) ? new DataExporterJSON() : new DataExporterCSV();
+        BenchmarkExporterSite site = new BenchmarkExporterSite(attributes, properties);
+        exporter.init(site);
+        exporter.exportHeader(session);
+        for (Object[] row : data) {
+            exporter.exportRow(session, null, row);
+        }
+        exporter.exportFooter(session.getProgressMonitor());
+        exporter.dispose();
+        site.flush();
+        return site.getBytesWritten();
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceInfo;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.ExecuteBatchImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCFactoryDefault;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts rows in embedded in-memory database with the batch executor which is used by data editor and data transfer.
+ * Statements are wrapped by DBeaver JDBC statement implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ExecuteBatchBenchmark {
+
+    private static final String INSERT_QUERY = "INSERT INTO bench_data (id, name, amount, created) VALUES (?, ?, ?, ?)"; //$NON-NLS-1$
+
+    @Param({"h2", "sqlite"})
+    public String database;
+
+    @Param({"false", "true"})
+    public boolean disableBatches;
+
+    @Param({"10000"})
+    public int rows;
+
+    private Connection connection;
+    private JDBCSession session;
+    private final JDBCFactoryDefault jdbcFactory = new JDBCFactoryDefault();
+    private DBDAttributeBinding[] attributes;
+    private Object[][] data;
+
+    @Setup
+    public void setup() throws Exception {
+        String driverClass, url;
+        switch (database) {
+            case "h2":
+                driverClass = "org.h2.Driver";
+                url = "jdbc:h2:mem:bench";
+                break;
+            case "sqlite":
+                driverClass = "org.sqlite.JDBC";
+                url = "jdbc:sqlite::memory:";
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported database: " + database);
+        }
+        // Drivers are embedded in this bundle, so do not go through DriverManager
+        Driver driver = (Driver) Class.forName(driverClass).newInstance();
+        connection = driver.connect(url, new Properties());
+        try (Statement dbStat = connection.createStatement()) {
+            dbStat.execute("CREATE TABLE bench_data (id INTEGER, name VARCHAR(100), amount DECIMAL(12,2), created TIMESTAMP)");
+        }
+        connection.setAutoCommit(false);
+
+        DBPDataSourceInfo info = Mockito.mock(DBPDataSourceInfo.class);
+        Mockito.when(info.supportsBatchUpdates()).thenReturn(true);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        Mockito.when(dataSource.getInfo()).thenReturn(info);
+        session = Mockito.mock(JDBCSession.class);
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+
+        // Values are bound directly, value handlers are not used
+        attributes = new DBDAttributeBinding[4];
+        DBDValueHandler valueHandler = Mockito.mock(DBDValueHandler.class);
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = Mockito.mock(DBDAttributeBinding.class);
+            Mockito.when(attributes[i].getValueHandler()).thenReturn(valueHandler);
+        }
+
+        Random random = new Random(rows);
+        data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new Object[]{
+                i,
+                // Nulls change statement key, so statement is prepared again
+                i % 20 == 0 ? null : "Name " + random.nextInt(10000),
+                new BigDecimal(random.nextInt(1000000)).movePointLeft(2),
+                new Timestamp(1500000000000L + random.nextInt(Integer.MAX_VALUE) * 100L)
+            };
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() throws SQLException {
+        try (Statement dbStat = connection.createStatement()) {
+            dbStat.execute("DELETE FROM bench_data");
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public DBCStatistics insertRows() throws Exception {
+        ExecuteBatchImpl batch = new ExecuteBatchImpl(attributes, null, true) {
+            @NotNull
+            @Override
+            protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
+                try {
+                    return jdbcFactory.createPreparedStatement(
+                        (JDBCSession) session, connection.prepareStatement(INSERT_QUERY), INSERT_QUERY, true);
+                } catch (SQLException e) {
+                    throw new DBCException("Can't prepare statement", e);
+                }
+            }
+
+            @Override
+            protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) throws DBCException {
+                try {
+                    for (int i = 0; i < attributeValues.length; i++) {
+                        ((JDBCPreparedStatement) statement).setObject(i + 1, attributeValues[i]);
+                    }
+                } catch (SQLException e) {
+                    throw new DBCException("Can't bind statement parameters", e);
+                }
+            }
+        };
+        for (Object[] row : data) {
+            batch.add(row);
+        }
+        Map<String, Object> options = new HashMap<>();
+        options.put(DBSDataManipulator.OPTION_DISABLE_BATCHES, disableBatches);
+        DBCStatistics statistics = batch.execute(session, options);
+        batch.close();
+        connection.commit();
+        return statistics;
+    }
+
+}
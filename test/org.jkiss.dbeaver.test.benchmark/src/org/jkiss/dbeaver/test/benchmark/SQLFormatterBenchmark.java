@@ -0,0 +1,67 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.DBPIdentifierCase;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.format.SQLFormatterConfiguration;
+import org.jkiss.dbeaver.model.sql.format.tokenized.SQLFormatterTokenized;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats large SQL script with tokenized formatter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SQLFormatterBenchmark {
+
+    @Param({"1000", "10000"})
+    public int statements;
+
+    private SQLFormatterConfiguration configuration;
+    private String script;
+
+    @Setup
+    public void setup() {
+        configuration = Mockito.mock(SQLFormatterConfiguration.class);
+        DBPPreferenceStore preferenceStore = Mockito.mock(DBPPreferenceStore.class);
+        SQLSyntaxManager syntaxManager = Mockito.mock(SQLSyntaxManager.class);
+
+        Mockito.when(configuration.getSyntaxManager()).thenReturn(syntaxManager);
+        Mockito.when(syntaxManager.getStatementDelimiters()).thenReturn(new String[]{";"});
+        Mockito.when(syntaxManager.getDialect()).thenReturn(BasicSQLDialect.INSTANCE);
+        Mockito.when(syntaxManager.getCatalogSeparator()).thenReturn(".");
+        Mockito.when(configuration.getKeywordCase()).thenReturn(DBPIdentifierCase.UPPER);
+        Mockito.when(configuration.getIndentString()).thenReturn("\t");
+        Mockito.doReturn(preferenceStore).when(configuration).getPreferenceStore();
+
+        // Formatter works with single line scripts in SQL editor, remove line feeds
+        script = SQLScriptParserBenchmark.generateScript(statements).replace('\n', ' ');
+    }
+
+    @Benchmark
+    public String format() {
+        return new SQLFormatterTokenized().format(script, configuration);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLParserContext;
+import org.jkiss.dbeaver.model.sql.parser.SQLRuleManager;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.registry.SQLDialectRegistry;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits large SQL script on queries
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SQLScriptParserBenchmark {
+
+    @Param({"postgresql", "oracle"})
+    public String dialect;
+
+    @Param({"1000", "10000"})
+    public int statements;
+
+    private SQLParserContext parserContext;
+
+    @Setup
+    public void setup() throws Exception {
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        DBPDataSourceContainer dataSourceContainer = Mockito.mock(DBPDataSourceContainer.class);
+        DBCExecutionContext executionContext = Mockito.mock(DBCExecutionContext.class);
+
+        DBPConnectionConfiguration connectionConfiguration = new DBPConnectionConfiguration();
+        DBPPreferenceStore preferenceStore = DBWorkbench.getPlatform().getPreferenceStore();
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(dataSourceContainer.getConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(dataSourceContainer.getActualConnectionConfiguration()).thenReturn(connectionConfiguration);
+        Mockito.when(dataSourceContainer.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.when(executionContext.getDataSource()).thenReturn(dataSource);
+
+        SQLDialect sqlDialect = SQLDialectRegistry.getInstance().getDialect(dialect).createInstance();
+        Mockito.when(dataSource.getSQLDialect()).thenReturn(sqlDialect);
+
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(sqlDialect, preferenceStore);
+        SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+        ruleManager.loadRules(dataSource, false);
+        Document document = new Document(generateScript(statements));
+        parserContext = new SQLParserContext(() -> executionContext, syntaxManager, ruleManager, document);
+    }
+
+    @Benchmark
+    public List<SQLScriptElement> extractScriptQueries() {
+        return SQLScriptParser.extractScriptQueries(parserContext, 0, parserContext.getDocument().getLength(), false, false, false);
+    }
+
+    static String generateScript(int statements) {
+        Random random = new Random(statements);
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < statements; i++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    script.append("SELECT t.id, t.name, SUM(o.amount) AS total\nFROM customer t\n")
+                        .append("JOIN orders o ON o.customer_id = t.id\nWHERE t.name LIKE 'A%;' AND o.created > '2020-01-01'\n")
+                        .append("GROUP BY t.id, t.name\nORDER BY total DESC;\n");
+                    break;
+                case 1:
+                    script.append("INSERT INTO orders (id, customer_id, amount, note) VALUES (")
+                        .append(i).append(", ").append(random.nextInt(1000)).append(", ").append(random.nextDouble())
+                        .append(", 'note \"").append(i).append("\" -- not a comment');\n");
+                    break;
+                case 2:
+                    script.append("-- update ").append(i).append("\nUPDATE customer SET name = 'Name ")
+                        .append(i).append("' WHERE id IN (SELECT customer_id FROM orders WHERE amount > ")
+                        .append(random.nextInt(100)).append(");\n");
+                    break;
+                case 3:
+                    script.append("/* delete\n   old rows */\nDELETE FROM orders WHERE id = ").append(i).append(";\n\n");
+                    break;
+                default:
+                    script.append("CREATE TABLE tmp_").append(i).append(" (\n  id INTEGER NOT NULL,\n  value VARCHAR(100),\n")
+                        .append("  PRIMARY KEY (id)\n);\n");
+                    break;
+            }
+        }
+        return script.toString();
+    }
+
+}
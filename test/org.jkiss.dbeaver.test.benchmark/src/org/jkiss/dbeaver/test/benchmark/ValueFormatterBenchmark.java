@@ -0,0 +1,78 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.test.benchmark;
+
+import org.jkiss.dbeaver.model.impl.data.formatters.DateTimeDataFormatter;
+import org.jkiss.dbeaver.model.impl.data.formatters.NumberDataFormatter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats date/time and numeric values the same way as result set viewer does
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ValueFormatterBenchmark {
+
+    private static final int VALUE_COUNT = 1000;
+
+    private DateTimeDataFormatter timestampFormatter;
+    private NumberDataFormatter numberFormatter;
+    private Timestamp[] timestamps;
+    private Number[] numbers;
+
+    @Setup
+    public void setup() {
+        timestampFormatter = new DateTimeDataFormatter();
+        timestampFormatter.init(null, Locale.US, Collections.singletonMap(DateTimeDataFormatter.PROP_PATTERN, "yyyy-MM-dd HH:mm:ss.ffffff"));
+        numberFormatter = new NumberDataFormatter();
+        numberFormatter.init(null, Locale.US, Collections.emptyMap());
+
+        Random random = new Random(1);
+        timestamps = new Timestamp[VALUE_COUNT];
+        numbers = new Number[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            timestamps[i] = new Timestamp(random.nextLong() % 8000000000000L);
+            timestamps[i].setNanos(random.nextInt(1000000000));
+            numbers[i] = i % 2 == 0 ? (Number) random.nextLong() : (Number) (random.nextDouble() * 1000000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void formatTimestamp(Blackhole blackhole) {
+        for (Timestamp timestamp : timestamps) {
+            blackhole.consume(timestampFormatter.formatValue(timestamp));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void formatNumber(Blackhole blackhole) {
+        for (Number number : numbers) {
+            blackhole.consume(numberFormatter.formatValue(number));
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.transfer;
+
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class StreamTransferWriterTest {
+
+    @Test
+    public void testPendingBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamTransferWriter writer = new StreamTransferWriter(out, StandardCharsets.UTF_8);
+        writer.write("abc");
+        Assert.assertEquals(3, writer.getPendingBytes());
+        // Two and three bytes in UTF-8
+        writer.write("\u00e9\u20ac");
+        Assert.assertEquals(8, writer.getPendingBytes());
+        Assert.assertEquals(0, writer.getBytesWritten());
+        Assert.assertEquals(0, out.size());
+
+        writer.flush();
+        Assert.assertEquals(0, writer.getPendingBytes());
+        Assert.assertEquals(8, writer.getBytesWritten());
+        Assert.assertEquals("abc\u00e9\u20ac", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSurrogatePair() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamTransferWriter writer = new StreamTransferWriter(out, StandardCharsets.UTF_8);
+        writer.write('\ud83d');
+        // Unpaired high surrogate is not encoded yet
+        Assert.assertEquals(0, writer.getPendingBytes());
+        writer.write('\ude00');
+        Assert.assertEquals(4, writer.getPendingBytes());
+        writer.close();
+        Assert.assertEquals("\ud83d\ude00", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBufferOverflow() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamTransferWriter writer = new StreamTransferWriter(out, StandardCharsets.UTF_8, 16);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            String str = i % 3 == 0 ? "\u044f" : "x";
+            writer.write(str);
+            expected.append(str);
+            int expectedBytes = expected.toString().getBytes(StandardCharsets.UTF_8).length;
+            // Written and pending bytes always sum up to the encoded text size.
+            // Pending bytes are read first: encoding of pending chars may flush the buffer.
+            int pendingBytes = writer.getPendingBytes();
+            Assert.assertEquals(expectedBytes, writer.getBytesWritten() + pendingBytes);
+            Assert.assertEquals(writer.getBytesWritten(), out.size());
+        }
+        Assert.assertTrue(writer.getBytesWritten() > 0);
+        writer.close();
+        Assert.assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteLong() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamTransferWriter writer = new StreamTransferWriter(out, StandardCharsets.US_ASCII);
+        for (long value : new long[] {0, -5, 12345, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            writer.writeLong(value);
+            writer.write(';');
+        }
+        Assert.assertEquals(2 + 3 + 6 + 20 + 21, writer.getPendingBytes());
+        writer.close();
+        Assert.assertEquals("0;-5;12345;" + Long.MAX_VALUE + ";" + Long.MIN_VALUE + ";", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+}
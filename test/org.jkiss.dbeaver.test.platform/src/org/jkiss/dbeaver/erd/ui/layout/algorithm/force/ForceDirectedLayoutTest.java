@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout.algorithm.force;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ForceDirectedLayoutTest {
+
+    private static final int SPACING = 20;
+    private static final int MARGIN = 10;
+    private static final int MAX_ITERATIONS = 2000;
+
+    @Test
+    public void testSingleNode() {
+        ForceDirectedLayout layout = new ForceDirectedLayout(1, SPACING);
+        layout.setNode(0, 100, 200, 50, 30, true);
+        layout.initialize();
+        Assert.assertFalse(layout.step());
+        Assert.assertEquals(MARGIN, layout.getLeftPositions(MARGIN)[0]);
+        Assert.assertEquals(MARGIN, layout.getTopPositions(MARGIN)[0]);
+    }
+
+    @Test
+    public void testInitialGridPlacement() {
+        int nodeCount = 9;
+        ForceDirectedLayout layout = new ForceDirectedLayout(nodeCount, SPACING);
+        for (int i = 0; i < nodeCount; i++) {
+            layout.setNode(i, 0, 0, 100, 60, false);
+        }
+        layout.initialize();
+        // Nodes without location are placed in grid before iterations, so there are no overlaps
+        assertNoOverlaps(layout, new int[] {100, 100, 100, 100, 100, 100, 100, 100, 100}, new int[] {60, 60, 60, 60, 60, 60, 60, 60, 60});
+        int[] left = layout.getLeftPositions(MARGIN);
+        int[] top = layout.getTopPositions(MARGIN);
+        int minLeft = Integer.MAX_VALUE, minTop = Integer.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            minLeft = Math.min(minLeft, left[i]);
+            minTop = Math.min(minTop, top[i]);
+        }
+        Assert.assertEquals(MARGIN, minLeft);
+        Assert.assertEquals(MARGIN, minTop);
+    }
+
+    @Test
+    public void testConvergesWithoutOverlaps() {
+        int nodeCount = 300;
+        Random random = new Random(42);
+        int[] widths = new int[nodeCount];
+        int[] heights = new int[nodeCount];
+        ForceDirectedLayout layout = new ForceDirectedLayout(nodeCount, SPACING);
+        for (int i = 0; i < nodeCount; i++) {
+            widths[i] = 80 + random.nextInt(120);
+            heights[i] = 40 + random.nextInt(200);
+            layout.setNode(i, 0, 0, widths[i], heights[i], false);
+        }
+        for (int i = 1; i < nodeCount; i++) {
+            // Tree with a few hubs plus some random references
+            layout.addEdge(i, random.nextInt(Math.min(i, 10)));
+            if (i % 7 == 0) {
+                layout.addEdge(i, random.nextInt(nodeCount));
+            }
+        }
+        layout.initialize();
+        runLayout(layout);
+        assertNoOverlaps(layout, widths, heights);
+    }
+
+    @Test
+    public void testCoincidentNodesSeparated() {
+        int nodeCount = 5;
+        int[] widths = {100, 100, 100, 100, 100};
+        int[] heights = {50, 50, 50, 50, 50};
+        ForceDirectedLayout layout = new ForceDirectedLayout(nodeCount, SPACING);
+        for (int i = 0; i < nodeCount; i++) {
+            // All nodes keep the same saved location
+            layout.setNode(i, 300, 300, widths[i], heights[i], true);
+        }
+        layout.addEdge(0, 1);
+        layout.addEdge(0, 0);
+        layout.initialize();
+        runLayout(layout);
+        assertNoOverlaps(layout, widths, heights);
+    }
+
+    @Test
+    public void testConnectedNodesStayCloser() {
+        int nodeCount = 40;
+        int[] widths = new int[nodeCount];
+        int[] heights = new int[nodeCount];
+        ForceDirectedLayout layout = new ForceDirectedLayout(nodeCount, SPACING);
+        for (int i = 0; i < nodeCount; i++) {
+            widths[i] = 100;
+            heights[i] = 60;
+            layout.setNode(i, 0, 0, widths[i], heights[i], false);
+        }
+        // Two separate chains
+        for (int i = 1; i < nodeCount / 2; i++) {
+            layout.addEdge(i - 1, i);
+            layout.addEdge(nodeCount / 2 + i - 1, nodeCount / 2 + i);
+        }
+        layout.initialize();
+        runLayout(layout);
+
+        int[] left = layout.getLeftPositions(0);
+        int[] top = layout.getTopPositions(0);
+        double connected = 0, unconnected = 0;
+        for (int i = 1; i < nodeCount / 2; i++) {
+            connected += Math.hypot(left[i] - left[i - 1], top[i] - top[i - 1]);
+            unconnected += Math.hypot(left[i] - left[nodeCount - i], top[i] - top[nodeCount - i]);
+        }
+        Assert.assertTrue(connected < unconnected);
+    }
+
+    private static void runLayout(ForceDirectedLayout layout) {
+        int iterations = 0;
+        while (layout.step()) {
+            iterations++;
+            Assert.assertTrue("Layout does not converge", iterations < MAX_ITERATIONS);
+        }
+        Assert.assertTrue(layout.isConverged());
+    }
+
+    private static void assertNoOverlaps(ForceDirectedLayout layout, int[] widths, int[] heights) {
+        int[] left = layout.getLeftPositions(0);
+        int[] top = layout.getTopPositions(0);
+        for (int i = 0; i < layout.getNodeCount(); i++) {
+            for (int j = i + 1; j < layout.getNodeCount(); j++) {
+                boolean overlap =
+                    left[i] < left[j] + widths[j] && left[j] < left[i] + widths[i] &&
+                    top[i] < top[j] + heights[j] && top[j] < top[i] + heights[i];
+                Assert.assertFalse("Nodes " + i + " and " + j + " overlap", overlap);
+            }
+        }
+    }
+}
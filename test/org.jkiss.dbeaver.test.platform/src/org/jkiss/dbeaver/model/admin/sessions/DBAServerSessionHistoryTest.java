@@ -0,0 +1,111 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DBAServerSessionHistoryTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static class TestSession extends AbstractServerSession {
+        private final int pid;
+        private final String query;
+
+        TestSession(int pid, String query) {
+            this.pid = pid;
+            this.query = query;
+        }
+
+        @Override
+        public String getActiveQuery() {
+            return query;
+        }
+
+        @Override
+        public Object getSessionId() {
+            return pid;
+        }
+    }
+
+    @Test
+    public void testActiveSessionsAtTime() throws Exception {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(tempFolder.newFolder(), 1000, 10);
+        history.addSample(1100, Arrays.asList(new TestSession(1, "select 1"), new TestSession(2, null)));
+        history.addSample(1500, Arrays.asList(new TestSession(1, "select\t1\nfrom dual"), new TestSession(2, "select 1")));
+        history.addSample(2100, Arrays.asList(new TestSession(3, "select 3")));
+
+        List<DBAServerSessionHistory.Sample> samples = history.getActiveSessions(1200);
+        Assert.assertEquals(1, samples.size());
+        Assert.assertEquals("1", samples.get(0).getSessionId());
+        Assert.assertEquals("select 1", samples.get(0).getQuery());
+
+        samples = history.getActiveSessions(2050);
+        Assert.assertEquals(2, samples.size());
+        Assert.assertEquals("select\t1\nfrom dual", samples.get(0).getQuery());
+        Assert.assertEquals("select 1", samples.get(1).getQuery());
+
+        Assert.assertEquals(1, history.getActiveSessions(2100).size());
+        Assert.assertTrue(history.getActiveSessions(900).isEmpty());
+        Assert.assertEquals(4, history.getSamples(0, 3000).size());
+    }
+
+    @Test
+    public void testStaleSamplesIgnored() throws Exception {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(tempFolder.newFolder(), 1000, 10, 300);
+        history.addSample(1100, Arrays.asList(new TestSession(1, "select 1")));
+        history.addSample(1900, Arrays.asList(new TestSession(2, "select 2")));
+
+        Assert.assertEquals("1", history.getActiveSessions(1400).get(0).getSessionId());
+        // Sampling stopped after 1100
+        Assert.assertTrue(history.getActiveSessions(1401).isEmpty());
+        // Sample of the previous bucket
+        Assert.assertEquals("2", history.getActiveSessions(2100).get(0).getSessionId());
+        Assert.assertTrue(history.getActiveSessions(2300).isEmpty());
+        Assert.assertTrue(history.getActiveSessions(5000).isEmpty());
+    }
+
+    @Test
+    public void testLastSampleTime() throws Exception {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(tempFolder.newFolder(), 1000, 10);
+        Assert.assertEquals(-1, history.getLastSampleTime());
+        history.addSample(1900, Arrays.asList(new TestSession(1, "select 1")));
+        // Empty samples count too: sampler did run at that time
+        history.addSample(2100, Collections.emptyList());
+        Assert.assertEquals(2100, history.getLastSampleTime());
+    }
+
+    @Test
+    public void testOldBucketsRemoved() throws Exception {
+        DBAServerSessionHistory history = new DBAServerSessionHistory(tempFolder.newFolder(), 1000, 2);
+        history.addSample(1000, Arrays.asList(new TestSession(1, "select 1")));
+        history.addSample(2000, Arrays.asList(new TestSession(1, "select 1")));
+        history.addSample(3000, Arrays.asList(new TestSession(1, "select 1")));
+
+        Assert.assertTrue(history.getActiveSessions(1000).isEmpty());
+        Assert.assertEquals(1, history.getActiveSessions(2000).size());
+        Assert.assertEquals(2, history.getFolder().listFiles().length);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.gis;
+
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+
+public class GisGeometryIndexTest {
+
+    private static final String DETAILED_LINE;
+
+    static {
+        StringBuilder wkt = new StringBuilder("LINESTRING(");
+        for (int i = 0; i <= 100; i++) {
+            if (i > 0) wkt.append(",");
+            // Zigzag with 0.01 amplitude
+            wkt.append(i).append(" ").append(i % 2 == 0 ? "0" : "0.01");
+        }
+        DETAILED_LINE = wkt.append(")").toString();
+    }
+
+    private static GisGeometryIndex buildIndex(DBGeometry... values) {
+        return GisGeometryIndex.build(new VoidProgressMonitor(), values, null);
+    }
+
+    @Test
+    public void testBuild() {
+        GisGeometryIndex index = buildIndex(
+            new DBGeometry("POINT(1 1)"),
+            new DBGeometry(),
+            new DBGeometry("not a geometry"),
+            new DBGeometry("SRID=4326;LINESTRING(0 0, 10 5)"));
+
+        Assert.assertEquals(2, index.size());
+        Assert.assertEquals(new Envelope(0, 10, 0, 5), index.getBounds());
+        Assert.assertNull(index.getGeometry(1, 1));
+        Assert.assertEquals(4326, index.getGeometry(3, 0).getSRID());
+    }
+
+    @Test
+    public void testQuery() {
+        GisGeometryIndex index = buildIndex(
+            new DBGeometry("POLYGON((0 0, 10 0, 10 10, 0 10, 0 0))"),
+            new DBGeometry("POINT(50 50)"),
+            new DBGeometry("POINT(5 5)"),
+            new DBGeometry("LINESTRING(-100 -100, 100 -90)"));
+
+        Assert.assertArrayEquals(new int[] {0, 2}, index.query(new Envelope(1, 6, 1, 6), 0));
+        Assert.assertArrayEquals(new int[] {1}, index.query(new Envelope(40, 60, 40, 60), 0));
+        Assert.assertArrayEquals(new int[0], index.query(new Envelope(20, 30, 20, 30), 0));
+        // The biggest geometries are returned when result is limited, in the source order
+        Assert.assertArrayEquals(new int[] {0, 3}, index.query(new Envelope(-200, 200, -200, 200), 2));
+    }
+
+    @Test
+    public void testSimplification() {
+        GisGeometryIndex index = buildIndex(
+            new DBGeometry(DETAILED_LINE),
+            new DBGeometry("POLYGON((0 0, 0.1 0, 0.1 0.1, 0 0.1, 0 0))"));
+
+        // Full resolution
+        Assert.assertEquals(101, index.getGeometry(0, 0).getNumPoints());
+        Assert.assertEquals(101, index.getGeometry(0, 0.001).getNumPoints());
+        // Zigzag is smaller than a pixel
+        Geometry simplified = index.getGeometry(0, 1);
+        Assert.assertTrue(simplified.getNumPoints() < 101);
+        // Geometry smaller than a pixel becomes its center point
+        Geometry point = index.getGeometry(1, 1);
+        Assert.assertTrue(point instanceof Point);
+        Assert.assertEquals(0.05, ((Point) point).getX(), 1e-9);
+    }
+
+    @Test
+    public void testLevelCache() {
+        GisGeometryIndex index = buildIndex(new DBGeometry(DETAILED_LINE));
+
+        Geometry level0 = index.getGeometry(0, 1);
+        // The same resolution level
+        Assert.assertSame(level0, index.getGeometry(0, 1.5));
+        index.getGeometry(0, 2);
+        index.getGeometry(0, 4);
+        Assert.assertSame(level0, index.getGeometry(0, 1));
+        // Only a few recently used levels are kept
+        index.getGeometry(0, 8);
+        index.getGeometry(0, 16);
+        index.getGeometry(0, 32);
+        Geometry recomputed = index.getGeometry(0, 1);
+        Assert.assertNotSame(level0, recomputed);
+        Assert.assertTrue(level0.equalsExact(recomputed));
+    }
+
+}
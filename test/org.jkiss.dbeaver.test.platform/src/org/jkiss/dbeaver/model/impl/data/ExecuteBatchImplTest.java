@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceInfo;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+
+public class ExecuteBatchImplTest {
+
+    private DBCSession session;
+    private DBSAttributeBase keyAttribute;
+
+    // Statements in preparation order
+    private final List<String> preparedQueries = new ArrayList<>();
+    // Executed queries with bound values
+    private final List<String> executed = new ArrayList<>();
+    private final Map<DBCStatement, StringBuilder> boundValues = new IdentityHashMap<>();
+    private final Map<DBCStatement, Integer> batchSizes = new IdentityHashMap<>();
+
+    @Before
+    public void setUp() {
+        DBPDataSourceInfo info = Mockito.mock(DBPDataSourceInfo.class);
+        Mockito.when(info.supportsBatchUpdates()).thenReturn(true);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        Mockito.when(dataSource.getInfo()).thenReturn(info);
+        session = Mockito.mock(DBCSession.class);
+        Mockito.when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.when(session.getProgressMonitor()).thenReturn(new VoidProgressMonitor());
+
+        DBDAttributeBinding binding = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(binding.getValueHandler()).thenReturn(Mockito.mock(DBDValueHandler.class));
+        keyAttribute = binding;
+    }
+
+    @Test
+    public void testMixedNullKeysWithoutBatches() throws DBCException {
+        DBCStatistics statistics = deleteRows(true, 1, null, 2, null, null, 3);
+
+        Assert.assertEquals(Arrays.asList("k=?", "k IS NULL", "k=?", "k IS NULL", "k=?"), preparedQueries);
+        Assert.assertEquals(
+            Arrays.asList("k=?[1]", "k IS NULL", "k=?[2]", "k IS NULL", "k IS NULL", "k=?[3]"),
+            executed);
+        Assert.assertEquals(6, statistics.getRowsUpdated());
+    }
+
+    @Test
+    public void testMixedNullKeysWithBatches() throws DBCException {
+        deleteRows(false, 1, 2, null, 3);
+
+        Assert.assertEquals(Arrays.asList("k=?", "k IS NULL", "k=?"), preparedQueries);
+        Assert.assertEquals(
+            Arrays.asList("k=?[1][2]", "k IS NULL", "k=?[3]"),
+            executed);
+    }
+
+    private DBCStatistics deleteRows(boolean disableBatches, Object... keys) throws DBCException {
+        // Mimics JDBCTable.deleteData: NULL key produces different query
+        ExecuteBatchImpl batch = new ExecuteBatchImpl(new DBSAttributeBase[] { keyAttribute }, null, true) {
+            @NotNull
+            @Override
+            protected Object getStatementKey(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) {
+                return makeQuery(attributeValues);
+            }
+
+            @NotNull
+            @Override
+            protected DBCStatement prepareStatement(@NotNull DBCSession session, DBDValueHandler[] handlers, Object[] attributeValues, Map<String, Object> options) throws DBCException {
+                String query = makeQuery(attributeValues);
+                preparedQueries.add(query);
+                return createStatement(query);
+            }
+
+            @Override
+            protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) {
+                if (attributeValues[0] != null) {
+                    boundValues.get(statement).append('[').append(attributeValues[0]).append(']');
+                }
+            }
+
+            private String makeQuery(Object[] attributeValues) {
+                return attributeValues[0] == null ? "k IS NULL" : "k=?";
+            }
+        };
+        for (Object key : keys) {
+            batch.add(new Object[] { key });
+        }
+        Map<String, Object> options = new HashMap<>();
+        options.put(DBSDataManipulator.OPTION_DISABLE_BATCHES, disableBatches);
+        return batch.execute(session, options);
+    }
+
+    private DBCStatement createStatement(String query) throws DBCException {
+        DBCStatement statement = Mockito.mock(DBCStatement.class);
+        boundValues.put(statement, new StringBuilder());
+        batchSizes.put(statement, 0);
+        Mockito.when(statement.getQueryString()).thenReturn(query);
+        Mockito.when(statement.getUpdateRowCount()).thenReturn(1);
+        Mockito.when(statement.executeStatement()).then(invocation -> {
+            flushExecuted(statement);
+            return false;
+        });
+        Mockito.doAnswer(invocation -> {
+            batchSizes.put(statement, batchSizes.get(statement) + 1);
+            return null;
+        }).when(statement).addToBatch();
+        Mockito.when(statement.executeStatementBatch()).then(invocation -> {
+            flushExecuted(statement);
+            int[] result = new int[batchSizes.get(statement)];
+            Arrays.fill(result, 1);
+            batchSizes.put(statement, 0);
+            return result;
+        });
+        return statement;
+    }
+
+    private void flushExecuted(DBCStatement statement) {
+        StringBuilder bound = boundValues.get(statement);
+        executed.add(statement.getQueryString() + bound);
+        bound.setLength(0);
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data.formatters;
+
+import org.jkiss.utils.time.ExtendedDateFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class DataFormatterTest {
+
+    private static final String[] DATE_PATTERNS = {
+        "yyyy-MM-dd", "HH:mm:ss", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss.SSS", "dd.MM.yyyy", "yyyy-MM-dd HH:mm:ss.ffffff"
+    };
+
+    @Test
+    public void testFastDatePattern() {
+        Assert.assertTrue(DateTimeDataFormatter.isFastPattern("yyyy-MM-dd HH:mm:ss.SSS"));
+        Assert.assertTrue(DateTimeDataFormatter.isFastPattern("dd/MM/yyyy"));
+        Assert.assertFalse(DateTimeDataFormatter.isFastPattern("yy-M-d"));
+        Assert.assertFalse(DateTimeDataFormatter.isFastPattern("yyyy-MM-dd'T'HH:mm"));
+        Assert.assertFalse(DateTimeDataFormatter.isFastPattern("yyyy-MM-dd HH:mm:ss.ffffff"));
+    }
+
+    @Test
+    public void testDateFormatMatchesDateFormat() {
+        Random random = new Random(1);
+        for (Locale locale : new Locale[] { Locale.US, Locale.GERMANY, new Locale("th", "TH", "TH") }) {
+            for (String pattern : DATE_PATTERNS) {
+                DateTimeDataFormatter formatter = createDateFormatter(locale, pattern);
+                ExtendedDateFormat dateFormat = new ExtendedDateFormat(pattern, locale);
+                for (int i = 0; i < 1000; i++) {
+                    Date date = new Timestamp(random.nextLong() % 8000000000000L);
+                    Assert.assertEquals(dateFormat.format(date), formatter.formatValue(date));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIntegerFormatMatchesDecimalFormat() {
+        Random random = new Random(1);
+        for (Locale locale : new Locale[] { Locale.US, Locale.FRANCE, new Locale("hi", "IN") }) {
+            for (boolean grouping : new boolean[] { true, false }) {
+                NumberDataFormatter formatter = new NumberDataFormatter();
+                formatter.init(null, locale, Collections.singletonMap(NumberFormatSample.PROP_USE_GROUPING, grouping));
+                DecimalFormat numberFormat = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+                numberFormat.setGroupingUsed(grouping);
+                for (int i = 0; i < 1000; i++) {
+                    Object value = i % 2 == 0 ? (Object) random.nextLong() : (Object) (random.nextInt() >> (i % 31));
+                    Assert.assertEquals(numberFormat.format(value), formatter.formatValue(value));
+                }
+                Assert.assertEquals(numberFormat.format(Long.MIN_VALUE), formatter.formatValue(Long.MIN_VALUE));
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentFormat() throws Exception {
+        DateTimeDataFormatter dateFormatter = createDateFormatter(Locale.US, "yyyy-MM-dd HH:mm:ss.ffffff");
+        NumberDataFormatter numberFormatter = new NumberDataFormatter();
+        numberFormatter.init(null, Locale.US, Collections.emptyMap());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final long seed = t;
+                results.add(executor.submit(() -> {
+                    ExtendedDateFormat dateFormat = new ExtendedDateFormat("yyyy-MM-dd HH:mm:ss.ffffff", Locale.US);
+                    NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.US);
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 10000; i++) {
+                        Timestamp date = new Timestamp(random.nextLong() % 8000000000000L);
+                        Assert.assertEquals(dateFormat.format(date), dateFormatter.formatValue(date));
+                        double number = random.nextDouble() * 1000000;
+                        Assert.assertEquals(numberFormat.format(number), numberFormatter.formatValue(number));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static DateTimeDataFormatter createDateFormatter(Locale locale, String pattern) {
+        DateTimeDataFormatter formatter = new DateTimeDataFormatter();
+        formatter.init(null, locale, Collections.singletonMap(DateTimeDataFormatter.PROP_PATTERN, pattern));
+        return formatter;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.dbeaver.runtime.metrics.MetricCounter;
+import org.jkiss.dbeaver.runtime.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+public class JDBCStatementCacheTest {
+
+    @Test
+    public void testHitsMissesAndEvictions() throws Exception {
+        MetricRegistry registry = MetricRegistry.getInstance();
+        MetricCounter hits = registry.getCounter(MetricRegistry.STATEMENT_CACHE_HITS);
+        MetricCounter misses = registry.getCounter(MetricRegistry.STATEMENT_CACHE_MISSES);
+        MetricCounter evictions = registry.getCounter(MetricRegistry.STATEMENT_CACHE_EVICTIONS);
+        long hits0 = hits.getValue(), misses0 = misses.getValue(), evictions0 = evictions.getValue();
+
+        JDBCStatementCache cache = new JDBCStatementCache(1);
+        JDBCStatementCache.Key key1 = cache.makeKey("select 1", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        JDBCStatementCache.Key key2 = cache.makeKey("select 2", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        PreparedStatement statement1 = Mockito.mock(PreparedStatement.class);
+        PreparedStatement statement2 = Mockito.mock(PreparedStatement.class);
+
+        Assert.assertNull(cache.acquire(key1));
+        cache.release(key1, statement1, cache.getGeneration());
+        Assert.assertSame(statement1, cache.acquire(key1));
+        cache.release(key1, statement1, cache.getGeneration());
+        // Second statement evicts the first one
+        cache.release(key2, statement2, cache.getGeneration());
+        Mockito.verify(statement1).close();
+        Assert.assertEquals(1, cache.getSize());
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(hits0 + 1, hits.getValue());
+        Assert.assertEquals(misses0 + 1, misses.getValue());
+        Assert.assertEquals(evictions0 + 1, evictions.getValue());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        JDBCStatementCache.Key key = cache.makeKey("select 1", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        PreparedStatement cached = Mockito.mock(PreparedStatement.class);
+        PreparedStatement acquired = Mockito.mock(PreparedStatement.class);
+        cache.release(key, cached, cache.getGeneration());
+        int generation = cache.getGeneration();
+
+        cache.invalidate();
+        Mockito.verify(cached).close();
+        Assert.assertEquals(0, cache.getSize());
+        // Statement acquired before invalidation is closed on release
+        cache.release(key, acquired, generation);
+        Mockito.verify(acquired).close();
+        Assert.assertNull(cache.acquire(key));
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SSHSessionPoolTest {
+
+    private static class TestSession {
+        boolean alive = true;
+        boolean closed;
+    }
+
+    private static class TestSessionPool extends SSHSessionPool<TestSession> {
+        int openCount;
+
+        SSHSessionPool.SessionOpener<TestSession> opener = monitor -> {
+            openCount++;
+            return new TestSession();
+        };
+
+        @Override
+        protected boolean isSessionAlive(@NotNull TestSession session) {
+            return session.alive;
+        }
+
+        @Override
+        protected void closeSession(@NotNull DBRProgressMonitor monitor, @NotNull TestSession session) {
+            session.closed = true;
+        }
+    }
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+
+    @Test
+    public void testSessionSharedBySameKey() throws Exception {
+        TestSessionPool pool = new TestSessionPool();
+        SSHSessionPool.PooledSession<TestSession> s1 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        SSHSessionPool.PooledSession<TestSession> s2 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        SSHSessionPool.PooledSession<TestSession> s3 = pool.acquire(monitor, makeKey("user", "other"), pool.opener);
+
+        Assert.assertSame(s1, s2);
+        Assert.assertNotSame(s1, s3);
+        Assert.assertEquals(2, pool.openCount);
+        Assert.assertEquals(2, s1.getReferenceCount());
+        Assert.assertEquals(2, pool.getActiveSessions().size());
+    }
+
+    @Test
+    public void testSessionClosedOnLastRelease() throws Exception {
+        TestSessionPool pool = new TestSessionPool();
+        SSHSessionPool.PooledSession<TestSession> s1 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        SSHSessionPool.PooledSession<TestSession> s2 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        TestSession session = s1.getSession();
+
+        pool.release(monitor, s1);
+        Assert.assertFalse(session.closed);
+        pool.release(monitor, s2);
+        Assert.assertTrue(session.closed);
+        Assert.assertTrue(pool.getActiveSessions().isEmpty());
+    }
+
+    @Test
+    public void testReconnectExclusive() throws Exception {
+        TestSessionPool pool = new TestSessionPool();
+        SSHSessionPool.PooledSession<TestSession> s1 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        TestSession session = s1.getSession();
+
+        // Failed session is reopened even if it still looks alive (silent network drop)
+        SSHSessionPool.PooledSession<TestSession> s2 = pool.reconnect(monitor, s1, pool.opener);
+        Assert.assertSame(s1, s2);
+        Assert.assertNotSame(session, s2.getSession());
+        Assert.assertTrue(session.closed);
+        Assert.assertEquals(1, s2.getReferenceCount());
+        Assert.assertEquals(2, pool.openCount);
+    }
+
+    @Test
+    public void testReconnectShared() throws Exception {
+        TestSessionPool pool = new TestSessionPool();
+        SSHSessionPool.PooledSession<TestSession> s1 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        SSHSessionPool.PooledSession<TestSession> s2 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        TestSession session = s1.getSession();
+
+        // Shared session is left to the second tunnel, the failed tunnel gets a new one
+        SSHSessionPool.PooledSession<TestSession> r1 = pool.reconnect(monitor, s1, pool.opener);
+        Assert.assertNotSame(s1, r1);
+        Assert.assertNotSame(session, r1.getSession());
+        Assert.assertFalse(session.closed);
+        Assert.assertSame(session, s2.getSession());
+        Assert.assertEquals(1, s2.getReferenceCount());
+
+        // New tunnels share the new session
+        SSHSessionPool.PooledSession<TestSession> s3 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        Assert.assertSame(r1, s3);
+
+        // Second tunnel fails too: it joins the new session, the old one is closed
+        SSHSessionPool.PooledSession<TestSession> r2 = pool.reconnect(monitor, s2, pool.opener);
+        Assert.assertSame(r1, r2);
+        Assert.assertTrue(session.closed);
+        Assert.assertEquals(3, r1.getReferenceCount());
+        Assert.assertEquals(2, pool.openCount);
+        Assert.assertEquals(1, pool.getActiveSessions().size());
+    }
+
+    @Test
+    public void testConnectionSettingsInKey() throws Exception {
+        TestSessionPool pool = new TestSessionPool();
+        SSHSessionPool.PooledSession<TestSession> s1 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        SSHSessionPool.PooledSession<TestSession> s2 = pool.acquire(monitor,
+            new SSHSessionPool.SessionKey("bastion", 22, "user", SSHConstants.AuthType.PASSWORD, null, "pwd", 30000, 10000), pool.opener);
+        SSHSessionPool.PooledSession<TestSession> s3 = pool.acquire(monitor,
+            new SSHSessionPool.SessionKey("bastion", 22, "user", SSHConstants.AuthType.PASSWORD, null, "pwd", 0, 5000), pool.opener);
+
+        Assert.assertNotSame(s1, s2);
+        Assert.assertNotSame(s1, s3);
+        Assert.assertNotSame(s2, s3);
+        Assert.assertEquals(3, pool.openCount);
+    }
+
+    @Test
+    public void testChannelCount() throws Exception {
+        TestSessionPool pool = new TestSessionPool();
+        SSHSessionPool.PooledSession<TestSession> s1 = pool.acquire(monitor, makeKey("user", "pwd"), pool.opener);
+        s1.channelOpened();
+        s1.channelOpened();
+        s1.channelClosed();
+        Assert.assertEquals(1, s1.getChannelCount());
+    }
+
+    private static SSHSessionPool.SessionKey makeKey(String user, String password) {
+        return new SSHSessionPool.SessionKey("bastion", 22, user, SSHConstants.AuthType.PASSWORD, null, password, 0, 10000);
+    }
+}
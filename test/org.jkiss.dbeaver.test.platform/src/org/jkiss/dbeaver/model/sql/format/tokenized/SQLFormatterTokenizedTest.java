@@ -147,6 +147,32 @@ public class SQLFormatterTokenizedTest {
     }
 
 
+    @Test(timeout = 60000)
+    public void shouldFormatLargeScriptInLinearTime() {
+        //given
+        int statementCount = 20000;
+        String statement = "SELECT a, b FROM t WHERE x = 1;\n";
+        String formattedStatement = "SELECT" + lineBreak + "\ta," + lineBreak + "\tb" + lineBreak + "FROM" + lineBreak + "\tt" + lineBreak + "WHERE" + lineBreak + "\tx = 1;";
+        StringBuilder inputString = new StringBuilder();
+        StringBuilder expectedString = new StringBuilder();
+        for (int i = 0; i < statementCount; i++) {
+            inputString.append(statement);
+            if (i > 0) {
+                expectedString.append(lineBreak).append(lineBreak);
+            }
+            expectedString.append(formattedStatement);
+        }
+        expectedString.append(lineBreak);
+
+        Mockito.when(preferenceStore.getBoolean(Mockito.eq(ModelPreferences.SQL_FORMAT_LF_BEFORE_COMMA))).thenReturn(false);
+
+        //when
+        String formattedString = formatter.format(inputString.toString(), configuration);
+
+        //then
+        assertEquals(expectedString.toString(), formattedString);
+    }
+
     @Test
     public void shouldAddIndentForName() {
         //given
@@ -0,0 +1,154 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.maven;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jkiss.dbeaver.model.connection.DBPAuthInfo;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MavenRemoteCacheTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final byte[] CONTENT = "<metadata/>".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String fileURL;
+    private File tempDir;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+    private volatile long responseDelay;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("maven-cache-test").toFile();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/repo/maven-metadata.xml", exchange -> {
+            requestCount.incrementAndGet();
+            try {
+                Thread.sleep(responseDelay);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                exchange.sendResponseHeaders(200, CONTENT.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(CONTENT);
+                }
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        fileURL = "http://localhost:" + server.getAddress().getPort() + "/repo/maven-metadata.xml";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        File[] files = tempDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        tempDir.delete();
+    }
+
+    @Test
+    public void testFreshFileIsNotRequested() throws IOException {
+        MavenRemoteCache cache = createCache(60000);
+        File localFile = new File(tempDir, "metadata.xml");
+        cache.getFile(fileURL, null, localFile);
+        cache.getFile(fileURL, null, localFile);
+        Assert.assertEquals(1, requestCount.get());
+        Assert.assertArrayEquals(CONTENT, Files.readAllBytes(localFile.toPath()));
+    }
+
+    @Test
+    public void testStaleFileIsRevalidated() throws IOException {
+        MavenRemoteCache cache = createCache(0);
+        File localFile = new File(tempDir, "metadata.xml");
+        cache.getFile(fileURL, null, localFile);
+        cache.getFile(fileURL, null, localFile);
+        Assert.assertEquals(2, requestCount.get());
+        Assert.assertEquals(1, notModifiedCount.get());
+        Assert.assertArrayEquals(CONTENT, Files.readAllBytes(localFile.toPath()));
+    }
+
+    @Test
+    public void testIndexIsPersistent() throws IOException {
+        File localFile = new File(tempDir, "metadata.xml");
+        createCache(60000).getFile(fileURL, null, localFile);
+        createCache(60000).getFile(fileURL, null, localFile);
+        Assert.assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsAreMerged() throws Exception {
+        responseDelay = 200;
+        MavenRemoteCache cache = createCache(60000);
+        File localFile = new File(tempDir, "metadata.xml");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<File>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.getFile(fileURL, null, localFile)));
+            }
+            for (Future<File> result : results) {
+                Assert.assertEquals(localFile, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, requestCount.get());
+    }
+
+    private MavenRemoteCache createCache(long ttl) {
+        return new MavenRemoteCache(new File(tempDir, "index.properties"), ttl) {
+            @Override
+            protected URLConnection openConnection(String url, DBPAuthInfo authInfo, Map<String, String> headers) throws IOException {
+                URLConnection connection = new URL(url).openConnection();
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    connection.setRequestProperty(header.getKey(), header.getValue());
+                }
+                return connection;
+            }
+        };
+    }
+
+}
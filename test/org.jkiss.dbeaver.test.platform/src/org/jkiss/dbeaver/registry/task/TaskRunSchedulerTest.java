@@ -0,0 +1,184 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.task;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskRunSchedulerTest {
+
+    private final AtomicInteger maxRuns = new AtomicInteger(2);
+    private TestScheduler scheduler;
+    private List<String> startedRuns;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        startedRuns = new ArrayList<>();
+    }
+
+    @Test
+    public void testGlobalLimit() {
+        TestRun run1 = submit("r1", null, 0);
+        TestRun run2 = submit("r2", null, 0);
+        submit("r3", null, 0);
+        Assert.assertEquals(Arrays.asList("r1", "r2"), startedRuns);
+        Assert.assertEquals(1, scheduler.getQueuedRunCount());
+        Assert.assertEquals(2, scheduler.getActiveRunCount());
+
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "r2", "r3"), startedRuns);
+        scheduler.finishRun(run2);
+        Assert.assertEquals(1, scheduler.getActiveRunCount());
+        Assert.assertEquals(0, scheduler.getQueuedRunCount());
+    }
+
+    @Test
+    public void testDataSourceLimit() {
+        maxRuns.set(10);
+        TestRun run1 = submit(new TestRun("r1", null, 0, Collections.emptyList(), Collections.singletonMap("ds1", 1)));
+        submit(new TestRun("r2", null, 0, Collections.emptyList(), Collections.singletonMap("ds1", 1)));
+        // Busy data source doesn't block runs for other data sources
+        submit(new TestRun("r3", null, 0, Collections.emptyList(), Collections.singletonMap("ds2", 1)));
+        Assert.assertEquals(Arrays.asList("r1", "r3"), startedRuns);
+
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "r3", "r2"), startedRuns);
+    }
+
+    @Test
+    public void testPriority() {
+        maxRuns.set(1);
+        TestRun run1 = submit("r1", null, 0);
+        submit("low", null, -10);
+        submit("high", null, 10);
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "high"), startedRuns);
+    }
+
+    @Test
+    public void testPriorityAging() {
+        maxRuns.set(1);
+        TestRun run1 = submit("r1", null, 0);
+        submit("low", null, -2);
+        scheduler.currentTime += TaskRunScheduler.PRIORITY_AGING_PERIOD * 3;
+        // Queued later with higher priority, but "low" has been waiting for 3 aging periods
+        submit("normal", null, 0);
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "low"), startedRuns);
+    }
+
+    @Test
+    public void testSameTaskSerialized() {
+        TestRun run1 = submit("r1", "task1", 0);
+        submit("r2", "task1", 10);
+        submit("r3", "task2", 0);
+        Assert.assertEquals(Arrays.asList("r1", "r3"), startedRuns);
+        Assert.assertTrue(scheduler.isTaskRunning("task1"));
+        Assert.assertTrue(scheduler.isTaskQueued("task1"));
+
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "r3", "r2"), startedRuns);
+        Assert.assertFalse(scheduler.isTaskQueued("task1"));
+    }
+
+    @Test
+    public void testDependencies() {
+        maxRuns.set(10);
+        TestRun run1 = submit("r1", "task1", 0);
+        submit(new TestRun("r2", "task2", 0, Collections.singletonList("task1"), Collections.emptyMap()));
+        Assert.assertEquals(Collections.singletonList("r1"), startedRuns);
+
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "r2"), startedRuns);
+    }
+
+    @Test
+    public void testQueuedDependency() {
+        maxRuns.set(1);
+        TestRun run1 = submit("r1", null, 0);
+        submit("r2", "task1", 0);
+        // Depends on queued task - must wait for it even with higher priority
+        submit(new TestRun("r3", "task2", 10, Collections.singletonList("task1"), Collections.emptyMap()));
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "r2"), startedRuns);
+    }
+
+    @Test
+    public void testCyclicDependencies() {
+        maxRuns.set(1);
+        TestRun run1 = submit("r1", null, 0);
+        submit(new TestRun("r2", "task1", 0, Collections.singletonList("task2"), Collections.emptyMap()));
+        submit(new TestRun("r3", "task2", 0, Collections.singletonList("task1"), Collections.emptyMap()));
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "r2"), startedRuns);
+    }
+
+    @Test
+    public void testCancelQueuedRun() {
+        maxRuns.set(1);
+        TestRun run1 = submit("r1", "task1", 0);
+        TestRun run2 = submit("r2", "task1", 0);
+        submit("r3", "task1", 0);
+
+        // Cancelled run is removed from queue and never started
+        scheduler.finishRun(run2);
+        Assert.assertEquals(1, scheduler.getQueuedRunCount());
+        scheduler.finishRun(run1);
+        Assert.assertEquals(Arrays.asList("r1", "r3"), startedRuns);
+    }
+
+    private TestRun submit(String name, String taskId, int priority) {
+        return submit(new TestRun(name, taskId, priority, Collections.emptyList(), Collections.emptyMap()));
+    }
+
+    private TestRun submit(TestRun run) {
+        scheduler.submit(run);
+        return run;
+    }
+
+    private class TestScheduler extends TaskRunScheduler {
+        private long currentTime = 1000;
+
+        TestScheduler() {
+            super(maxRuns::get);
+        }
+
+        @Override
+        protected long getCurrentTime() {
+            return currentTime;
+        }
+    }
+
+    private class TestRun extends TaskRunScheduler.QueuedRun {
+        private final String name;
+
+        TestRun(String name, String taskId, int priority, Collection<String> dependencies, Map<String, Integer> dataSourceLimits) {
+            super(taskId, priority, dependencies, dataSourceLimits);
+            this.name = name;
+        }
+
+        @Override
+        protected void startRun(long queueWaitTime) {
+            startedRuns.add(name);
+        }
+    }
+}
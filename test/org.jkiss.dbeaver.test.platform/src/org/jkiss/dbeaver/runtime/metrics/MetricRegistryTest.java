@@ -0,0 +1,65 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class MetricRegistryTest {
+
+    @Test
+    public void testHistogramPercentiles() {
+        MetricHistogram histogram = MetricRegistry.getInstance().getHistogram("test.histogram", MetricHistogram.UNIT_MICROS);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.update(i);
+        }
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertEquals(500500, histogram.getSum());
+        Assert.assertEquals(1000, histogram.getMax());
+        // Buckets have 25% precision
+        assertNear(500, histogram.getPercentile(0.5));
+        assertNear(990, histogram.getPercentile(0.99));
+        Assert.assertTrue(histogram.getPercentile(1.0) <= 1000);
+    }
+
+    @Test
+    public void testSnapshot() {
+        MetricRegistry registry = MetricRegistry.getInstance();
+        registry.getCounter("test.counter").add(5);
+        registry.registerGauge("test.gauge", () -> 42);
+
+        Map<String, Map<String, Object>> snapshot = registry.getSnapshot();
+        Assert.assertEquals(Metric.TYPE_COUNTER, snapshot.get("test.counter").get("type"));
+        Assert.assertEquals(5L, snapshot.get("test.counter").get("count"));
+        Assert.assertEquals(42, snapshot.get("test.gauge").get("value"));
+
+        registry.unregisterGauge("test.gauge");
+        Assert.assertNull(registry.getMetric("test.gauge"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMetricTypeMismatch() {
+        MetricRegistry.getInstance().getCounter("test.mismatch");
+        MetricRegistry.getInstance().getHistogram("test.mismatch", MetricHistogram.UNIT_MILLIS);
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assert.assertTrue("Expected ~" + expected + " but was " + actual, Math.abs(expected - actual) <= expected / 4);
+    }
+}
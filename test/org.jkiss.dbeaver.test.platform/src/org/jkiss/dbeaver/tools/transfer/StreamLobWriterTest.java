@@ -0,0 +1,146 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamLobWriter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.Random;
+
+public class StreamLobWriterTest {
+
+    private final VoidProgressMonitor monitor = new VoidProgressMonitor();
+    private File tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("lob-writer-test").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = tempDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        tempDir.delete();
+    }
+
+    @Test
+    public void testParallelWriteWithDeduplication() throws IOException {
+        byte[] content = new byte[1024 * 1024 + 17];
+        new Random(1).nextBytes(content);
+        StreamLobWriter writer = new StreamLobWriter(true, true);
+
+        File file1 = writer.saveContent(monitor, new ByteArrayInputStream(content), new File(tempDir, "1.data"));
+        File file2 = writer.saveContent(monitor, new ByteArrayInputStream(content), new File(tempDir, "2.data"));
+        File file3 = writer.saveContent(monitor, new ByteArrayInputStream(new byte[0]), new File(tempDir, "3.data"));
+        writer.close();
+
+        Assert.assertEquals(new File(tempDir, "1.data"), file1);
+        Assert.assertEquals(file1, file2);
+        Assert.assertArrayEquals(content, Files.readAllBytes(file1.toPath()));
+        Assert.assertFalse(new File(tempDir, "2.data").exists());
+        Assert.assertTrue(file3.exists());
+        Assert.assertEquals(0, file3.length());
+        Assert.assertEquals(2, writer.getSavedCount());
+        Assert.assertEquals(1, writer.getDuplicateCount());
+        Assert.assertEquals(content.length, writer.getDuplicateBytes());
+    }
+
+    @Test
+    public void testReadErrorDiscardsFile() throws IOException {
+        for (boolean parallel : new boolean[] {false, true}) {
+            StreamLobWriter writer = new StreamLobWriter(parallel, false);
+            File target = new File(tempDir, "broken-" + parallel + ".data");
+            try {
+                writer.saveContent(monitor, new FailingInputStream(200 * 1024), target);
+                Assert.fail("Read error must be propagated");
+            } catch (IOException e) {
+                // expected
+            }
+            // Writer is still usable
+            File file = writer.saveContent(monitor, new ByteArrayInputStream(new byte[] {1, 2, 3}), new File(tempDir, "ok-" + parallel + ".data"));
+            writer.close();
+            Assert.assertFalse(target.exists());
+            Assert.assertEquals(3, file.length());
+        }
+    }
+
+    @Test
+    public void testCancel() throws IOException {
+        VoidProgressMonitor canceledMonitor = new VoidProgressMonitor() {
+            @Override
+            public boolean isCanceled() {
+                return true;
+            }
+        };
+        for (boolean parallel : new boolean[] {false, true}) {
+            StreamLobWriter writer = new StreamLobWriter(parallel, true);
+            File target = new File(tempDir, "canceled-" + parallel + ".data");
+            try {
+                writer.saveContent(canceledMonitor, new ByteArrayInputStream(new byte[100 * 1024]), target);
+                Assert.fail("Canceled write must fail");
+            } catch (InterruptedIOException e) {
+                // expected
+            }
+            writer.abort();
+            Assert.assertFalse(target.exists());
+        }
+    }
+
+    @Test
+    public void testAbort() throws IOException {
+        StreamLobWriter writer = new StreamLobWriter(true, false);
+        for (int i = 0; i < 10; i++) {
+            writer.saveContent(monitor, new ByteArrayInputStream(new byte[512 * 1024]), new File(tempDir, i + ".data"));
+        }
+        writer.abort();
+        try {
+            writer.saveContent(monitor, new ByteArrayInputStream(new byte[1]), new File(tempDir, "after.data"));
+            Assert.fail("Aborted writer must not accept contents");
+        } catch (IOException e) {
+            // expected
+        }
+        Assert.assertFalse(new File(tempDir, "after.data").exists());
+    }
+
+    private static class FailingInputStream extends InputStream {
+        private int available;
+
+        FailingInputStream(int available) {
+            this.available = available;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (available-- <= 0) {
+                throw new IOException("Read error");
+            }
+            return 0;
+        }
+    }
+
+}
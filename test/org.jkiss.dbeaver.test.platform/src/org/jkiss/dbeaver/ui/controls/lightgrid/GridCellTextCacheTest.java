@@ -0,0 +1,96 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GridCellTextCacheTest {
+
+    private final Object column1 = new Object();
+    private final Object column2 = new Object();
+    private final Object row1 = new Object();
+    private final Object row2 = new Object();
+
+    @Test
+    public void testHit() {
+        GridCellTextCache cache = new GridCellTextCache(100);
+        Object value = "abc";
+        GridCellTextCache.Entry entry = cache.put(column1, row1, value, "abc");
+        Assert.assertSame(entry, cache.get(column1, row1, value));
+        Assert.assertNull(cache.get(column1, row2, value));
+    }
+
+    @Test
+    public void testDataChangeInvalidates() {
+        GridCellTextCache cache = new GridCellTextCache(100);
+        Long oldValue = 1000L;
+        Long newValue = 2000L;
+        cache.put(column1, row1, oldValue, "1,000");
+
+        // Edited cell holds another value object
+        Assert.assertNull(cache.get(column1, row1, newValue));
+        cache.put(column1, row1, newValue, "2,000");
+        Assert.assertEquals("2,000", cache.get(column1, row1, newValue).getText());
+        Assert.assertNull(cache.get(column1, row1, oldValue));
+
+        // Equal but not the same value object (value re-read from database)
+        Assert.assertNull(cache.get(column1, row1, new Long(2000L)));
+    }
+
+    @Test
+    public void testFormatChangeInvalidates() {
+        GridCellTextCache cache = new GridCellTextCache(100);
+        Object value = 1000L;
+        cache.put(column1, row1, value, "1,000");
+        cache.put(column2, row1, value, "1,000");
+
+        // Grid clears cache on data refresh, format change refreshes data
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertNull(cache.get(column1, row1, value));
+        cache.put(column1, row1, value, "1000");
+        Assert.assertEquals("1000", cache.get(column1, row1, value).getText());
+    }
+
+    @Test
+    public void testColumnChangeInvalidates() {
+        GridCellTextCache cache = new GridCellTextCache(100);
+        Object value = "abc";
+        cache.put(column1, row1, value, "abc");
+
+        // Column elements are recreated on metadata change. Same value in other column is not shared.
+        Assert.assertNull(cache.get(column2, row1, value));
+        cache.put(column2, row1, value, "[abc]");
+        Assert.assertEquals("abc", cache.get(column1, row1, value).getText());
+        Assert.assertEquals("[abc]", cache.get(column2, row1, value).getText());
+    }
+
+    @Test
+    public void testEviction() {
+        GridCellTextCache cache = new GridCellTextCache(2);
+        Object value = "abc";
+        cache.put(column1, row1, value, "abc");
+        cache.put(column2, row1, value, "abc");
+        // Recently used entry survives
+        Assert.assertNotNull(cache.get(column1, row1, value));
+        cache.put(column1, row2, value, "abc");
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNotNull(cache.get(column1, row1, value));
+        Assert.assertNull(cache.get(column2, row1, value));
+    }
+}
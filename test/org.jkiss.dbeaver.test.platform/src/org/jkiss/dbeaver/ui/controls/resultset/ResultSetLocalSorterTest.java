@@ -0,0 +1,257 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.exec.DBCLogicalOperator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+public class ResultSetLocalSorterTest {
+
+    private final DBDAttributeBinding[] attributes = new DBDAttributeBinding[] {
+        makeBinding(0, DBPDataKind.NUMERIC), makeBinding(1, DBPDataKind.STRING)
+    };
+
+    @Test
+    public void testNumericOrder() {
+        List<ResultSetRow> rows = makeRows(
+            new Object[] {10, null},
+            new Object[] {2.5d, null},
+            new Object[] {null, null},
+            new Object[] {new BigDecimal("2.50"), null},
+            new Object[] {-7L, null},
+            new Object[] {(short) 3, null},
+            new Object[] {null, null},
+            new Object[] {1e300, null});
+        assertOrder(rows, false);
+        assertOrder(rows, true);
+    }
+
+    @Test
+    public void testStringOrderWithNulls() {
+        List<ResultSetRow> rows = makeRows(
+            new Object[] {"b", null},
+            new Object[] {null, null},
+            new Object[] {"a", null},
+            new Object[] {"B", null},
+            new Object[] {"", null},
+            new Object[] {"a", null});
+        assertOrder(rows, false);
+        assertOrder(rows, true);
+    }
+
+    @Test
+    public void testMixedTypes() {
+        List<ResultSetRow> rows = makeRows(
+            new Object[] {"xyz", null},
+            new Object[] {5, null},
+            new Object[] {null, null},
+            new Object[] {"abc", null},
+            new Object[] {-1, null},
+            new Object[] {"abc", null});
+        assertOrder(rows, false);
+        assertOrder(rows, true);
+    }
+
+    @Test
+    public void testNoOrderingRestoresRowNumbers() {
+        List<ResultSetRow> rows = makeRows(
+            new Object[] {1, null},
+            new Object[] {2, null},
+            new Object[] {3, null});
+        Collections.reverse(rows);
+        int[] order = new ResultSetLocalSorter(attributes, Collections.emptyList(), Collections.emptyList()).sort(rows);
+        Assert.assertArrayEquals(new int[] {2, 1, 0}, order);
+    }
+
+    @Test
+    public void testStability() {
+        // Few distinct keys: most rows are compared by row number. Large row count runs parallel sort.
+        for (int rowCount : new int[] {100, 60000}) {
+            Random random = new Random(rowCount);
+            Object[][] data = new Object[rowCount][];
+            for (int i = 0; i < rowCount; i++) {
+                data[i] = new Object[] {random.nextInt(5), random.nextBoolean() ? null : "v" + random.nextInt(3)};
+            }
+            List<ResultSetRow> rows = makeRows(data);
+            // Shuffle row objects, so the original order is restored from row numbers
+            Collections.shuffle(rows, random);
+            assertOrder(rows, false, true);
+            assertOrder(rows, true, false);
+        }
+    }
+
+    @Test
+    public void testLocalConditions() {
+        Assert.assertTrue(isLocal(attributes[0], DBCLogicalOperator.GREATER, false, 1));
+        Assert.assertTrue(isLocal(attributes[0], DBCLogicalOperator.IN, false, new Object[] {1, null}));
+        Assert.assertTrue(isLocal(attributes[1], DBCLogicalOperator.EQUALS, false, null));
+        Assert.assertTrue(isLocal(attributes[1], DBCLogicalOperator.ILIKE, true, "a%"));
+        // Depends on database collation
+        Assert.assertFalse(isLocal(attributes[1], DBCLogicalOperator.EQUALS, false, "a"));
+        Assert.assertFalse(isLocal(attributes[1], DBCLogicalOperator.LIKE, false, "a%"));
+        Assert.assertFalse(isLocal(attributes[0], DBCLogicalOperator.EQUALS, false, "1"));
+        Assert.assertFalse(isLocal(attributes[0], DBCLogicalOperator.IN, true, new Object[] {1, null}));
+        Assert.assertFalse(isLocal(attributes[0], DBCLogicalOperator.BETWEEN, false, 1));
+
+        DBDAttributeConstraint criteria = new DBDAttributeConstraint(attributes[0]);
+        criteria.setCriteria("> 1");
+        Assert.assertFalse(ResultSetLocalSorter.isLocalCondition(attributes[0], criteria));
+    }
+
+    @Test
+    public void testFilter() {
+        List<ResultSetRow> rows = makeRows(
+            new Object[] {3, "abc"},
+            new Object[] {null, "Abd"},
+            new Object[] {1L, null},
+            new Object[] {new BigDecimal("2"), "xyz"},
+            new Object[] {5.5d, "ab"});
+        assertFilter(rows, false, new int[] {0, 3, 4}, makeCondition(0, DBCLogicalOperator.GREATER, false, 1));
+        // Nulls never match comparison, even reversed
+        assertFilter(rows, false, new int[] {2, 3}, makeCondition(0, DBCLogicalOperator.GREATER, true, 2.5d));
+        assertFilter(rows, false, new int[] {1}, makeCondition(0, DBCLogicalOperator.EQUALS, false, null));
+        assertFilter(rows, false, new int[] {0, 2, 3, 4}, makeCondition(0, DBCLogicalOperator.EQUALS, true, null));
+        assertFilter(rows, false, new int[] {1, 2, 3}, makeCondition(0, DBCLogicalOperator.IN, false, new Object[] {2, 1, null}));
+        assertFilter(rows, false, new int[] {0, 4}, makeCondition(0, DBCLogicalOperator.IN, true, new Object[] {2, 1}));
+        assertFilter(rows, false, new int[] {0, 1}, makeCondition(1, DBCLogicalOperator.ILIKE, false, "ab_"));
+
+        DBDAttributeConstraint[] conditions = {
+            makeCondition(0, DBCLogicalOperator.LESS_EQUALS, false, 3),
+            makeCondition(1, DBCLogicalOperator.ILIKE, false, "a%")
+        };
+        assertFilter(rows, false, new int[] {0}, conditions);
+        assertFilter(rows, true, new int[] {0, 1, 2, 3, 4}, conditions);
+    }
+
+    @Test
+    public void testFilterAndOrder() {
+        // Large row count filters in parallel
+        for (int rowCount : new int[] {100, 60000}) {
+            Random random = new Random(rowCount);
+            Object[][] data = new Object[rowCount][];
+            for (int i = 0; i < rowCount; i++) {
+                data[i] = new Object[] {random.nextBoolean() ? null : random.nextInt(100), null};
+            }
+            List<ResultSetRow> rows = makeRows(data);
+            ResultSetLocalSorter sorter = new ResultSetLocalSorter(
+                attributes, Collections.singletonList(attributes[0]), Collections.singletonList(true));
+            sorter.setFilter(
+                Collections.singletonList(attributes[0]),
+                Collections.singletonList(makeCondition(0, DBCLogicalOperator.LESS, false, 50)),
+                false);
+            int[] order = sorter.sort(rows);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < rowCount; i++) {
+                if (data[i][0] != null && (Integer) data[i][0] < 50) {
+                    expected.add(i);
+                }
+            }
+            expected.sort((i1, i2) -> {
+                int result = -Integer.compare((Integer) data[i1][0], (Integer) data[i2][0]);
+                return result != 0 ? result : Integer.compare(i1, i2);
+            });
+            Assert.assertEquals(expected.size(), order.length);
+            for (int i = 0; i < order.length; i++) {
+                Assert.assertEquals(expected.get(i).intValue(), order[i]);
+            }
+        }
+    }
+
+    private void assertFilter(List<ResultSetRow> rows, boolean matchAny, int[] expected, DBDAttributeConstraint... conditions) {
+        List<DBDAttributeBinding> bindings = new ArrayList<>();
+        for (DBDAttributeConstraint co : conditions) {
+            bindings.add((DBDAttributeBinding) co.getAttribute());
+            Assert.assertTrue(ResultSetLocalSorter.isLocalCondition((DBDAttributeBinding) co.getAttribute(), co));
+        }
+        ResultSetLocalSorter sorter = new ResultSetLocalSorter(attributes, Collections.emptyList(), Collections.emptyList());
+        sorter.setFilter(bindings, Arrays.asList(conditions), matchAny);
+        Assert.assertArrayEquals(expected, sorter.sort(rows));
+    }
+
+    private boolean isLocal(DBDAttributeBinding binding, DBCLogicalOperator operator, boolean reverse, Object value) {
+        return ResultSetLocalSorter.isLocalCondition(binding, makeCondition(binding.getOrdinalPosition(), operator, reverse, value));
+    }
+
+    private DBDAttributeConstraint makeCondition(int position, DBCLogicalOperator operator, boolean reverse, Object value) {
+        DBDAttributeConstraint constraint = new DBDAttributeConstraint(attributes[position]);
+        constraint.setOperator(operator);
+        constraint.setReverseOperator(reverse);
+        constraint.setValue(value);
+        return constraint;
+    }
+
+    private void assertOrder(List<ResultSetRow> rows, boolean descending) {
+        assertOrder(rows, descending, false);
+    }
+
+    private void assertOrder(List<ResultSetRow> rows, boolean descending1, boolean descending2) {
+        // Expected order: stable sort with DBUtils.compareDataValues, nulls last
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            expected.add(i);
+        }
+        expected.sort((i1, i2) -> {
+            Object[] values1 = rows.get(i1).getValues(), values2 = rows.get(i2).getValues();
+            int result = DBUtils.compareDataValues(values1[0], values2[0]);
+            if (result == 0) {
+                result = DBUtils.compareDataValues(values1[1], values2[1]);
+                if (result == 0) {
+                    return Integer.compare(rows.get(i1).getRowNumber(), rows.get(i2).getRowNumber());
+                }
+                return descending2 ? -result : result;
+            }
+            return descending1 ? -result : result;
+        });
+
+        int[] order = new ResultSetLocalSorter(
+            attributes,
+            Arrays.asList(attributes[0], attributes[1]),
+            Arrays.asList(descending1, descending2)).sort(rows);
+        int[] expectedOrder = new int[expected.size()];
+        for (int i = 0; i < expectedOrder.length; i++) {
+            expectedOrder[i] = expected.get(i);
+        }
+        Assert.assertArrayEquals(expectedOrder, order);
+    }
+
+    private static List<ResultSetRow> makeRows(Object[]... data) {
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < data.length; i++) {
+            rows.add(new ResultSetRow(i, data[i]));
+        }
+        return rows;
+    }
+
+    private static DBDAttributeBinding makeBinding(int position, DBPDataKind dataKind) {
+        DBDAttributeBinding binding = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(binding.getOrdinalPosition()).thenReturn(position);
+        Mockito.when(binding.getDataKind()).thenReturn(dataKind);
+        Mockito.when(binding.getName()).thenReturn("c" + position);
+        return binding;
+    }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultSetRowListTest {
+
+    private static final int BLOCK_SIZE = ResultSetRowList.BLOCK_SIZE;
+    private static final int ROW_COUNT = BLOCK_SIZE * 5;
+
+    private File tempDir;
+    private final List<ResultSetSpillStore> stores = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("row-list-test").toFile();
+        // Spill everything except the last used block
+        ResultSetSpillStore.setMemoryBudget(1);
+    }
+
+    @After
+    public void tearDown() {
+        for (ResultSetSpillStore store : stores) {
+            store.close();
+        }
+        ResultSetSpillStore.setMemoryBudget(0);
+        File[] files = tempDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        tempDir.delete();
+    }
+
+    @Test
+    public void testSpillAndReload() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        Assert.assertEquals(ROW_COUNT, list.size());
+        Assert.assertTrue(list.hasSpilledBlocks());
+        Assert.assertEquals(ROW_COUNT - BLOCK_SIZE, list.getSpilledRowCount());
+        for (int i = 0; i < ROW_COUNT; i++) {
+            ResultSetRow row = list.get(i);
+            Assert.assertEquals(i, row.getRowNumber());
+            Assert.assertEquals(i, row.getVisualNumber());
+            assertValues(i, row.getValues());
+            Assert.assertEquals(i, list.indexOf(row));
+        }
+    }
+
+    @Test
+    public void testReadValuesDoesNotMaterialize() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        int residentRows = list.getResidentRows().size();
+        long spilledBytes = list.getSpillStore().getSpilledBytes();
+        for (int i = ROW_COUNT - 1; i >= 0; i--) {
+            assertValues(i, list.readValues(i));
+        }
+        Assert.assertEquals(residentRows, list.getResidentRows().size());
+        Assert.assertEquals(ROW_COUNT - BLOCK_SIZE, list.getSpilledRowCount());
+        Assert.assertEquals(spilledBytes, list.getSpillStore().getSpilledBytes());
+    }
+
+    @Test
+    public void testPinnedRowIsNotSpilled() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        ResultSetRow row = list.get(0);
+        list.pinRow(row);
+        row.getValues()[1] = "changed";
+        long spilledBytes = list.getSpillStore().getSpilledBytes();
+        loadAllBlocks(list);
+
+        Assert.assertTrue(list.getResidentRows().contains(row));
+        Assert.assertSame(row, list.get(0));
+        Assert.assertEquals("changed", list.readValues(0)[1]);
+        // Pinned block is never written again, other blocks are not modified
+        Assert.assertEquals(spilledBytes, list.getSpillStore().getSpilledBytes());
+    }
+
+    @Test
+    public void testUnchangedBlockIsNotRewritten() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        // Last block is written when it is spilled first time
+        loadAllBlocks(list);
+        long spilledBytes = list.getSpillStore().getSpilledBytes();
+        loadAllBlocks(list);
+        Assert.assertTrue(list.hasSpilledBlocks());
+        Assert.assertEquals(spilledBytes, list.getSpillStore().getSpilledBytes());
+    }
+
+    @Test
+    public void testModifiedBlockIsRewritten() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        loadAllBlocks(list);
+        list.get(0).setRowNumber(ROW_COUNT * 10);
+        long spilledBytes = list.getSpillStore().getSpilledBytes();
+        loadAllBlocks(list);
+        Assert.assertTrue(list.getSpillStore().getSpilledBytes() > spilledBytes);
+
+        int[] rowNumbers = scanRowNumbers(list);
+        Assert.assertEquals(ROW_COUNT * 10, rowNumbers[0]);
+        for (int i = 1; i < ROW_COUNT; i++) {
+            Assert.assertEquals(i, rowNumbers[i]);
+        }
+    }
+
+    @Test
+    public void testShiftRowNumbers() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        long spilledBytes = list.getSpillStore().getSpilledBytes();
+        int spilledRows = list.getSpilledRowCount();
+        // Blocks are shifted or skipped as a whole
+        list.shiftRowNumbers(BLOCK_SIZE * 2, 1);
+        Assert.assertEquals(spilledRows, list.getSpilledRowCount());
+        Assert.assertEquals(spilledBytes, list.getSpillStore().getSpilledBytes());
+
+        int[] rowNumbers = scanRowNumbers(list);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Assert.assertEquals(i < BLOCK_SIZE * 2 ? i : i + 1, rowNumbers[i]);
+        }
+        Assert.assertEquals(BLOCK_SIZE * 3 + 1, list.get(BLOCK_SIZE * 3).getRowNumber());
+
+        // Shift in the middle of spilled block
+        list.shiftRowNumbers(BLOCK_SIZE / 2, -1);
+        rowNumbers = scanRowNumbers(list);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            int expected = i < BLOCK_SIZE / 2 ? i : (i < BLOCK_SIZE * 2 ? i - 1 : i);
+            Assert.assertEquals(expected, rowNumbers[i]);
+            Assert.assertEquals(expected, list.get(i).getRowNumber());
+        }
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        int index = BLOCK_SIZE + 1;
+        ResultSetRow newRow = new ResultSetRow(-1, new Object[] {-1, "new"});
+        list.add(index, newRow);
+        Assert.assertEquals(ROW_COUNT + 1, list.size());
+        Assert.assertEquals(index, newRow.getVisualNumber());
+        Assert.assertEquals("new", list.readValues(index)[1]);
+        for (int i = 0; i <= ROW_COUNT; i++) {
+            if (i != index) {
+                assertValues(i < index ? i : i - 1, list.readValues(i));
+            }
+        }
+
+        Assert.assertSame(newRow, list.remove(index));
+        Assert.assertEquals(ROW_COUNT, list.size());
+        for (int i = 0; i < ROW_COUNT; i++) {
+            assertValues(i, list.readValues(i));
+            Assert.assertEquals(i, list.get(i).getVisualNumber());
+        }
+    }
+
+    @Test
+    public void testReorder() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        int[] order = new int[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            order[i] = ROW_COUNT - 1 - i;
+        }
+        ResultSetRowList result = list.reorder(order, makeStore());
+        Assert.assertEquals(ROW_COUNT, result.size());
+        Assert.assertTrue(result.hasSpilledBlocks());
+
+        int[] rowNumbers = scanRowNumbers(result);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Assert.assertEquals(ROW_COUNT - 1 - i, rowNumbers[i]);
+            assertValues(ROW_COUNT - 1 - i, result.readValues(i));
+        }
+        ResultSetRow row = result.get(0);
+        Assert.assertEquals(ROW_COUNT - 1, row.getRowNumber());
+        Assert.assertEquals(0, row.getVisualNumber());
+    }
+
+    @Test
+    public void testScanRows() {
+        ResultSetRowList list = makeList(ROW_COUNT);
+        // Resident, live and spilled blocks
+        list.get(BLOCK_SIZE);
+        Object[][] values = new Object[ROW_COUNT][];
+        list.scanRows(true, (index, rowNumber, rowValues) -> {
+            Assert.assertEquals(index, rowNumber);
+            values[index] = rowValues;
+        });
+        for (int i = 0; i < ROW_COUNT; i++) {
+            assertValues(i, values[i]);
+        }
+    }
+
+    @Test
+    public void testGlobalBudgetAccounting() {
+        ResultSetSpillStore.setMemoryBudget(Long.MAX_VALUE);
+        long totalBytes = ResultSetSpillStore.getTotalResidentBytes();
+        ResultSetRowList list1 = makeList(ROW_COUNT);
+        ResultSetRowList list2 = makeList(ROW_COUNT);
+        Assert.assertFalse(list1.hasSpilledBlocks());
+        long residentBytes = list1.getSpillStore().getResidentBytes() + list2.getSpillStore().getResidentBytes();
+        Assert.assertTrue(residentBytes > 0);
+        Assert.assertEquals(totalBytes + residentBytes, ResultSetSpillStore.getTotalResidentBytes());
+
+        // Budget is shared: exceeding it spills rows of the list which is being filled
+        ResultSetSpillStore.setMemoryBudget(residentBytes / 2);
+        list2.add(new ResultSetRow(ROW_COUNT, new Object[] {ROW_COUNT, "value " + ROW_COUNT}));
+        Assert.assertTrue(list2.hasSpilledBlocks());
+        Assert.assertFalse(list1.hasSpilledBlocks());
+
+        list1.getSpillStore().close();
+        list2.getSpillStore().close();
+        Assert.assertEquals(totalBytes, ResultSetSpillStore.getTotalResidentBytes());
+    }
+
+    private ResultSetSpillStore makeStore() {
+        ResultSetSpillStore store = new ResultSetSpillStore(tempDir, 1024 * 1024);
+        stores.add(store);
+        return store;
+    }
+
+    private ResultSetRowList makeList(int rowCount) {
+        ResultSetRowList list = new ResultSetRowList(makeStore());
+        List<ResultSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new ResultSetRow(i, new Object[] {i, "value " + i}));
+        }
+        list.addAll(rows);
+        return list;
+    }
+
+    private static void loadAllBlocks(ResultSetRowList list) {
+        // Twice: clock algorithm gives a second chance to recently used blocks
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < list.size(); i += BLOCK_SIZE) {
+                list.get(i);
+            }
+        }
+    }
+
+    private static int[] scanRowNumbers(ResultSetRowList list) {
+        int[] rowNumbers = new int[list.size()];
+        list.scanRows(false, (index, rowNumber, values) -> rowNumbers[index] = rowNumber);
+        return rowNumbers;
+    }
+
+    private static void assertValues(int expected, Object[] values) {
+        Assert.assertEquals(expected, values[0]);
+        Assert.assertEquals("value " + expected, values[1]);
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+public class ResultSetSpillStoreTest {
+
+    private File tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("spill-store-test").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = tempDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        tempDir.delete();
+    }
+
+    @Test
+    public void testValueRoundTrip() throws IOException {
+        Timestamp timestamp = new Timestamp(1_500_000_000_000L);
+        timestamp.setNanos(123_456_789);
+        Object[] values = new Object[] {
+            null,
+            "",
+            "text \u0444\u00e9\ud83d\ude00",
+            Integer.MIN_VALUE,
+            Long.MAX_VALUE,
+            -1.5d,
+            Float.NaN,
+            (short) -7,
+            (byte) 0x7f,
+            Boolean.TRUE,
+            new BigDecimal("123.4500"),
+            new BigDecimal("-1E+10"),
+            new BigInteger("-123456789012345678901234567890"),
+            timestamp,
+            new java.sql.Date(1_500_000_000_000L),
+            new Time(43_200_000L),
+            new java.util.Date(-1L),
+            new byte[0],
+            new byte[] {0, -1, 127, -128}
+        };
+        Assert.assertTrue(ResultSetSpillStore.estimateSize(values) > 0);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (Object value : values) {
+            ResultSetSpillStore.writeValue(out, value);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        for (Object expected : values) {
+            Object actual = ResultSetSpillStore.readValue(in);
+            if (expected == null) {
+                Assert.assertNull(actual);
+                continue;
+            }
+            Assert.assertNotNull(actual);
+            Assert.assertSame(expected.getClass(), actual.getClass());
+            if (expected instanceof byte[]) {
+                Assert.assertArrayEquals((byte[]) expected, (byte[]) actual);
+            } else {
+                // BigDecimal.equals compares scale, Timestamp.equals compares nanos
+                Assert.assertEquals(expected, actual);
+            }
+        }
+        Assert.assertEquals(0, in.available());
+        Assert.assertEquals(4, ((BigDecimal) values[10]).scale());
+    }
+
+    @Test
+    public void testComplexValueIsNotSpilled() {
+        Object[] values = new Object[] {1, new Object()};
+        Assert.assertEquals(-1, ResultSetSpillStore.estimateSize(values));
+        try {
+            ResultSetSpillStore.writeValue(new DataOutputStream(new ByteArrayOutputStream()), new Object());
+            Assert.fail("Complex value must not be serialized");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSegmentBoundary() {
+        ResultSetSpillStore store = new ResultSetSpillStore(tempDir, 64);
+        try {
+            byte[] record = new byte[36];
+            record[0] = 1;
+            Assert.assertEquals(0, store.writeRecord(record));
+            // Second record doesn't fit in the rest of first segment
+            record[0] = 2;
+            Assert.assertEquals(64, store.writeRecord(record));
+            Assert.assertEquals(104, store.getSpilledBytes());
+            // Record bigger than segment
+            Assert.assertEquals(-1, store.writeRecord(new byte[61]));
+            Assert.assertEquals(128, store.writeRecord(new byte[60]));
+
+            Assert.assertEquals(1, store.readRecord(0)[0]);
+            Assert.assertEquals(2, store.readRecord(64)[0]);
+            Assert.assertEquals(60, store.readRecord(128).length);
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    public void testReadAfterClose() {
+        ResultSetSpillStore store = new ResultSetSpillStore(tempDir, 1024);
+        long offset = store.writeRecord(new byte[] {1, 2, 3});
+        store.close();
+        Assert.assertTrue(store.isClosed());
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, store.readRecord(offset));
+        Assert.assertEquals(-1, store.writeRecord(new byte[] {4}));
+        try {
+            store.readRecord(1024);
+            Assert.fail("Offset outside of spill file must be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.dashboard.model.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+public class DashboardTimeSeriesStoreTest {
+
+    private static final String[] SERIES = { "a", "b" };
+
+    @Test
+    public void testRingBufferOverwrite() {
+        DashboardTimeSeriesStore store = new DashboardTimeSeriesStore(SERIES, 3);
+        Assert.assertTrue(store.isEmpty());
+        for (int i = 1; i <= 5; i++) {
+            store.addSample(i * 1000, new double[] { i, i * 10 });
+        }
+        Assert.assertEquals(3, store.size());
+        // Oldest samples are overwritten
+        Assert.assertEquals(3000, store.getTimestamp(0));
+        Assert.assertEquals(5000, store.getTimestamp(2));
+        Assert.assertEquals(3.0, store.getValue(0, 0), 0);
+        Assert.assertEquals(50.0, store.getValue(2, 1), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfRange() {
+        DashboardTimeSeriesStore store = new DashboardTimeSeriesStore(SERIES, 3);
+        store.addSample(1000, new double[] { 1, 2 });
+        store.getTimestamp(1);
+    }
+
+    @Test
+    public void testMissingValues() {
+        DashboardTimeSeriesStore store = new DashboardTimeSeriesStore(SERIES, 3);
+        store.addSample(1000, new double[] { 1 });
+
+        DashboardDataset dataset = new DashboardDataset(SERIES);
+        dataset.addRow(new DashboardDatasetRow(new Date(2000), new Object[] { "text", 5L }));
+        store.addDataset(dataset);
+
+        Assert.assertTrue(Double.isNaN(store.getValue(0, 1)));
+        Assert.assertTrue(Double.isNaN(store.getValue(1, 0)));
+        Assert.assertEquals(5.0, store.getValue(1, 1), 0);
+
+        List<DashboardDatasetRow> rows = store.toDataset().getRows();
+        Assert.assertEquals(2, rows.size());
+        Assert.assertNull(rows.get(0).getValues()[1]);
+        Assert.assertEquals(2000, rows.get(1).getTimestamp().getTime());
+    }
+
+    @Test
+    public void testRemoveOlderThan() {
+        DashboardTimeSeriesStore store = new DashboardTimeSeriesStore(SERIES, 4);
+        for (int i = 1; i <= 6; i++) {
+            store.addSample(i * 1000, new double[] { i, i });
+        }
+        store.removeOlderThan(5000);
+        Assert.assertEquals(2, store.size());
+        Assert.assertEquals(5000, store.getTimestamp(0));
+
+        store.clear();
+        Assert.assertTrue(store.isEmpty());
+        store.addSample(7000, new double[] { 7, 7 });
+        Assert.assertEquals(7000, store.getTimestamp(0));
+    }
+
+    @Test
+    public void testDownsample() {
+        DashboardTimeSeriesStore store = new DashboardTimeSeriesStore(SERIES, 1000);
+        for (int i = 0; i < 1000; i++) {
+            store.addSample(i * 1000, new double[] { i, i % 2 == 0 ? Double.NaN : 1 });
+        }
+        List<DashboardDatasetRow> rows = store.downsample(10).getRows();
+        Assert.assertEquals(10, rows.size());
+        // Bucket averages of first and last 100 samples, missing values are ignored
+        Assert.assertEquals(49.5, (Double) rows.get(0).getValues()[0], 0.0001);
+        Assert.assertEquals(1.0, (Double) rows.get(0).getValues()[1], 0.0001);
+        Assert.assertEquals(949.5, (Double) rows.get(9).getValues()[0], 0.0001);
+        // Bucket timestamp is the timestamp of its last sample
+        Assert.assertEquals(99000, rows.get(0).getTimestamp().getTime());
+        Assert.assertEquals(999000, rows.get(9).getTimestamp().getTime());
+
+        // Small stores are not downsampled
+        Assert.assertEquals(1000, store.downsample(2000).getRows().size());
+    }
+
+    @Test
+    public void testDownsampleDataset() {
+        DashboardDataset dataset = new DashboardDataset(SERIES);
+        for (int i = 0; i < 10; i++) {
+            dataset.addRow(new DashboardDatasetRow(new Date(i * 1000L), new Object[] { i, i }));
+        }
+        Assert.assertSame(dataset, DashboardTimeSeriesStore.downsample(dataset, 10));
+        Assert.assertEquals(5, DashboardTimeSeriesStore.downsample(dataset, 5).getRows().size());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2020 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.search.data;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+public class SearchValueFilterTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testColumnFilter() {
+        SearchValueFilter.Builder builder = new SearchValueFilter.Builder();
+        addRow(builder, "John Smith", null);
+        addRow(builder, "Mary Jones", null);
+        SearchValueFilter filter = builder.build();
+
+        Assert.assertTrue(filter.isComplete());
+        Assert.assertTrue(filter.mightContain("NAME", "smith"));
+        Assert.assertTrue(filter.mightContain("NAME", "ARY JON"));
+        Assert.assertFalse(filter.mightContain("NAME", "Brown"));
+        // Column with nulls only can't contain anything
+        Assert.assertFalse(filter.mightContain("COMMENT", "smith"));
+        // Unknown column isn't filtered
+        Assert.assertTrue(filter.mightContain("ADDRESS", "Brown"));
+        // Strings without trigrams and LIKE wildcards aren't filtered
+        Assert.assertTrue(filter.mightContain("NAME", "xy"));
+        Assert.assertTrue(filter.mightContain("NAME", "Br%wn"));
+    }
+
+    @Test
+    public void testNonStringColumnNotFiltered() {
+        SearchValueFilter.Builder builder = new SearchValueFilter.Builder();
+        builder.addRow();
+        builder.addValue("DATA", "abc");
+        builder.addRow();
+        builder.addValue("DATA", new byte[] {1, 2, 3});
+        Assert.assertTrue(builder.build().mightContain("DATA", "xyz"));
+    }
+
+    @Test
+    public void testIncompleteScan() {
+        SearchValueFilter.Builder builder = new SearchValueFilter.Builder();
+        for (int i = 0; i <= SearchValueFilter.SCAN_ROW_LIMIT; i++) {
+            builder.addRow();
+        }
+        SearchValueFilter filter = builder.build();
+        Assert.assertFalse(filter.isComplete());
+        Assert.assertTrue(filter.mightContain("NAME", "Brown"));
+    }
+
+    @Test
+    public void testSaveLoad() throws Exception {
+        SearchValueFilter.Builder builder = new SearchValueFilter.Builder();
+        addRow(builder, "John Smith", "first");
+        SearchValueFilter filter = builder.build();
+
+        File file = new File(tempFolder.getRoot(), "filter.bloom");
+        filter.save(file);
+        SearchValueFilter loaded = SearchValueFilter.load(file);
+
+        Assert.assertNotNull(loaded);
+        Assert.assertTrue(loaded.isComplete());
+        Assert.assertTrue(loaded.mightContain("NAME", "smith"));
+        Assert.assertFalse(loaded.mightContain("NAME", "Brown"));
+        Assert.assertTrue(loaded.mightContain("COMMENT", "irs"));
+        Assert.assertFalse(loaded.mightContain("COMMENT", "second"));
+    }
+
+    private static void addRow(SearchValueFilter.Builder builder, String name, String comment) {
+        builder.addRow();
+        builder.addValue("NAME", name);
+        builder.addValue("COMMENT", comment);
+    }
+
+}